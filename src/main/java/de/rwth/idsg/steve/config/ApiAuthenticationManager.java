@@ -20,6 +20,7 @@ package de.rwth.idsg.steve.config;
 
 import tools.jackson.databind.ObjectMapper;
 import com.google.common.base.Strings;
+import de.rwth.idsg.steve.service.ApiCredentialCache;
 import de.rwth.idsg.steve.service.WebUserService;
 import de.rwth.idsg.steve.web.api.ApiControllerAdvice;
 import lombok.RequiredArgsConstructor;
@@ -55,6 +56,7 @@ public class ApiAuthenticationManager implements AuthenticationManager, Authenti
     private final WebUserService webUserService;
     private final PasswordEncoder passwordEncoder;
     private final ObjectMapper jacksonObjectMapper;
+    private final ApiCredentialCache apiCredentialCache;
 
     @Override
     public Authentication authenticate(Authentication authentication) throws AuthenticationException {
@@ -70,9 +72,12 @@ public class ApiAuthenticationManager implements AuthenticationManager, Authenti
             throw new DisabledException("The user does not exist, exists but is disabled or has API access disabled.");
         }
 
-        boolean match = passwordEncoder.matches(apiPassword, userDetails.getPassword());
-        if (!match) {
-            throw new BadCredentialsException("Invalid password");
+        if (!apiCredentialCache.isVerified(username, apiPassword, userDetails.getPassword())) {
+            boolean match = passwordEncoder.matches(apiPassword, userDetails.getPassword());
+            if (!match) {
+                throw new BadCredentialsException("Invalid password");
+            }
+            apiCredentialCache.putVerified(username, apiPassword, userDetails.getPassword());
         }
 
         return UsernamePasswordAuthenticationToken.authenticated(
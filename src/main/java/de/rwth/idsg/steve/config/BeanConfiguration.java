@@ -20,10 +20,12 @@ package de.rwth.idsg.steve.config;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
 import de.rwth.idsg.steve.service.DummyReleaseCheckService;
 import de.rwth.idsg.steve.service.GithubReleaseCheckService;
 import de.rwth.idsg.steve.service.ReleaseCheckService;
 import de.rwth.idsg.steve.utils.InternetChecker;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.jooq.DSLContext;
 import org.jooq.SQLDialect;
@@ -32,6 +34,7 @@ import org.jooq.impl.DSL;
 import org.jooq.impl.DataSourceConnectionProvider;
 import org.jooq.impl.DefaultConfiguration;
 import org.jooq.tools.jdbc.JDBCUtils;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.jackson.autoconfigure.JsonMapperBuilderCustomizer;
 import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
 import org.springframework.context.annotation.Bean;
@@ -73,10 +76,15 @@ public class BeanConfiguration implements WebMvcConfigurer {
 
     /**
      * https://github.com/brettwooldridge/HikariCP/wiki/MySQL-Configuration
+     *
+     * The pool is started right away. Therefore, Spring Boot cannot attach its metrics afterwards, and we do it here
+     * (e.g. hikaricp_connections_acquire_seconds = how long callers waited for a connection).
      */
     @Bean
-    public HikariDataSource dataSource(DataSourceProperties properties) {
+    public HikariDataSource dataSource(DataSourceProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
         HikariConfig hc = new HikariConfig();
+        hc.setPoolName("SteVe-DB");
+        meterRegistry.ifAvailable(registry -> hc.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
 
         // set standard params
         hc.setJdbcUrl(properties.getUrl());
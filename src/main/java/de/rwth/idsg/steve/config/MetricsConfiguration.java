@@ -0,0 +1,206 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.config;
+
+import de.rwth.idsg.steve.ocpp.OcppVersion;
+import de.rwth.idsg.steve.ocpp.soap.ChargePointServiceSoapInvoker;
+import de.rwth.idsg.steve.ocpp.ws.FutureResponseContextStore;
+import de.rwth.idsg.steve.ocpp.ws.HandshakeAdmission;
+import de.rwth.idsg.steve.ocpp.ws.SessionContextStoreHolder;
+import de.rwth.idsg.steve.ocpp.ws.SessionMailboxes;
+import de.rwth.idsg.steve.repository.TaskStore;
+import de.rwth.idsg.steve.repository.impl.ChargeBoxHeartbeatCoalescer;
+import de.rwth.idsg.steve.repository.impl.MeterValueBatchWriter;
+import de.rwth.idsg.steve.service.ApiCredentialCache;
+import de.rwth.idsg.steve.service.AuthTagCache;
+import de.rwth.idsg.steve.service.WebUserService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metrics, in addition to the ones of Spring Boot (JVM, Jetty, Hikari etc.), exposed at /actuator/prometheus.
+ *
+ * Timers of the incoming OCPP messages are in {@link de.rwth.idsg.steve.ocpp.ws.pipeline.PipelineMetrics}.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    private static final String REPOSITORY_PACKAGE = "de.rwth.idsg.steve.repository.impl";
+
+    @Bean
+    public MeterBinder ocppMeterBinder(SessionContextStoreHolder sessionContextStoreHolder,
+                                       FutureResponseContextStore futureResponseContextStore,
+                                       SessionMailboxes sessionMailboxes,
+                                       HandshakeAdmission handshakeAdmission,
+                                       ChargePointServiceSoapInvoker soapInvoker) {
+        return registry -> {
+            for (OcppVersion version : OcppVersion.values()) {
+                var store = sessionContextStoreHolder.getOrCreate(version);
+                Gauge.builder("steve.ocpp.sessions", store::getNumberOfChargeBoxes)
+                     .description("Stations connected via WebSocket")
+                     .tag("version", version.getValue())
+                     .register(registry);
+            }
+
+            Gauge.builder("steve.ocpp.calls.in.flight", futureResponseContextStore::getInFlightCount)
+                 .description("Calls sent to stations that neither got a response nor timed out yet")
+                 .register(registry);
+            FunctionCounter.builder("steve.ocpp.calls.timed.out", futureResponseContextStore,
+                                    FutureResponseContextStore::getTimedOutCount)
+                           .description("Calls sent to stations that timed out")
+                           .register(registry);
+
+            Gauge.builder("steve.ocpp.mailbox.backlog", sessionMailboxes::getBacklog)
+                 .description("Incoming messages waiting to be processed")
+                 .register(registry);
+
+            Gauge.builder("steve.ocpp.handshakes.in.progress", handshakeAdmission::getInProgressCount)
+                 .register(registry);
+            FunctionCounter.builder("steve.ocpp.handshakes.rejected", handshakeAdmission,
+                                    HandshakeAdmission::getRejectedCount)
+                           .description("WebSocket handshakes rejected with 503, because of too many at the same time")
+                           .register(registry);
+
+            Gauge.builder("steve.ocpp.soap.calls.in.flight", soapInvoker::getInFlightCount)
+                 .description("Requests sent to SOAP stations that did not complete yet")
+                 .register(registry);
+            Gauge.builder("steve.ocpp.soap.proxies", soapInvoker::getProxyCount)
+                 .description("Cached SOAP client proxies")
+                 .register(registry);
+            FunctionCounter.builder("steve.ocpp.soap.proxies.created", soapInvoker,
+                                    ChargePointServiceSoapInvoker::getProxyCreationCount)
+                           .description("SOAP client proxies created, i.e. misses of the proxy cache")
+                           .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder steveMeterBinder(TaskStore taskStore,
+                                        AuthTagCache authTagCache,
+                                        ApiCredentialCache apiCredentialCache,
+                                        WebUserService webUserService,
+                                        MeterValueBatchWriter meterValueBatchWriter,
+                                        ChargeBoxHeartbeatCoalescer heartbeatCoalescer) {
+        return registry -> {
+            Gauge.builder("steve.tasks", taskStore::getCount)
+                 .description("Tasks (operations sent to stations) that are kept in memory")
+                 .register(registry);
+
+            Gauge.builder("steve.auth.cache.size", authTagCache::getSize)
+                 .register(registry);
+            FunctionCounter.builder("steve.auth.cache.hits", authTagCache, c -> c.getStats().hitCount())
+                           .register(registry);
+            FunctionCounter.builder("steve.auth.cache.misses", authTagCache, c -> c.getStats().missCount())
+                           .register(registry);
+
+            Gauge.builder("steve.api.credential.cache.size", apiCredentialCache::getSize)
+                 .register(registry);
+            FunctionCounter.builder("steve.api.credential.cache.hits", apiCredentialCache,
+                                    ApiCredentialCache::getHitCount)
+                           .description("REST API requests whose password check was skipped")
+                           .register(registry);
+            FunctionCounter.builder("steve.api.credential.cache.misses", apiCredentialCache,
+                                    ApiCredentialCache::getMissCount)
+                           .register(registry);
+
+            Gauge.builder("steve.web.user.cache.size", webUserService::getUserCacheSize)
+                 .register(registry);
+            FunctionCounter.builder("steve.web.user.cache.hits", webUserService,
+                                    s -> s.getUserCacheStats().hitCount())
+                           .register(registry);
+            FunctionCounter.builder("steve.web.user.cache.misses", webUserService,
+                                    s -> s.getUserCacheStats().missCount())
+                           .register(registry);
+
+            Gauge.builder("steve.meter.values.queue", meterValueBatchWriter::getQueueSize)
+                 .description("MeterValues messages waiting to be written to database")
+                 .register(registry);
+            Gauge.builder("steve.heartbeats.pending", heartbeatCoalescer::getPendingCount)
+                 .description("Stations whose last heartbeat is not written to database yet")
+                 .register(registry);
+        };
+    }
+
+    /**
+     * Wraps the repositories, so that we see the time spent in every repository method (metric: steve.repository).
+     * This is the database time, as seen by the callers (including connection acquisition and mapping).
+     *
+     * Static, because it is a BeanPostProcessor. The registry is looked up lazily, so that it does not have to be
+     * created this early.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                Class<?> clazz = bean.getClass();
+                boolean isRepository = REPOSITORY_PACKAGE.equals(clazz.getPackageName())
+                    && clazz.getSimpleName().endsWith("RepositoryImpl");
+                if (!isRepository) {
+                    return bean;
+                }
+
+                var factory = new ProxyFactory(bean);
+                // class-based, since some of them have methods that are not in their interface (e.g. event listeners)
+                factory.setProxyTargetClass(true);
+                factory.addAdvice(timingInterceptor(clazz.getSimpleName(), meterRegistry));
+                return factory.getProxy(clazz.getClassLoader());
+            }
+        };
+    }
+
+    private static MethodInterceptor timingInterceptor(String repository, ObjectProvider<MeterRegistry> meterRegistry) {
+        var timers = new ConcurrentHashMap<Method, Timer>();
+
+        return invocation -> {
+            Method method = invocation.getMethod();
+            if (method.getDeclaringClass() == Object.class) {
+                return invocation.proceed();
+            }
+
+            Timer timer = timers.computeIfAbsent(method, m -> Timer.builder("steve.repository")
+                .description("Time spent in repository methods")
+                .tag("repository", repository)
+                .tag("method", m.getName())
+                .register(meterRegistry.getObject()));
+            long start = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+}
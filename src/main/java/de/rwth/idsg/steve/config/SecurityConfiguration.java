@@ -91,4 +91,22 @@ public class SecurityConfiguration {
             .authorizeHttpRequests(k -> k.anyRequest().authenticated())
             .build();
     }
+
+    /**
+     * Same credentials as for the Web APIs, which Prometheus can send with basic_auth. Health stays open for
+     * load balancers and container orchestration.
+     */
+    @Bean
+    @Order(2)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http, ApiAuthenticationManager apiAuthenticationManager) throws Exception {
+        return http.securityMatcher(SteveProperties.ACTUATOR_MAPPING + "/**")
+            .csrf(k -> k.disable())
+            .sessionManagement(k -> k.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .addFilter(new BasicAuthenticationFilter(apiAuthenticationManager, apiAuthenticationManager))
+            .authorizeHttpRequests(k -> k
+                .requestMatchers(SteveProperties.ACTUATOR_MAPPING + "/health").permitAll()
+                .anyRequest().authenticated()
+            )
+            .build();
+    }
 }
@@ -18,11 +18,15 @@
  */
 package de.rwth.idsg.steve.config;
 
+import de.rwth.idsg.steve.ocpp.ws.SessionMailboxes;
 import de.rwth.idsg.steve.ocpp.ws.custom.WsSessionSelectStrategyEnum;
 import lombok.Data;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
 
 /**
  * @author Sevket Goekay <sevketgokay@gmail.com>
@@ -39,14 +43,18 @@ public class SteveProperties {
     public static final String CXF_MAPPING = "/services";
     // Mapping for Web APIs
     public static final String API_MAPPING = "/api";
+    // Mapping for Spring Boot Actuator (metrics for Prometheus)
+    public static final String ACTUATOR_MAPPING = "/actuator";
     // Dummy service path
     public static final String ROUTER_ENDPOINT_PATH = "/CentralSystemService";
     // Time zone for the application and database connections
     public static final String TIME_ZONE_ID = "UTC";  // or ZoneId.systemDefault().getId();
 
     String version;
+    Duration settingsRefreshInterval = Duration.ofSeconds(30);
     Auth auth = new Auth();
     Jooq jooq = new Jooq();
+    Tasks tasks = new Tasks();
     Ocpp ocpp = new Ocpp();
 
     @Data
@@ -54,12 +62,20 @@ public class SteveProperties {
         boolean executiveLogging;
     }
 
+    @Data
+    public static class Tasks {
+        int maxCount = 1_000;
+        Duration maxAge = Duration.ofDays(1);
+        DataSize maxMemory = DataSize.ofMegabytes(64);
+    }
+
     @Data
     public static class Auth {
         String username;
         String password;
         String webApiKey;
         String webApiSecret;
+        Duration apiCredentialCacheTtl = Duration.ofMinutes(1);
     }
 
     @Data
@@ -69,8 +85,71 @@ public class SteveProperties {
         String chargeBoxIdValidationRegex;
         Protocols enabledProtocols;
         boolean octtQuirksEnabled;
+        Duration heartbeatFlushInterval = Duration.ofSeconds(10);
+        Duration stationDirectoryRefreshInterval = Duration.ofMinutes(5);
+        FanOut fanOut = new FanOut();
+        HandshakeAdmission handshakeAdmission = new HandshakeAdmission();
+        ConfigurationSync configurationSync = new ConfigurationSync();
+        AuthCache authCache = new AuthCache();
+        MeterValueIngestion meterValueIngestion = new MeterValueIngestion();
+        WsIngress wsIngress = new WsIngress();
+        SoapClient soapClient = new SoapClient();
         Security security = new Security();
 
+        @Data
+        public static class WsIngress {
+            SessionMailboxes.Mode mode = SessionMailboxes.Mode.INLINE;
+            int mailboxCapacity = 100;
+            int duplicateCallIdWindow = 128;
+        }
+
+        @Data
+        public static class SoapClient {
+            boolean asyncConduit = true;
+            int maxConnections = 5_000;
+            int maxConnectionsPerHost = 2;
+            Duration connectionMaxIdle = Duration.ofMinutes(1);
+            long proxyCacheMinSize = 500;
+            Duration proxyCacheExpireAfterAccess = Duration.ofHours(1);
+        }
+
+        @Data
+        public static class MeterValueIngestion {
+            boolean bestEffortAsync;
+            int queueCapacity = 10_000;
+            int batchSize = 2_000;
+            Duration maxDelay = Duration.ofSeconds(1);
+            Duration enqueueTimeout = Duration.ofSeconds(5);
+        }
+
+        @Data
+        public static class AuthCache {
+            Duration ttl = Duration.ofMinutes(5);
+            long maxSize = 100_000;
+        }
+
+        @Data
+        public static class FanOut {
+            int maxConcurrency = 64;
+            double ratePerSecond;
+        }
+
+        @Data
+        public static class HandshakeAdmission {
+            int maxConcurrency = 100;
+            double ratePerSecond;
+            Duration retryAfter = Duration.ofSeconds(30);
+            Duration basicAuthCacheTtl = Duration.ofMinutes(30);
+            Duration getConfigurationMaxDelay = Duration.ofMinutes(1);
+        }
+
+        @Data
+        public static class ConfigurationSync {
+            Duration debounce = Duration.ofSeconds(5);
+            Duration minInterval = Duration.ofMinutes(1);
+            Duration maxAge = Duration.ofHours(1);
+        }
+
         @Data
         public static class Protocols {
             Transports v12;
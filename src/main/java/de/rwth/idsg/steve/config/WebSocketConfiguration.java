@@ -19,6 +19,7 @@
 package de.rwth.idsg.steve.config;
 
 import de.rwth.idsg.steve.ocpp.ws.AbstractWebSocketEndpoint;
+import de.rwth.idsg.steve.ocpp.ws.HandshakeAdmission;
 import de.rwth.idsg.steve.ocpp.ws.OcppWebSocketHandshakeHandler;
 import de.rwth.idsg.steve.service.CertificateValidator;
 import de.rwth.idsg.steve.service.ChargePointService;
@@ -52,6 +53,7 @@ public class WebSocketConfiguration implements WebSocketConfigurer {
     private final ChargeBoxIdValidator chargeBoxIdValidator;
     private final List<AbstractWebSocketEndpoint> endpoints;
     private final CertificateValidator certificateValidator;
+    private final HandshakeAdmission handshakeAdmission;
 
     public static final String PATH_INFIX = "/websocket/CentralSystemService/";
     public static final Duration PING_INTERVAL = Duration.ofMinutes(15);
@@ -66,6 +68,7 @@ public class WebSocketConfiguration implements WebSocketConfigurer {
             endpoints,
             chargePointService,
             certificateValidator,
+            handshakeAdmission,
             steveProperties.getOcpp().getSecurity().getProtocolHeaderFromProxy()
         );
 
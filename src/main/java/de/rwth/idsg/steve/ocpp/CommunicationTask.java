@@ -64,6 +64,8 @@ public abstract class CommunicationTask<S extends ChargePointSelection, RESPONSE
 
     private final AtomicInteger errorCount = new AtomicInteger(0);
     private final AtomicInteger responseCount = new AtomicInteger(0);
+    // how many of the requests were already handed over to the transport (see BackgroundService)
+    private final AtomicInteger dispatchedCount = new AtomicInteger(0);
 
     @Getter(AccessLevel.NONE) // disable getter generation
     private final Object lockObject = new Object();
@@ -85,19 +87,21 @@ public abstract class CommunicationTask<S extends ChargePointSelection, RESPONSE
     CommunicationTask(S params, TaskOrigin origin, String caller, Map<String, String> customDetails) {
         List<ChargePointSelect> cpsList = params.getChargePointSelectList();
 
-        this.resultSize = cpsList.size();
         this.origin = origin;
         this.caller = caller;
         this.params = params;
         this.customDetails = customDetails;
 
-        resultMap = new HashMap<>(resultSize);
-        versionMap = new HashMap<>(resultSize);
+        resultMap = new HashMap<>(cpsList.size());
+        versionMap = new HashMap<>(cpsList.size());
         for (ChargePointSelect cps : cpsList) {
             resultMap.put(cps.getChargeBoxId(), new RequestResult());
             versionMap.put(cps.getChargeBoxId(), cps.getOcppProtocol().getVersion());
         }
 
+        // a station that is selected twice is only sent one request (see BackgroundService)
+        this.resultSize = resultMap.size();
+
         callbackList.add(defaultCallback());
         operationName = StringUtils.getOperationName(this);
     }
@@ -18,6 +18,7 @@
  */
 package de.rwth.idsg.steve.ocpp.soap;
 
+import de.rwth.idsg.steve.config.SteveProperties;
 import de.rwth.idsg.steve.ocpp.ChargePointServiceInvoker;
 import de.rwth.idsg.steve.ocpp.task.CancelReservationTask;
 import de.rwth.idsg.steve.ocpp.task.CertificateSignedTask;
@@ -46,9 +47,18 @@ import de.rwth.idsg.steve.ocpp.task.TriggerMessageTask;
 import de.rwth.idsg.steve.ocpp.task.UnlockConnectorTask;
 import de.rwth.idsg.steve.ocpp.task.UpdateFirmwareTask;
 import de.rwth.idsg.steve.repository.dto.ChargePointSelect;
+import de.rwth.idsg.steve.repository.impl.StationDirectory;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import jakarta.xml.ws.AsyncHandler;
+import jakarta.xml.ws.Response;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
 /**
  * @author Sevket Goekay <sevketgokay@gmail.com>
  * @since 05.01.2025
@@ -65,10 +75,42 @@ public class ChargePointServiceSoapInvoker implements ChargePointServiceInvoker
     private final ClientProviderWithCache<ocpp.cp._2012._06.ChargePointService> soapV15Helper;
     private final ClientProviderWithCache<ocpp.cp._2015._10.ChargePointService> soapV16Helper;
 
-    public ChargePointServiceSoapInvoker(ClientProvider clientProvider) {
-        this.soapV12Helper = new ClientProviderWithCache<>(clientProvider);
-        this.soapV15Helper = new ClientProviderWithCache<>(clientProvider);
-        this.soapV16Helper = new ClientProviderWithCache<>(clientProvider);
+    /**
+     * Requests that were sent, but whose handler was not called yet
+     */
+    private final AtomicInteger inFlightCount = new AtomicInteger();
+
+    public ChargePointServiceSoapInvoker(ClientProvider clientProvider, StationDirectory stationDirectory,
+                                         SteveProperties steveProperties) {
+        var config = steveProperties.getOcpp().getSoapClient();
+        LongSupplier requiredSize = requiredProxyCacheSize(stationDirectory, config.getProxyCacheMinSize());
+
+        var expiry = config.getProxyCacheExpireAfterAccess();
+        this.soapV12Helper = new ClientProviderWithCache<>(clientProvider, requiredSize, expiry);
+        this.soapV15Helper = new ClientProviderWithCache<>(clientProvider, requiredSize, expiry);
+        this.soapV16Helper = new ClientProviderWithCache<>(clientProvider, requiredSize, expiry);
+    }
+
+    /**
+     * A station has only one version. Therefore, the count of all of them is an upper bound for each version.
+     */
+    static LongSupplier requiredProxyCacheSize(StationDirectory stationDirectory, long minSize) {
+        return () -> {
+            long soapStations = stationDirectory.getSoapStationCount();
+            return Math.max(minSize, soapStations + soapStations / 4);
+        };
+    }
+
+    public int getInFlightCount() {
+        return inFlightCount.get();
+    }
+
+    public long getProxyCount() {
+        return soapV12Helper.getSize() + soapV15Helper.getSize() + soapV16Helper.getSize();
+    }
+
+    public long getProxyCreationCount() {
+        return soapV12Helper.getCreationCount() + soapV15Helper.getCreationCount() + soapV16Helper.getCreationCount();
     }
 
     // -------------------------------------------------------------------------
@@ -77,80 +119,80 @@ public class ChargePointServiceSoapInvoker implements ChargePointServiceInvoker
 
     public void reset(ChargePointSelect cp, ResetTask task) {
         switch (cp.getOcppProtocol().getVersion()) {
-            case V_12 -> createV12(cp).resetAsync(task.getOcpp12Request(), cp.getChargeBoxId(), task.getOcpp12Handler(cp.getChargeBoxId()));
-            case V_15 -> createV15(cp).resetAsync(task.getOcpp15Request(), cp.getChargeBoxId(), task.getOcpp15Handler(cp.getChargeBoxId()));
-            case V_16 -> createV16(cp).resetAsync(task.getOcpp16Request(), cp.getChargeBoxId(), task.getOcpp16Handler(cp.getChargeBoxId()));
+            case V_12 -> invoke(task.getOcpp12Handler(cp.getChargeBoxId()), h -> createV12(cp).resetAsync(task.getOcpp12Request(), cp.getChargeBoxId(), h));
+            case V_15 -> invoke(task.getOcpp15Handler(cp.getChargeBoxId()), h -> createV15(cp).resetAsync(task.getOcpp15Request(), cp.getChargeBoxId(), h));
+            case V_16 -> invoke(task.getOcpp16Handler(cp.getChargeBoxId()), h -> createV16(cp).resetAsync(task.getOcpp16Request(), cp.getChargeBoxId(), h));
         }
     }
 
     @Override
     public void clearCache(ChargePointSelect cp, ClearCacheTask task) {
         switch (cp.getOcppProtocol().getVersion()) {
-            case V_12 -> createV12(cp).clearCacheAsync(task.getOcpp12Request(), cp.getChargeBoxId(), task.getOcpp12Handler(cp.getChargeBoxId()));
-            case V_15 -> createV15(cp).clearCacheAsync(task.getOcpp15Request(), cp.getChargeBoxId(), task.getOcpp15Handler(cp.getChargeBoxId()));
-            case V_16 -> createV16(cp).clearCacheAsync(task.getOcpp16Request(), cp.getChargeBoxId(), task.getOcpp16Handler(cp.getChargeBoxId()));
+            case V_12 -> invoke(task.getOcpp12Handler(cp.getChargeBoxId()), h -> createV12(cp).clearCacheAsync(task.getOcpp12Request(), cp.getChargeBoxId(), h));
+            case V_15 -> invoke(task.getOcpp15Handler(cp.getChargeBoxId()), h -> createV15(cp).clearCacheAsync(task.getOcpp15Request(), cp.getChargeBoxId(), h));
+            case V_16 -> invoke(task.getOcpp16Handler(cp.getChargeBoxId()), h -> createV16(cp).clearCacheAsync(task.getOcpp16Request(), cp.getChargeBoxId(), h));
         }
     }
 
     @Override
     public void getDiagnostics(ChargePointSelect cp, GetDiagnosticsTask task) {
         switch (cp.getOcppProtocol().getVersion()) {
-            case V_12 -> createV12(cp).getDiagnosticsAsync(task.getOcpp12Request(), cp.getChargeBoxId(), task.getOcpp12Handler(cp.getChargeBoxId()));
-            case V_15 -> createV15(cp).getDiagnosticsAsync(task.getOcpp15Request(), cp.getChargeBoxId(), task.getOcpp15Handler(cp.getChargeBoxId()));
-            case V_16 -> createV16(cp).getDiagnosticsAsync(task.getOcpp16Request(), cp.getChargeBoxId(), task.getOcpp16Handler(cp.getChargeBoxId()));
+            case V_12 -> invoke(task.getOcpp12Handler(cp.getChargeBoxId()), h -> createV12(cp).getDiagnosticsAsync(task.getOcpp12Request(), cp.getChargeBoxId(), h));
+            case V_15 -> invoke(task.getOcpp15Handler(cp.getChargeBoxId()), h -> createV15(cp).getDiagnosticsAsync(task.getOcpp15Request(), cp.getChargeBoxId(), h));
+            case V_16 -> invoke(task.getOcpp16Handler(cp.getChargeBoxId()), h -> createV16(cp).getDiagnosticsAsync(task.getOcpp16Request(), cp.getChargeBoxId(), h));
         }
     }
 
     @Override
     public void updateFirmware(ChargePointSelect cp, UpdateFirmwareTask task) {
         switch (cp.getOcppProtocol().getVersion()) {
-            case V_12 -> createV12(cp).updateFirmwareAsync(task.getOcpp12Request(), cp.getChargeBoxId(), task.getOcpp12Handler(cp.getChargeBoxId()));
-            case V_15 -> createV15(cp).updateFirmwareAsync(task.getOcpp15Request(), cp.getChargeBoxId(), task.getOcpp15Handler(cp.getChargeBoxId()));
-            case V_16 -> createV16(cp).updateFirmwareAsync(task.getOcpp16Request(), cp.getChargeBoxId(), task.getOcpp16Handler(cp.getChargeBoxId()));
+            case V_12 -> invoke(task.getOcpp12Handler(cp.getChargeBoxId()), h -> createV12(cp).updateFirmwareAsync(task.getOcpp12Request(), cp.getChargeBoxId(), h));
+            case V_15 -> invoke(task.getOcpp15Handler(cp.getChargeBoxId()), h -> createV15(cp).updateFirmwareAsync(task.getOcpp15Request(), cp.getChargeBoxId(), h));
+            case V_16 -> invoke(task.getOcpp16Handler(cp.getChargeBoxId()), h -> createV16(cp).updateFirmwareAsync(task.getOcpp16Request(), cp.getChargeBoxId(), h));
         }
     }
 
     @Override
     public void unlockConnector(ChargePointSelect cp, UnlockConnectorTask task) {
         switch (cp.getOcppProtocol().getVersion()) {
-            case V_12 -> createV12(cp).unlockConnectorAsync(task.getOcpp12Request(), cp.getChargeBoxId(), task.getOcpp12Handler(cp.getChargeBoxId()));
-            case V_15 -> createV15(cp).unlockConnectorAsync(task.getOcpp15Request(), cp.getChargeBoxId(), task.getOcpp15Handler(cp.getChargeBoxId()));
-            case V_16 -> createV16(cp).unlockConnectorAsync(task.getOcpp16Request(), cp.getChargeBoxId(), task.getOcpp16Handler(cp.getChargeBoxId()));
+            case V_12 -> invoke(task.getOcpp12Handler(cp.getChargeBoxId()), h -> createV12(cp).unlockConnectorAsync(task.getOcpp12Request(), cp.getChargeBoxId(), h));
+            case V_15 -> invoke(task.getOcpp15Handler(cp.getChargeBoxId()), h -> createV15(cp).unlockConnectorAsync(task.getOcpp15Request(), cp.getChargeBoxId(), h));
+            case V_16 -> invoke(task.getOcpp16Handler(cp.getChargeBoxId()), h -> createV16(cp).unlockConnectorAsync(task.getOcpp16Request(), cp.getChargeBoxId(), h));
         }
     }
 
     public void changeAvailability(ChargePointSelect cp, ChangeAvailabilityTask task) {
         switch (cp.getOcppProtocol().getVersion()) {
-            case V_12 -> createV12(cp).changeAvailabilityAsync(task.getOcpp12Request(), cp.getChargeBoxId(), task.getOcpp12Handler(cp.getChargeBoxId()));
-            case V_15 -> createV15(cp).changeAvailabilityAsync(task.getOcpp15Request(), cp.getChargeBoxId(), task.getOcpp15Handler(cp.getChargeBoxId()));
-            case V_16 -> createV16(cp).changeAvailabilityAsync(task.getOcpp16Request(), cp.getChargeBoxId(), task.getOcpp16Handler(cp.getChargeBoxId()));
+            case V_12 -> invoke(task.getOcpp12Handler(cp.getChargeBoxId()), h -> createV12(cp).changeAvailabilityAsync(task.getOcpp12Request(), cp.getChargeBoxId(), h));
+            case V_15 -> invoke(task.getOcpp15Handler(cp.getChargeBoxId()), h -> createV15(cp).changeAvailabilityAsync(task.getOcpp15Request(), cp.getChargeBoxId(), h));
+            case V_16 -> invoke(task.getOcpp16Handler(cp.getChargeBoxId()), h -> createV16(cp).changeAvailabilityAsync(task.getOcpp16Request(), cp.getChargeBoxId(), h));
         }
     }
 
     @Override
     public void changeConfiguration(ChargePointSelect cp, ChangeConfigurationTask task) {
         switch (cp.getOcppProtocol().getVersion()) {
-            case V_12 -> createV12(cp).changeConfigurationAsync(task.getOcpp12Request(), cp.getChargeBoxId(), task.getOcpp12Handler(cp.getChargeBoxId()));
-            case V_15 -> createV15(cp).changeConfigurationAsync(task.getOcpp15Request(), cp.getChargeBoxId(), task.getOcpp15Handler(cp.getChargeBoxId()));
-            case V_16 -> createV16(cp).changeConfigurationAsync(task.getOcpp16Request(), cp.getChargeBoxId(), task.getOcpp16Handler(cp.getChargeBoxId()));
+            case V_12 -> invoke(task.getOcpp12Handler(cp.getChargeBoxId()), h -> createV12(cp).changeConfigurationAsync(task.getOcpp12Request(), cp.getChargeBoxId(), h));
+            case V_15 -> invoke(task.getOcpp15Handler(cp.getChargeBoxId()), h -> createV15(cp).changeConfigurationAsync(task.getOcpp15Request(), cp.getChargeBoxId(), h));
+            case V_16 -> invoke(task.getOcpp16Handler(cp.getChargeBoxId()), h -> createV16(cp).changeConfigurationAsync(task.getOcpp16Request(), cp.getChargeBoxId(), h));
         }
     }
 
     @Override
     public void remoteStartTransaction(ChargePointSelect cp, RemoteStartTransactionTask task) {
         switch (cp.getOcppProtocol().getVersion()) {
-            case V_12 -> createV12(cp).remoteStartTransactionAsync(task.getOcpp12Request(), cp.getChargeBoxId(), task.getOcpp12Handler(cp.getChargeBoxId()));
-            case V_15 -> createV15(cp).remoteStartTransactionAsync(task.getOcpp15Request(), cp.getChargeBoxId(), task.getOcpp15Handler(cp.getChargeBoxId()));
-            case V_16 -> createV16(cp).remoteStartTransactionAsync(task.getOcpp16Request(), cp.getChargeBoxId(), task.getOcpp16Handler(cp.getChargeBoxId()));
+            case V_12 -> invoke(task.getOcpp12Handler(cp.getChargeBoxId()), h -> createV12(cp).remoteStartTransactionAsync(task.getOcpp12Request(), cp.getChargeBoxId(), h));
+            case V_15 -> invoke(task.getOcpp15Handler(cp.getChargeBoxId()), h -> createV15(cp).remoteStartTransactionAsync(task.getOcpp15Request(), cp.getChargeBoxId(), h));
+            case V_16 -> invoke(task.getOcpp16Handler(cp.getChargeBoxId()), h -> createV16(cp).remoteStartTransactionAsync(task.getOcpp16Request(), cp.getChargeBoxId(), h));
         }
     }
 
     @Override
     public void remoteStopTransaction(ChargePointSelect cp, RemoteStopTransactionTask task) {
         switch (cp.getOcppProtocol().getVersion()) {
-            case V_12 -> createV12(cp).remoteStopTransactionAsync(task.getOcpp12Request(), cp.getChargeBoxId(), task.getOcpp12Handler(cp.getChargeBoxId()));
-            case V_15 -> createV15(cp).remoteStopTransactionAsync(task.getOcpp15Request(), cp.getChargeBoxId(), task.getOcpp15Handler(cp.getChargeBoxId()));
-            case V_16 -> createV16(cp).remoteStopTransactionAsync(task.getOcpp16Request(), cp.getChargeBoxId(), task.getOcpp16Handler(cp.getChargeBoxId()));
+            case V_12 -> invoke(task.getOcpp12Handler(cp.getChargeBoxId()), h -> createV12(cp).remoteStopTransactionAsync(task.getOcpp12Request(), cp.getChargeBoxId(), h));
+            case V_15 -> invoke(task.getOcpp15Handler(cp.getChargeBoxId()), h -> createV15(cp).remoteStopTransactionAsync(task.getOcpp15Request(), cp.getChargeBoxId(), h));
+            case V_16 -> invoke(task.getOcpp16Handler(cp.getChargeBoxId()), h -> createV16(cp).remoteStopTransactionAsync(task.getOcpp16Request(), cp.getChargeBoxId(), h));
         }
     }
 
@@ -162,8 +204,8 @@ public class ChargePointServiceSoapInvoker implements ChargePointServiceInvoker
     public void dataTransfer(ChargePointSelect cp, DataTransferTask task) {
         switch (cp.getOcppProtocol().getVersion()) {
             case V_12 -> task.failed(cp.getChargeBoxId(), EXCEPTION_V12);
-            case V_15 -> createV15(cp).dataTransferAsync(task.getOcpp15Request(), cp.getChargeBoxId(), task.getOcpp15Handler(cp.getChargeBoxId()));
-            case V_16 -> createV16(cp).dataTransferAsync(task.getOcpp16Request(), cp.getChargeBoxId(), task.getOcpp16Handler(cp.getChargeBoxId()));
+            case V_15 -> invoke(task.getOcpp15Handler(cp.getChargeBoxId()), h -> createV15(cp).dataTransferAsync(task.getOcpp15Request(), cp.getChargeBoxId(), h));
+            case V_16 -> invoke(task.getOcpp16Handler(cp.getChargeBoxId()), h -> createV16(cp).dataTransferAsync(task.getOcpp16Request(), cp.getChargeBoxId(), h));
         }
     }
 
@@ -171,8 +213,8 @@ public class ChargePointServiceSoapInvoker implements ChargePointServiceInvoker
     public void getConfiguration(ChargePointSelect cp, GetConfigurationTask task) {
         switch (cp.getOcppProtocol().getVersion()) {
             case V_12 -> task.failed(cp.getChargeBoxId(), EXCEPTION_V12);
-            case V_15 -> createV15(cp).getConfigurationAsync(task.getOcpp15Request(), cp.getChargeBoxId(), task.getOcpp15Handler(cp.getChargeBoxId()));
-            case V_16 -> createV16(cp).getConfigurationAsync(task.getOcpp16Request(), cp.getChargeBoxId(), task.getOcpp16Handler(cp.getChargeBoxId()));
+            case V_15 -> invoke(task.getOcpp15Handler(cp.getChargeBoxId()), h -> createV15(cp).getConfigurationAsync(task.getOcpp15Request(), cp.getChargeBoxId(), h));
+            case V_16 -> invoke(task.getOcpp16Handler(cp.getChargeBoxId()), h -> createV16(cp).getConfigurationAsync(task.getOcpp16Request(), cp.getChargeBoxId(), h));
         }
     }
 
@@ -180,8 +222,8 @@ public class ChargePointServiceSoapInvoker implements ChargePointServiceInvoker
     public void getLocalListVersion(ChargePointSelect cp, GetLocalListVersionTask task) {
         switch (cp.getOcppProtocol().getVersion()) {
             case V_12 -> task.failed(cp.getChargeBoxId(), EXCEPTION_V12);
-            case V_15 -> createV15(cp).getLocalListVersionAsync(task.getOcpp15Request(), cp.getChargeBoxId(), task.getOcpp15Handler(cp.getChargeBoxId()));
-            case V_16 -> createV16(cp).getLocalListVersionAsync(task.getOcpp16Request(), cp.getChargeBoxId(), task.getOcpp16Handler(cp.getChargeBoxId()));
+            case V_15 -> invoke(task.getOcpp15Handler(cp.getChargeBoxId()), h -> createV15(cp).getLocalListVersionAsync(task.getOcpp15Request(), cp.getChargeBoxId(), h));
+            case V_16 -> invoke(task.getOcpp16Handler(cp.getChargeBoxId()), h -> createV16(cp).getLocalListVersionAsync(task.getOcpp16Request(), cp.getChargeBoxId(), h));
         }
     }
 
@@ -189,8 +231,8 @@ public class ChargePointServiceSoapInvoker implements ChargePointServiceInvoker
     public void sendLocalList(ChargePointSelect cp, SendLocalListTask task) {
         switch (cp.getOcppProtocol().getVersion()) {
             case V_12 -> task.failed(cp.getChargeBoxId(), EXCEPTION_V12);
-            case V_15 -> createV15(cp).sendLocalListAsync(task.getOcpp15Request(), cp.getChargeBoxId(), task.getOcpp15Handler(cp.getChargeBoxId()));
-            case V_16 -> createV16(cp).sendLocalListAsync(task.getOcpp16Request(), cp.getChargeBoxId(), task.getOcpp16Handler(cp.getChargeBoxId()));
+            case V_15 -> invoke(task.getOcpp15Handler(cp.getChargeBoxId()), h -> createV15(cp).sendLocalListAsync(task.getOcpp15Request(), cp.getChargeBoxId(), h));
+            case V_16 -> invoke(task.getOcpp16Handler(cp.getChargeBoxId()), h -> createV16(cp).sendLocalListAsync(task.getOcpp16Request(), cp.getChargeBoxId(), h));
         }
     }
 
@@ -198,8 +240,8 @@ public class ChargePointServiceSoapInvoker implements ChargePointServiceInvoker
     public void reserveNow(ChargePointSelect cp, ReserveNowTask task) {
         switch (cp.getOcppProtocol().getVersion()) {
             case V_12 -> task.failed(cp.getChargeBoxId(), EXCEPTION_V12);
-            case V_15 -> createV15(cp).reserveNowAsync(task.getOcpp15Request(), cp.getChargeBoxId(), task.getOcpp15Handler(cp.getChargeBoxId()));
-            case V_16 -> createV16(cp).reserveNowAsync(task.getOcpp16Request(), cp.getChargeBoxId(), task.getOcpp16Handler(cp.getChargeBoxId()));
+            case V_15 -> invoke(task.getOcpp15Handler(cp.getChargeBoxId()), h -> createV15(cp).reserveNowAsync(task.getOcpp15Request(), cp.getChargeBoxId(), h));
+            case V_16 -> invoke(task.getOcpp16Handler(cp.getChargeBoxId()), h -> createV16(cp).reserveNowAsync(task.getOcpp16Request(), cp.getChargeBoxId(), h));
         }
     }
 
@@ -207,8 +249,8 @@ public class ChargePointServiceSoapInvoker implements ChargePointServiceInvoker
     public void cancelReservation(ChargePointSelect cp, CancelReservationTask task) {
         switch (cp.getOcppProtocol().getVersion()) {
             case V_12 -> task.failed(cp.getChargeBoxId(), EXCEPTION_V12);
-            case V_15 -> createV15(cp).cancelReservationAsync(task.getOcpp15Request(), cp.getChargeBoxId(), task.getOcpp15Handler(cp.getChargeBoxId()));
-            case V_16 -> createV16(cp).cancelReservationAsync(task.getOcpp16Request(), cp.getChargeBoxId(), task.getOcpp16Handler(cp.getChargeBoxId()));
+            case V_15 -> invoke(task.getOcpp15Handler(cp.getChargeBoxId()), h -> createV15(cp).cancelReservationAsync(task.getOcpp15Request(), cp.getChargeBoxId(), h));
+            case V_16 -> invoke(task.getOcpp16Handler(cp.getChargeBoxId()), h -> createV16(cp).cancelReservationAsync(task.getOcpp16Request(), cp.getChargeBoxId(), h));
         }
     }
 
@@ -221,7 +263,7 @@ public class ChargePointServiceSoapInvoker implements ChargePointServiceInvoker
         switch (cp.getOcppProtocol().getVersion()) {
             case V_12 -> task.failed(cp.getChargeBoxId(), EXCEPTION_V12);
             case V_15 -> task.failed(cp.getChargeBoxId(), EXCEPTION_V15);
-            case V_16 -> createV16(cp).clearChargingProfileAsync(task.getOcpp16Request(), cp.getChargeBoxId(), task.getOcpp16Handler(cp.getChargeBoxId()));
+            case V_16 -> invoke(task.getOcpp16Handler(cp.getChargeBoxId()), h -> createV16(cp).clearChargingProfileAsync(task.getOcpp16Request(), cp.getChargeBoxId(), h));
         }
     }
 
@@ -230,7 +272,7 @@ public class ChargePointServiceSoapInvoker implements ChargePointServiceInvoker
         switch (cp.getOcppProtocol().getVersion()) {
             case V_12 -> task.failed(cp.getChargeBoxId(), EXCEPTION_V12);
             case V_15 -> task.failed(cp.getChargeBoxId(), EXCEPTION_V15);
-            case V_16 -> createV16(cp).setChargingProfileAsync(task.getOcpp16Request(), cp.getChargeBoxId(), task.getOcpp16Handler(cp.getChargeBoxId()));
+            case V_16 -> invoke(task.getOcpp16Handler(cp.getChargeBoxId()), h -> createV16(cp).setChargingProfileAsync(task.getOcpp16Request(), cp.getChargeBoxId(), h));
         }
     }
 
@@ -239,7 +281,7 @@ public class ChargePointServiceSoapInvoker implements ChargePointServiceInvoker
         switch (cp.getOcppProtocol().getVersion()) {
             case V_12 -> task.failed(cp.getChargeBoxId(), EXCEPTION_V12);
             case V_15 -> task.failed(cp.getChargeBoxId(), EXCEPTION_V15);
-            case V_16 -> createV16(cp).getCompositeScheduleAsync(task.getOcpp16Request(), cp.getChargeBoxId(), task.getOcpp16Handler(cp.getChargeBoxId()));
+            case V_16 -> invoke(task.getOcpp16Handler(cp.getChargeBoxId()), h -> createV16(cp).getCompositeScheduleAsync(task.getOcpp16Request(), cp.getChargeBoxId(), h));
         }
     }
 
@@ -248,7 +290,7 @@ public class ChargePointServiceSoapInvoker implements ChargePointServiceInvoker
         switch (cp.getOcppProtocol().getVersion()) {
             case V_12 -> task.failed(cp.getChargeBoxId(), EXCEPTION_V12);
             case V_15 -> task.failed(cp.getChargeBoxId(), EXCEPTION_V15);
-            case V_16 -> createV16(cp).triggerMessageAsync(task.getOcpp16Request(), cp.getChargeBoxId(), task.getOcpp16Handler(cp.getChargeBoxId()));
+            case V_16 -> invoke(task.getOcpp16Handler(cp.getChargeBoxId()), h -> createV16(cp).triggerMessageAsync(task.getOcpp16Request(), cp.getChargeBoxId(), h));
         }
     }
 
@@ -295,6 +337,39 @@ public class ChargePointServiceSoapInvoker implements ChargePointServiceInvoker
     // Helpers
     // -------------------------------------------------------------------------
 
+    /**
+     * CXF calls the handler exactly once: with the response or with the exception (e.g. connection refused, timeout).
+     * But if the call throws right away (e.g. the proxy cannot be created), the handler might never be called.
+     */
+    private <T> void invoke(AsyncHandler<T> handler, Consumer<AsyncHandler<T>> call) {
+        var tracked = new TrackedHandler<>(handler);
+        inFlightCount.incrementAndGet();
+        try {
+            call.accept(tracked);
+        } catch (RuntimeException e) {
+            tracked.done();
+            throw e;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private class TrackedHandler<T> implements AsyncHandler<T> {
+        private final AsyncHandler<T> delegate;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        @Override
+        public void handleResponse(Response<T> response) {
+            done();
+            delegate.handleResponse(response);
+        }
+
+        private void done() {
+            if (done.compareAndSet(false, true)) {
+                inFlightCount.decrementAndGet();
+            }
+        }
+    }
+
     private ocpp.cp._2010._08.ChargePointService createV12(ChargePointSelect cp) {
         return soapV12Helper.createClient(ocpp.cp._2010._08.ChargePointService.class, cp.getEndpointAddress());
     }
@@ -19,11 +19,15 @@
 package de.rwth.idsg.steve.ocpp.soap;
 
 import com.oneandone.compositejks.SslContextBuilder;
+import de.rwth.idsg.steve.config.SteveProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.cxf.Bus;
 import org.apache.cxf.configuration.jsse.TLSClientParameters;
 import org.apache.cxf.endpoint.Client;
 import org.apache.cxf.frontend.ClientProxy;
 import org.apache.cxf.jaxws.JaxWsProxyFactoryBean;
 import org.apache.cxf.transport.http.HTTPConduit;
+import org.apache.cxf.transport.http.asyncclient.hc5.AsyncHTTPConduitFactory;
 import org.apache.cxf.ws.addressing.WSAddressingFeature;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.boot.web.server.Ssl;
@@ -34,15 +38,24 @@ import org.springframework.util.StringUtils;
 import jakarta.xml.ws.soap.SOAPBinding;
 
 /**
+ * The proxies use the CXF bus of the application. Its HTTP conduit factory is the Apache HttpClient 5 based one, which
+ * sends the *Async operations without blocking a thread and keeps one connection pool for all stations (see
+ * steve.ocpp.soap-client).
+ *
  * @author Sevket Goekay <sevketgokay@gmail.com>
  * @since 21.10.2015
  */
+@Slf4j
 @Component
 public class ClientProvider {
 
+    private final Bus bus;
     @Nullable private final TLSClientParameters tlsClientParams;
 
-    public ClientProvider(ServerProperties serverProperties) {
+    public ClientProvider(Bus bus, ServerProperties serverProperties, SteveProperties steveProperties) {
+        this.bus = bus;
+        configureConduit(bus, steveProperties.getOcpp().getSoapClient());
+
         Ssl ssl = serverProperties.getSsl();
         try {
             tlsClientParams = create(ssl);
@@ -65,8 +78,9 @@ public class ClientProvider {
         return clientObject;
     }
 
-    private static JaxWsProxyFactoryBean getBean(String endpointAddress) {
+    private JaxWsProxyFactoryBean getBean(String endpointAddress) {
         JaxWsProxyFactoryBean f = new JaxWsProxyFactoryBean();
+        f.setBus(bus);
         f.setBindingId(SOAPBinding.SOAP12HTTP_BINDING);
         f.getFeatures().add(LoggingFeatureProxy.INSTANCE.get());
         f.getFeatures().add(new WSAddressingFeature());
@@ -74,6 +88,24 @@ public class ClientProvider {
         return f;
     }
 
+    /**
+     * Must happen before the first proxy is created, since the conduit factory reads these when it is initialized
+     */
+    private static void configureConduit(Bus bus, SteveProperties.Ocpp.SoapClient config) {
+        var policy = config.isAsyncConduit()
+            ? AsyncHTTPConduitFactory.UsePolicy.ASYNC_ONLY
+            : AsyncHTTPConduitFactory.UsePolicy.NEVER;
+
+        bus.setProperty(AsyncHTTPConduitFactory.USE_POLICY, policy);
+        bus.setProperty(AsyncHTTPConduitFactory.MAX_CONNECTIONS, config.getMaxConnections());
+        bus.setProperty(AsyncHTTPConduitFactory.MAX_PER_HOST_CONNECTIONS, config.getMaxConnectionsPerHost());
+        bus.setProperty(AsyncHTTPConduitFactory.CONNECTION_MAX_IDLE, config.getConnectionMaxIdle().toMillis());
+
+        log.info("Requests to SOAP stations are sent {} (max connections: {}, per station: {})",
+            config.isAsyncConduit() ? "non-blocking" : "blocking",
+            config.getMaxConnections(), config.getMaxConnectionsPerHost());
+    }
+
     private static TLSClientParameters create(Ssl ssl) throws Exception {
         if (ssl == null || !ssl.isEnabled()) {
             return null;
@@ -87,16 +119,17 @@ public class ClientProvider {
             return null;
         }
 
-        var socketFactory = SslContextBuilder.builder()
+        var sslContext = SslContextBuilder.builder()
             .keyStoreFromFile(keyStorePath, keyStorePwd)
             .usingTLS()
             .usingDefaultAlgorithm()
             .usingKeyManagerPasswordFromKeyStore()
-            .buildMergedWithSystem()
-            .getSocketFactory();
+            .buildMergedWithSystem();
 
         var tlsClientParams = new TLSClientParameters();
-        tlsClientParams.setSSLSocketFactory(socketFactory);
+        // the blocking conduit uses the socket factory, the async one the context
+        tlsClientParams.setSSLSocketFactory(sslContext.getSocketFactory());
+        tlsClientParams.setSslContext(sslContext);
         return tlsClientParams;
     }
 }
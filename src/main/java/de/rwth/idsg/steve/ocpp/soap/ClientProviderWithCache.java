@@ -20,34 +20,101 @@ package de.rwth.idsg.steve.ocpp.soap;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
 
 /**
  * http://cxf.apache.org/faq.html#FAQ-AreJAX-WSclientproxiesthreadsafe?
  *
+ * The required size is asked for with every cache miss, since the number of stations changes at runtime. Guava caches
+ * cannot be resized. Therefore, if the required size is bigger than the current one, we build a bigger cache and take
+ * over the proxies of the old one. The cache never shrinks.
+ *
  * @author Sevket Goekay <sevketgokay@gmail.com>
  * @since 27.08.2018
  */
+@Slf4j
 public class ClientProviderWithCache<T> {
 
     private final ClientProvider delegate;
-    private final Cache<String, T> cache;
+    private final LongSupplier requiredSize;
+    private final Duration expireAfterAccess;
+
+    private final LongAdder creationCount = new LongAdder();
+
+    private volatile Cache<String, T> cache;
+    private volatile long maxSize;
 
-    public ClientProviderWithCache(ClientProvider delegate) {
+    public ClientProviderWithCache(ClientProvider delegate, LongSupplier requiredSize, Duration expireAfterAccess) {
         this.delegate = delegate;
-        this.cache = CacheBuilder.newBuilder()
-                                 .maximumSize(500)
-                                 .expireAfterAccess(1, TimeUnit.HOURS)
-                                 .build();
+        this.requiredSize = requiredSize;
+        this.expireAfterAccess = expireAfterAccess;
+        this.maxSize = Math.max(1, requiredSize.getAsLong());
+        this.cache = build(maxSize);
     }
 
     public T createClient(Class<T> clazz, String endpointAddress) {
+        T client = cache.getIfPresent(endpointAddress);
+        if (client != null) {
+            return client;
+        }
+
+        growIfNecessary();
+
         try {
-            return cache.get(endpointAddress, () -> delegate.createClient(clazz, endpointAddress));
+            return cache.get(endpointAddress, () -> {
+                creationCount.increment();
+                return delegate.createClient(clazz, endpointAddress);
+            });
         } catch (ExecutionException e) {
             throw new RuntimeException(e);
         }
     }
+
+    public long getSize() {
+        return cache.size();
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * How many proxies were created since startup. If this grows steadily, the cache is too small.
+     */
+    public long getCreationCount() {
+        return creationCount.sum();
+    }
+
+    private void growIfNecessary() {
+        if (requiredSize.getAsLong() <= maxSize) {
+            return;
+        }
+
+        synchronized (this) {
+            long newMaxSize = requiredSize.getAsLong();
+            if (newMaxSize <= maxSize) {
+                return;
+            }
+
+            // proxies that are created in the old cache in the meantime are not taken over, which only costs a
+            // recreation
+            Cache<String, T> newCache = build(newMaxSize);
+            newCache.putAll(cache.asMap());
+            cache = newCache;
+            maxSize = newMaxSize;
+            log.info("Increased the size of the SOAP client cache to {}", newMaxSize);
+        }
+    }
+
+    private Cache<String, T> build(long size) {
+        return CacheBuilder.newBuilder()
+                           .maximumSize(size)
+                           .expireAfterAccess(expireAfterAccess)
+                           .build();
+    }
 }
@@ -25,7 +25,9 @@ import de.rwth.idsg.steve.ocpp.ws.data.CommunicationContext;
 import de.rwth.idsg.steve.ocpp.ws.pipeline.Deserializer;
 import de.rwth.idsg.steve.ocpp.ws.pipeline.IncomingPipeline;
 import de.rwth.idsg.steve.ocpp.ws.pipeline.OcppCallHandler;
+import de.rwth.idsg.steve.ocpp.ws.pipeline.PipelineMetrics;
 import de.rwth.idsg.steve.repository.OcppServerRepository;
+import de.rwth.idsg.steve.repository.impl.ChargeBoxHeartbeatCoalescer;
 import de.rwth.idsg.steve.service.notification.OcppStationWebSocketConnected;
 import de.rwth.idsg.steve.service.notification.OcppStationWebSocketDisconnected;
 import org.joda.time.DateTime;
@@ -54,21 +56,30 @@ public abstract class AbstractWebSocketEndpoint extends ConcurrentWebSocketHandl
     public static final String CHARGEBOX_ID_KEY = "CHARGEBOX_ID_KEY";
 
     private final OcppServerRepository ocppServerRepository;
+    private final ChargeBoxHeartbeatCoalescer heartbeatCoalescer;
     private final IncomingPipeline pipeline;
     private final SessionContextStore sessionContextStore;
+    private final SessionMailboxes sessionMailboxes;
 
     private final Logger log = LoggerFactory.getLogger(getClass());
     private final List<Consumer<String>> connectedCallbackList = new ArrayList<>();
     private final List<Consumer<String>> disconnectedCallbackList = new ArrayList<>();
 
     public AbstractWebSocketEndpoint(OcppServerRepository ocppServerRepository,
+                                     ChargeBoxHeartbeatCoalescer heartbeatCoalescer,
                                      FutureResponseContextStore futureResponseContextStore,
                                      ApplicationEventPublisher applicationEventPublisher,
                                      SessionContextStoreHolder sessionContextStoreHolder,
+                                     SessionMailboxes sessionMailboxes,
+                                     PipelineMetrics pipelineMetrics,
                                      AbstractTypeStore typeStore) {
         this.ocppServerRepository = ocppServerRepository;
+        this.sessionMailboxes = sessionMailboxes;
+        this.heartbeatCoalescer = heartbeatCoalescer;
         this.sessionContextStore = sessionContextStoreHolder.getOrCreate(getVersion());
-        this.pipeline = new IncomingPipeline(new Deserializer(futureResponseContextStore, sessionContextStore, typeStore), this);
+        this.pipeline = new IncomingPipeline(
+            new Deserializer(futureResponseContextStore, sessionContextStore, typeStore), this, pipelineMetrics, getVersion()
+        );
 
         connectedCallbackList.add((chargeBoxId) -> applicationEventPublisher.publishEvent(new OcppStationWebSocketConnected(chargeBoxId, getVersion())));
         disconnectedCallbackList.add((chargeBoxId) -> applicationEventPublisher.publishEvent(new OcppStationWebSocketDisconnected(chargeBoxId, getVersion())));
@@ -119,12 +130,12 @@ public abstract class AbstractWebSocketEndpoint extends ConcurrentWebSocketHandl
         CommunicationContext context = new CommunicationContext(session, chargeBoxId);
         context.setIncomingString(incomingString);
 
-        pipeline.accept(context);
+        sessionMailboxes.execute(session, () -> pipeline.accept(context));
     }
 
     private void handlePongMessage(WebSocketSession session) {
         WebSocketLogger.receivedPong(getChargeBoxId(session), session);
-        ocppServerRepository.updateChargeboxHeartbeat(getChargeBoxId(session), DateTime.now());
+        heartbeatCoalescer.updateChargeboxHeartbeat(getChargeBoxId(session), DateTime.now());
     }
 
     @Override
@@ -132,6 +143,7 @@ public abstract class AbstractWebSocketEndpoint extends ConcurrentWebSocketHandl
         String chargeBoxId = getChargeBoxId(session);
         WebSocketLogger.connected(chargeBoxId, session);
 
+        sessionMailboxes.add(session);
         boolean stationConnected = sessionContextStore.add(chargeBoxId, session);
 
         ocppServerRepository.updateOcppProtocol(chargeBoxId, getVersion().toProtocol(OcppTransport.JSON));
@@ -148,6 +160,7 @@ public abstract class AbstractWebSocketEndpoint extends ConcurrentWebSocketHandl
         String chargeBoxId = getChargeBoxId(session);
         WebSocketLogger.closed(chargeBoxId, session, closeStatus);
 
+        sessionMailboxes.remove(session);
         boolean stationDisconnected = sessionContextStore.remove(chargeBoxId, session);
 
         // Take into account that there might be multiple connections to a charging station.
@@ -34,8 +34,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.UUID;
-
 /**
  * @author Sevket Goekay <sevketgokay@gmail.com>
  * @since 20.03.2015
@@ -91,11 +89,11 @@ public class ChargePointServiceJsonInvoker {
         }
 
         OcppJsonCall call = new OcppJsonCall();
-        call.setMessageId(UUID.randomUUID().toString());
+        call.setMessageId(MessageIdGenerator.next());
         call.setPayload(request);
         call.setAction(pair.getAction());
 
-        FutureResponseContext frc = new FutureResponseContext(task, pair.getResponseClass());
+        FutureResponseContext frc = new FutureResponseContext(task, pair.getResponseClass(), chargeBoxId);
 
         CommunicationContext context = new CommunicationContext(sessionStore.getSession(chargeBoxId), chargeBoxId);
         context.setOutgoingMessage(call);
@@ -35,4 +35,14 @@ public interface FutureResponseContextStore {
     void add(WebSocketSession session, String messageId, FutureResponseContext context);
 
     @Nullable FutureResponseContext poll(WebSocketSession session, String messageId);
+
+    /**
+     * Number of sent calls that neither got a response nor timed out yet
+     */
+    int getInFlightCount();
+
+    /**
+     * Number of calls that timed out since startup
+     */
+    long getTimedOutCount();
 }
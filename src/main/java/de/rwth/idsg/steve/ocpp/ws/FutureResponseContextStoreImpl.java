@@ -21,16 +21,31 @@ package de.rwth.idsg.steve.ocpp.ws;
 import de.rwth.idsg.steve.ocpp.ws.data.FutureResponseContext;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.Nullable;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.web.socket.WebSocketSession;
 
-import java.time.Instant;
+import java.time.Duration;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Presumption: The responses must be sent using the same connection as the requests!
  *
+ * Timeouts are tracked with a hashed timer wheel: every call is put into the bucket of the tick in which it expires.
+ * Adding and removing are O(1) and the worker only looks at one bucket per tick. When a call expires without a
+ * response, its task is failed so that callbacks (and the REST clients waiting for them) do not hang.
+ *
+ * Either the response or the timeout wins (see {@link FutureResponseContext#complete()}), never both.
+ *
  * @author Sevket Goekay <sevketgokay@gmail.com>
  * @since 21.03.2015
  */
@@ -38,32 +53,86 @@ import java.util.concurrent.ConcurrentHashMap;
 @Service
 public class FutureResponseContextStoreImpl implements FutureResponseContextStore {
 
+    private static final Duration TICK = Duration.ofMillis(500);
+
+    /**
+     * Must be a power of two
+     */
+    private static final int WHEEL_SIZE = 64;
+
     // We store for each chargeBox connection, multiple pairs of (messageId, context)
     // (session, (messageId, context))
     private final Map<WebSocketSession, Map<String, FutureResponseContext>> lookupTable = new ConcurrentHashMap<>();
 
+    private final Queue<Expiry>[] wheel;
+    private final Duration timeout;
+    private final long tickNanos;
+    private final long timeoutTicks;
+    private final long startNanos = System.nanoTime();
+
+    private final AtomicInteger inFlightCount = new AtomicInteger();
+    private final AtomicLong timedOutCount = new AtomicLong();
+
+    private volatile boolean running = true;
+    private volatile Thread worker;
+
+    public FutureResponseContextStoreImpl() {
+        this(Duration.ofSeconds(FutureResponseContext.TIMEOUT_IN_SECONDS), TICK);
+    }
+
+    @SuppressWarnings("unchecked")
+    FutureResponseContextStoreImpl(Duration timeout, Duration tick) {
+        this.timeout = timeout;
+        this.tickNanos = tick.toNanos();
+        // one more tick, so that a call never expires early
+        this.timeoutTicks = Math.ceilDiv(timeout.toNanos(), tickNanos) + 1;
+
+        this.wheel = new Queue[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    @EventListener
+    public void beforeShutdown(ContextClosedEvent event) {
+        running = false;
+        Thread thread = worker;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
     @Override
     public void addSession(WebSocketSession session) {
         addIfAbsent(session);
     }
 
+    /**
+     * The open calls of the session stay in the wheel, since their tasks still have to be failed when they expire.
+     */
     @Override
     public void removeSession(WebSocketSession session) {
         log.debug("Deleting the store for sessionId '{}'", session.getId());
         lookupTable.remove(session);
     }
 
-    /**
-     * Adds/updates a correlation entry and performs opportunistic stale-entry cleanup on the write path.
-     */
     @Override
     public void add(WebSocketSession session, String messageId, FutureResponseContext context) {
+        startWorkerIfNeeded();
+
         var map = addIfAbsent(session);
-        evictTimedOutEntries(map);
         map.put(messageId, context);
+        inFlightCount.incrementAndGet();
+
+        long deadlineTick = currentTick() + timeoutTicks;
+        wheel[bucketOf(deadlineTick)].add(new Expiry(session, messageId, context, deadlineTick));
+
         log.debug("Store size for sessionId '{}': {}", session.getId(), map.size());
     }
 
+    /**
+     * @return null, if there is no such call or it already timed out
+     */
     @Nullable
     @Override
     public FutureResponseContext poll(WebSocketSession session, String messageId) {
@@ -73,9 +142,28 @@ public class FutureResponseContextStoreImpl implements FutureResponseContextStor
         }
         FutureResponseContext removedContext = map.remove(messageId);
         log.debug("Store size for sessionId '{}': {}", session.getId(), map.size());
+
+        if (removedContext == null || !removedContext.complete()) {
+            return null;
+        }
+        inFlightCount.decrementAndGet();
         return removedContext;
     }
 
+    @Override
+    public int getInFlightCount() {
+        return inFlightCount.get();
+    }
+
+    @Override
+    public long getTimedOutCount() {
+        return timedOutCount.get();
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
     private Map<String, FutureResponseContext> addIfAbsent(WebSocketSession session) {
         return lookupTable.computeIfAbsent(session, innerSession -> {
             log.debug("Creating new store for sessionId '{}'", innerSession.getId());
@@ -83,11 +171,77 @@ public class FutureResponseContextStoreImpl implements FutureResponseContextStor
         });
     }
 
+    private void startWorkerIfNeeded() {
+        if (worker != null || !running) {
+            return;
+        }
+        synchronized (this) {
+            if (worker == null) {
+                worker = Thread.ofPlatform().name("SteVe-CallTimeouts").daemon().start(this::timeoutLoop);
+            }
+        }
+    }
+
+    private void timeoutLoop() {
+        long processedTick = currentTick();
+
+        while (running) {
+            long now = currentTick();
+            while (processedTick < now) {
+                processedTick++;
+                expire(wheel[bucketOf(processedTick)], processedTick);
+            }
+
+            long nextTickNanos = startNanos + (now + 1) * tickNanos;
+            LockSupport.parkNanos(nextTickNanos - System.nanoTime());
+        }
+    }
+
     /**
-     * Removes stale correlation entries to keep the lookup bounded when peers stop responding.
+     * Entries with a later deadline belong to a later round of the wheel and stay in the bucket.
      */
-    private static void evictTimedOutEntries(Map<String, FutureResponseContext> map) {
-        Instant now = Instant.now();
-        map.entrySet().removeIf(entry -> entry.getValue().hasTimedOut(now));
+    private void expire(Queue<Expiry> bucket, long tick) {
+        Iterator<Expiry> it = bucket.iterator();
+        while (it.hasNext()) {
+            Expiry e = it.next();
+            if (e.context().isCompleted()) {
+                it.remove();
+            } else if (e.deadlineTick() <= tick) {
+                it.remove();
+                timeout(e);
+            }
+        }
+    }
+
+    private void timeout(Expiry e) {
+        // a response that arrived in the meantime wins
+        if (!e.context().complete()) {
+            return;
+        }
+
+        var map = lookupTable.get(e.session());
+        if (map != null) {
+            map.remove(e.messageId(), e.context());
+        }
+        inFlightCount.decrementAndGet();
+        timedOutCount.incrementAndGet();
+
+        String chargeBoxId = e.context().getChargeBoxId();
+        log.warn("The call with messageId '{}' to '{}' timed out", e.messageId(), chargeBoxId);
+
+        // callbacks might block (e.g. database writes). do not hold up the other timeouts.
+        var exception = new TimeoutException("No response within " + timeout.toSeconds() + " seconds");
+        Thread.startVirtualThread(() -> e.context().getTask().failed(chargeBoxId, exception));
+    }
+
+    private long currentTick() {
+        return (System.nanoTime() - startNanos) / tickNanos;
     }
+
+    private static int bucketOf(long tick) {
+        return (int) (tick & (WHEEL_SIZE - 1));
+    }
+
+    private record Expiry(WebSocketSession session, String messageId, FutureResponseContext context,
+                          long deadlineTick) { }
 }
@@ -0,0 +1,118 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.ws;
+
+import com.google.common.util.concurrent.RateLimiter;
+import de.rwth.idsg.steve.config.SteveProperties;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control for WebSocket handshakes (steve.ocpp.handshake-admission).
+ *
+ * After an outage, all stations try to reconnect at the same time. Every handshake costs a registration lookup, maybe
+ * a BCrypt check and finally the session setup with its follow-up messages. Instead of queueing them up until the
+ * stations run into their own timeouts (and retry, which makes it worse), we process a limited number at the same
+ * time and reject the rest immediately. Stations are expected to retry with a backoff anyway, and the Retry-After
+ * hint of the rejection contains a jitter to spread the next attempts.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+@Component
+public class HandshakeAdmission {
+
+    /**
+     * Null, if unlimited
+     */
+    @Nullable private final Semaphore concurrencyLimit;
+    private final int maxConcurrency;
+    @Nullable private final RateLimiter rateLimiter;
+    private final Duration retryAfter;
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    public HandshakeAdmission(SteveProperties steveProperties) {
+        var config = steveProperties.getOcpp().getHandshakeAdmission();
+        this.maxConcurrency = config.getMaxConcurrency();
+        this.concurrencyLimit = maxConcurrency > 0 ? new Semaphore(maxConcurrency) : null;
+        this.rateLimiter = config.getRatePerSecond() > 0 ? RateLimiter.create(config.getRatePerSecond()) : null;
+        this.retryAfter = config.getRetryAfter() == null ? Duration.ZERO : config.getRetryAfter();
+    }
+
+    /**
+     * Never blocks.
+     *
+     * @return a permit that must be closed after the handshake, or null if the handshake must be rejected
+     */
+    @Nullable
+    public Permit tryAdmit() {
+        if (concurrencyLimit != null && !concurrencyLimit.tryAcquire()) {
+            rejectedCount.incrementAndGet();
+            return null;
+        }
+
+        if (rateLimiter != null && !rateLimiter.tryAcquire()) {
+            if (concurrencyLimit != null) {
+                concurrencyLimit.release();
+            }
+            rejectedCount.incrementAndGet();
+            return null;
+        }
+
+        return new Permit();
+    }
+
+    /**
+     * Value for the Retry-After header of a rejection: the configured duration plus a random jitter of up to the
+     * same amount.
+     */
+    public long getRetryAfterSeconds() {
+        long seconds = Math.max(1, retryAfter.toSeconds());
+        return seconds + ThreadLocalRandom.current().nextLong(seconds + 1);
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public int getInProgressCount() {
+        return concurrencyLimit == null ? 0 : maxConcurrency - concurrencyLimit.availablePermits();
+    }
+
+    public final class Permit implements AutoCloseable {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() { }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true) && concurrencyLimit != null) {
+                concurrencyLimit.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.ws;
+
+import com.google.common.base.Preconditions;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Detects duplicate messageIds of incoming CALLs of one session within a sliding window of the most recent ones.
+ *
+ * A station sends one CALL at a time, and repeats it with the same messageId if it did not get a response in time.
+ * Therefore, a duplicate is always a recent messageId, and we do not have to remember all of them for the whole life
+ * of a session (which can be months). Once the window is full, the oldest messageId is forgotten for every new one.
+ * The session is never closed because of the number of its messages.
+ *
+ * <p> Memory is fixed per session: a ring buffer of the fingerprints in arrival order, and an open-addressing hash set
+ * (linear probing, at most half full) over the same fingerprints. With a window of 128, this is about 3 KB.
+ *
+ * <p> Fingerprints: we hash with Guava {@code murmur3_128()} and keep {@code asLong()}, i.e. 64 bits per messageId.
+ * With n messageIds in the window, the chance of a false duplicate is about n(n-1)/(2*2^64), which is negligible.
+ *
+ * <p> Thread-safety: all methods are synchronized on the instance. The messages of a session arrive one after
+ * another, so the monitor is practically uncontended, and it is not shared with any other session.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+public class IncomingMessageIdWindow {
+
+    private static final HashFunction MURMUR3_128 = Hashing.murmur3_128();
+
+    /**
+     * Marks a free slot of the table. A fingerprint with this value is stored as 1 instead.
+     */
+    private static final long FREE = 0L;
+
+    /**
+     * Fingerprints in arrival order. When full, {@link #next} points to the oldest one.
+     */
+    private final long[] ring;
+
+    /**
+     * The same fingerprints as in the ring, for the lookup. The size is a power of two.
+     */
+    private final long[] table;
+    private final int tableMask;
+
+    private int next;
+    private int size;
+
+    public IncomingMessageIdWindow(int windowSize) {
+        Preconditions.checkArgument(windowSize > 0, "windowSize must be positive");
+        Preconditions.checkArgument(windowSize <= (1 << 24), "windowSize must be at most 2^24");
+
+        this.ring = new long[windowSize];
+        this.table = new long[Integer.highestOneBit(2 * windowSize - 1) << 1];
+        this.tableMask = table.length - 1;
+    }
+
+    /**
+     * @return false, if the messageId is among the recent ones of the session
+     */
+    public synchronized boolean register(@NotNull String messageId) {
+        long fingerprint = fingerprint(messageId);
+        if (contains(fingerprint)) {
+            return false;
+        }
+
+        if (size == ring.length) {
+            delete(ring[next]);
+        } else {
+            size++;
+        }
+
+        ring[next] = fingerprint;
+        next = (next + 1 == ring.length) ? 0 : next + 1;
+        insert(fingerprint);
+        return true;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private boolean contains(long fingerprint) {
+        for (int i = slotOf(fingerprint); table[i] != FREE; i = (i + 1) & tableMask) {
+            if (table[i] == fingerprint) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void insert(long fingerprint) {
+        int i = slotOf(fingerprint);
+        while (table[i] != FREE) {
+            i = (i + 1) & tableMask;
+        }
+        table[i] = fingerprint;
+    }
+
+    /**
+     * Backward-shift deletion: the following entries of the cluster are moved up, so that no lookup stops early at
+     * the freed slot. Therefore, we need no tombstones and the table never fills up with them.
+     */
+    private void delete(long fingerprint) {
+        int i = slotOf(fingerprint);
+        while (table[i] != fingerprint) {
+            i = (i + 1) & tableMask;
+        }
+
+        int j = i;
+        while (true) {
+            j = (j + 1) & tableMask;
+            long candidate = table[j];
+            if (candidate == FREE) {
+                break;
+            }
+
+            // the candidate can move to the free slot, if the free slot is between its home slot and its current slot
+            int home = slotOf(candidate);
+            if (((j - home) & tableMask) >= ((j - i) & tableMask)) {
+                table[i] = candidate;
+                i = j;
+            }
+        }
+        table[i] = FREE;
+    }
+
+    private int slotOf(long fingerprint) {
+        // the fingerprint is a hash already
+        return (int) fingerprint & tableMask;
+    }
+
+    private static long fingerprint(String messageId) {
+        long fingerprint = MURMUR3_128.hashString(messageId, StandardCharsets.UTF_8).asLong();
+        return (fingerprint == FREE) ? 1L : fingerprint;
+    }
+}
@@ -26,6 +26,7 @@ import de.rwth.idsg.steve.web.validation.ChargeBoxIdValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
@@ -59,6 +60,7 @@ public class OcppWebSocketHandshakeHandler implements HandshakeHandler {
     private final List<AbstractWebSocketEndpoint> endpoints;
     private final ChargePointService chargePointService;
     private final CertificateValidator certificateValidator;
+    private final HandshakeAdmission handshakeAdmission;
     private final String protocolHeaderFromProxy;
 
     private final BasicAuthenticationConverter converter = new BasicAuthenticationConverter();
@@ -91,6 +93,24 @@ public class OcppWebSocketHandshakeHandler implements HandshakeHandler {
         }
         log.debug("ChargeBoxId '{}' has a valid pattern", chargeBoxId);
 
+        HandshakeAdmission.Permit permit = handshakeAdmission.tryAdmit();
+        if (permit == null) {
+            // no warn: during a reconnect storm, this would flood the log
+            log.debug("ChargeBoxId '{}': Rejecting handshake because too many stations are connecting", chargeBoxId);
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(handshakeAdmission.getRetryAfterSeconds()));
+            return false;
+        }
+
+        try {
+            return doAdmittedHandshake(chargeBoxId, request, response, attributes);
+        } finally {
+            permit.close();
+        }
+    }
+
+    private boolean doAdmittedHandshake(String chargeBoxId, ServerHttpRequest request, ServerHttpResponse response,
+                                        Map<String, Object> attributes) throws HandshakeFailureException {
         Optional<ChargePointRegistration> registration = chargePointService.getRegistration(chargeBoxId);
 
         // Allow connections, if station is in db (registration_status field from db does not matter)
@@ -38,6 +38,7 @@ public class SessionContextStoreHolder {
     private final WsSessionSelectStrategy wsSessionSelectStrategy;
     private final TaskScheduler taskScheduler;
     private final FutureResponseContextStore futureResponseContextStore;
+    private final int duplicateCallIdWindow;
 
     public SessionContextStoreHolder(SteveProperties steveProperties,
                                      TaskScheduler taskScheduler,
@@ -45,9 +46,12 @@ public class SessionContextStoreHolder {
         wsSessionSelectStrategy = steveProperties.getOcpp().getWsSessionSelectStrategy();
         this.taskScheduler = taskScheduler;
         this.futureResponseContextStore = futureResponseContextStore;
+        this.duplicateCallIdWindow = steveProperties.getOcpp().getWsIngress().getDuplicateCallIdWindow();
     }
 
     public SessionContextStore getOrCreate(OcppVersion version) {
-        return storesPerVersion.computeIfAbsent(version, k -> new SessionContextStoreImpl(wsSessionSelectStrategy, taskScheduler, futureResponseContextStore));
+        return storesPerVersion.computeIfAbsent(version, k -> new SessionContextStoreImpl(
+            wsSessionSelectStrategy, taskScheduler, futureResponseContextStore, duplicateCallIdWindow
+        ));
     }
 }
@@ -44,6 +44,10 @@ import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.locks.Lock;
 
 /**
+ * Changes of the sessions of a station (add, remove, close) are serialized by a per-chargeBoxId lock. The per-message
+ * path (registerIncomingCallId) does not take any lock of the store: it finds the {@link SessionContext} by session id
+ * and works only on the state of that session.
+ *
  * @author Sevket Goekay <sevketgokay@gmail.com>
  * @since 17.03.2015
  */
@@ -56,13 +60,19 @@ public class SessionContextStoreImpl implements SessionContextStore {
      * Value (Deque<SessionContext>) = WebSocket session contexts
      */
     private final ConcurrentHashMap<String, Deque<SessionContext>> lookupTable = new ConcurrentHashMap<>();
-    private final IncomingMessageIdStore messageIdStore = new IncomingMessageIdStore(1_000_000);
+
+    /**
+     * Key   (String)         = WebSocket session id
+     * Value (SessionContext) = the same instance as in lookupTable
+     */
+    private final ConcurrentHashMap<String, SessionContext> contextBySessionId = new ConcurrentHashMap<>();
 
     private final Striped<Lock> locks = Striped.lock(128);
 
     private final WsSessionSelectStrategy wsSessionSelectStrategy;
     private final TaskScheduler taskScheduler;
     private final FutureResponseContextStore futureResponseContextStore;
+    private final int duplicateCallIdWindow;
 
     @Override
     public boolean add(String chargeBoxId, WebSocketSession session) {
@@ -82,12 +92,14 @@ public class SessionContextStoreImpl implements SessionContextStore {
                 WebSocketConfiguration.PING_INTERVAL
             );
 
-            SessionContext context = new SessionContext(session, pingSchedule, DateTime.now());
+            var context = new SessionContext(
+                session, pingSchedule, DateTime.now(), new IncomingMessageIdWindow(duplicateCallIdWindow)
+            );
 
             Deque<SessionContext> endpointDeque = lookupTable.computeIfAbsent(chargeBoxId, str -> new ArrayDeque<>());
             endpointDeque.addLast(context); // Adding at the end
 
-            messageIdStore.addSession(session);
+            contextBySessionId.put(session.getId(), context);
             futureResponseContextStore.addSession(session);
 
             int size = endpointDeque.size();
@@ -125,7 +137,7 @@ public class SessionContextStoreImpl implements SessionContextStore {
                 lookupTable.remove(chargeBoxId);
             }
 
-            messageIdStore.removeSession(session);
+            contextBySessionId.remove(session.getId());
             futureResponseContextStore.removeSession(session);
 
             return endpointDeque.isEmpty();
@@ -153,13 +165,13 @@ public class SessionContextStoreImpl implements SessionContextStore {
 
     @Override
     public Boolean registerIncomingCallId(String chargeBoxId, WebSocketSession session, @NotNull String messageId) {
-        Lock l = locks.get(chargeBoxId);
-        l.lock();
-        try {
-            return messageIdStore.registerIncomingCallId(session, messageId);
-        } finally {
-            l.unlock();
+        SessionContext context = contextBySessionId.get(session.getId());
+        if (context == null) {
+            // return null in order to stop processing this message. we clearly don't know this session. it might
+            // imply some add/remove race or some other unexpected edge case.
+            return null;
         }
+        return context.getIncomingMessageIds().register(messageId);
     }
 
     @Override
@@ -0,0 +1,243 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.ws;
+
+import de.rwth.idsg.steve.config.SteveProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decides on which thread an incoming WebSocket message is processed (steve.ocpp.ws-ingress.mode).
+ *
+ * INLINE: On the Jetty thread that read the frame. While we wait for the database, this thread cannot read frames of
+ * other stations.
+ *
+ * MAILBOX: Every session gets an ordered queue. A virtual thread works the queue off and exits when it is empty. This
+ * way, messages of one station are processed one after another (as in the inline mode), but the Jetty thread is free
+ * again right after the frame is read. If a station has more than mailbox-capacity unprocessed messages, it does not
+ * respect the request/response flow of OCPP and we close the connection. The mailbox of a session exists from
+ * {@link #add(WebSocketSession)} to {@link #remove(WebSocketSession)}. Messages outside of this time are dropped.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+@Slf4j
+@Component
+public class SessionMailboxes {
+
+    public enum Mode {
+        INLINE,
+        MAILBOX
+    }
+
+    public interface Task {
+        void run() throws Exception;
+    }
+
+    private final SteveProperties.Ocpp.WsIngress config;
+
+    /**
+     * Null, if inline mode
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Key   (String)  = WebSocket session id
+     * Value (Mailbox) = pending messages of this session
+     */
+    private final ConcurrentHashMap<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    /**
+     * Number of unprocessed messages over all mailboxes
+     */
+    private final AtomicInteger backlog = new AtomicInteger();
+
+    private final AtomicInteger maxMailboxBacklog = new AtomicInteger();
+
+    public SessionMailboxes(SteveProperties steveProperties) {
+        this.config = steveProperties.getOcpp().getWsIngress();
+
+        if (config.getMode() == Mode.MAILBOX) {
+            this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("SteVe-WsIngress-", 0).factory());
+            log.info("Incoming WebSocket messages will be processed in per-session mailboxes (capacity: {})",
+                config.getMailboxCapacity());
+        } else {
+            this.executor = null;
+        }
+    }
+
+    @EventListener
+    public void beforeShutdown(ContextClosedEvent event) {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Must be called when the session is opened, before its first message
+     */
+    public void add(WebSocketSession session) {
+        if (executor != null) {
+            mailboxes.putIfAbsent(session.getId(), new Mailbox(session));
+        }
+    }
+
+    /**
+     * In inline mode, the task is run right away and exceptions are propagated to the caller. In mailbox mode, the task
+     * is queued and an exception closes the session (which is what Spring does with an exception in inline mode).
+     */
+    public void execute(WebSocketSession session, Task task) throws Exception {
+        if (executor == null) {
+            task.run();
+            return;
+        }
+
+        // not created here: a message that races with the close of the session must not bring back its mailbox, which
+        // would never be removed again
+        Mailbox mailbox = mailboxes.get(session.getId());
+        if (mailbox == null) {
+            log.debug("Session '{}' is closed. Dropping the incoming message", session.getId());
+            return;
+        }
+
+        if (!mailbox.offer(task)) {
+            log.warn("Mailbox of session '{}' is full ({} messages). Closing the connection", session.getId(),
+                config.getMailboxCapacity());
+            closeQuietly(session, CloseStatus.SERVICE_OVERLOAD.withReason("Too many unprocessed messages"));
+        }
+    }
+
+    /**
+     * Messages that are already queued are still processed (e.g. responses to our calls), but the mailbox is
+     * forgotten and later messages of the session are dropped.
+     */
+    public void remove(WebSocketSession session) {
+        mailboxes.remove(session.getId());
+    }
+
+    public boolean isEnabled() {
+        return executor != null;
+    }
+
+    public int getBacklog() {
+        return backlog.get();
+    }
+
+    /**
+     * The highest number of unprocessed messages that one session had so far
+     */
+    public int getMaxMailboxBacklog() {
+        return maxMailboxBacklog.get();
+    }
+
+    public int getMailboxCount() {
+        return mailboxes.size();
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private static void closeQuietly(WebSocketSession session, CloseStatus status) {
+        try {
+            session.close(status);
+        } catch (IOException e) {
+            log.warn("Failed to close session '{}'", session.getId(), e);
+        }
+    }
+
+    private class Mailbox {
+
+        private final WebSocketSession session;
+        private final Queue<Task> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        /**
+         * True, while a virtual thread is working on this mailbox
+         */
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Mailbox(WebSocketSession session) {
+            this.session = session;
+        }
+
+        private boolean offer(Task task) {
+            int newSize = size.incrementAndGet();
+            if (newSize > config.getMailboxCapacity()) {
+                size.decrementAndGet();
+                return false;
+            }
+
+            queue.add(task);
+            backlog.incrementAndGet();
+            maxMailboxBacklog.accumulateAndGet(newSize, Math::max);
+
+            schedule();
+            return true;
+        }
+
+        private void schedule() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // shutting down
+                scheduled.set(false);
+            }
+        }
+
+        private void drain() {
+            Task task;
+            while ((task = queue.poll()) != null) {
+                size.decrementAndGet();
+                backlog.decrementAndGet();
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.error("Closing session '{}' due to exception", session.getId(), e);
+                    closeQuietly(session, CloseStatus.SERVER_ERROR);
+                }
+            }
+
+            scheduled.set(false);
+
+            // a message might have been added after our last poll, but before we reset the flag
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
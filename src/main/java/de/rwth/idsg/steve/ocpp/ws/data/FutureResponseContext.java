@@ -20,11 +20,13 @@ package de.rwth.idsg.steve.ocpp.ws.data;
 
 import de.rwth.idsg.ocpp.jaxb.ResponseType;
 import de.rwth.idsg.steve.ocpp.CommunicationTask;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
 import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * @author Sevket Goekay <sevketgokay@gmail.com>
@@ -43,6 +45,7 @@ public class FutureResponseContext {
 
     private final CommunicationTask task;
     private final Class<? extends ResponseType> responseClass;
+    private final String chargeBoxId;
 
     /**
      * Timestamp used to detect stale response contexts and prevent late responses
@@ -50,7 +53,24 @@ public class FutureResponseContext {
      */
     private final Instant createdAt = Instant.now();
 
+    /**
+     * Either the response or the timeout completes the context, whichever comes first
+     */
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean completed = new AtomicBoolean(false);
+
     public boolean hasTimedOut(Instant now) {
         return createdAt.plusSeconds(TIMEOUT_IN_SECONDS).isBefore(now);
     }
+
+    /**
+     * @return true, only for the first caller
+     */
+    public boolean complete() {
+        return completed.compareAndSet(false, true);
+    }
+
+    public boolean isCompleted() {
+        return completed.get();
+    }
 }
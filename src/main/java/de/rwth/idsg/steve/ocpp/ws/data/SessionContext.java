@@ -18,6 +18,7 @@
  */
 package de.rwth.idsg.steve.ocpp.ws.data;
 
+import de.rwth.idsg.steve.ocpp.ws.IncomingMessageIdWindow;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.joda.time.DateTime;
@@ -35,4 +36,9 @@ public class SessionContext {
     private final WebSocketSession session;
     private final ScheduledFuture pingSchedule;
     private final DateTime openSince;
+
+    /**
+     * For the duplicate check of the messageIds of incoming CALLs
+     */
+    private final IncomingMessageIdWindow incomingMessageIds;
 }
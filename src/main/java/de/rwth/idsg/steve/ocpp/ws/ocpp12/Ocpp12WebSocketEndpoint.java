@@ -27,7 +27,10 @@ import de.rwth.idsg.steve.ocpp.soap.CentralSystemService12_SoapServer;
 import de.rwth.idsg.steve.ocpp.ws.AbstractWebSocketEndpoint;
 import de.rwth.idsg.steve.ocpp.ws.FutureResponseContextStore;
 import de.rwth.idsg.steve.ocpp.ws.SessionContextStoreHolder;
+import de.rwth.idsg.steve.ocpp.ws.SessionMailboxes;
+import de.rwth.idsg.steve.ocpp.ws.pipeline.PipelineMetrics;
 import de.rwth.idsg.steve.repository.OcppServerRepository;
+import de.rwth.idsg.steve.repository.impl.ChargeBoxHeartbeatCoalescer;
 import ocpp.cs._2010._08.AuthorizeRequest;
 import ocpp.cs._2010._08.BootNotificationRequest;
 import ocpp.cs._2010._08.DiagnosticsStatusNotificationRequest;
@@ -52,11 +55,14 @@ public class Ocpp12WebSocketEndpoint extends AbstractWebSocketEndpoint {
     private final CentralSystemService12_SoapServer server;
 
     public Ocpp12WebSocketEndpoint(OcppServerRepository ocppServerRepository,
+                                   ChargeBoxHeartbeatCoalescer heartbeatCoalescer,
                                    FutureResponseContextStore futureResponseContextStore,
                                    ApplicationEventPublisher applicationEventPublisher,
                                    CentralSystemService12_SoapServer server,
-                                   SessionContextStoreHolder sessionContextStoreHolder) {
-        super(ocppServerRepository, futureResponseContextStore, applicationEventPublisher, sessionContextStoreHolder, Ocpp12TypeStore.INSTANCE);
+                                   SessionContextStoreHolder sessionContextStoreHolder,
+                                   SessionMailboxes sessionMailboxes,
+                                   PipelineMetrics pipelineMetrics) {
+        super(ocppServerRepository, heartbeatCoalescer, futureResponseContextStore, applicationEventPublisher, sessionContextStoreHolder, sessionMailboxes, pipelineMetrics, Ocpp12TypeStore.INSTANCE);
         this.server = server;
     }
 
@@ -27,7 +27,10 @@ import de.rwth.idsg.steve.ocpp.soap.CentralSystemService15_SoapServer;
 import de.rwth.idsg.steve.ocpp.ws.AbstractWebSocketEndpoint;
 import de.rwth.idsg.steve.ocpp.ws.FutureResponseContextStore;
 import de.rwth.idsg.steve.ocpp.ws.SessionContextStoreHolder;
+import de.rwth.idsg.steve.ocpp.ws.SessionMailboxes;
+import de.rwth.idsg.steve.ocpp.ws.pipeline.PipelineMetrics;
 import de.rwth.idsg.steve.repository.OcppServerRepository;
+import de.rwth.idsg.steve.repository.impl.ChargeBoxHeartbeatCoalescer;
 import ocpp.cs._2012._06.AuthorizeRequest;
 import ocpp.cs._2012._06.BootNotificationRequest;
 import ocpp.cs._2012._06.DataTransferRequest;
@@ -53,11 +56,14 @@ public class Ocpp15WebSocketEndpoint extends AbstractWebSocketEndpoint {
     private final CentralSystemService15_SoapServer server;
 
     public Ocpp15WebSocketEndpoint(OcppServerRepository ocppServerRepository,
+                                   ChargeBoxHeartbeatCoalescer heartbeatCoalescer,
                                    FutureResponseContextStore futureResponseContextStore,
                                    ApplicationEventPublisher applicationEventPublisher,
                                    CentralSystemService15_SoapServer server,
-                                   SessionContextStoreHolder sessionContextStoreHolder) {
-        super(ocppServerRepository, futureResponseContextStore, applicationEventPublisher, sessionContextStoreHolder, Ocpp15TypeStore.INSTANCE);
+                                   SessionContextStoreHolder sessionContextStoreHolder,
+                                   SessionMailboxes sessionMailboxes,
+                                   PipelineMetrics pipelineMetrics) {
+        super(ocppServerRepository, heartbeatCoalescer, futureResponseContextStore, applicationEventPublisher, sessionContextStoreHolder, sessionMailboxes, pipelineMetrics, Ocpp15TypeStore.INSTANCE);
         this.server = server;
     }
 
@@ -27,7 +27,10 @@ import de.rwth.idsg.steve.ocpp.soap.CentralSystemService16_SoapServer;
 import de.rwth.idsg.steve.ocpp.ws.AbstractWebSocketEndpoint;
 import de.rwth.idsg.steve.ocpp.ws.FutureResponseContextStore;
 import de.rwth.idsg.steve.ocpp.ws.SessionContextStoreHolder;
+import de.rwth.idsg.steve.ocpp.ws.SessionMailboxes;
+import de.rwth.idsg.steve.ocpp.ws.pipeline.PipelineMetrics;
 import de.rwth.idsg.steve.repository.OcppServerRepository;
+import de.rwth.idsg.steve.repository.impl.ChargeBoxHeartbeatCoalescer;
 import ocpp._2022._02.security.LogStatusNotification;
 import ocpp._2022._02.security.SecurityEventNotification;
 import ocpp._2022._02.security.SignCertificate;
@@ -57,11 +60,14 @@ public class Ocpp16WebSocketEndpoint extends AbstractWebSocketEndpoint {
     private final CentralSystemService16_SoapServer server;
 
     public Ocpp16WebSocketEndpoint(OcppServerRepository ocppServerRepository,
+                                   ChargeBoxHeartbeatCoalescer heartbeatCoalescer,
                                    FutureResponseContextStore futureResponseContextStore,
                                    ApplicationEventPublisher applicationEventPublisher,
                                    CentralSystemService16_SoapServer server,
-                                   SessionContextStoreHolder sessionContextStoreHolder) {
-        super(ocppServerRepository, futureResponseContextStore, applicationEventPublisher, sessionContextStoreHolder, Ocpp16TypeStore.INSTANCE);
+                                   SessionContextStoreHolder sessionContextStoreHolder,
+                                   SessionMailboxes sessionMailboxes,
+                                   PipelineMetrics pipelineMetrics) {
+        super(ocppServerRepository, heartbeatCoalescer, futureResponseContextStore, applicationEventPublisher, sessionContextStoreHolder, sessionMailboxes, pipelineMetrics, Ocpp16TypeStore.INSTANCE);
         this.server = server;
     }
 
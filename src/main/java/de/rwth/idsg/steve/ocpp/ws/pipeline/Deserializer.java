@@ -40,6 +40,7 @@ import tools.jackson.core.JacksonException;
 import tools.jackson.core.JsonParser;
 import tools.jackson.core.JsonToken;
 import tools.jackson.core.TreeNode;
+import tools.jackson.core.exc.StreamReadException;
 import tools.jackson.databind.DatabindException;
 import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
@@ -70,6 +71,10 @@ public class Deserializer implements Consumer<CommunicationContext> {
     /**
      * Parsing with streaming API is cumbersome, but only it allows to parse the String step for step
      * and build, if any, a corresponding error message.
+     *
+     * Payloads that are JSON objects (i.e. nearly all of them) are bound directly from the parser, without building a
+     * JsonNode tree first. Everything else takes the detour over the tree, since it needs special treatment (null) or
+     * ends up in an error anyway.
      */
     @Override
     public void accept(CommunicationContext context) {
@@ -140,18 +145,26 @@ public class Deserializer implements Consumer<CommunicationContext> {
         // parse request payload
         RequestType req;
         try {
-            parser.nextToken();
-            JsonNode requestPayload = parser.readValueAsTree();
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                req = mapper.readValue(parser, clazz);
+            } else {
+                JsonNode requestPayload = parser.readValueAsTree();
 
-            // https://github.com/steve-community/steve/issues/1109
-            if (requestPayload instanceof NullNode) {
-                requestPayload = new ObjectNode(JsonNodeFactory.instance);
-            }
+                // https://github.com/steve-community/steve/issues/1109
+                if (requestPayload instanceof NullNode) {
+                    requestPayload = new ObjectNode(JsonNodeFactory.instance);
+                }
 
-            req = mapper.treeToValue(requestPayload, clazz);
+                req = mapper.treeToValue(requestPayload, clazz);
+            }
         } catch (ConstraintViolationException | DatabindException e) {
             log.error("Exception occurred", e);
-            context.setOutgoingMessage(ErrorFactory.propertyConstraintViolation(messageId, getDetails(e)));
+            if (isCausedByBrokenJson(e)) {
+                // when binding directly from the parser, databind might wrap syntax errors within a field
+                context.setOutgoingMessage(ErrorFactory.payloadDeserializeError(messageId, null));
+            } else {
+                context.setOutgoingMessage(ErrorFactory.propertyConstraintViolation(messageId, getDetails(e)));
+            }
             return;
         } catch (JacksonException e) {
             log.error("Exception occurred", e);
@@ -177,9 +190,12 @@ public class Deserializer implements Consumer<CommunicationContext> {
 
         ResponseType res;
         try {
-            parser.nextToken();
-            JsonNode responsePayload = parser.readValueAsTree();
-            res = mapper.treeToValue(responsePayload, responseContext.getResponseClass());
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                res = mapper.readValue(parser, responseContext.getResponseClass());
+            } else {
+                JsonNode responsePayload = parser.readValueAsTree();
+                res = mapper.treeToValue(responsePayload, responseContext.getResponseClass());
+            }
         } catch (JacksonException e) {
             throw new SteveException("Deserialization of incoming response payload failed", e);
         }
@@ -237,6 +253,15 @@ public class Deserializer implements Consumer<CommunicationContext> {
         context.setIncomingMessage(error);
     }
 
+    private static boolean isCausedByBrokenJson(Exception e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof StreamReadException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private static String getDetails(Exception e) {
         if (e instanceof ConstraintViolationException || e.getCause() instanceof ConstraintViolationException) {
             return "Violation of field constraints";
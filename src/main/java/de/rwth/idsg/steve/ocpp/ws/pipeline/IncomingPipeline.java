@@ -20,6 +20,7 @@ package de.rwth.idsg.steve.ocpp.ws.pipeline;
 
 import de.rwth.idsg.ocpp.jaxb.ResponseType;
 import de.rwth.idsg.steve.SteveException;
+import de.rwth.idsg.steve.ocpp.OcppVersion;
 import de.rwth.idsg.steve.ocpp.ws.data.CommunicationContext;
 import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonCall;
 import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonError;
@@ -32,6 +33,11 @@ import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
+import static de.rwth.idsg.steve.ocpp.ws.pipeline.PipelineMetrics.Stage.DESERIALIZE;
+import static de.rwth.idsg.steve.ocpp.ws.pipeline.PipelineMetrics.Stage.HANDLE;
+import static de.rwth.idsg.steve.ocpp.ws.pipeline.PipelineMetrics.Stage.SEND;
+import static de.rwth.idsg.steve.ocpp.ws.pipeline.PipelineMetrics.Stage.SERIALIZE;
+
 /**
  * For all incoming message types.
  *
@@ -47,12 +53,17 @@ public class IncomingPipeline implements Consumer<CommunicationContext> {
 
     private final Deserializer deserializer;
     private final OcppCallHandler handler;
+    private final PipelineMetrics metrics;
+    private final OcppVersion version;
 
     @Override
     public void accept(CommunicationContext context) {
+        long start = System.nanoTime();
         try {
             deserializer.accept(context);
         } catch (SteveException e) {
+            metrics.record(version, DESERIALIZE, PipelineMetrics.UNKNOWN_ACTION, start);
+
             // do not let OcppCallbacks hang. try to inform them when the response from the station cannot be parsed.
             var frc = context.getFutureResponseContext();
             if (frc != null) {
@@ -61,39 +72,50 @@ public class IncomingPipeline implements Consumer<CommunicationContext> {
             throw e;
         }
 
+        String action = PipelineMetrics.getAction(context);
+        start = metrics.record(version, DESERIALIZE, action, start);
+
         // When the incoming could not be deserialized
         if (context.isSetOutgoingError()) {
-            serializer.accept(context);
-            sender.accept(context);
+            serializeAndSend(context, action, start);
             return;
         }
 
         switch (context.getIncomingMessage()) {
-            case OcppJsonCall call -> processCall(context, call);
-            case OcppJsonResult result -> processResult(context, result);
-            case OcppJsonError error -> processError(context, error);
+            case OcppJsonCall call -> processCall(context, action, start);
+            case OcppJsonResult result -> processResult(context, result, action, start);
+            case OcppJsonError error -> processError(context, error, action, start);
             default -> log.warn("Unexpected value: {}", context.getIncomingMessage());
         }
     }
 
-    private void processCall(CommunicationContext context, OcppJsonCall call) {
+    private void processCall(CommunicationContext context, String action, long start) {
         handler.accept(context);
+        start = metrics.record(version, HANDLE, action, start);
+        serializeAndSend(context, action, start);
+    }
+
+    private void serializeAndSend(CommunicationContext context, String action, long start) {
         serializer.accept(context);
+        start = metrics.record(version, SERIALIZE, action, start);
         sender.accept(context);
+        metrics.record(version, SEND, action, start);
     }
 
     @SuppressWarnings("unchecked")
-    private void processResult(CommunicationContext context, OcppJsonResult result) {
+    private void processResult(CommunicationContext context, OcppJsonResult result, String action, long start) {
         context.getFutureResponseContext()
             .getTask()
             .getHandler(context.getChargeBoxId())
             .handleResponse(new DummyResponse(result.getPayload()));
+        metrics.record(version, HANDLE, action, start);
     }
 
-    private void processError(CommunicationContext context, OcppJsonError error) {
+    private void processError(CommunicationContext context, OcppJsonError error, String action, long start) {
         context.getFutureResponseContext()
             .getTask()
             .success(context.getChargeBoxId(), error);
+        metrics.record(version, HANDLE, action, start);
     }
 
     private record DummyResponse(ResponseType payload) implements Response<ResponseType> {
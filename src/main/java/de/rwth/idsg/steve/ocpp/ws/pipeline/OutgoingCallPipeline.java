@@ -18,6 +18,7 @@
  */
 package de.rwth.idsg.steve.ocpp.ws.pipeline;
 
+import de.rwth.idsg.steve.SteveException;
 import de.rwth.idsg.steve.ocpp.ws.FutureResponseContextStore;
 import de.rwth.idsg.steve.ocpp.ws.data.CommunicationContext;
 import lombok.RequiredArgsConstructor;
@@ -40,6 +41,9 @@ public class OutgoingCallPipeline implements Consumer<CommunicationContext> {
     /**
      * Uses a store-before-send strategy to close response-correlation races.
      * If transport sending fails, the stored context is rolled back immediately.
+     *
+     * If the message was not sent (e.g. the session is closed in the meantime), no response and no timeout will ever
+     * complete the task for this station. Therefore, we throw, so that the caller fails it.
      */
     @Override
     public void accept(CommunicationContext ctx) {
@@ -54,13 +58,17 @@ public class OutgoingCallPipeline implements Consumer<CommunicationContext> {
         );
 
         // 3. Send the payload via WebSocket
+        boolean sent;
         try {
-            if (!Sender.INSTANCE.accept(ctx)) {
-                store.poll(ctx.getSession(), ctx.getOutgoingMessage().getMessageId());
-            }
+            sent = Sender.INSTANCE.accept(ctx);
         } catch (Exception e) {
             store.poll(ctx.getSession(), ctx.getOutgoingMessage().getMessageId());
             throw e;
         }
+
+        // the context is null, if the timeout won the race and failed the task already
+        if (!sent && store.poll(ctx.getSession(), ctx.getOutgoingMessage().getMessageId()) != null) {
+            throw new SteveException("The session of '%s' is closed. The call was not sent", ctx.getChargeBoxId());
+        }
     }
 }
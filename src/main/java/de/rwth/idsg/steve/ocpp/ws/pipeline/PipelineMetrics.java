@@ -0,0 +1,104 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.ws.pipeline;
+
+import de.rwth.idsg.steve.ocpp.OcppVersion;
+import de.rwth.idsg.steve.ocpp.ws.data.CommunicationContext;
+import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonCall;
+import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonError;
+import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency histograms of the stages of {@link IncomingPipeline}, per OCPP version and action (metric:
+ * steve.ocpp.incoming). For responses of stations, the action is the simple name of the expected response class (e.g.
+ * GetConfigurationResponse).
+ *
+ * Timers are cached, since looking them up in the registry for every message is not free.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+@Component
+@RequiredArgsConstructor
+public class PipelineMetrics {
+
+    public static final String METRIC_NAME = "steve.ocpp.incoming";
+
+    static final String UNKNOWN_ACTION = "unknown";
+
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<Key, Timer> timers = new ConcurrentHashMap<>();
+
+    public enum Stage { DESERIALIZE, HANDLE, SERIALIZE, SEND }
+
+    /**
+     * @return the current time, so that the next stage can be measured from there
+     */
+    public long record(OcppVersion version, Stage stage, String action, long startNanos) {
+        long now = System.nanoTime();
+        timers.computeIfAbsent(new Key(version, stage, action), this::createTimer)
+              .record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    /**
+     * Messages that could not be deserialized are not tagged with their action, since it comes from the station and
+     * might be anything.
+     */
+    static String getAction(CommunicationContext context) {
+        if (context.isSetOutgoingError()) {
+            return UNKNOWN_ACTION;
+        }
+        return switch (context.getIncomingMessage()) {
+            case OcppJsonCall call -> call.getAction();
+            case OcppJsonResult result -> getResponseAction(context);
+            case OcppJsonError error -> getResponseAction(context);
+            case null, default -> UNKNOWN_ACTION;
+        };
+    }
+
+    private static String getResponseAction(CommunicationContext context) {
+        var frc = context.getFutureResponseContext();
+        return frc == null ? UNKNOWN_ACTION : frc.getResponseClass().getSimpleName();
+    }
+
+    private Timer createTimer(Key key) {
+        return Timer.builder(METRIC_NAME)
+                    .description("Processing time of incoming OCPP messages per stage")
+                    .tag("version", key.version().getValue())
+                    .tag("stage", key.stage().name().toLowerCase(Locale.ROOT))
+                    .tag("action", key.action())
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(meterRegistry);
+    }
+
+    private record Key(OcppVersion version, Stage stage, String action) { }
+}
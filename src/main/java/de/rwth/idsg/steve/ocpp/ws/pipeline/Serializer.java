@@ -22,23 +22,24 @@ import de.rwth.idsg.steve.SteveException;
 import de.rwth.idsg.steve.ocpp.ws.ErrorFactory;
 import de.rwth.idsg.steve.ocpp.ws.JsonObjectMapper;
 import de.rwth.idsg.steve.ocpp.ws.data.CommunicationContext;
-import de.rwth.idsg.steve.ocpp.ws.data.MessageType;
 import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonCall;
 import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonError;
 import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonMessage;
 import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonResult;
 import lombok.extern.slf4j.Slf4j;
 import tools.jackson.core.JacksonException;
-import tools.jackson.databind.JsonNode;
+import tools.jackson.core.JsonGenerator;
 import tools.jackson.databind.ObjectMapper;
-import tools.jackson.databind.node.ArrayNode;
-import tools.jackson.databind.node.ObjectNode;
 
+import java.io.StringWriter;
 import java.util.function.Consumer;
 
 /**
  * Outgoing OcppJsonMessage --> String.
  *
+ * The frame is written directly with a JsonGenerator, without building a JsonNode tree of it (and of the payload)
+ * first. The internal buffers of the generator are recycled by Jackson.
+ *
  * This class should remain stateless.
  *
  * @author Sevket Goekay <sevketgokay@gmail.com>
@@ -48,25 +49,25 @@ import java.util.function.Consumer;
 public enum Serializer implements Consumer<CommunicationContext> {
     INSTANCE;
 
+    /**
+     * Most of the frames we send (responses to Heartbeat, StatusNotification, MeterValues...) are smaller than this
+     */
+    private static final int INITIAL_BUFFER_SIZE = 256;
+
     private final ObjectMapper mapper = JsonObjectMapper.INSTANCE.getMapper();
 
     @Override
     public void accept(CommunicationContext context) {
         OcppJsonMessage message = context.getOutgoingMessage();
 
-        ArrayNode str = switch (message) {
+        String result = switch (message) {
             case OcppJsonCall call -> handleCall(call);
-            case OcppJsonResult result -> handleResult(result);
+            case OcppJsonResult res -> handleResult(res);
             case OcppJsonError error -> handleError(error);
             default -> throw new SteveException("Unknown message type: " + message.getClass().getName());
         };
 
-        try {
-            String result = mapper.writeValueAsString(str);
-            context.setOutgoingString(result);
-        } catch (JacksonException e) {
-            throw new SteveException("The outgoing message could not be serialized", e);
-        }
+        context.setOutgoingString(result);
     }
 
     // -------------------------------------------------------------------------
@@ -77,43 +78,40 @@ public enum Serializer implements Consumer<CommunicationContext> {
      * Do NOT catch and handle exceptions for outgoing CALLs. Do NOT send the message.
      * Let the processing fail and acknowledge the user.
      */
-    private ArrayNode handleCall(OcppJsonCall call) {
-        JsonNode payloadNode;
+    private String handleCall(OcppJsonCall call) {
         try {
-            payloadNode = mapper.valueToTree(call.getPayload());
-        } catch (IllegalArgumentException e) {
+            return writeFrame(gen -> {
+                gen.writeNumber(call.getMessageType().getTypeNr());
+                gen.writeString(call.getMessageId());
+                gen.writeString(call.getAction());
+                gen.writePOJO(call.getPayload());
+            });
+        } catch (JacksonException | IllegalArgumentException e) {
             throw new SteveException("The payload of the outgoing call could not be converted to JSON", e);
         }
-
-        return mapper.createArrayNode()
-                     .add(call.getMessageType().getTypeNr())
-                     .add(call.getMessageId())
-                     .add(call.getAction())
-                     .add(payloadNode);
     }
 
     /**
      * Catch exceptions and wrap them in outgoing ERRORs for outgoing RESPONSEs.
      */
-    private ArrayNode handleResult(OcppJsonResult result) {
-        JsonNode payloadNode;
+    private String handleResult(OcppJsonResult result) {
         try {
-            payloadNode = mapper.valueToTree(result.getPayload());
-        } catch (IllegalArgumentException e) {
+            return writeFrame(gen -> {
+                gen.writeNumber(result.getMessageType().getTypeNr());
+                gen.writeString(result.getMessageId());
+                gen.writePOJO(result.getPayload());
+            });
+        } catch (JacksonException | IllegalArgumentException e) {
+            // whatever was written so far is thrown away together with the buffer
             log.error("Exception occurred", e);
             return handleError(ErrorFactory.payloadSerializeError(result.getMessageId(), e.getMessage()));
         }
-
-        return mapper.createArrayNode()
-                     .add(result.getMessageType().getTypeNr())
-                     .add(result.getMessageId())
-                     .add(payloadNode);
     }
 
     /**
      * No exception to catch during serialization, since the fields of the error are simple Strings.
      */
-    private ArrayNode handleError(OcppJsonError error) {
+    private String handleError(OcppJsonError error) {
         // From spec:
         // ErrorDescription - Should be filled in if possible, otherwise a clear empty string "".
         String description;
@@ -123,19 +121,34 @@ public enum Serializer implements Consumer<CommunicationContext> {
             description = "";
         }
 
-        // From spec:
-        // ErrorDetails - This JSON object describes error details in an undefined way.
-        // If there are no error details you should fill in an empty object {}, missing or null is not allowed
-        ObjectNode detailsNode = mapper.createObjectNode();
-        if (error.isSetDetails()) {
-            detailsNode.set("errorMsg", mapper.getNodeFactory().stringNode(error.toStringErrorDetails()));
+        try {
+            return writeFrame(gen -> {
+                gen.writeNumber(error.getMessageType().getTypeNr());
+                gen.writeString(error.getMessageId());
+                gen.writeString(error.getErrorCode().name());
+                gen.writeString(description);
+
+                // From spec:
+                // ErrorDetails - This JSON object describes error details in an undefined way.
+                // If there are no error details you should fill in an empty object {}, missing or null is not allowed
+                gen.writeStartObject();
+                if (error.isSetDetails()) {
+                    gen.writeStringProperty("errorMsg", error.toStringErrorDetails());
+                }
+                gen.writeEndObject();
+            });
+        } catch (JacksonException e) {
+            throw new SteveException("The outgoing message could not be serialized", e);
         }
+    }
 
-        return mapper.createArrayNode()
-                     .add(error.getMessageType().getTypeNr())
-                     .add(error.getMessageId())
-                     .add(error.getErrorCode().name())
-                     .add(description)
-                     .add(detailsNode);
+    private String writeFrame(Consumer<JsonGenerator> content) {
+        var writer = new StringWriter(INITIAL_BUFFER_SIZE);
+        try (JsonGenerator gen = mapper.createGenerator(writer)) {
+            gen.writeStartArray();
+            content.accept(gen);
+            gen.writeEndArray();
+        }
+        return writer.toString();
     }
 }
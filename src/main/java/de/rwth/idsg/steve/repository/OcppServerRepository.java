@@ -20,6 +20,7 @@ package de.rwth.idsg.steve.repository;
 
 import de.rwth.idsg.steve.ocpp.OcppProtocol;
 import de.rwth.idsg.steve.repository.dto.InsertConnectorStatusParams;
+import de.rwth.idsg.steve.repository.dto.InsertMeterValuesParams;
 import de.rwth.idsg.steve.repository.dto.InsertTransactionParams;
 import de.rwth.idsg.steve.repository.dto.UpdateChargeboxParams;
 import de.rwth.idsg.steve.repository.dto.UpdateTransactionParams;
@@ -30,6 +31,7 @@ import org.jetbrains.annotations.Nullable;
 import org.joda.time.DateTime;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Sevket Goekay <sevketgokay@gmail.com>
@@ -44,11 +46,23 @@ public interface OcppServerRepository {
     void updateChargeboxDiagnosticsStatus(@NotNull String chargeBoxId, @NotNull String status);
     void updateChargeboxHeartbeat(@NotNull String chargeBoxId, @NotNull DateTime ts);
 
+    /**
+     * Key = chargeBoxId, Value = heartbeat timestamp. Writes all of them with as few statements as possible. A
+     * timestamp is only written, if it is newer than the stored one.
+     */
+    void updateChargeboxHeartbeats(@NotNull Map<String, DateTime> heartbeats);
+
     void insertConnectorStatus(InsertConnectorStatusParams params);
 
     void insertMeterValues(@NotNull String chargeBoxId, List<MeterValue> list, int connectorId, Integer transactionId);
     void insertMeterValues(@NotNull String chargeBoxId, List<MeterValue> list, @Nullable TransactionRecord transaction);
 
+    /**
+     * Inserts the meter values of multiple messages with multi-row inserts in one database transaction. Unlike the
+     * other insertMeterValues methods, this one throws, if something goes wrong. Then, nothing is inserted.
+     */
+    void insertMeterValues(List<InsertMeterValuesParams> batch);
+
     /**
      * connectorId is the optional parameter to tighten the check
      */
@@ -37,4 +37,9 @@ public interface SettingsRepository {
     void update(SettingsForm settingsForm);
     void update(OcppSettings ocppForm);
     void update(MailSettings mailForm);
+
+    /**
+     * Forces the next read to go to database. Only needed, if the settings table was modified without this repository.
+     */
+    void clearCache();
 }
@@ -20,6 +20,7 @@ package de.rwth.idsg.steve.repository;
 
 import de.rwth.idsg.steve.ocpp.CommunicationTask;
 import de.rwth.idsg.steve.repository.dto.TaskOverview;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 
@@ -29,7 +30,17 @@ import java.util.List;
  */
 public interface TaskStore {
     List<TaskOverview> getOverview();
+
+    /**
+     * Newest tasks first
+     */
+    List<TaskOverview> getOverview(int offset, int limit);
+    int getCount();
+    long getEvictedCount();
+
     CommunicationTask get(Integer taskId);
+    @Nullable CommunicationTask find(Integer taskId);
+
     Integer add(CommunicationTask task);
     List<CommunicationTask> getFinished();
     List<CommunicationTask> getUnfinished();
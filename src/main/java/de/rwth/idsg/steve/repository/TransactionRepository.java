@@ -21,10 +21,8 @@ package de.rwth.idsg.steve.repository;
 import de.rwth.idsg.steve.repository.dto.Transaction;
 import de.rwth.idsg.steve.repository.dto.TransactionDetails;
 import de.rwth.idsg.steve.web.dto.TransactionQueryForm;
-import jooq.steve.db.tables.records.TransactionRecord;
 import org.jetbrains.annotations.NotNull;
 import org.joda.time.DateTime;
-import org.jooq.Result;
 
 import java.io.Writer;
 import java.util.List;
@@ -42,5 +40,5 @@ public interface TransactionRepository {
 
     TransactionDetails getDetails(int transactionPk, boolean energyValuesOnly);
 
-    Result<TransactionRecord> getStoppedTransactions(@NotNull DateTime from, @NotNull DateTime to);
+    void writeStoppedTransactionsCSV(@NotNull DateTime from, @NotNull DateTime to, Writer writer);
 }
@@ -25,6 +25,7 @@ import org.joda.time.DateTime;
 @Getter
 @Builder
 public class SecurityEvent {
+    private final int securityEventPk;
     private final String chargeBoxId;
     private final int chargeBoxPk;
     private final String type;
@@ -0,0 +1,93 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.repository.impl;
+
+import org.jetbrains.annotations.Nullable;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+
+import java.util.Collection;
+
+import static jooq.steve.db.tables.OcppTag.OCPP_TAG;
+import static jooq.steve.db.tables.TransactionStart.TRANSACTION_START;
+import static jooq.steve.db.tables.TransactionStop.TRANSACTION_STOP;
+
+/**
+ * Maintains OCPP_TAG.ACTIVE_TRANSACTION_COUNT, which is the basis of the OCPP_TAG_ACTIVITY view. A transaction is
+ * active as long as there is no stop event for it.
+ *
+ * The methods should be called within the database transaction that inserts the start or stop of a transaction.
+ *
+ * The counter is not an edit of the tag. Therefore, every update keeps UPDATED_AT as it is, which would otherwise be
+ * set by its ON UPDATE CURRENT_TIMESTAMP with every start and stop of a transaction.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+public final class ActiveTransactionCounter {
+
+    private ActiveTransactionCounter() { }
+
+    public static void increment(DSLContext ctx, String idTag) {
+        ctx.update(OCPP_TAG)
+           .set(OCPP_TAG.ACTIVE_TRANSACTION_COUNT, OCPP_TAG.ACTIVE_TRANSACTION_COUNT.plus(1))
+           .set(OCPP_TAG.UPDATED_AT, OCPP_TAG.UPDATED_AT)
+           .where(OCPP_TAG.ID_TAG.eq(idTag))
+           .execute();
+    }
+
+    /**
+     * The column is unsigned, therefore we never go below 0.
+     */
+    public static void decrement(DSLContext ctx, String idTag) {
+        ctx.update(OCPP_TAG)
+           .set(OCPP_TAG.ACTIVE_TRANSACTION_COUNT, OCPP_TAG.ACTIVE_TRANSACTION_COUNT.minus(1))
+           .set(OCPP_TAG.UPDATED_AT, OCPP_TAG.UPDATED_AT)
+           .where(OCPP_TAG.ID_TAG.eq(idTag))
+           .and(OCPP_TAG.ACTIVE_TRANSACTION_COUNT.greaterThan(0L))
+           .execute();
+    }
+
+    /**
+     * Counts the active transactions from scratch. For cases where transactions are removed or inserted in bulk.
+     *
+     * @param idTags null, for all idTags
+     */
+    public static void recalculate(DSLContext ctx, @Nullable Collection<String> idTags) {
+        Condition idTagCondition = (idTags == null)
+            ? DSL.trueCondition()
+            : OCPP_TAG.ID_TAG.in(idTags);
+
+        var activeCount = DSL.select(DSL.count().cast(Long.class))
+            .from(TRANSACTION_START)
+            .where(TRANSACTION_START.ID_TAG.eq(OCPP_TAG.ID_TAG))
+            .andNotExists(
+                DSL.selectOne()
+                   .from(TRANSACTION_STOP)
+                   .where(TRANSACTION_STOP.TRANSACTION_PK.eq(TRANSACTION_START.TRANSACTION_PK))
+            );
+
+        ctx.update(OCPP_TAG)
+           .set(OCPP_TAG.ACTIVE_TRANSACTION_COUNT, activeCount)
+           .set(OCPP_TAG.UPDATED_AT, OCPP_TAG.UPDATED_AT)
+           .where(idTagCondition)
+           .execute();
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.repository.impl;
+
+import de.rwth.idsg.steve.config.SteveProperties;
+import de.rwth.idsg.steve.repository.OcppServerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.joda.time.DateTime;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Write-behind buffer for CHARGE_BOX.LAST_HEARTBEAT_TIMESTAMP.
+ *
+ * Heartbeats and WebSocket pongs arrive very often, but the only thing we persist about them is the newest timestamp
+ * per station. Therefore, we only keep the last value per chargeBoxId in memory and write all of them with one batched
+ * update at a fixed interval and on shutdown.
+ *
+ * Reading code paths that care about heartbeat timestamps should call {@link #flush()} before they query the database
+ * so that they do not see stale values.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChargeBoxHeartbeatCoalescer {
+
+    private final OcppServerRepository ocppServerRepository;
+    private final TaskScheduler taskScheduler;
+    private final SteveProperties steveProperties;
+
+    /**
+     * Key   (String)   = chargeBoxId
+     * Value (DateTime) = the most recent heartbeat timestamp that is not written to database yet
+     */
+    private final ConcurrentHashMap<String, DateTime> pending = new ConcurrentHashMap<>();
+
+    private final Object flushLock = new Object();
+
+    private volatile ScheduledFuture<?> flushSchedule;
+
+    @EventListener
+    public void afterStart(ContextRefreshedEvent event) {
+        Duration interval = getFlushInterval();
+        if (interval.isZero() || flushSchedule != null) {
+            return;
+        }
+
+        flushSchedule = taskScheduler.scheduleWithFixedDelay(this::flushSafely, Instant.now().plus(interval), interval);
+        log.info("Heartbeats will be written to database every {}", interval);
+    }
+
+    @EventListener
+    public void beforeShutdown(ContextClosedEvent event) {
+        ScheduledFuture<?> schedule = flushSchedule;
+        if (schedule != null) {
+            schedule.cancel(false);
+            flushSchedule = null;
+        }
+        flushSafely();
+    }
+
+    public void updateChargeboxHeartbeat(@NotNull String chargeBoxId, @NotNull DateTime ts) {
+        if (getFlushInterval().isZero()) {
+            ocppServerRepository.updateChargeboxHeartbeat(chargeBoxId, ts);
+            return;
+        }
+
+        // keep only the newest timestamp, in case messages are processed out of order
+        pending.merge(chargeBoxId, ts, (oldTs, newTs) -> newTs.isAfter(oldTs) ? newTs : oldTs);
+    }
+
+    /**
+     * Writes all pending heartbeats to database. Cheap, if there is nothing pending.
+     */
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // only one flush at a time. otherwise, an older batch might be committed after a newer one.
+        synchronized (flushLock) {
+            Map<String, DateTime> batch = new HashMap<>();
+            for (String chargeBoxId : pending.keySet()) {
+                DateTime ts = pending.remove(chargeBoxId);
+                if (ts != null) {
+                    batch.put(chargeBoxId, ts);
+                }
+            }
+
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            try {
+                ocppServerRepository.updateChargeboxHeartbeats(batch);
+                log.debug("Flushed heartbeats of {} charge boxes", batch.size());
+            } catch (Exception e) {
+                // put them back for the next try, unless a newer value arrived in the meantime
+                batch.forEach((chargeBoxId, ts) -> pending.merge(chargeBoxId, ts, (newerTs, oldTs) -> newerTs));
+                throw e;
+            }
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Failed to flush heartbeats", e);
+        }
+    }
+
+    private Duration getFlushInterval() {
+        Duration interval = steveProperties.getOcpp().getHeartbeatFlushInterval();
+        return (interval == null || interval.isNegative()) ? Duration.ZERO : interval;
+    }
+}
@@ -44,14 +44,12 @@ import org.apache.commons.lang3.StringUtils;
 import org.joda.time.DateTime;
 import org.jooq.Condition;
 import org.jooq.DSLContext;
-import org.jooq.Field;
 import org.jooq.JSON;
 import org.jooq.Record1;
 import org.jooq.Record5;
 import org.jooq.Result;
 import org.jooq.SelectConditionStep;
 import org.jooq.SelectQuery;
-import org.jooq.Table;
 import org.jooq.exception.DataAccessException;
 import org.jooq.impl.DSL;
 import org.springframework.stereotype.Repository;
@@ -67,9 +65,11 @@ import java.util.stream.Collectors;
 import static de.rwth.idsg.steve.utils.CustomDSL.date;
 import static de.rwth.idsg.steve.utils.CustomDSL.includes;
 import static jooq.steve.db.tables.ChargeBox.CHARGE_BOX;
-import static jooq.steve.db.tables.ConnectorStatus.CONNECTOR_STATUS;
+import static jooq.steve.db.tables.ConnectorStatusLatest.CONNECTOR_STATUS_LATEST;
 import static jooq.steve.db.tables.Evse.EVSE;
 import static jooq.steve.db.tables.EvseConnector.EVSE_CONNECTOR;
+import static jooq.steve.db.tables.TransactionStart.TRANSACTION_START;
+import static jooq.steve.db.tables.TransactionStop.TRANSACTION_STOP;
 
 /**
  * @author Sevket Goekay <sevketgokay@gmail.com>
@@ -82,6 +82,7 @@ public class ChargePointRepositoryImpl implements ChargePointRepository {
 
     private final DSLContext ctx;
     private final AddressRepository addressRepository;
+    private final ChargeBoxHeartbeatCoalescer heartbeatCoalescer;
 
     @Override
     public Optional<ChargePointRegistration> getRegistration(String chargeBoxId) {
@@ -171,6 +172,8 @@ public class ChargePointRepositoryImpl implements ChargePointRepository {
 
     @Override
     public List<ChargePoint.Overview> getOverview(ChargePointQueryForm form) {
+        heartbeatCoalescer.flush();
+
         return getOverviewInternal(form)
                 .map(r -> ChargePoint.Overview.builder()
                                               .chargeBoxPk(r.value1())
@@ -247,6 +250,8 @@ public class ChargePointRepositoryImpl implements ChargePointRepository {
 
     @Override
     public ChargePoint.Details getDetails(int chargeBoxPk) {
+        heartbeatCoalescer.flush();
+
         ChargeBoxRecord cbr = ctx.selectFrom(CHARGE_BOX)
                                  .where(CHARGE_BOX.CHARGE_BOX_PK.equal(chargeBoxPk))
                                  .fetchOne();
@@ -277,26 +282,6 @@ public class ChargePointRepositoryImpl implements ChargePointRepository {
 
     @Override
     public List<ConnectorStatus> getChargePointConnectorStatus(ConnectorStatusForm form) {
-        // find out the latest timestamp for each connector
-        Field<Integer> t1Pk = CONNECTOR_STATUS.EVSE_PK.as("t1_pk");
-        Field<DateTime> t1TsMax = DSL.max(CONNECTOR_STATUS.STATUS_TIMESTAMP).as("t1_ts_max");
-        Table<?> t1 = ctx.select(t1Pk, t1TsMax)
-                         .from(CONNECTOR_STATUS)
-                         .groupBy(CONNECTOR_STATUS.EVSE_PK)
-                         .asTable("t1");
-
-        // get the status table with latest timestamps only
-        Field<Integer> t2Pk = CONNECTOR_STATUS.EVSE_PK.as("t2_pk");
-        Field<DateTime> t2Ts = CONNECTOR_STATUS.STATUS_TIMESTAMP.as("t2_ts");
-        Field<String> t2Status = CONNECTOR_STATUS.STATUS.as("t2_status");
-        Field<String> t2Error = CONNECTOR_STATUS.ERROR_CODE.as("t2_error");
-        Table<?> t2 = ctx.selectDistinct(t2Pk, t2Ts, t2Status, t2Error)
-                         .from(CONNECTOR_STATUS)
-                         .join(t1)
-                            .on(CONNECTOR_STATUS.EVSE_PK.equal(t1.field(t1Pk)))
-                            .and(CONNECTOR_STATUS.STATUS_TIMESTAMP.equal(t1.field(t1TsMax)))
-                         .asTable("t2");
-
         List<Condition> conditions = new ArrayList<>();
         conditions.add(EVSE.TOPOLOGY_SOURCE.eq(EvseTopologySource.ocpp1));
 
@@ -308,24 +293,24 @@ public class ChargePointRepositoryImpl implements ChargePointRepository {
         }
 
         if (form != null && form.getStatus() != null) {
-            conditions.add(t2.field(t2Status).eq(form.getStatus()));
+            conditions.add(CONNECTOR_STATUS_LATEST.STATUS.eq(form.getStatus()));
         }
 
         return ctx.select(
                         CHARGE_BOX.CHARGE_BOX_PK,
                         EVSE.CHARGE_BOX_ID,
                         EVSE.EVSE_ID,
-                        t2.field(t2Ts),
-                        t2.field(t2Status),
-                        t2.field(t2Error),
+                        CONNECTOR_STATUS_LATEST.STATUS_TIMESTAMP,
+                        CONNECTOR_STATUS_LATEST.STATUS,
+                        CONNECTOR_STATUS_LATEST.ERROR_CODE,
                         CHARGE_BOX.OCPP_PROTOCOL)
-                  .from(t2)
+                  .from(CONNECTOR_STATUS_LATEST)
                   .join(EVSE)
-                        .on(EVSE.EVSE_PK.eq(t2.field(t2Pk)))
+                        .on(EVSE.EVSE_PK.eq(CONNECTOR_STATUS_LATEST.EVSE_PK))
                   .join(CHARGE_BOX)
                         .on(CHARGE_BOX.CHARGE_BOX_ID.eq(EVSE.CHARGE_BOX_ID))
                   .where(conditions)
-                  .orderBy(t2.field(t2Ts).desc())
+                  .orderBy(CONNECTOR_STATUS_LATEST.STATUS_TIMESTAMP.desc())
                   .fetch()
                   .map(r -> ConnectorStatus.builder()
                                            .chargeBoxPk(r.value1())
@@ -512,9 +497,36 @@ public class ChargePointRepositoryImpl implements ChargePointRepository {
     }
 
     private void deleteChargePointInternal(DSLContext ctx, int chargeBoxPk) {
+        // transactions of the station are deleted by cascade. the counters of their idTags must be updated.
+        List<String> idTagsOfActiveTransactions = ctx.selectDistinct(TRANSACTION_START.ID_TAG)
+            .from(TRANSACTION_START)
+            .join(EVSE).on(EVSE.EVSE_PK.eq(TRANSACTION_START.EVSE_PK))
+            .join(CHARGE_BOX).on(CHARGE_BOX.CHARGE_BOX_ID.eq(EVSE.CHARGE_BOX_ID))
+            .where(CHARGE_BOX.CHARGE_BOX_PK.equal(chargeBoxPk))
+            .andNotExists(
+                DSL.selectOne()
+                   .from(TRANSACTION_STOP)
+                   .where(TRANSACTION_STOP.TRANSACTION_PK.eq(TRANSACTION_START.TRANSACTION_PK))
+            )
+            .fetch(TRANSACTION_START.ID_TAG);
+
+        String chargeBoxId = ctx.select(CHARGE_BOX.CHARGE_BOX_ID)
+           .from(CHARGE_BOX)
+           .where(CHARGE_BOX.CHARGE_BOX_PK.equal(chargeBoxPk))
+           .fetchOne(CHARGE_BOX.CHARGE_BOX_ID);
+
         ctx.delete(CHARGE_BOX)
            .where(CHARGE_BOX.CHARGE_BOX_PK.equal(chargeBoxPk))
            .execute();
+
+        // EVSEs are deleted by cascade
+        if (chargeBoxId != null) {
+            Ocpp1ConnectorEvseBridge.invalidate(chargeBoxId);
+        }
+
+        if (!idTagsOfActiveTransactions.isEmpty()) {
+            ActiveTransactionCounter.recalculate(ctx, idTagsOfActiveTransactions);
+        }
     }
 
     private static String getNameSafely(Enum<?> enumType) {
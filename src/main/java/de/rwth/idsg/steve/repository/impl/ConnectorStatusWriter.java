@@ -0,0 +1,118 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.repository.impl;
+
+import jooq.steve.db.tables.records.ConnectorStatusRecord;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+
+import static jooq.steve.db.tables.ConnectorStatus.CONNECTOR_STATUS;
+import static jooq.steve.db.tables.ConnectorStatusLatest.CONNECTOR_STATUS_LATEST;
+
+/**
+ * Every connector status goes into two tables: CONNECTOR_STATUS is the complete history, whereas
+ * CONNECTOR_STATUS_LATEST only holds the most recent status per evse for the status overviews.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+public final class ConnectorStatusWriter {
+
+    private ConnectorStatusWriter() { }
+
+    /**
+     * Should be called within a database transaction, so that both tables stay in sync.
+     */
+    public static void insert(DSLContext ctx, ConnectorStatusRecord status) {
+        ctx.insertInto(CONNECTOR_STATUS)
+           .set(status)
+           .execute();
+
+        upsertLatest(ctx, status);
+    }
+
+    /**
+     * Replaces the content of CONNECTOR_STATUS_LATEST with the latest entries of CONNECTOR_STATUS. For cases where the
+     * history is written in bulk (e.g. data import).
+     */
+    public static void rebuildLatest(DSLContext ctx) {
+        var maxTs = DSL.max(CONNECTOR_STATUS.STATUS_TIMESTAMP).as("max_ts");
+        var latest = DSL.select(CONNECTOR_STATUS.EVSE_PK, maxTs)
+                        .from(CONNECTOR_STATUS)
+                        .groupBy(CONNECTOR_STATUS.EVSE_PK)
+                        .asTable("latest");
+
+        ctx.transaction(configuration -> {
+            DSLContext ctx2 = DSL.using(configuration);
+
+            ctx2.deleteFrom(CONNECTOR_STATUS_LATEST).execute();
+
+            // if there are multiple entries with the latest timestamp, one of them is taken
+            var t = CONNECTOR_STATUS_LATEST;
+            ctx2.insertInto(t, t.EVSE_PK, t.STATUS_TIMESTAMP, t.STATUS, t.ERROR_CODE, t.ERROR_INFO, t.VENDOR_ID,
+                    t.VENDOR_ERROR_CODE)
+                .select(
+                    DSL.select(CONNECTOR_STATUS.EVSE_PK, CONNECTOR_STATUS.STATUS_TIMESTAMP, CONNECTOR_STATUS.STATUS,
+                            CONNECTOR_STATUS.ERROR_CODE, CONNECTOR_STATUS.ERROR_INFO, CONNECTOR_STATUS.VENDOR_ID,
+                            CONNECTOR_STATUS.VENDOR_ERROR_CODE)
+                       .from(CONNECTOR_STATUS)
+                       .join(latest)
+                            .on(CONNECTOR_STATUS.EVSE_PK.eq(latest.field(CONNECTOR_STATUS.EVSE_PK)))
+                            .and(CONNECTOR_STATUS.STATUS_TIMESTAMP.eq(latest.field(maxTs)))
+                )
+                .onDuplicateKeyIgnore()
+                .execute();
+        });
+    }
+
+    /**
+     * Stations might send messages out of order. Therefore, the stored status is only overwritten by a status that
+     * is not older.
+     */
+    private static void upsertLatest(DSLContext ctx, ConnectorStatusRecord status) {
+        var t = CONNECTOR_STATUS_LATEST;
+
+        Condition isNotOlder = t.STATUS_TIMESTAMP.isNull()
+            .or(DSL.excluded(t.STATUS_TIMESTAMP).greaterOrEqual(t.STATUS_TIMESTAMP));
+
+        ctx.insertInto(t)
+           .set(t.EVSE_PK, status.getEvsePk())
+           .set(t.STATUS_TIMESTAMP, status.getStatusTimestamp())
+           .set(t.STATUS, status.getStatus())
+           .set(t.ERROR_CODE, status.getErrorCode())
+           .set(t.ERROR_INFO, status.getErrorInfo())
+           .set(t.VENDOR_ID, status.getVendorId())
+           .set(t.VENDOR_ERROR_CODE, status.getVendorErrorCode())
+           .onDuplicateKeyUpdate()
+           .set(t.STATUS, newerOf(isNotOlder, t.STATUS))
+           .set(t.ERROR_CODE, newerOf(isNotOlder, t.ERROR_CODE))
+           .set(t.ERROR_INFO, newerOf(isNotOlder, t.ERROR_INFO))
+           .set(t.VENDOR_ID, newerOf(isNotOlder, t.VENDOR_ID))
+           .set(t.VENDOR_ERROR_CODE, newerOf(isNotOlder, t.VENDOR_ERROR_CODE))
+           // must be the last assignment: MySQL evaluates them in order and the condition reads the old timestamp
+           .set(t.STATUS_TIMESTAMP, newerOf(isNotOlder, t.STATUS_TIMESTAMP))
+           .execute();
+    }
+
+    private static <T> Field<T> newerOf(Condition isNotOlder, Field<T> field) {
+        return DSL.when(isNotOlder, DSL.excluded(field)).otherwise(field);
+    }
+}
@@ -80,7 +80,7 @@ public class DataImportExportRepositoryImpl implements DataImportExportRepositor
             writer.write(csvFormatNoHeader.newline());
         }
 
-        try (Cursor<?> cursor = ctx.selectFrom(table).fetchSize(BATCH_SIZE).fetchLazy()) {
+        try (Cursor<?> cursor = ctx.selectFrom(table).fetchSize(RepositoryUtils.getStreamingFetchSize(ctx)).fetchLazy()) {
             while (cursor.hasNext()) {
                 var row = cursor.fetchNext();
                 if (row != null) {
@@ -105,6 +105,11 @@ public class DataImportExportRepositoryImpl implements DataImportExportRepositor
     @Override
     public void afterImport() {
         ctx.execute("set foreign_key_checks=1");
+
+        // the imported data might be inconsistent with the derived data (e.g. it refers to transactions or status
+        // entries that are not part of the import)
+        ActiveTransactionCounter.recalculate(ctx, null);
+        ConnectorStatusWriter.rebuildLatest(ctx);
     }
 
     /**
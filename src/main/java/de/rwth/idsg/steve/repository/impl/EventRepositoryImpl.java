@@ -89,7 +89,10 @@ public class EventRepositoryImpl implements EventRepository {
             conditions.add(timeCondition);
         }
 
-        return ctx.select(
+        conditions.add(RepositoryUtils.keysetCondition(CHARGE_BOX_SECURITY_EVENT.SECURITY_EVENT_PK, true, form));
+
+        var select = ctx.select(
+                CHARGE_BOX_SECURITY_EVENT.SECURITY_EVENT_PK,
                 CHARGE_BOX.CHARGE_BOX_ID,
                 CHARGE_BOX_SECURITY_EVENT.CHARGE_BOX_PK,
                 CHARGE_BOX_SECURITY_EVENT.TYPE,
@@ -98,13 +101,16 @@ public class EventRepositoryImpl implements EventRepository {
             .from(CHARGE_BOX_SECURITY_EVENT)
             .join(CHARGE_BOX).on(CHARGE_BOX_SECURITY_EVENT.CHARGE_BOX_PK.eq(CHARGE_BOX.CHARGE_BOX_PK))
             .where(conditions)
-            .orderBy(CHARGE_BOX_SECURITY_EVENT.TIMESTAMP.desc())
+            .orderBy(CHARGE_BOX_SECURITY_EVENT.SECURITY_EVENT_PK.desc());
+
+        return RepositoryUtils.limit(select, form.getLimit())
             .fetch(record -> SecurityEvent.builder()
-                .chargeBoxId(record.value1())
-                .chargeBoxPk(record.value2())
-                .type(record.value3())
-                .timestamp(record.value4())
-                .techInfo(record.value5())
+                .securityEventPk(record.value1())
+                .chargeBoxId(record.value2())
+                .chargeBoxPk(record.value3())
+                .type(record.value4())
+                .timestamp(record.value5())
+                .techInfo(record.value6())
                 .build()
             );
     }
@@ -219,7 +225,7 @@ public class EventRepositoryImpl implements EventRepository {
             conditions.add(timeCondition);
         }
 
-        return ctx.select(
+        var select = ctx.select(
                 CHARGE_BOX_STATUS_EVENT.JOB_ID,
                 CHARGE_BOX.CHARGE_BOX_ID,
                 CHARGE_BOX_STATUS_EVENT.CHARGE_BOX_PK,
@@ -229,7 +235,9 @@ public class EventRepositoryImpl implements EventRepository {
             .from(CHARGE_BOX_STATUS_EVENT)
             .join(CHARGE_BOX).on(CHARGE_BOX_STATUS_EVENT.CHARGE_BOX_PK.eq(CHARGE_BOX.CHARGE_BOX_PK))
             .where(conditions)
-            .orderBy(CHARGE_BOX_STATUS_EVENT.EVENT_TIMESTAMP.desc())
+            .orderBy(CHARGE_BOX_STATUS_EVENT.EVENT_TIMESTAMP.desc());
+
+        return RepositoryUtils.limit(select, form.getLimit())
             .fetch(record -> StatusEvent.builder()
                 .jobId(record.value1())
                 .chargeBoxId(record.value2())
@@ -59,6 +59,7 @@ import static org.jooq.impl.DSL.select;
 public class GenericRepositoryImpl implements GenericRepository {
 
     private final DSLContext ctx;
+    private final ChargeBoxHeartbeatCoalescer heartbeatCoalescer;
 
     @EventListener
     public void afterStart(ContextRefreshedEvent event) {
@@ -81,6 +82,8 @@ public class GenericRepositoryImpl implements GenericRepository {
 
     @Override
     public Statistics getStats() {
+        heartbeatCoalescer.flush();
+
         DateTime now = DateTime.now();
         DateTime yesterdaysNow = now.minusDays(1);
 
@@ -0,0 +1,289 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.repository.impl;
+
+import de.rwth.idsg.steve.config.SteveProperties;
+import de.rwth.idsg.steve.repository.OcppServerRepository;
+import de.rwth.idsg.steve.repository.dto.InsertMeterValuesParams;
+import lombok.extern.slf4j.Slf4j;
+import ocpp.cs._2015._10.MeterValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Optional asynchronous ingestion of MeterValues (steve.ocpp.meter-value-ingestion.best-effort-async).
+ *
+ * If enabled, messages are put into a bounded queue and the station gets its response right away. One worker thread
+ * writes the queue with multi-row inserts, as soon as batch-size sampled values are pending or the oldest message
+ * waited for max-delay. If the queue is full, the caller waits up to enqueue-timeout and then writes the message
+ * itself. This way, the stations are slowed down instead of us running out of memory.
+ *
+ * The queue is in memory only. Since the station considers a message delivered with our response, this is best-effort,
+ * at-most-once delivery: whatever is queued when the process crashes, or cannot be written, is lost.
+ *
+ * Reading code paths that care about the most recent meter values should call {@link #flush()} before they query the
+ * database.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+@Slf4j
+@Component
+public class MeterValueBatchWriter {
+
+    private final OcppServerRepository ocppServerRepository;
+    private final SteveProperties.Ocpp.MeterValueIngestion config;
+
+    /**
+     * Null, if disabled
+     */
+    @Nullable private final BlockingQueue<Pending> queue;
+
+    /**
+     * Number of sampled values in the queue
+     */
+    private final AtomicInteger pendingRows = new AtomicInteger();
+
+    /**
+     * The highest time a message had to wait in the queue until it was written
+     */
+    private final AtomicLong maxLagMillis = new AtomicLong();
+
+    private final AtomicLong directWriteCount = new AtomicLong();
+
+    /**
+     * Only the holder of this lock may take entries out of the queue. Therefore, after {@link #flush()} returns, every
+     * message that was enqueued before is in database.
+     */
+    private final Object writeLock = new Object();
+
+    private volatile boolean running;
+    private volatile Thread worker;
+
+    public MeterValueBatchWriter(OcppServerRepository ocppServerRepository, SteveProperties steveProperties) {
+        this.ocppServerRepository = ocppServerRepository;
+        this.config = steveProperties.getOcpp().getMeterValueIngestion();
+        this.queue = config.isBestEffortAsync() ? new ArrayBlockingQueue<>(config.getQueueCapacity()) : null;
+    }
+
+    @EventListener
+    public void afterStart(ContextRefreshedEvent event) {
+        if (queue == null || worker != null) {
+            return;
+        }
+
+        running = true;
+        worker = Thread.ofPlatform().name("SteVe-MeterValueWriter").start(this::writeLoop);
+        log.warn("MeterValues will be written asynchronously (batch size: {}, max delay: {}). "
+            + "Queued messages are lost, if the process crashes", config.getBatchSize(), config.getMaxDelay());
+    }
+
+    @EventListener
+    public void beforeShutdown(ContextClosedEvent event) {
+        Thread thread = worker;
+        if (thread == null) {
+            return;
+        }
+
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        worker = null;
+
+        flush();
+    }
+
+    public void insertMeterValues(@NotNull String chargeBoxId, List<MeterValue> list, int connectorId,
+                                  @Nullable Integer transactionId) {
+        if (CollectionUtils.isEmpty(list)) {
+            return;
+        }
+
+        if (queue == null || !running) {
+            ocppServerRepository.insertMeterValues(chargeBoxId, list, connectorId, transactionId);
+            return;
+        }
+
+        var params = InsertMeterValuesParams.builder()
+            .chargeBoxId(chargeBoxId)
+            .connectorId(connectorId)
+            .transactionId(transactionId)
+            .meterValues(list)
+            .build();
+
+        var pending = new Pending(params, params.getSampledValueCount(), System.nanoTime());
+
+        if (!enqueue(pending)) {
+            directWriteCount.incrementAndGet();
+            log.warn("MeterValues queue is full. Writing the message of '{}' directly", chargeBoxId);
+            ocppServerRepository.insertMeterValues(chargeBoxId, list, connectorId, transactionId);
+            return;
+        }
+
+        if (pendingRows.addAndGet(pending.rows()) >= config.getBatchSize()) {
+            LockSupport.unpark(worker);
+        }
+
+        // we might have missed the final flush during shutdown
+        if (!running) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes all queued messages to database. Cheap, if there is nothing queued.
+     */
+    public void flush() {
+        if (queue == null || queue.isEmpty()) {
+            return;
+        }
+
+        synchronized (writeLock) {
+            while (!queue.isEmpty()) {
+                writeBatch();
+            }
+        }
+    }
+
+    public int getQueueSize() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    /**
+     * How long the oldest message in the queue is waiting already
+     */
+    public Duration getCurrentLag() {
+        Pending head = (queue == null) ? null : queue.peek();
+        return head == null ? Duration.ZERO : Duration.ofNanos(System.nanoTime() - head.enqueuedAtNanos());
+    }
+
+    public Duration getMaxLag() {
+        return Duration.ofMillis(maxLagMillis.get());
+    }
+
+    /**
+     * How many messages were written directly, because the queue was full
+     */
+    public long getDirectWriteCount() {
+        return directWriteCount.get();
+    }
+
+    public boolean isEnabled() {
+        return queue != null;
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private boolean enqueue(Pending pending) {
+        try {
+            return queue.offer(pending, config.getEnqueueTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void writeLoop() {
+        long maxDelayNanos = config.getMaxDelay().toNanos();
+
+        while (running) {
+            Pending head = queue.peek();
+
+            // wait until there is enough to write or the oldest message waited long enough
+            if (head == null) {
+                LockSupport.parkNanos(maxDelayNanos);
+                continue;
+            }
+
+            long waitNanos = head.enqueuedAtNanos() + maxDelayNanos - System.nanoTime();
+            if (waitNanos > 0 && pendingRows.get() < config.getBatchSize()) {
+                LockSupport.parkNanos(waitNanos);
+                continue;
+            }
+
+            try {
+                synchronized (writeLock) {
+                    writeBatch();
+                }
+            } catch (Exception e) {
+                log.error("Failed to write MeterValues", e);
+            }
+        }
+    }
+
+    /**
+     * Takes up to batch-size sampled values out of the queue and writes them. Must be called with the writeLock.
+     */
+    private void writeBatch() {
+        List<Pending> batch = new ArrayList<>();
+        int rows = 0;
+
+        Pending next;
+        while (rows < config.getBatchSize() && (next = queue.poll()) != null) {
+            batch.add(next);
+            rows += next.rows();
+        }
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        pendingRows.addAndGet(-rows);
+
+        try {
+            ocppServerRepository.insertMeterValues(batch.stream().map(Pending::params).toList());
+            log.debug("Wrote {} MeterValues messages with {} sampled values", batch.size(), rows);
+        } catch (Exception e) {
+            // a single bad message (e.g. unknown transactionId) should not cost us the others
+            log.warn("Failed to write a batch of {} MeterValues messages. Will write them one by one", batch.size(), e);
+            for (Pending p : batch) {
+                var params = p.params();
+                ocppServerRepository.insertMeterValues(
+                    params.getChargeBoxId(), params.getMeterValues(), params.getConnectorId(), params.getTransactionId()
+                );
+            }
+        }
+
+        long lagMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - batch.get(0).enqueuedAtNanos());
+        maxLagMillis.accumulateAndGet(lagMillis, Math::max);
+    }
+
+    private record Pending(InsertMeterValuesParams params, int rows, long enqueuedAtNanos) { }
+}
@@ -32,7 +32,9 @@ import org.jooq.impl.DSL;
 import org.springframework.util.CollectionUtils;
 
 import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static jooq.steve.db.tables.ChargeBox.CHARGE_BOX;
 import static jooq.steve.db.tables.Evse.EVSE;
@@ -45,6 +47,31 @@ import static jooq.steve.db.tables.EvseConnector.EVSE_CONNECTOR;
 @Slf4j
 public class Ocpp1ConnectorEvseBridge {
 
+    /**
+     * Key   (String)                = chargeBoxId
+     * Value (Map<Integer, Integer>) = connectorId -> evsePk
+     *
+     * Once created, the topology of a connector does not change (rows are only deleted together with the charge box).
+     * Therefore, we remember the evsePks of existing connectors and do not have to go to the database for every
+     * StatusNotification, MeterValues etc. Only rows that existed before the lookup are put here, so that an evsePk
+     * from a rolled back transaction never ends up in the cache.
+     */
+    private static final Map<String, Map<Integer, Integer>> EVSE_PK_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Must be called when the charge box (and with it, its EVSEs) is deleted.
+     */
+    public static void invalidate(String chargeBoxId) {
+        EVSE_PK_CACHE.remove(chargeBoxId);
+    }
+
+    /**
+     * Must be called when EVSEs are changed in bulk (e.g. data import).
+     */
+    public static void invalidateAll() {
+        EVSE_PK_CACHE.clear();
+    }
+
     public static SelectConditionStep<Record1<Integer>> evsePkSelect(DSLContext ctx, String chargeBoxId) {
         return evsePkSelect2(ctx, chargeBoxId, null);
     }
@@ -72,6 +99,11 @@ public class Ocpp1ConnectorEvseBridge {
      * @return evsePk
      */
     public static int insertIgnoreConnector(DSLContext ctx, String chargeBoxIdentity, int connectorId, boolean inTransactionAlready) {
+        Integer cachedEvsePk = getCached(chargeBoxIdentity, connectorId);
+        if (cachedEvsePk != null) {
+            return cachedEvsePk;
+        }
+
         if (inTransactionAlready) {
             return insertIgnoreConnectorInternal(ctx, chargeBoxIdentity, connectorId);
         } else {
@@ -114,6 +146,11 @@ public class Ocpp1ConnectorEvseBridge {
         Integer evsePk = topology.value1();
         Integer evseConnectorPk = topology.value2();
 
+        if (evsePk != null && (connectorId == 0 || evseConnectorPk != null)) {
+            putCached(chargeBoxIdentity, connectorId, evsePk);
+            return evsePk;
+        }
+
         if (evsePk == null) {
             evsePk = ctx.insertInto(EVSE)
                 .set(EVSE.CHARGE_BOX_ID, chargeBoxIdentity)
@@ -146,4 +183,14 @@ public class Ocpp1ConnectorEvseBridge {
 
         return evsePk;
     }
+
+    @Nullable
+    private static Integer getCached(String chargeBoxId, int connectorId) {
+        var connectors = EVSE_PK_CACHE.get(chargeBoxId);
+        return connectors == null ? null : connectors.get(connectorId);
+    }
+
+    private static void putCached(String chargeBoxId, int connectorId, int evsePk) {
+        EVSE_PK_CACHE.computeIfAbsent(chargeBoxId, k -> new ConcurrentHashMap<>()).put(connectorId, evsePk);
+    }
 }
@@ -19,12 +19,15 @@
 package de.rwth.idsg.steve.repository.impl;
 
 import com.google.common.base.Throwables;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.Striped;
 import de.rwth.idsg.steve.SteveException;
 import de.rwth.idsg.steve.ocpp.OcppProtocol;
 import de.rwth.idsg.steve.repository.OcppServerRepository;
 import de.rwth.idsg.steve.repository.ReservationRepository;
 import de.rwth.idsg.steve.repository.dto.InsertConnectorStatusParams;
+import de.rwth.idsg.steve.repository.dto.InsertMeterValuesParams;
 import de.rwth.idsg.steve.repository.dto.InsertTransactionParams;
 import de.rwth.idsg.steve.repository.dto.UpdateChargeboxParams;
 import de.rwth.idsg.steve.repository.dto.UpdateTransactionParams;
@@ -32,6 +35,7 @@ import jooq.steve.db.enums.EvseTopologySource;
 import jooq.steve.db.enums.TransactionStopEventActor;
 import jooq.steve.db.enums.TransactionStopFailedEventActor;
 import jooq.steve.db.tables.records.ConnectorMeterValueRecord;
+import jooq.steve.db.tables.records.ConnectorStatusRecord;
 import jooq.steve.db.tables.records.TransactionRecord;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -40,6 +44,7 @@ import ocpp.cs._2015._10.MeterValue;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.joda.time.DateTime;
+import org.jooq.CaseConditionStep;
 import org.jooq.Condition;
 import org.jooq.DSLContext;
 import org.jooq.Record1;
@@ -47,13 +52,15 @@ import org.jooq.impl.DSL;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.CollectionUtils;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 
 import static jooq.steve.db.tables.ChargeBox.CHARGE_BOX;
 import static jooq.steve.db.tables.ConnectorMeterValue.CONNECTOR_METER_VALUE;
-import static jooq.steve.db.tables.ConnectorStatus.CONNECTOR_STATUS;
 import static jooq.steve.db.tables.Evse.EVSE;
 import static jooq.steve.db.tables.OcppTag.OCPP_TAG;
 import static jooq.steve.db.tables.Transaction.TRANSACTION;
@@ -76,6 +83,14 @@ public class OcppServerRepositoryImpl implements OcppServerRepository {
 
     private final DSLContext ctx;
     private final ReservationRepository reservationRepository;
+    private final StationDirectory stationDirectory;
+
+    /**
+     * Upper bound for the number of stations in one "UPDATE ... SET x = CASE ... END WHERE id IN (...)" statement,
+     * in order to keep the statement size and the number of bind values reasonable.
+     */
+    private static final int HEARTBEAT_BATCH_SIZE = 500;
+    private static final int METER_VALUE_ROWS_PER_INSERT = 1000;
 
     private final Striped<Lock> transactionTableLocks = Striped.lock(128);
 
@@ -95,22 +110,38 @@ public class OcppServerRepositoryImpl implements OcppServerRepository {
            .set(CHARGE_BOX.LAST_HEARTBEAT_TIMESTAMP, p.getHeartbeatTimestamp())
            .where(CHARGE_BOX.CHARGE_BOX_ID.equal(p.getChargeBoxId()))
            .execute();
+
+        stationDirectory.refresh(p.getChargeBoxId());
     }
 
     @Override
     public void updateOcppProtocol(@NotNull String chargeBoxIdentity, @NotNull OcppProtocol protocol) {
+        // stations reconnect often, but rarely change their protocol
+        if (stationDirectory.isEnabled() && stationDirectory.hasOcppProtocol(chargeBoxIdentity, protocol)) {
+            return;
+        }
+
         ctx.update(CHARGE_BOX)
             .set(CHARGE_BOX.OCPP_PROTOCOL, protocol.getCompositeValue())
             .where(CHARGE_BOX.CHARGE_BOX_ID.equal(chargeBoxIdentity))
             .execute();
+
+        stationDirectory.refresh(chargeBoxIdentity);
     }
 
     @Override
     public void updateEndpointAddress(@NotNull String chargeBoxIdentity, @NotNull String endpointAddress) {
+        // called for every SOAP message, but the address rarely changes
+        if (stationDirectory.isEnabled() && stationDirectory.hasEndpointAddress(chargeBoxIdentity, endpointAddress)) {
+            return;
+        }
+
         ctx.update(CHARGE_BOX)
            .set(CHARGE_BOX.ENDPOINT_ADDRESS, endpointAddress)
            .where(CHARGE_BOX.CHARGE_BOX_ID.equal(chargeBoxIdentity))
            .execute();
+
+        stationDirectory.refresh(chargeBoxIdentity);
     }
 
     @Override
@@ -139,6 +170,25 @@ public class OcppServerRepositoryImpl implements OcppServerRepository {
            .execute();
     }
 
+    @Override
+    public void updateChargeboxHeartbeats(@NotNull Map<String, DateTime> heartbeats) {
+        for (List<Map.Entry<String, DateTime>> chunk : Iterables.partition(heartbeats.entrySet(), HEARTBEAT_BATCH_SIZE)) {
+            CaseConditionStep<DateTime> tsCase = null;
+            for (Map.Entry<String, DateTime> entry : chunk) {
+                var ts = DSL.val(entry.getValue(), CHARGE_BOX.LAST_HEARTBEAT_TIMESTAMP);
+                // never move the timestamp backwards (e.g. a BootNotification wrote a newer one in the meantime)
+                Condition isNewer = CHARGE_BOX.CHARGE_BOX_ID.eq(entry.getKey())
+                    .and(CHARGE_BOX.LAST_HEARTBEAT_TIMESTAMP.isNull().or(CHARGE_BOX.LAST_HEARTBEAT_TIMESTAMP.lt(ts)));
+                tsCase = (tsCase == null) ? DSL.when(isNewer, ts) : tsCase.when(isNewer, ts);
+            }
+
+            ctx.update(CHARGE_BOX)
+               .set(CHARGE_BOX.LAST_HEARTBEAT_TIMESTAMP, tsCase.otherwise(CHARGE_BOX.LAST_HEARTBEAT_TIMESTAMP))
+               .where(CHARGE_BOX.CHARGE_BOX_ID.in(chunk.stream().map(Map.Entry::getKey).toList()))
+               .execute();
+        }
+    }
+
     @Override
     public void insertConnectorStatus(InsertConnectorStatusParams p) {
         ctx.transaction(configuration -> {
@@ -151,15 +201,16 @@ public class OcppServerRepositoryImpl implements OcppServerRepository {
             // Step 2: We store a log of connector statuses
             // -------------------------------------------------------------------------
 
-            ctx.insertInto(CONNECTOR_STATUS)
-               .set(CONNECTOR_STATUS.EVSE_PK, evsePk)
-               .set(CONNECTOR_STATUS.STATUS_TIMESTAMP, p.getTimestamp())
-               .set(CONNECTOR_STATUS.STATUS, p.getStatus())
-               .set(CONNECTOR_STATUS.ERROR_CODE, p.getErrorCode())
-               .set(CONNECTOR_STATUS.ERROR_INFO, p.getErrorInfo())
-               .set(CONNECTOR_STATUS.VENDOR_ID, p.getVendorId())
-               .set(CONNECTOR_STATUS.VENDOR_ERROR_CODE, p.getVendorErrorCode())
-               .execute();
+            var status = new ConnectorStatusRecord()
+                .setEvsePk(evsePk)
+                .setStatusTimestamp(p.getTimestamp())
+                .setStatus(p.getStatus())
+                .setErrorCode(p.getErrorCode())
+                .setErrorInfo(p.getErrorInfo())
+                .setVendorId(p.getVendorId())
+                .setVendorErrorCode(p.getVendorErrorCode());
+
+            ConnectorStatusWriter.insert(ctx, status);
 
             log.debug("Stored a new connector status for {}/{}.", p.getChargeBoxId(), p.getConnectorId());
         });
@@ -201,6 +252,37 @@ public class OcppServerRepositoryImpl implements OcppServerRepository {
         }
     }
 
+    @Override
+    public void insertMeterValues(List<InsertMeterValuesParams> batch) {
+        if (CollectionUtils.isEmpty(batch)) {
+            return;
+        }
+
+        ctx.transaction(configuration -> {
+            DSLContext ctx = DSL.using(configuration);
+
+            // many messages of a batch come from the same connectors
+            Map<String, Map<Integer, Integer>> evsePkLookup = new HashMap<>();
+            List<ConnectorMeterValueRecord> records = new ArrayList<>();
+
+            for (InsertMeterValuesParams p : batch) {
+                int evsePk = evsePkLookup.computeIfAbsent(p.getChargeBoxId(), k -> new HashMap<>())
+                    .computeIfAbsent(p.getConnectorId(),
+                        k -> Ocpp1ConnectorEvseBridge.insertIgnoreConnector(ctx, p.getChargeBoxId(), k, true));
+
+                records.addAll(toRecords(ctx, p.getMeterValues(), evsePk, p.getTransactionId()));
+            }
+
+            for (List<ConnectorMeterValueRecord> chunk : Lists.partition(records, METER_VALUE_ROWS_PER_INSERT)) {
+                var insert = ctx.insertInto(CONNECTOR_METER_VALUE).set(chunk.get(0));
+                for (int i = 1; i < chunk.size(); i++) {
+                    insert = insert.newRecord().set(chunk.get(i));
+                }
+                insert.execute();
+            }
+        });
+    }
+
     @Nullable
     @Override
     public TransactionRecord getTransaction(@NotNull String chargeBoxId, @Nullable Integer connectorId, int transactionId) {
@@ -272,12 +354,13 @@ public class OcppServerRepositoryImpl implements OcppServerRepository {
 
         if (shouldInsertConnectorStatusAfterTransactionMsg(p.getChargeBoxId())) {
             try {
-                ctx.insertInto(CONNECTOR_STATUS)
-                    .set(CONNECTOR_STATUS.EVSE_PK, evsePk)
-                    .set(CONNECTOR_STATUS.STATUS_TIMESTAMP, p.getStartTimestamp())
-                    .set(CONNECTOR_STATUS.STATUS, p.getStatusUpdate().getStatus())
-                    .set(CONNECTOR_STATUS.ERROR_CODE, p.getStatusUpdate().getErrorCode())
-                    .execute();
+                var status = new ConnectorStatusRecord()
+                    .setEvsePk(evsePk)
+                    .setStatusTimestamp(p.getStartTimestamp())
+                    .setStatus(p.getStatusUpdate().getStatus())
+                    .setErrorCode(p.getStatusUpdate().getErrorCode());
+
+                ctx.transaction(configuration -> ConnectorStatusWriter.insert(DSL.using(configuration), status));
             } catch (Exception e) {
                 log.error("Exception occurred", e);
             }
@@ -295,14 +378,33 @@ public class OcppServerRepositoryImpl implements OcppServerRepository {
 
         // JOOQ will throw an exception, if something goes wrong
         try {
-            ctx.insertInto(TRANSACTION_STOP)
-               .set(TRANSACTION_STOP.TRANSACTION_PK, p.getTransactionId())
-               .set(TRANSACTION_STOP.EVENT_TIMESTAMP, p.getEventTimestamp())
-               .set(TRANSACTION_STOP.EVENT_ACTOR, p.getEventActor())
-               .set(TRANSACTION_STOP.STOP_TIMESTAMP, p.getStopTimestamp())
-               .set(TRANSACTION_STOP.STOP_VALUE, p.getStopMeterValue())
-               .set(TRANSACTION_STOP.STOP_REASON, p.getStopReason())
-               .execute();
+            ctx.transaction(configuration -> {
+                DSLContext ctx = DSL.using(configuration);
+
+                // lock the transaction, so that concurrent stops of it do not decrement the counter twice
+                String idTag = ctx.select(TRANSACTION_START.ID_TAG)
+                                  .from(TRANSACTION_START)
+                                  .where(TRANSACTION_START.TRANSACTION_PK.eq(p.getTransactionId()))
+                                  .forUpdate()
+                                  .fetchOne(TRANSACTION_START.ID_TAG);
+
+                boolean stoppedAlready = ctx.fetchExists(
+                    TRANSACTION_STOP, TRANSACTION_STOP.TRANSACTION_PK.eq(p.getTransactionId())
+                );
+
+                ctx.insertInto(TRANSACTION_STOP)
+                   .set(TRANSACTION_STOP.TRANSACTION_PK, p.getTransactionId())
+                   .set(TRANSACTION_STOP.EVENT_TIMESTAMP, p.getEventTimestamp())
+                   .set(TRANSACTION_STOP.EVENT_ACTOR, p.getEventActor())
+                   .set(TRANSACTION_STOP.STOP_TIMESTAMP, p.getStopTimestamp())
+                   .set(TRANSACTION_STOP.STOP_VALUE, p.getStopMeterValue())
+                   .set(TRANSACTION_STOP.STOP_REASON, p.getStopReason())
+                   .execute();
+
+                if (idTag != null && !stoppedAlready) {
+                    ActiveTransactionCounter.decrement(ctx, idTag);
+                }
+            });
         } catch (Exception e) {
             log.error("Exception occurred", e);
             updateTransactionAsFailed(p, List.of(Throwables.getStackTraceAsString(e)));
@@ -314,17 +416,19 @@ public class OcppServerRepositoryImpl implements OcppServerRepository {
         // -------------------------------------------------------------------------
 
         if (shouldInsertConnectorStatusAfterTransactionMsg(p.getChargeBoxId())) {
-            var evsePkQuery = DSL.select(TRANSACTION_START.EVSE_PK)
-                .from(TRANSACTION_START)
-                .where(TRANSACTION_START.TRANSACTION_PK.equal(p.getTransactionId()));
-
             try {
-                ctx.insertInto(CONNECTOR_STATUS)
-                    .set(CONNECTOR_STATUS.EVSE_PK, evsePkQuery)
-                    .set(CONNECTOR_STATUS.STATUS_TIMESTAMP, p.getStopTimestamp())
-                    .set(CONNECTOR_STATUS.STATUS, p.getStatusUpdate().getStatus())
-                    .set(CONNECTOR_STATUS.ERROR_CODE, p.getStatusUpdate().getErrorCode())
-                    .execute();
+                Integer evsePk = ctx.select(TRANSACTION_START.EVSE_PK)
+                    .from(TRANSACTION_START)
+                    .where(TRANSACTION_START.TRANSACTION_PK.equal(p.getTransactionId()))
+                    .fetchOne(TRANSACTION_START.EVSE_PK);
+
+                var status = new ConnectorStatusRecord()
+                    .setEvsePk(evsePk)
+                    .setStatusTimestamp(p.getStopTimestamp())
+                    .setStatus(p.getStatusUpdate().getStatus())
+                    .setErrorCode(p.getStatusUpdate().getErrorCode());
+
+                ctx.transaction(configuration -> ConnectorStatusWriter.insert(DSL.using(configuration), status));
             } catch (Exception e) {
                 log.error("Exception occurred", e);
             }
@@ -381,15 +485,22 @@ public class OcppServerRepositoryImpl implements OcppServerRepository {
                 return new TransactionDataHolder(true, r.value1());
             }
 
-            Integer transactionId = ctx.insertInto(TRANSACTION_START)
-                                       .set(TRANSACTION_START.EVENT_TIMESTAMP, p.getEventTimestamp())
-                                       .set(TRANSACTION_START.EVSE_PK, evsePk)
-                                       .set(TRANSACTION_START.ID_TAG, p.getIdTag())
-                                       .set(TRANSACTION_START.START_TIMESTAMP, p.getStartTimestamp())
-                                       .set(TRANSACTION_START.START_VALUE, p.getStartMeterValue())
-                                       .returning(TRANSACTION_START.TRANSACTION_PK)
-                                       .fetchOne()
-                                       .getTransactionPk();
+            Integer transactionId = ctx.transactionResult(configuration -> {
+                DSLContext ctx = DSL.using(configuration);
+
+                Integer pk = ctx.insertInto(TRANSACTION_START)
+                                .set(TRANSACTION_START.EVENT_TIMESTAMP, p.getEventTimestamp())
+                                .set(TRANSACTION_START.EVSE_PK, evsePk)
+                                .set(TRANSACTION_START.ID_TAG, p.getIdTag())
+                                .set(TRANSACTION_START.START_TIMESTAMP, p.getStartTimestamp())
+                                .set(TRANSACTION_START.START_VALUE, p.getStartMeterValue())
+                                .returning(TRANSACTION_START.TRANSACTION_PK)
+                                .fetchOne()
+                                .getTransactionPk();
+
+                ActiveTransactionCounter.increment(ctx, p.getIdTag());
+                return pk;
+            });
 
             // Actually unnecessary, because JOOQ will throw an exception, if something goes wrong
             if (transactionId == null) {
@@ -431,18 +542,16 @@ public class OcppServerRepositoryImpl implements OcppServerRepository {
      * and we have a "more recent" status, it will still be the current status.
      */
     private boolean shouldInsertConnectorStatusAfterTransactionMsg(String chargeBoxId) {
-        Record1<Integer> r = ctx.selectOne()
-                                .from(CHARGE_BOX)
-                                .where(CHARGE_BOX.CHARGE_BOX_ID.eq(chargeBoxId))
-                                .and(CHARGE_BOX.INSERT_CONNECTOR_STATUS_AFTER_TRANSACTION_MSG.isTrue())
-                                .fetchOne();
-
-        return (r != null) && (r.value1() == 1);
+        return stationDirectory.isInsertConnectorStatusAfterTransactionMsg(chargeBoxId);
     }
 
     private void batchInsertMeterValues(DSLContext ctx, List<MeterValue> list, int evsePk, Integer transactionId) {
-        List<ConnectorMeterValueRecord> batch =
-                list.stream()
+        ctx.batchInsert(toRecords(ctx, list, evsePk, transactionId)).execute();
+    }
+
+    private static List<ConnectorMeterValueRecord> toRecords(DSLContext ctx, List<MeterValue> list, int evsePk,
+                                                             @Nullable Integer transactionId) {
+        return list.stream()
                     .flatMap(t -> t.getSampledValue()
                                    .stream()
                                    .map(k -> ctx.newRecord(CONNECTOR_METER_VALUE)
@@ -458,8 +567,6 @@ public class OcppServerRepositoryImpl implements OcppServerRepository {
                                                 .setUnit(k.isSetUnit() ? k.getUnit().value() : null)
                                                 .setPhase(k.isSetPhase() ? k.getPhase().value() : null)))
                     .collect(Collectors.toList());
-
-        ctx.batchInsert(batch).execute();
     }
 
     private static TransactionStopFailedEventActor mapActor(TransactionStopEventActor a) {
@@ -147,6 +147,8 @@ public class OcppTagRepositoryImpl implements OcppTagRepository {
         processBooleanType(selectQuery, OCPP_TAG_ACTIVITY.IN_TRANSACTION, form.getInTransaction());
         processBooleanType(selectQuery, OCPP_TAG_ACTIVITY.BLOCKED, form.getBlocked());
 
+        RepositoryUtils.keysetPage(selectQuery, OCPP_TAG_ACTIVITY.OCPP_TAG_PK, false, form);
+
         return selectQuery.fetch().map(new UserMapper());
     }
 
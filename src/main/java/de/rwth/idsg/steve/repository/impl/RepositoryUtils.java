@@ -18,12 +18,25 @@
  */
 package de.rwth.idsg.steve.repository.impl;
 
+import de.rwth.idsg.steve.web.dto.KeysetPageable;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.Nullable;
+import org.jooq.CSVFormat;
+import org.jooq.Condition;
+import org.jooq.Cursor;
 import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
 import org.jooq.Record1;
+import org.jooq.ResultQuery;
+import org.jooq.SQLDialect;
 import org.jooq.Select;
+import org.jooq.SelectLimitStep;
+import org.jooq.SelectQuery;
+import org.jooq.impl.DSL;
 
+import java.io.Writer;
 import java.util.List;
 
 import static jooq.steve.db.Tables.OCPP_TAG;
@@ -36,10 +49,68 @@ import static jooq.steve.db.Tables.USER_OCPP_TAG;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class RepositoryUtils {
 
+    private static final int STREAMING_FETCH_SIZE = 1000;
+
     public static Select<Record1<String>> ocppTagByUserIdQuery(DSLContext ctx, List<Integer> userIds) {
         return ctx.select(OCPP_TAG.ID_TAG)
             .from(OCPP_TAG)
             .join(USER_OCPP_TAG).on(USER_OCPP_TAG.OCPP_TAG_PK.eq(OCPP_TAG.OCPP_TAG_PK))
             .where(USER_OCPP_TAG.USER_PK.in(userIds));
     }
+
+    /**
+     * Same output as {@code query.fetch().formatCSV(writer)}, but the rows are read from a lazy cursor and written one
+     * by one. Memory usage does not depend on the size of the result, and the first rows are written before the last
+     * ones are read.
+     */
+    public static void writeCsv(DSLContext ctx, ResultQuery<?> query, Writer writer) {
+        // empty result = header line only
+        ctx.newResult(query.fields()).formatCSV(writer, CSVFormat.DEFAULT);
+
+        CSVFormat rowFormat = CSVFormat.DEFAULT.header(false);
+        try (Cursor<?> cursor = query.fetchSize(getStreamingFetchSize(ctx)).fetchLazy()) {
+            for (Record row : cursor) {
+                row.formatCSV(writer, rowFormat);
+            }
+        }
+    }
+
+    /**
+     * MySQL Connector/J ignores positive fetch sizes (unless useCursorFetch is set) and reads the whole result into
+     * memory. Integer.MIN_VALUE makes it stream the rows instead. MariaDB Connector/J respects the fetch size.
+     */
+    public static int getStreamingFetchSize(DSLContext ctx) {
+        return ctx.dialect().family() == SQLDialect.MYSQL ? Integer.MIN_VALUE : STREAMING_FETCH_SIZE;
+    }
+
+    // -------------------------------------------------------------------------
+    // Keyset pagination
+    // -------------------------------------------------------------------------
+
+    /**
+     * The query must be ordered by the given primary key (in the given direction) for this to make sense.
+     */
+    public static Condition keysetCondition(Field<Integer> pk, boolean descending, KeysetPageable page) {
+        Integer afterPk = page.afterPk();
+        if (afterPk == null) {
+            return DSL.noCondition();
+        }
+        return descending ? pk.lt(afterPk) : pk.gt(afterPk);
+    }
+
+    /**
+     * @param limit if null, all rows
+     */
+    public static <R extends Record> Select<R> limit(SelectLimitStep<R> select, @Nullable Integer limit) {
+        return limit == null ? select : select.limit(limit);
+    }
+
+    public static void keysetPage(SelectQuery<?> selectQuery, Field<Integer> pk, boolean descending,
+                                  KeysetPageable page) {
+        selectQuery.addConditions(keysetCondition(pk, descending, page));
+        selectQuery.addOrderBy(descending ? pk.desc() : pk.asc());
+        if (page.getLimit() != null) {
+            selectQuery.addLimit(page.getLimit());
+        }
+    }
 }
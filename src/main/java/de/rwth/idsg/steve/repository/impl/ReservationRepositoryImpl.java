@@ -110,8 +110,8 @@ public class ReservationRepositoryImpl implements ReservationRepository {
 
         processType(selectQuery, form);
 
-        // Default order
-        selectQuery.addOrderBy(RESERVATION.EXPIRY_DATETIME.asc());
+        // newest first. the primary key as order allows keyset pagination
+        RepositoryUtils.keysetPage(selectQuery, RESERVATION.RESERVATION_PK, true, form);
 
         return selectQuery.fetch().map(new ReservationMapper());
     }
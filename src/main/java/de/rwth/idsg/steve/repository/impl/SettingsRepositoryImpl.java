@@ -20,6 +20,7 @@ package de.rwth.idsg.steve.repository.impl;
 
 import de.rwth.idsg.steve.NotificationFeature;
 import de.rwth.idsg.steve.SteveException;
+import de.rwth.idsg.steve.config.SteveProperties;
 import de.rwth.idsg.steve.repository.SettingsRepository;
 import de.rwth.idsg.steve.web.dto.SettingsForm;
 import de.rwth.idsg.steve.web.dto.SettingsForm.MailSettings;
@@ -32,6 +33,7 @@ import org.jooq.impl.DSL;
 import org.springframework.stereotype.Repository;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Base64;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -42,6 +44,10 @@ import static de.rwth.idsg.steve.utils.StringUtils.splitByComma;
 import static jooq.steve.db.tables.Settings.SETTINGS;
 
 /**
+ * The settings are read on hot paths (every BootNotification, authorization and notification event). Therefore, we
+ * keep a snapshot of the single settings row in memory. The snapshot is replaced after every update and, to pick up
+ * updates made by other SteVe instances with the same database, re-read after steve.settings-refresh-interval.
+ *
  * @author Sevket Goekay <sevketgokay@gmail.com>
  * @since 06.11.2015
  */
@@ -57,6 +63,11 @@ public class SettingsRepositoryImpl implements SettingsRepository {
     );
 
     private final DSLContext ctx;
+    private final SteveProperties steveProperties;
+
+    private final Object loadLock = new Object();
+
+    private volatile Snapshot snapshot;
 
     @Override
     public SettingsForm getForm() {
@@ -101,6 +112,7 @@ public class SettingsRepositoryImpl implements SettingsRepository {
                 throw new SteveException("FAILED to save the settings", e);
             }
         });
+        reload();
     }
 
     @Override
@@ -110,6 +122,7 @@ public class SettingsRepositoryImpl implements SettingsRepository {
         } catch (DataAccessException e) {
             throw new SteveException("FAILED to save Ocpp settings", e);
         }
+        reload();
     }
 
     @Override
@@ -119,16 +132,60 @@ public class SettingsRepositoryImpl implements SettingsRepository {
         } catch (DataAccessException e) {
             throw new SteveException("FAILED to save mail settings", e);
         }
+        reload();
+    }
+
+    @Override
+    public void clearCache() {
+        snapshot = null;
     }
 
     // -------------------------------------------------------------------------
     // Private helpers
     // -------------------------------------------------------------------------
 
+    /**
+     * The returned record is shared. Only read from it!
+     */
     private SettingsRecord getInternal() {
-        return ctx.selectFrom(SETTINGS)
+        Snapshot current = snapshot;
+        if (current != null && !current.isExpired(getRefreshInterval())) {
+            return current.record();
+        }
+
+        synchronized (loadLock) {
+            // another thread might have loaded it in the meantime
+            current = snapshot;
+            if (current != null && !current.isExpired(getRefreshInterval())) {
+                return current.record();
+            }
+            return load().record();
+        }
+    }
+
+    /**
+     * Loading under the lock ensures that a slow load, which started before an update, cannot overwrite the snapshot
+     * of the update with older values.
+     */
+    private void reload() {
+        synchronized (loadLock) {
+            load();
+        }
+    }
+
+    private Snapshot load() {
+        SettingsRecord r = ctx.selectFrom(SETTINGS)
             .where(SETTINGS.APP_ID.eq(APP_ID))
             .fetchOne();
+
+        Snapshot newSnapshot = new Snapshot(r, System.nanoTime());
+        snapshot = newSnapshot;
+        return newSnapshot;
+    }
+
+    private Duration getRefreshInterval() {
+        Duration interval = steveProperties.getSettingsRefreshInterval();
+        return interval == null ? Duration.ZERO : interval;
     }
 
     private static void updateInternal(DSLContext ctx, OcppSettings ocppForm) {
@@ -185,6 +242,13 @@ public class SettingsRepositoryImpl implements SettingsRepository {
             .build();
     }
 
+    private record Snapshot(SettingsRecord record, long loadedAtNanos) {
+
+        private boolean isExpired(Duration refreshInterval) {
+            return System.nanoTime() - loadedAtNanos >= refreshInterval.toNanos();
+        }
+    }
+
     private static int toMin(int seconds) {
         return (int) TimeUnit.SECONDS.toMinutes(seconds);
     }
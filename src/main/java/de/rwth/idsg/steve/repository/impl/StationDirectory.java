@@ -0,0 +1,427 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.repository.impl;
+
+import de.rwth.idsg.steve.config.SteveProperties;
+import de.rwth.idsg.steve.ocpp.OcppProtocol;
+import de.rwth.idsg.steve.ocpp.OcppSecurityProfile;
+import de.rwth.idsg.steve.ocpp.OcppTransport;
+import de.rwth.idsg.steve.repository.dto.ChargePointRegistration;
+import de.rwth.idsg.steve.repository.dto.ChargePointSelect;
+import de.rwth.idsg.steve.utils.JsonUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.impl.DSL;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.stream.Collectors;
+
+import static jooq.steve.db.tables.ChargeBox.CHARGE_BOX;
+
+/**
+ * In-memory copy of the CHARGE_BOX columns that are needed on the hot paths: registration and security settings for
+ * the WebSocket handshake and SOAP messages, protocol and endpoint address for sending requests to stations, and
+ * per-station flags.
+ *
+ * The directory is loaded at startup and updated after every write of SteVe that affects these columns. A station
+ * that is not in the directory is looked up in the database (e.g. when it was added by another SteVe instance with the
+ * same database). Everything else that is changed in the database directly is picked up with the next full reload
+ * after steve.ocpp.station-directory-refresh-interval. If the interval is 0, the directory is disabled and every
+ * lookup goes to the database. Only the number of SOAP stations is still counted periodically in that case.
+ *
+ * Charge box ids are case-insensitive in the database. Therefore, the keys are lowercase.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+@Slf4j
+@Component
+public class StationDirectory {
+
+    /**
+     * How often the SOAP stations are counted, if the directory is disabled
+     */
+    private static final Duration SOAP_STATION_COUNT_INTERVAL = Duration.ofMinutes(5);
+
+    private final DSLContext ctx;
+    private final TaskScheduler taskScheduler;
+    private final Duration refreshInterval;
+
+    private volatile Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Number of SOAP stations with an endpoint address, as of the last full reload (or the last count, if disabled)
+     */
+    private volatile int soapStationCount;
+
+    /**
+     * Incremented before every write (and its database load). A lookup that raced with a write must not put its
+     * (possibly outdated) result.
+     */
+    private long generation;
+    private final Object writeLock = new Object();
+
+    /**
+     * The generation of the last write per station, since the last full reload. The database loads run outside of
+     * the lock, so that the writes of different stations do not wait for each other. A load that was overtaken by a
+     * later write of the same station must not overwrite its result.
+     */
+    private final Map<String, Long> writeGenerations = new HashMap<>();
+    private long reloadGeneration;
+
+    /**
+     * The full reloads, or the counting of the SOAP stations, if disabled
+     */
+    private volatile ScheduledFuture<?> schedule;
+
+    public StationDirectory(DSLContext ctx, TaskScheduler taskScheduler, SteveProperties steveProperties) {
+        this.ctx = ctx;
+        this.taskScheduler = taskScheduler;
+
+        Duration interval = steveProperties.getOcpp().getStationDirectoryRefreshInterval();
+        this.refreshInterval = (interval == null || interval.isNegative()) ? Duration.ZERO : interval;
+    }
+
+    @EventListener
+    public void afterStart(ContextRefreshedEvent event) {
+        if (schedule != null) {
+            return;
+        }
+
+        if (!isEnabled()) {
+            countSoapStations();
+            schedule = taskScheduler.scheduleWithFixedDelay(this::countSoapStationsSafely,
+                Instant.now().plus(SOAP_STATION_COUNT_INTERVAL), SOAP_STATION_COUNT_INTERVAL);
+            return;
+        }
+
+        reloadAll();
+        schedule = taskScheduler.scheduleWithFixedDelay(this::reloadAllSafely,
+            Instant.now().plus(refreshInterval), refreshInterval);
+    }
+
+    @EventListener
+    public void beforeShutdown(ContextClosedEvent event) {
+        ScheduledFuture<?> current = schedule;
+        if (current != null) {
+            current.cancel(false);
+            schedule = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return !refreshInterval.isZero();
+    }
+
+    public int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * Only updated with the full reloads (or every {@link #SOAP_STATION_COUNT_INTERVAL}, if disabled), which is precise
+     * enough for sizing purposes.
+     */
+    public int getSoapStationCount() {
+        return soapStationCount;
+    }
+
+    // -------------------------------------------------------------------------
+    // Lookups
+    // -------------------------------------------------------------------------
+
+    public Optional<ChargePointRegistration> getRegistration(String chargeBoxId) {
+        return Optional.ofNullable(find(chargeBoxId)).map(Entry::registration);
+    }
+
+    public boolean isInsertConnectorStatusAfterTransactionMsg(String chargeBoxId) {
+        Entry entry = find(chargeBoxId);
+        return entry != null && entry.insertConnectorStatusAfterTransactionMsg();
+    }
+
+    public boolean hasOcppProtocol(String chargeBoxId, OcppProtocol protocol) {
+        Entry entry = find(chargeBoxId);
+        return entry != null && protocol.getCompositeValue().equals(entry.ocppProtocol());
+    }
+
+    public boolean hasEndpointAddress(String chargeBoxId, String endpointAddress) {
+        Entry entry = find(chargeBoxId);
+        return entry != null && endpointAddress.equals(entry.endpointAddress());
+    }
+
+    /**
+     * In-memory variant of {@link ChargePointRepositoryImpl#getChargePointSelect(OcppProtocol, List, List)}. Only
+     * to be used, if the directory is enabled.
+     */
+    public List<ChargePointSelect> getChargePointSelect(OcppProtocol protocol, Collection<String> inStatusFilter,
+                                                        List<String> chargeBoxIdFilter) {
+        String compositeValue = protocol.getCompositeValue();
+
+        Set<String> keyFilter = CollectionUtils.isEmpty(chargeBoxIdFilter)
+            ? null
+            : chargeBoxIdFilter.stream().map(StationDirectory::toKey).collect(Collectors.toSet());
+
+        return entries.entrySet()
+            .stream()
+            .filter(e -> keyFilter == null || keyFilter.contains(e.getKey()))
+            .map(Map.Entry::getValue)
+            .filter(e -> compositeValue.equals(e.ocppProtocol()))
+            .filter(e -> e.endpointAddress() != null)
+            .filter(e -> inStatusFilter.contains(e.registration().registrationStatus()))
+            .map(e -> new ChargePointSelect(protocol, e.registration().chargeBoxId(), e.endpointAddress()))
+            .toList();
+    }
+
+    // -------------------------------------------------------------------------
+    // Updates
+    // -------------------------------------------------------------------------
+
+    /**
+     * Must be called after (i.e. not within the transaction of) every change of the station in the database
+     */
+    public void refresh(String chargeBoxId) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        long writeGeneration = nextGeneration();
+        Entry entry = loadOne(chargeBoxId);
+        String key = toKey(chargeBoxId);
+
+        synchronized (writeLock) {
+            if (isOvertaken(key, writeGeneration)) {
+                return;
+            }
+            writeGenerations.put(key, writeGeneration);
+            if (entry == null) {
+                entries.remove(key);
+            } else {
+                entries.put(key, entry);
+            }
+        }
+    }
+
+    public void refresh(Collection<String> chargeBoxIds) {
+        chargeBoxIds.forEach(this::refresh);
+    }
+
+    public void remove(String chargeBoxId) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        String key = toKey(chargeBoxId);
+        synchronized (writeLock) {
+            writeGenerations.put(key, ++generation);
+            entries.remove(key);
+        }
+    }
+
+    public void reloadAll() {
+        if (!isEnabled()) {
+            return;
+        }
+
+        long loadGeneration = nextGeneration();
+        List<Entry> loaded = load(DSL.trueCondition());
+
+        synchronized (writeLock) {
+            if (loadGeneration < reloadGeneration) {
+                return; // overtaken by another full reload
+            }
+
+            Map<String, Entry> newEntries = new ConcurrentHashMap<>();
+            for (Entry entry : loaded) {
+                newEntries.put(toKey(entry.registration().chargeBoxId()), entry);
+            }
+
+            // keep the results of the writes that happened while we were loading
+            writeGenerations.forEach((key, writeGeneration) -> {
+                if (writeGeneration > loadGeneration) {
+                    Entry current = entries.get(key);
+                    if (current == null) {
+                        newEntries.remove(key);
+                    } else {
+                        newEntries.put(key, current);
+                    }
+                }
+            });
+            writeGenerations.values().removeIf(writeGeneration -> writeGeneration <= loadGeneration);
+
+            reloadGeneration = loadGeneration;
+            entries = newEntries;
+            soapStationCount = (int) newEntries.values().stream().filter(Entry::isSoapWithEndpoint).count();
+            log.debug("Loaded {} stations into the directory", newEntries.size());
+        }
+    }
+
+    /**
+     * For when the directory is disabled. Otherwise, the full reloads count the SOAP stations they loaded.
+     */
+    public void countSoapStations() {
+        soapStationCount = ctx.fetchCount(CHARGE_BOX,
+            CHARGE_BOX.ENDPOINT_ADDRESS.isNotNull()
+                                       .and(CHARGE_BOX.OCPP_PROTOCOL.endsWith(OcppTransport.SOAP.getValue())));
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    @Nullable
+    private Entry find(String chargeBoxId) {
+        if (!isEnabled()) {
+            return loadOne(chargeBoxId);
+        }
+
+        String key = toKey(chargeBoxId);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            return entry;
+        }
+
+        // unknown to us. maybe, it was added by someone else.
+        long generationBefore;
+        synchronized (writeLock) {
+            generationBefore = generation;
+        }
+
+        entry = loadOne(chargeBoxId);
+
+        if (entry != null) {
+            synchronized (writeLock) {
+                if (generation == generationBefore) {
+                    entries.putIfAbsent(key, entry);
+                }
+            }
+        }
+        return entry;
+    }
+
+    private long nextGeneration() {
+        synchronized (writeLock) {
+            return ++generation;
+        }
+    }
+
+    /**
+     * Must be called while holding the write lock
+     */
+    private boolean isOvertaken(String key, long writeGeneration) {
+        if (writeGeneration < reloadGeneration) {
+            return true;
+        }
+        Long last = writeGenerations.get(key);
+        return last != null && last > writeGeneration;
+    }
+
+    @Nullable
+    private Entry loadOne(String chargeBoxId) {
+        return load(CHARGE_BOX.CHARGE_BOX_ID.eq(chargeBoxId)).stream().findFirst().orElse(null);
+    }
+
+    private List<Entry> load(Condition condition) {
+        return ctx.select(
+                CHARGE_BOX.CHARGE_BOX_PK,
+                CHARGE_BOX.CHARGE_BOX_ID,
+                CHARGE_BOX.REGISTRATION_STATUS,
+                CHARGE_BOX.SECURITY_PROFILE,
+                CHARGE_BOX.AUTH_PASSWORD,
+                CHARGE_BOX.OCPP_CONFIGURATION,
+                CHARGE_BOX.CHARGE_POINT_SERIAL_NUMBER,
+                CHARGE_BOX.OCPP_PROTOCOL,
+                CHARGE_BOX.ENDPOINT_ADDRESS,
+                CHARGE_BOX.INSERT_CONNECTOR_STATUS_AFTER_TRANSACTION_MSG)
+            .from(CHARGE_BOX)
+            .where(condition)
+            .fetch(StationDirectory::toEntry);
+    }
+
+    private static Entry toEntry(Record r) {
+        var registration = new ChargePointRegistration(
+            r.get(CHARGE_BOX.CHARGE_BOX_PK),
+            r.get(CHARGE_BOX.CHARGE_BOX_ID),
+            r.get(CHARGE_BOX.REGISTRATION_STATUS),
+            OcppSecurityProfile.fromValue(r.get(CHARGE_BOX.SECURITY_PROFILE)),
+            r.get(CHARGE_BOX.AUTH_PASSWORD),
+            JsonUtils.toObjectNode(r.get(CHARGE_BOX.OCPP_CONFIGURATION)),
+            r.get(CHARGE_BOX.CHARGE_POINT_SERIAL_NUMBER)
+        );
+
+        return new Entry(
+            registration,
+            r.get(CHARGE_BOX.OCPP_PROTOCOL),
+            r.get(CHARGE_BOX.ENDPOINT_ADDRESS),
+            Boolean.TRUE.equals(r.get(CHARGE_BOX.INSERT_CONNECTOR_STATUS_AFTER_TRANSACTION_MSG))
+        );
+    }
+
+    private void reloadAllSafely() {
+        try {
+            reloadAll();
+        } catch (Exception e) {
+            log.error("Failed to reload the station directory", e);
+        }
+    }
+
+    private void countSoapStationsSafely() {
+        try {
+            countSoapStations();
+        } catch (Exception e) {
+            log.error("Failed to count the SOAP stations", e);
+        }
+    }
+
+    private static String toKey(String chargeBoxId) {
+        return chargeBoxId.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param ocppProtocol composite value of {@link OcppProtocol}
+     */
+    private record Entry(ChargePointRegistration registration,
+                         @Nullable String ocppProtocol,
+                         @Nullable String endpointAddress,
+                         boolean insertConnectorStatusAfterTransactionMsg) {
+
+        private boolean isSoapWithEndpoint() {
+            return endpointAddress != null
+                && ocppProtocol != null
+                && ocppProtocol.endsWith(OcppTransport.SOAP.getValue());
+        }
+    }
+}
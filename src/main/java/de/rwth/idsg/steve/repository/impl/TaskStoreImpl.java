@@ -19,20 +19,35 @@
 package de.rwth.idsg.steve.repository.impl;
 
 import de.rwth.idsg.steve.SteveException;
+import de.rwth.idsg.steve.config.SteveProperties;
 import de.rwth.idsg.steve.ocpp.CommunicationTask;
 import de.rwth.idsg.steve.repository.TaskStore;
 import de.rwth.idsg.steve.repository.dto.TaskOverview;
 import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+import org.joda.time.DateTime;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 /**
+ * Tasks are kept in memory, but bounded by steve.tasks (max-count, max-age and an estimated max-memory). The limits
+ * are enforced whenever a task is added or the overview is requested:
+ *
+ * 1) Tasks that are older than max-age are removed. Unfinished tasks of this age will not finish anymore.
+ * 2) Finished tasks are removed, oldest first, until we are within the limits.
+ * 3) If this is not enough, unfinished tasks are removed, oldest first.
+ *
+ * The newest task is never removed by 2) and 3), even if it alone exceeds the limits: its id was just returned to the
+ * caller, who will ask for it. The same goes for the tasks that other threads are adding at the same time.
+ *
+ * Since task ids are increasing, the map is sorted by age and the overview does not have to sort anything.
+ *
  * @author Sevket Goekay <sevketgokay@gmail.com>
  * @since 29.12.2014
  */
@@ -40,31 +55,67 @@ import java.util.stream.Collectors;
 @Repository
 public class TaskStoreImpl implements TaskStore {
 
+    /**
+     * Rough estimations for the memory usage of a task (the task object with its params and callbacks) and the result
+     * of each station (RequestResult with the response or error message).
+     */
+    private static final long BYTES_PER_TASK = 2048;
+    private static final long BYTES_PER_STATION = 512;
+
+    private final int maxCount;
+    private final long maxAgeMillis;
+    private final long maxBytes;
+
     private final AtomicInteger atomicInteger = new AtomicInteger(0);
-    private final ConcurrentHashMap<Integer, CommunicationTask> lookupTable = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Integer, Entry> lookupTable = new ConcurrentSkipListMap<>();
+
+    // ConcurrentSkipListMap.size() is not a constant-time operation
+    private final AtomicInteger count = new AtomicInteger();
+    private final AtomicLong estimatedBytes = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+
+    /**
+     * Only one thread at a time should look for tasks to evict
+     */
+    private final Object evictionLock = new Object();
+
+    public TaskStoreImpl(SteveProperties steveProperties) {
+        var config = steveProperties.getTasks();
+        this.maxCount = config.getMaxCount();
+        this.maxAgeMillis = config.getMaxAge().toMillis();
+        this.maxBytes = config.getMaxMemory().toBytes();
+    }
 
     @Override
     public List<TaskOverview> getOverview() {
-        return lookupTable.entrySet()
+        return getOverview(0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<TaskOverview> getOverview(int offset, int limit) {
+        evict(Integer.MAX_VALUE);
+        return lookupTable.descendingMap()
+                          .entrySet()
                           .stream()
-                          .map(entry -> {
-                              CommunicationTask r = entry.getValue();
-                              return TaskOverview.builder()
-                                                 .taskId(entry.getKey())
-                                                 .origin(r.getOrigin())
-                                                 .start(r.getStartTimestamp())
-                                                 .end(r.getEndTimestamp())
-                                                 .responseCount(r.getResponseCount().get())
-                                                 .requestCount(r.getResultMap().size())
-                                                 .build();
-                          })
-                          .sorted()
-                          .collect(Collectors.toList());
+                          .skip(offset)
+                          .limit(limit)
+                          .map(entry -> toOverview(entry.getKey(), entry.getValue().task()))
+                          .toList();
+    }
+
+    @Override
+    public int getCount() {
+        return count.get();
+    }
+
+    @Override
+    public long getEvictedCount() {
+        return evictedCount.get();
     }
 
     @Override
     public CommunicationTask get(Integer taskId) {
-        CommunicationTask r = lookupTable.get(taskId);
+        CommunicationTask r = find(taskId);
         if (r == null) {
             throw new SteveException("There is no task with taskId '%s'", taskId);
         } else {
@@ -72,10 +123,26 @@ public class TaskStoreImpl implements TaskStore {
         }
     }
 
+    @Override
+    public @Nullable CommunicationTask find(Integer taskId) {
+        Entry entry = lookupTable.get(taskId);
+        return entry == null ? null : entry.task();
+    }
+
     @Override
     public Integer add(CommunicationTask task) {
         int taskId = atomicInteger.incrementAndGet();
-        lookupTable.put(taskId, task);
+        var entry = new Entry(task, BYTES_PER_TASK + BYTES_PER_STATION * task.getResultSize());
+
+        if (entry.estimatedBytes() > maxBytes) {
+            log.warn("Task {} with {} stations alone exceeds steve.tasks.max-memory", taskId, task.getResultSize());
+        }
+
+        lookupTable.put(taskId, entry);
+        count.incrementAndGet();
+        estimatedBytes.addAndGet(entry.estimatedBytes());
+
+        evict(taskId);
         return taskId;
     }
 
@@ -83,6 +150,7 @@ public class TaskStoreImpl implements TaskStore {
     public List<CommunicationTask> getFinished() {
         return lookupTable.values()
             .stream()
+            .map(Entry::task)
             .filter(CommunicationTask::isFinished)
             .toList();
     }
@@ -91,24 +159,108 @@ public class TaskStoreImpl implements TaskStore {
     public List<CommunicationTask> getUnfinished() {
         return lookupTable.values()
             .stream()
+            .map(Entry::task)
             .filter(task -> !task.isFinished())
             .toList();
     }
 
     @Override
     public void clearFinished() {
-        removeTasks(entry -> entry.getValue().isFinished());
+        removeTasks(CommunicationTask::isFinished);
     }
 
     @Override
     public void clearUnfinished() {
-        removeTasks(entry -> !entry.getValue().isFinished());
+        removeTasks(task -> !task.isFinished());
     }
 
-    private void removeTasks(Predicate<Map.Entry<Integer, CommunicationTask>> filterPredicate) {
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private void removeTasks(Predicate<CommunicationTask> filterPredicate) {
         lookupTable.entrySet()
                    .stream()
-                   .filter(filterPredicate)
-                   .forEach(entry -> lookupTable.remove(entry.getKey()));
+                   .filter(entry -> filterPredicate.test(entry.getValue().task()))
+                   .forEach(this::remove);
+    }
+
+    /**
+     * @param protectedFromId tasks with this id or a higher one are not removed because of the limits
+     */
+    private void evict(int protectedFromId) {
+        DateTime cutoff = DateTime.now().minus(maxAgeMillis);
+
+        synchronized (evictionLock) {
+            var newest = lookupTable.lastEntry();
+            int protectedFrom = (newest == null) ? protectedFromId : Math.min(protectedFromId, newest.getKey());
+            int evicted = 0;
+
+            // 1. too old. ids are increasing, so we can stop at the first task that is young enough.
+            for (var entry : lookupTable.entrySet()) {
+                if (!entry.getValue().task().getStartTimestamp().isBefore(cutoff)) {
+                    break;
+                }
+                evicted += remove(entry);
+            }
+
+            // 2. too many or too big: the oldest finished ones
+            evicted += evictWhileOverLimit(CommunicationTask::isFinished, protectedFrom);
+
+            // 3. still too many or too big: the oldest ones, no matter what
+            int unfinished = evictWhileOverLimit(task -> true, protectedFrom);
+            if (unfinished > 0) {
+                log.warn("Removed {} unfinished tasks to stay within the limits of steve.tasks", unfinished);
+            }
+            evicted += unfinished;
+
+            if (evicted > 0) {
+                evictedCount.addAndGet(evicted);
+                log.debug("Removed {} tasks. Remaining: {}", evicted, count.get());
+            }
+        }
     }
+
+    private int evictWhileOverLimit(Predicate<CommunicationTask> filter, int protectedFrom) {
+        int evicted = 0;
+        for (var entry : lookupTable.headMap(protectedFrom).entrySet()) {
+            if (!isOverLimit()) {
+                break;
+            }
+            if (filter.test(entry.getValue().task())) {
+                evicted += remove(entry);
+            }
+        }
+        return evicted;
+    }
+
+    private boolean isOverLimit() {
+        return count.get() > maxCount || estimatedBytes.get() > maxBytes;
+    }
+
+    /**
+     * @return 1, if the entry was removed by us. 0, if someone else was faster.
+     */
+    private int remove(Map.Entry<Integer, Entry> entry) {
+        if (!lookupTable.remove(entry.getKey(), entry.getValue())) {
+            return 0;
+        }
+        count.decrementAndGet();
+        estimatedBytes.addAndGet(-entry.getValue().estimatedBytes());
+        return 1;
+    }
+
+    private static TaskOverview toOverview(int taskId, CommunicationTask r) {
+        return TaskOverview.builder()
+                           .taskId(taskId)
+                           .origin(r.getOrigin())
+                           .start(r.getStartTimestamp())
+                           .end(r.getEndTimestamp())
+                           .responseCount(r.getResponseCount().get())
+                           .requestCount(r.getResultMap().size())
+                           .dispatchedCount(r.getDispatchedCount().get())
+                           .build();
+    }
+
+    private record Entry(CommunicationTask task, long estimatedBytes) { }
 }
@@ -27,7 +27,6 @@ import de.rwth.idsg.steve.utils.TransactionStopServiceHelper;
 import de.rwth.idsg.steve.web.dto.QueryPeriodType;
 import de.rwth.idsg.steve.web.dto.TransactionQueryForm;
 import jooq.steve.db.enums.EvseTopologySource;
-import jooq.steve.db.tables.records.TransactionRecord;
 import jooq.steve.db.tables.records.TransactionStartRecord;
 import lombok.RequiredArgsConstructor;
 import ocpp.cs._2015._10.UnitOfMeasure;
@@ -35,7 +34,6 @@ import org.jetbrains.annotations.NotNull;
 import org.joda.time.DateTime;
 import org.jooq.Condition;
 import org.jooq.DSLContext;
-import org.jooq.Result;
 import org.springframework.stereotype.Repository;
 
 import java.io.Writer;
@@ -68,8 +66,9 @@ public class TransactionRepositoryImpl implements TransactionRepository {
     @Override
     public List<Transaction> getTransactions(TransactionQueryForm form) {
         var conditions = getConditions(form);
+        conditions.add(RepositoryUtils.keysetCondition(TRANSACTION.TRANSACTION_PK, true, form));
 
-        return ctx.select(
+        var select = ctx.select(
                 TRANSACTION.TRANSACTION_PK,
                 EVSE.CHARGE_BOX_ID,
                 EVSE.EVSE_ID,
@@ -89,7 +88,9 @@ public class TransactionRepositoryImpl implements TransactionRepository {
             .join(OCPP_TAG).on(OCPP_TAG.ID_TAG.eq(TRANSACTION.ID_TAG))
             .leftJoin(USER_OCPP_TAG).on(USER_OCPP_TAG.OCPP_TAG_PK.eq(OCPP_TAG.OCPP_TAG_PK))
             .where(conditions)
-            .orderBy(TRANSACTION.TRANSACTION_PK.desc())
+            .orderBy(TRANSACTION.TRANSACTION_PK.desc());
+
+        return RepositoryUtils.limit(select, form.getLimit())
             .fetch()
             .map(r -> Transaction.builder()
                 .id(r.value1())
@@ -115,7 +116,7 @@ public class TransactionRepositoryImpl implements TransactionRepository {
     public void writeTransactionsCSV(TransactionQueryForm form, Writer writer) {
         var conditions = getConditions(form);
 
-        ctx.select(
+        var query = ctx.select(
                 TRANSACTION.TRANSACTION_PK,
                 EVSE.CHARGE_BOX_ID,
                 EVSE.EVSE_ID,
@@ -131,9 +132,9 @@ public class TransactionRepositoryImpl implements TransactionRepository {
             .join(OCPP_TAG).on(OCPP_TAG.ID_TAG.eq(TRANSACTION.ID_TAG))
             .leftJoin(USER_OCPP_TAG).on(USER_OCPP_TAG.OCPP_TAG_PK.eq(OCPP_TAG.OCPP_TAG_PK))
             .where(conditions)
-            .orderBy(TRANSACTION.TRANSACTION_PK.desc())
-            .fetch()
-            .formatCSV(writer);
+            .orderBy(TRANSACTION.TRANSACTION_PK.desc());
+
+        RepositoryUtils.writeCsv(ctx, query, writer);
     }
 
     @Override
@@ -262,16 +263,17 @@ public class TransactionRepositoryImpl implements TransactionRepository {
     }
 
     @Override
-    public Result<TransactionRecord> getStoppedTransactions(@NotNull DateTime from, @NotNull DateTime to) {
+    public void writeStoppedTransactionsCSV(@NotNull DateTime from, @NotNull DateTime to, Writer writer) {
         if (!to.isAfter(from)) {
             throw new SteveException.BadRequest("'to' must be after 'from'");
         }
 
-        return ctx.selectFrom(TRANSACTION)
+        var query = ctx.selectFrom(TRANSACTION)
             .where(TRANSACTION.STOP_TIMESTAMP.ge(from)
             .and(TRANSACTION.STOP_TIMESTAMP.lt(to)))
-            .orderBy(TRANSACTION.START_TIMESTAMP)
-            .fetch();
+            .orderBy(TRANSACTION.START_TIMESTAMP);
+
+        RepositoryUtils.writeCsv(ctx, query, writer);
     }
 
     // -------------------------------------------------------------------------
@@ -0,0 +1,139 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import de.rwth.idsg.steve.config.SteveProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Remembers successful API password checks for a short time (steve.auth.api-credential-cache-ttl), since the REST API
+ * is used for machine-to-machine communication with many requests per second, and BCrypt would otherwise be on the
+ * path of every single one.
+ *
+ * Per user, we only keep a SHA-256 over the provided password and the password hash from database, never the password
+ * itself. A changed API password does not match the old entry. In addition, {@link WebUserService} clears the cache
+ * on every change of a user (status, password, authorities, deletion).
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+@Slf4j
+@Component
+public class ApiCredentialCache {
+
+    /**
+     * Key   (String)   = lowercase username
+     * Value (HashCode) = digest of the verified credentials
+     *
+     * Null, if disabled
+     */
+    @Nullable private final Cache<String, HashCode> cache;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public ApiCredentialCache(SteveProperties steveProperties) {
+        Duration ttl = steveProperties.getAuth().getApiCredentialCacheTtl();
+
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            log.info("API credential cache is disabled");
+            this.cache = null;
+        } else {
+            this.cache = CacheBuilder.newBuilder()
+                                     .maximumSize(1_000)
+                                     .expireAfterWrite(ttl)
+                                     .build();
+        }
+    }
+
+    public boolean isVerified(String username, String rawPassword, String encodedPassword) {
+        if (cache == null) {
+            return false;
+        }
+
+        HashCode verified = cache.getIfPresent(toKey(username));
+        if (verified != null && verified.equals(digest(rawPassword, encodedPassword))) {
+            hitCount.increment();
+            return true;
+        }
+
+        missCount.increment();
+        return false;
+    }
+
+    public void putVerified(String username, String rawPassword, String encodedPassword) {
+        if (cache != null) {
+            cache.put(toKey(username), digest(rawPassword, encodedPassword));
+        }
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    public long getSize() {
+        return cache == null ? 0 : cache.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public double getHitRate() {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+        return total == 0 ? 1.0 : (double) hits / total;
+    }
+
+    private static String toKey(String username) {
+        // usernames are case-insensitive in database
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private static HashCode digest(String rawPassword, String encodedPassword) {
+        return Hashing.sha256()
+                      .newHasher()
+                      .putString(rawPassword, UTF_8)
+                      .putByte((byte) 0)
+                      .putString(encodedPassword, UTF_8)
+                      .hash();
+    }
+}
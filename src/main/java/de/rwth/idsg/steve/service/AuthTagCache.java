@@ -0,0 +1,188 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import de.rwth.idsg.steve.config.SteveProperties;
+import de.rwth.idsg.steve.repository.OcppTagRepository;
+import de.rwth.idsg.steve.service.notification.OcppTransactionEnded;
+import de.rwth.idsg.steve.service.notification.OcppTransactionStarted;
+import jooq.steve.db.tables.records.OcppTagActivityRecord;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+import static jooq.steve.db.tables.OcppTagActivity.OCPP_TAG_ACTIVITY;
+
+/**
+ * Keeps the {@link OcppTagActivityRecord}s of recently used idTags in memory, since looking them up is on the hot
+ * path of every Authorize, StartTransaction and StopTransaction.
+ *
+ * An entry is invalidated when the tag is changed (see {@link OcppTagService}) or when a transaction of the tag starts
+ * or ends, since the CONCURRENT_TX decision depends on the number of active transactions. Everything else (e.g.
+ * changes made by another SteVe instance with the same database) is picked up latest after steve.ocpp.auth-cache.ttl.
+ *
+ * A load that overlaps with an invalidation (e.g. it read the active transaction count right before a transaction
+ * started) is not cached, because its result might be outdated already.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+@Slf4j
+@Component
+public class AuthTagCache {
+
+    private final OcppTagRepository ocppTagRepository;
+
+    /**
+     * Null, if disabled
+     */
+    @Nullable private final Cache<String, CachedTag> cache;
+
+    /**
+     * Incremented with every invalidation. Only modified/compared with the lock, so that a load cannot put its result
+     * between the increment and the removal of an invalidation.
+     */
+    private long generation;
+    private final Object lock = new Object();
+
+    public AuthTagCache(OcppTagRepository ocppTagRepository, SteveProperties steveProperties) {
+        this.ocppTagRepository = ocppTagRepository;
+
+        var config = steveProperties.getOcpp().getAuthCache();
+        Duration ttl = config.getTtl();
+
+        if (ttl == null || ttl.isZero() || ttl.isNegative() || config.getMaxSize() <= 0) {
+            log.info("Authorization cache is disabled");
+            this.cache = null;
+        } else {
+            this.cache = CacheBuilder.newBuilder()
+                                     .maximumSize(config.getMaxSize())
+                                     .expireAfterWrite(ttl)
+                                     .recordStats()
+                                     .build();
+        }
+    }
+
+    /**
+     * Same contract as {@link OcppTagRepository#getRecord(String)}. The returned record is a copy and can be modified
+     * by the caller.
+     */
+    @Nullable
+    public OcppTagActivityRecord getRecord(String idTag) {
+        if (cache == null) {
+            return ocppTagRepository.getRecord(idTag);
+        }
+
+        CachedTag cached = cache.getIfPresent(idTag);
+        if (cached != null) {
+            return cached.toRecord();
+        }
+
+        long generationBefore;
+        synchronized (lock) {
+            generationBefore = generation;
+        }
+
+        cached = new CachedTag(ocppTagRepository.getRecord(idTag));
+
+        synchronized (lock) {
+            if (generation == generationBefore) {
+                cache.put(idTag, cached);
+            }
+        }
+        return cached.toRecord();
+    }
+
+    public void invalidate(String idTag) {
+        if (cache != null) {
+            synchronized (lock) {
+                generation++;
+                cache.invalidate(idTag);
+            }
+        }
+    }
+
+    public void invalidate(Iterable<String> idTags) {
+        if (cache != null) {
+            synchronized (lock) {
+                generation++;
+                cache.invalidateAll(idTags);
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            synchronized (lock) {
+                generation++;
+                cache.invalidateAll();
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    public CacheStats getStats() {
+        return cache == null ? new CacheStats(0, 0, 0, 0, 0, 0) : cache.stats();
+    }
+
+    public long getSize() {
+        return cache == null ? 0 : cache.size();
+    }
+
+    /**
+     * The active transaction count of the tag changes. We do not adjust it in memory, because stations might resend
+     * a StartTransaction for which we would then count twice.
+     */
+    @EventListener
+    public void transactionStarted(OcppTransactionStarted event) {
+        invalidate(event.getParams().getIdTag());
+    }
+
+    @EventListener
+    public void transactionEnded(OcppTransactionEnded event) {
+        if (event.getIdTag() != null) {
+            invalidate(event.getIdTag());
+        }
+    }
+
+    /**
+     * Wrapper, because Guava caches cannot hold null values, but we want to remember unknown idTags as well.
+     *
+     * @param record null, if the idTag is not in database
+     */
+    private record CachedTag(@Nullable OcppTagActivityRecord record) {
+
+        /**
+         * Records are mutable. Never hand out the cached instance.
+         */
+        @Nullable
+        private OcppTagActivityRecord toRecord() {
+            return record == null ? null : record.into(OCPP_TAG_ACTIVITY);
+        }
+    }
+}
@@ -19,7 +19,6 @@
 package de.rwth.idsg.steve.service;
 
 import com.google.common.base.Strings;
-import de.rwth.idsg.steve.repository.OcppTagRepository;
 import de.rwth.idsg.steve.repository.SettingsRepository;
 import de.rwth.idsg.steve.service.dto.AuthTagContext;
 import jooq.steve.db.tables.records.OcppTagActivityRecord;
@@ -42,7 +41,7 @@ import static de.rwth.idsg.steve.utils.OcppTagActivityRecordUtils.reachedLimitOf
 @RequiredArgsConstructor
 public class AuthTagServiceLocal implements AuthTagService {
 
-    private final OcppTagRepository ocppTagRepository;
+    private final AuthTagCache authTagCache;
     private final SettingsRepository settingsRepository;
 
     @Override
@@ -53,7 +52,7 @@ public class AuthTagServiceLocal implements AuthTagService {
             throw new IllegalArgumentException("Null/empty idTag");
         }
 
-        OcppTagActivityRecord record = ocppTagRepository.getRecord(idTag);
+        OcppTagActivityRecord record = authTagCache.getRecord(idTag);
         if (record == null) {
             log.error("The user with idTag '{}' is INVALID (not present in DB).", idTag);
             return new IdTagInfo().withStatus(AuthorizationStatus.INVALID);
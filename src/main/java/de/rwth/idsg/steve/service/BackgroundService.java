@@ -18,37 +18,91 @@
  */
 package de.rwth.idsg.steve.service;
 
+import com.google.common.util.concurrent.RateLimiter;
 import de.rwth.idsg.steve.SteveException;
+import de.rwth.idsg.steve.config.SteveProperties;
+import de.rwth.idsg.steve.ocpp.CommunicationTask;
+import de.rwth.idsg.steve.ocpp.OcppCallback;
+import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonError;
 import de.rwth.idsg.steve.repository.dto.ChargePointSelect;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.task.TaskExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.function.Consumer;
 
 /**
+ * Dispatches the requests of a {@link CommunicationTask} to the selected stations in the background.
+ *
+ * Every station is submitted individually, such that a slow station (e.g. a SOAP station that blocks for the HTTP
+ * round trip) does not delay the others. The number of requests in flight is bounded by
+ * steve.ocpp.fan-out.max-concurrency over all tasks, and the rate of submissions can be limited with
+ * steve.ocpp.fan-out.rate-per-second.
+ *
+ * Since the transports send asynchronously, a request is in flight from its dispatch until the task gets the
+ * response, the error or the timeout of the station. Only then the permit is released.
+ *
  * @author Sevket Goekay <sevketgokay@gmail.com>
  * @since 08.03.2018
  */
-@RequiredArgsConstructor
+@Slf4j
+@Service
 public class BackgroundService {
 
-    private final TaskExecutor taskExecutor;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("SteVe-FanOut-", 0).factory()
+    );
+
+    private final int maxConcurrency;
+    private final Semaphore concurrencyLimit;
+    @Nullable private final RateLimiter rateLimiter;
+
+    public BackgroundService(SteveProperties steveProperties) {
+        var fanOut = steveProperties.getOcpp().getFanOut();
+        this.maxConcurrency = Math.max(1, fanOut.getMaxConcurrency());
+        this.concurrencyLimit = new Semaphore(maxConcurrency);
+        this.rateLimiter = fanOut.getRatePerSecond() > 0 ? RateLimiter.create(fanOut.getRatePerSecond()) : null;
+    }
 
-    public static BackgroundService with(TaskExecutor taskExecutor) {
-        return new BackgroundService(taskExecutor);
+    /**
+     * Requests that were dispatched, but did not complete yet
+     */
+    public int getInFlightCount() {
+        return maxConcurrency - concurrencyLimit.availablePermits();
     }
 
-    public Runner forFirst(List<ChargePointSelect> list) {
+    public Runner forFirst(CommunicationTask<?, ?> task) {
+        List<ChargePointSelect> list = task.getParams().getChargePointSelectList();
         if (list.size() != 1) {
             throw new SteveException.BadRequest("This operation is for one station only");
         }
-        return new BackgroundSingleRunner(list.get(0));
+        return new BackgroundRunner(task, list);
     }
 
-    public Runner forEach(List<ChargePointSelect> list) {
-        return new BackgroundListRunner(list);
+    public Runner forEach(CommunicationTask<?, ?> task) {
+        return new BackgroundRunner(task, distinctStations(task.getParams().getChargePointSelectList()));
+    }
+
+    /**
+     * The permits are tracked per station. A station that is selected twice would take two permits, but only give
+     * back one.
+     */
+    private static List<ChargePointSelect> distinctStations(List<ChargePointSelect> list) {
+        Map<String, ChargePointSelect> byChargeBoxId = new LinkedHashMap<>();
+        for (ChargePointSelect cps : list) {
+            byChargeBoxId.putIfAbsent(cps.getChargeBoxId(), cps);
+        }
+        return byChargeBoxId.size() == list.size() ? list : List.copyOf(byChargeBoxId.values());
     }
 
     public interface Runner {
@@ -56,22 +110,72 @@ public class BackgroundService {
     }
 
     @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
-    private class BackgroundSingleRunner implements Runner {
-        private final ChargePointSelect cps;
+    private class BackgroundRunner implements Runner {
+        private final CommunicationTask<?, ?> task;
+        private final List<ChargePointSelect> list;
+
+        /**
+         * ChargeBoxIds whose requests hold a permit (the list has no duplicates)
+         */
+        private final Set<String> holdingPermit = ConcurrentHashMap.newKeySet();
 
+        /**
+         * The loop itself runs in the background as well, since it might have to wait for permits.
+         */
         @Override
         public void execute(Consumer<ChargePointSelect> consumer) {
-            taskExecutor.execute(() -> consumer.accept(cps));
+            releaseOnCompletion(task);
+            executor.execute(() -> list.forEach(cps -> dispatch(cps, consumer)));
         }
-    }
 
-    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
-    private class BackgroundListRunner implements Runner {
-        private final List<ChargePointSelect> list;
+        private void dispatch(ChargePointSelect cps, Consumer<ChargePointSelect> consumer) {
+            if (rateLimiter != null) {
+                rateLimiter.acquire();
+            }
+            concurrencyLimit.acquireUninterruptibly();
+            holdingPermit.add(cps.getChargeBoxId());
 
-        @Override
-        public void execute(Consumer<ChargePointSelect> consumer) {
-            taskExecutor.execute(() -> list.forEach(consumer));
+            try {
+                executor.execute(() -> {
+                    try {
+                        consumer.accept(cps);
+                        task.getDispatchedCount().incrementAndGet();
+                    } catch (Exception e) {
+                        log.error("Exception occurred while dispatching to chargeBoxId '{}'", cps.getChargeBoxId(), e);
+                        task.failed(cps.getChargeBoxId(), e);
+                    }
+                });
+            } catch (Exception e) {
+                task.failed(cps.getChargeBoxId(), e);
+            }
+        }
+
+        private <R> void releaseOnCompletion(CommunicationTask<?, R> communicationTask) {
+            communicationTask.addCallback(new OcppCallback<>() {
+                @Override
+                public void success(CommunicationTask<?, R> t, String chargeBoxId, R response) {
+                    release(chargeBoxId);
+                }
+
+                @Override
+                public void success(CommunicationTask<?, R> t, String chargeBoxId, OcppJsonError error) {
+                    release(chargeBoxId);
+                }
+
+                @Override
+                public void failed(CommunicationTask<?, R> t, String chargeBoxId, Exception e) {
+                    release(chargeBoxId);
+                }
+            });
+        }
+
+        /**
+         * At most once per station, even if the station responds after its timeout
+         */
+        private void release(String chargeBoxId) {
+            if (holdingPermit.remove(chargeBoxId)) {
+                concurrencyLimit.release();
+            }
         }
     }
 }
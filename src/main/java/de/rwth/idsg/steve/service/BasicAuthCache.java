@@ -0,0 +1,93 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import de.rwth.idsg.steve.config.SteveProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Remembers successful Basic-Auth checks of stations, because BCrypt is deliberately slow and stations reconnect often
+ * (and all at the same time after an outage).
+ *
+ * We do not keep the passwords: the key is a SHA-256 over chargeBoxId, provided password and the password hash from
+ * database. Therefore, a changed password in database does not match any old entry, and there is nothing to
+ * invalidate. Failed checks are never cached.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+@Slf4j
+@Component
+public class BasicAuthCache {
+
+    /**
+     * Null, if disabled
+     */
+    @Nullable private final Cache<HashCode, Boolean> cache;
+
+    public BasicAuthCache(SteveProperties steveProperties) {
+        Duration ttl = steveProperties.getOcpp().getHandshakeAdmission().getBasicAuthCacheTtl();
+
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            log.info("Basic-Auth cache is disabled");
+            this.cache = null;
+        } else {
+            this.cache = CacheBuilder.newBuilder()
+                                     .maximumSize(100_000)
+                                     .expireAfterWrite(ttl)
+                                     .build();
+        }
+    }
+
+    public boolean isVerified(String chargeBoxId, String rawPassword, String encodedPassword) {
+        return cache != null && cache.getIfPresent(toKey(chargeBoxId, rawPassword, encodedPassword)) != null;
+    }
+
+    public void putVerified(String chargeBoxId, String rawPassword, String encodedPassword) {
+        if (cache != null) {
+            cache.put(toKey(chargeBoxId, rawPassword, encodedPassword), Boolean.TRUE);
+        }
+    }
+
+    public long getSize() {
+        return cache == null ? 0 : cache.size();
+    }
+
+    private static HashCode toKey(String chargeBoxId, String rawPassword, String encodedPassword) {
+        return Hashing.sha256()
+                      .newHasher()
+                      .putString(chargeBoxId.toLowerCase(Locale.ROOT), UTF_8)
+                      .putByte((byte) 0)
+                      .putString(rawPassword, UTF_8)
+                      .putByte((byte) 0)
+                      .putString(encodedPassword, UTF_8)
+                      .hash();
+    }
+}
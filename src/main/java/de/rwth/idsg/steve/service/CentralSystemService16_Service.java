@@ -24,6 +24,8 @@ import de.rwth.idsg.steve.repository.EventRepository;
 import de.rwth.idsg.steve.repository.OcppServerRepository;
 import de.rwth.idsg.steve.repository.ReservationRepository;
 import de.rwth.idsg.steve.repository.SettingsRepository;
+import de.rwth.idsg.steve.repository.impl.ChargeBoxHeartbeatCoalescer;
+import de.rwth.idsg.steve.repository.impl.MeterValueBatchWriter;
 import de.rwth.idsg.steve.repository.dto.InsertConnectorStatusParams;
 import de.rwth.idsg.steve.repository.dto.InsertTransactionParams;
 import de.rwth.idsg.steve.repository.dto.UpdateChargeboxParams;
@@ -91,6 +93,8 @@ import static ocpp.cs._2015._10.ChargePointStatus.UNAVAILABLE;
 public class CentralSystemService16_Service {
 
     private final OcppServerRepository ocppServerRepository;
+    private final ChargeBoxHeartbeatCoalescer heartbeatCoalescer;
+    private final MeterValueBatchWriter meterValueBatchWriter;
     private final SettingsRepository settingsRepository;
     private final OcppTagService ocppTagService;
     private final ApplicationEventPublisher applicationEventPublisher;
@@ -202,7 +206,7 @@ public class CentralSystemService16_Service {
             return new MeterValuesResponse();
         }
 
-        ocppServerRepository.insertMeterValues(
+        meterValueBatchWriter.insertMeterValues(
                 chargeBoxIdentity,
                 parameters.getMeterValue(),
                 parameters.getConnectorId(),
@@ -287,7 +291,9 @@ public class CentralSystemService16_Service {
         } else {
             ocppServerRepository.updateTransaction(params);
             ocppServerRepository.insertMeterValues(chargeBoxIdentity, parameters.getTransactionData(), transaction);
-            applicationEventPublisher.publishEvent(new OcppTransactionEnded(params));
+            applicationEventPublisher.publishEvent(
+                new OcppTransactionEnded(params, transaction == null ? null : transaction.getIdTag())
+            );
         }
 
         return new StopTransactionResponse().withIdTagInfo(idTagInfo);
@@ -295,7 +301,7 @@ public class CentralSystemService16_Service {
 
     public HeartbeatResponse heartbeat(HeartbeatRequest parameters, String chargeBoxIdentity) {
         DateTime now = DateTime.now();
-        ocppServerRepository.updateChargeboxHeartbeat(chargeBoxIdentity, now);
+        heartbeatCoalescer.updateChargeboxHeartbeat(chargeBoxIdentity, now);
 
         return new HeartbeatResponse().withCurrentTime(now);
     }
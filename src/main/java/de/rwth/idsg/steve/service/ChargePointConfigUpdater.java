@@ -28,7 +28,6 @@ import de.rwth.idsg.steve.service.notification.OcppStationSecurityProfileChanged
 import de.rwth.idsg.steve.service.notification.OcppStationWebSocketConnected;
 import de.rwth.idsg.steve.web.dto.RestCallback;
 import de.rwth.idsg.steve.web.dto.ocpp.ChangeConfigurationParams;
-import de.rwth.idsg.steve.web.dto.ocpp.GetConfigurationParams;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ocpp.cp._2015._10.ConfigurationStatus;
@@ -36,7 +35,9 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 import static de.rwth.idsg.steve.web.dto.ocpp.ConfigurationKeyEnum.AuthorizationKey;
 import static de.rwth.idsg.steve.web.dto.ocpp.ConfigurationKeyEnum.SecurityProfile;
@@ -55,9 +56,14 @@ public class ChargePointConfigUpdater {
 
     // use this when we need to wait for the response to process it
     private final OcppOperationsService ocppOperationsService;
-    // use this when fire-and-forget: no need to wait for or to process the response
-    private final ChargePointServiceClient chargePointServiceClient;
+    // fire-and-forget GetConfiguration, coalesced per station
+    private final ConfigurationSnapshotSync configurationSnapshotSync;
 
+    /**
+     * If many stations connect at the same time (e.g. after an outage), we do not want to flood them and ourselves with
+     * GetConfiguration requests and responses. Therefore, it is sent after a random delay, and not at all if we have a
+     * fresh snapshot of the station (see {@link ConfigurationSnapshotSync}).
+     */
     @EventListener
     public void getAllOcppConfigs(OcppStationWebSocketConnected notification) {
         if (steveProperties.getOcpp().isOcttQuirksEnabled()) {
@@ -66,21 +72,19 @@ public class ChargePointConfigUpdater {
             return;
         }
 
-        try {
-            // GetConfiguration was not there in Ocpp 1.2
-            if (notification.getOcppVersion() == OcppVersion.V_12) {
-                return;
-            }
-
-            var chargeBoxId = notification.getChargeBoxId();
-            var protocol = notification.getOcppVersion().toProtocol(OcppTransport.JSON);
+        // GetConfiguration was not there in Ocpp 1.2
+        if (notification.getOcppVersion() == OcppVersion.V_12) {
+            return;
+        }
 
-            var params = new GetConfigurationParams();
-            params.setChargePointSelectList(List.of(new ChargePointSelect(protocol, chargeBoxId)));
-            chargePointServiceClient.getConfiguration(params);
-        } catch (Exception e) {
-            log.error("Failed", e);
+        Duration delay = Duration.ZERO;
+        Duration maxDelay = steveProperties.getOcpp().getHandshakeAdmission().getGetConfigurationMaxDelay();
+        if (maxDelay != null && maxDelay.isPositive()) {
+            delay = Duration.ofMillis(ThreadLocalRandom.current().nextLong(maxDelay.toMillis() + 1));
         }
+
+        var protocol = notification.getOcppVersion().toProtocol(OcppTransport.JSON);
+        configurationSnapshotSync.refreshIfStale(new ChargePointSelect(protocol, notification.getChargeBoxId()), delay);
     }
 
     /**
@@ -112,6 +116,7 @@ public class ChargePointConfigUpdater {
 
         try {
             RestCallback<ConfigurationStatus> callback = ocppOperationsService.changeConfiguration(params);
+            callback.waitForResponses();
             if (!callback.isFinished()) {
                 throw new SteveException("%s timed out while applying ChangeConfiguration for key '%s' at station '%s'".formatted(prefix, configKey, chargeBoxId));
             }
@@ -18,6 +18,8 @@
  */
 package de.rwth.idsg.steve.service;
 
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
 import com.google.common.util.concurrent.Striped;
 import de.rwth.idsg.steve.config.SteveProperties;
 import de.rwth.idsg.steve.ocpp.OcppProtocol;
@@ -33,6 +35,7 @@ import de.rwth.idsg.steve.repository.dto.ChargePoint;
 import de.rwth.idsg.steve.repository.dto.ChargePointRegistration;
 import de.rwth.idsg.steve.repository.dto.ChargePointSelect;
 import de.rwth.idsg.steve.repository.dto.ConnectorStatus;
+import de.rwth.idsg.steve.repository.impl.StationDirectory;
 import de.rwth.idsg.steve.service.dto.UnidentifiedIncomingObject;
 import de.rwth.idsg.steve.service.notification.OcppStationSecurityBasicAuthChanged;
 import de.rwth.idsg.steve.service.notification.OcppStationSecurityProfileChanged;
@@ -48,6 +51,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ocpp.cs._2015._10.RegistrationStatus;
 import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.Nullable;
 import org.joda.time.DateTime;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
@@ -55,6 +59,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -64,6 +70,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -80,11 +87,20 @@ public class ChargePointService {
     private final UnidentifiedIncomingObjectService unknownChargePointService = new UnidentifiedIncomingObjectService(100);
     private final Striped<Lock> isRegisteredLocks = Striped.lock(128);
 
+    /**
+     * Key   (String)                = chargeBoxId
+     * Value (ConfigurationSnapshot) = fingerprint of the configuration we last wrote to database for the station
+     */
+    private final ConcurrentHashMap<String, ConfigurationSnapshot> configurationSnapshots = new ConcurrentHashMap<>();
+
     private final ApplicationEventPublisher applicationEventPublisher;
     private final ChargePointRepository chargePointRepository;
     private final GenericRepository genericRepository;
     private final SteveProperties steveProperties;
     private final PasswordEncoder passwordEncoder;
+    private final AuthTagCache authTagCache;
+    private final StationDirectory stationDirectory;
+    private final BasicAuthCache basicAuthCache;
 
     // SOAP-based charge points are stored in DB with an endpoint address.
     // But, for WebSocket-based charge points, the active sessions are stored in memory.
@@ -112,28 +128,64 @@ public class ChargePointService {
             : passwordEncoder.encode(authPassword);
 
         chargePointRepository.updateBasicAuthPassword(chargeBoxId, encodedPwd);
+        stationDirectory.refresh(chargeBoxId);
     }
 
     public void updateSecurityProfile(String chargeBoxId, String securityProfile) {
         var ocppSecurityProfile = OcppSecurityProfile.fromValueNoException(securityProfile);
         chargePointRepository.updateSecurityProfile(chargeBoxId, ocppSecurityProfile);
+        stationDirectory.refresh(chargeBoxId);
     }
 
+    /**
+     * Stations mostly report the same configuration again. Therefore, the database is only written, if the content
+     * changed since the last snapshot we have written.
+     */
     public void updateOcppConfiguration(String chargeBoxId, String jsonNode) {
+        HashCode hash = Hashing.sha256().hashString(jsonNode, StandardCharsets.UTF_8);
+        var previous = configurationSnapshots.put(chargeBoxId, new ConfigurationSnapshot(hash, Instant.now()));
+        if (previous != null && hash.equals(previous.hash())) {
+            log.debug("Configuration of '{}' did not change. Skipping database update", chargeBoxId);
+            return;
+        }
+
         try {
             chargePointRepository.updateOcppConfiguration(chargeBoxId, jsonNode);
+            stationDirectory.refresh(chargeBoxId);
         } catch (Exception e) {
+            configurationSnapshots.remove(chargeBoxId);
             log.error("Failed during updateOcppConfiguration, because: {}", e.getMessage(), e);
         }
     }
 
+    /**
+     * @return when we received the last complete configuration of the station, or null if we do not have an
+     * up-to-date one (e.g. after startup or after the configuration was changed)
+     */
+    @Nullable
+    public Instant getOcppConfigurationReceivedAt(String chargeBoxId) {
+        var snapshot = configurationSnapshots.get(chargeBoxId);
+        return snapshot == null ? null : snapshot.receivedAt();
+    }
+
+    /**
+     * The configuration in database does not reflect the station anymore. We keep the fingerprint, so that we still
+     * skip the write, if the next snapshot turns out to be the same.
+     */
+    public void markOcppConfigurationOutdated(String chargeBoxId) {
+        configurationSnapshots.computeIfPresent(chargeBoxId, (k, v) -> new ConfigurationSnapshot(v.hash(), null));
+    }
+
     public void addChargePointList(List<String> chargeBoxIdList) {
         chargePointRepository.addChargePointList(chargeBoxIdList);
+        stationDirectory.refresh(chargeBoxIdList);
     }
 
     public int addChargePoint(ChargePointFormForCreate form) {
         encodePasswordIfNeeded(form);
-        return chargePointRepository.addChargePoint(form);
+        int chargeBoxPk = chargePointRepository.addChargePoint(form);
+        stationDirectory.refresh(form.getChargeBoxId());
+        return chargeBoxPk;
     }
 
     public void updateChargePoint(ChargePointFormForUpdate form) {
@@ -146,6 +198,7 @@ public class ChargePointService {
 
         encodePasswordIfNeeded(form);
         chargePointRepository.updateChargePoint(form);
+        stationDirectory.refresh(chargeBoxId);
 
         // if securityProfile or authPassword changed, try to change these at the station as well.
         //
@@ -172,6 +225,9 @@ public class ChargePointService {
         var chargeBoxId = details.getChargeBox().getChargeBoxId();
 
         chargePointRepository.deleteChargePoint(chargeBoxPk);
+        stationDirectory.remove(chargeBoxId);
+        configurationSnapshots.remove(chargeBoxId);
+        authTagCache.invalidateAll(); // active transactions of the station are gone
         log.info("Deleted charge point with chargeBoxPk={} and chargeBoxId={}", chargeBoxPk, chargeBoxId);
 
         // https://github.com/steve-community/steve/issues/1871
@@ -236,10 +292,16 @@ public class ChargePointService {
             return false;
         }
 
+        if (basicAuthCache.isVerified(chargeBoxId, rawPassword, encodedPassword)) {
+            log.debug("Provided password for ChargeBoxId '{}' was already verified before", chargeBoxId);
+            return true;
+        }
+
         try {
             var matches = passwordEncoder.matches(rawPassword, encodedPassword);
             if (matches) {
                 log.debug("Provided password for ChargeBoxId '{}' matches expected password from DB", chargeBoxId);
+                basicAuthCache.putVerified(chargeBoxId, rawPassword, encodedPassword);
             } else {
                 log.warn("Invalid password attempt for ChargeBoxId '{}'", chargeBoxId);
             }
@@ -255,11 +317,17 @@ public class ChargePointService {
     }
 
     public Optional<RegistrationStatus> getRegistrationStatus(String chargeBoxId) {
-        return chargePointRepository.getRegistration(chargeBoxId)
+        return stationDirectory.getRegistration(chargeBoxId)
             .map(it -> RegistrationStatus.fromValue(it.registrationStatus()));
     }
 
     public Optional<ChargePointRegistration> getRegistration(String chargeBoxId) {
+        // fast path without locking for the usual case
+        var known = stationDirectory.getRegistration(chargeBoxId);
+        if (known.isPresent()) {
+            return known;
+        }
+
         Lock l = isRegisteredLocks.get(chargeBoxId);
         l.lock();
         try {
@@ -275,7 +343,7 @@ public class ChargePointService {
 
     private Optional<ChargePointRegistration> getRegistrationInternal(String chargeBoxId) {
         // 1. exit if already registered
-        var entry = chargePointRepository.getRegistration(chargeBoxId);
+        var entry = stationDirectory.getRegistration(chargeBoxId);
         if (entry.isPresent()) {
             return entry;
         }
@@ -289,7 +357,7 @@ public class ChargePointService {
         try {
             this.addChargePointList(Collections.singletonList(chargeBoxId));
             log.warn("Auto-registered unknown chargebox '{}'", chargeBoxId);
-            return chargePointRepository.getRegistration(chargeBoxId);
+            return stationDirectory.getRegistration(chargeBoxId);
         } catch (Exception e) {
             log.error("Failed to auto-register unknown chargebox '{}'", chargeBoxId, e);
             return Optional.empty();
@@ -392,7 +460,9 @@ public class ChargePointService {
                     .collect(Collectors.toList());
 
                 var soapProtocol = version.toProtocol(OcppTransport.SOAP);
-                return chargePointRepository.getChargePointSelect(soapProtocol, statusFilter, chargeBoxIdFilter);
+                return stationDirectory.isEnabled()
+                    ? stationDirectory.getChargePointSelect(soapProtocol, statusFilter, chargeBoxIdFilter)
+                    : chargePointRepository.getChargePointSelect(soapProtocol, statusFilter, chargeBoxIdFilter);
             }
             case JSON -> {
                 var sessionStore = sessionContextStoreHolder.getOrCreate(version);
@@ -451,4 +521,8 @@ public class ChargePointService {
         }
     }
 
+    /**
+     * @param receivedAt null, if the snapshot is outdated
+     */
+    private record ConfigurationSnapshot(HashCode hash, @Nullable Instant receivedAt) { }
 }
@@ -60,6 +60,7 @@ import de.rwth.idsg.steve.repository.TaskStore;
 import de.rwth.idsg.steve.repository.dto.ChargePointSelect;
 import de.rwth.idsg.steve.repository.dto.ChargingProfile;
 import de.rwth.idsg.steve.repository.dto.InsertReservationParams;
+import de.rwth.idsg.steve.service.notification.OcppStationConfigurationChanged;
 import de.rwth.idsg.steve.utils.mapper.ChargingProfileDetailsMapper;
 import de.rwth.idsg.steve.web.dto.ocpp.CancelReservationParams;
 import de.rwth.idsg.steve.web.dto.ocpp.CertificateSignedParams;
@@ -111,7 +112,7 @@ import ocpp.cp._2015._10.TriggerMessageStatus;
 import ocpp.cp._2015._10.UnlockStatus;
 import ocpp.cp._2015._10.UpdateStatus;
 import org.joda.time.DateTime;
-import org.springframework.core.task.TaskExecutor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
@@ -120,7 +121,9 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static de.rwth.idsg.steve.ocpp.task.UpdateFirmwareTask.UpdateFirmwareResponseStatus;
@@ -144,9 +147,10 @@ public class ChargePointServiceClient {
     private final EventRepository eventRepository;
 
     private final SteveProperties steveProperties;
-    private final TaskExecutor taskExecutor;
+    private final BackgroundService backgroundService;
     private final TaskStore taskStore;
     private final ChargePointServiceInvokerImpl invoker;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     /**
      * Note: calls coming from OcppOperationsService are calling this method twice with the current flow (one from
@@ -173,7 +177,7 @@ public class ChargePointServiceClient {
         // convert IDs into rich objects and add
         if (!idSet.isEmpty()) {
             var idList = new ArrayList<>(idSet);
-            // TODO: Improve this step. We make multiple calls to the database to get charge points for each version.
+            // served from memory (StationDirectory for SOAP, session stores for JSON)
             Arrays.stream(OcppVersion.values())
                 .map(version -> chargePointService.getChargePointsWithIds(version, idList))
                 .forEach(stationSet::addAll);
@@ -201,8 +205,8 @@ public class ChargePointServiceClient {
             task.addCallback(callback);
         }
 
-        BackgroundService.with(taskExecutor)
-            .forEach(task.getParams().getChargePointSelectList())
+        backgroundService
+            .forEach(task)
             .execute(c -> invoker.changeAvailability(c, task));
 
         return taskStore.add(task);
@@ -219,24 +223,24 @@ public class ChargePointServiceClient {
         }
 
         // after successfully changing config at station, get all configs from station
-        // for us to have the final snapshots of them (i.e. to update database).
+        // for us to have the final snapshots of them (i.e. to update database). ConfigurationSnapshotSync takes care
+        // of this, so that every station is asked once, and not once per accepted station of this request.
         //
         // however, do this only when NOT working with OCTT, because this message throws OCTT off.
         if (!steveProperties.getOcpp().isOcttQuirksEnabled()) {
 
             // GetConfiguration was not there in Ocpp 1.2
-            var ocpp15AndAboveStations = params.getChargePointSelectList()
+            Map<String, ChargePointSelect> ocpp15AndAboveStations = params.getChargePointSelectList()
                 .stream()
                 .filter(cps -> cps.getOcppProtocol().getVersion() != OcppVersion.V_12)
-                .toList();
+                .collect(Collectors.toMap(ChargePointSelect::getChargeBoxId, Function.identity(), (a, b) -> a));
 
             task.addCallback(new OcppCallback<>() {
                 @Override
                 public void success(CommunicationTask<?, ConfigurationStatus> task, String chargeBoxId, ConfigurationStatus response) {
-                    if (response == ACCEPTED) {
-                        var params = new GetConfigurationParams();
-                        params.setChargePointSelectList(ocpp15AndAboveStations);
-                        getConfiguration(params);
+                    var select = ocpp15AndAboveStations.get(chargeBoxId);
+                    if (response == ACCEPTED && select != null) {
+                        applicationEventPublisher.publishEvent(new OcppStationConfigurationChanged(select));
                     }
                 }
 
@@ -252,8 +256,8 @@ public class ChargePointServiceClient {
             });
         }
 
-        BackgroundService.with(taskExecutor)
-            .forEach(task.getParams().getChargePointSelectList())
+        backgroundService
+            .forEach(task)
             .execute(c -> invoker.changeConfiguration(c, task));
 
         return taskStore.add(task);
@@ -269,8 +273,8 @@ public class ChargePointServiceClient {
             task.addCallback(callback);
         }
 
-        BackgroundService.with(taskExecutor)
-            .forEach(task.getParams().getChargePointSelectList())
+        backgroundService
+            .forEach(task)
             .execute(c -> invoker.clearCache(c, task));
 
         return taskStore.add(task);
@@ -286,8 +290,8 @@ public class ChargePointServiceClient {
             task.addCallback(callback);
         }
 
-        BackgroundService.with(taskExecutor)
-            .forEach(task.getParams().getChargePointSelectList())
+        backgroundService
+            .forEach(task)
             .execute(c -> invoker.getDiagnostics(c, task));
 
         return taskStore.add(task);
@@ -303,8 +307,8 @@ public class ChargePointServiceClient {
             task.addCallback(callback);
         }
 
-        BackgroundService.with(taskExecutor)
-            .forEach(task.getParams().getChargePointSelectList())
+        backgroundService
+            .forEach(task)
             .execute(c -> invoker.reset(c, task));
 
         return taskStore.add(task);
@@ -320,8 +324,8 @@ public class ChargePointServiceClient {
             task.addCallback(callback);
         }
 
-        BackgroundService.with(taskExecutor)
-            .forEach(task.getParams().getChargePointSelectList())
+        backgroundService
+            .forEach(task)
             .execute(c -> invoker.updateFirmware(c, task));
 
         return taskStore.add(task);
@@ -352,8 +356,8 @@ public class ChargePointServiceClient {
             task.addCallback(callback);
         }
 
-        BackgroundService.with(taskExecutor)
-            .forFirst(task.getParams().getChargePointSelectList())
+        backgroundService
+            .forFirst(task)
             .execute(c -> invoker.remoteStartTransaction(c, task));
 
         return taskStore.add(task);
@@ -369,8 +373,8 @@ public class ChargePointServiceClient {
             task.addCallback(callback);
         }
 
-        BackgroundService.with(taskExecutor)
-            .forFirst(task.getParams().getChargePointSelectList())
+        backgroundService
+            .forFirst(task)
             .execute(c -> invoker.remoteStopTransaction(c, task));
 
         return taskStore.add(task);
@@ -386,8 +390,8 @@ public class ChargePointServiceClient {
             task.addCallback(callback);
         }
 
-        BackgroundService.with(taskExecutor)
-            .forFirst(task.getParams().getChargePointSelectList())
+        backgroundService
+            .forFirst(task)
             .execute(c -> invoker.unlockConnector(c, task));
 
         return taskStore.add(task);
@@ -407,8 +411,8 @@ public class ChargePointServiceClient {
             task.addCallback(callback);
         }
 
-        BackgroundService.with(taskExecutor)
-            .forEach(task.getParams().getChargePointSelectList())
+        backgroundService
+            .forEach(task)
             .execute(c -> invoker.dataTransfer(c, task));
 
         return taskStore.add(task);
@@ -424,8 +428,8 @@ public class ChargePointServiceClient {
             task.addCallback(callback);
         }
 
-        BackgroundService.with(taskExecutor)
-            .forEach(task.getParams().getChargePointSelectList())
+        backgroundService
+            .forEach(task)
             .execute(c -> invoker.getConfiguration(c, task));
 
         return taskStore.add(task);
@@ -441,8 +445,8 @@ public class ChargePointServiceClient {
             task.addCallback(callback);
         }
 
-        BackgroundService.with(taskExecutor)
-            .forEach(task.getParams().getChargePointSelectList())
+        backgroundService
+            .forEach(task)
             .execute(c -> invoker.getLocalListVersion(c, task));
 
         return taskStore.add(task);
@@ -458,8 +462,8 @@ public class ChargePointServiceClient {
             task.addCallback(callback);
         }
 
-        BackgroundService.with(taskExecutor)
-            .forEach(task.getParams().getChargePointSelectList())
+        backgroundService
+            .forEach(task)
             .execute(c -> invoker.sendLocalList(c, task));
 
         return taskStore.add(task);
@@ -492,8 +496,8 @@ public class ChargePointServiceClient {
             task.addCallback(callback);
         }
 
-        BackgroundService.with(taskExecutor)
-            .forFirst(task.getParams().getChargePointSelectList())
+        backgroundService
+            .forFirst(task)
             .execute(c -> invoker.reserveNow(c, task));
 
         return taskStore.add(task);
@@ -509,8 +513,8 @@ public class ChargePointServiceClient {
             task.addCallback(callback);
         }
 
-        BackgroundService.with(taskExecutor)
-            .forFirst(task.getParams().getChargePointSelectList())
+        backgroundService
+            .forFirst(task)
             .execute(c -> invoker.cancelReservation(c, task));
 
         return taskStore.add(task);
@@ -530,8 +534,8 @@ public class ChargePointServiceClient {
             task.addCallback(callback);
         }
 
-        BackgroundService.with(taskExecutor)
-            .forEach(task.getParams().getChargePointSelectList())
+        backgroundService
+            .forEach(task)
             .execute(c -> invoker.triggerMessage(c, task));
 
         return taskStore.add(task);
@@ -546,8 +550,8 @@ public class ChargePointServiceClient {
             task.addCallback(callback);
         }
 
-        BackgroundService.with(taskExecutor)
-            .forEach(task.getParams().getChargePointSelectList())
+        backgroundService
+            .forEach(task)
             .execute(c -> invoker.setChargingProfile(c, task));
 
         return taskStore.add(task);
@@ -573,8 +577,8 @@ public class ChargePointServiceClient {
             task.addCallback(callback);
         }
 
-        BackgroundService.with(taskExecutor)
-            .forEach(task.getParams().getChargePointSelectList())
+        backgroundService
+            .forEach(task)
             .execute(c -> invoker.clearChargingProfile(c, task));
 
         return taskStore.add(task);
@@ -590,8 +594,8 @@ public class ChargePointServiceClient {
             task.addCallback(callback);
         }
 
-        BackgroundService.with(taskExecutor)
-            .forEach(task.getParams().getChargePointSelectList())
+        backgroundService
+            .forEach(task)
             .execute(c -> invoker.getCompositeSchedule(c, task));
 
         return taskStore.add(task);
@@ -611,8 +615,8 @@ public class ChargePointServiceClient {
             task.addCallback(callback);
         }
 
-        BackgroundService.with(taskExecutor)
-            .forEach(task.getParams().getChargePointSelectList())
+        backgroundService
+            .forEach(task)
             .execute(c -> invoker.extendedTriggerMessage(c, task));
 
         return taskStore.add(task);
@@ -630,8 +634,8 @@ public class ChargePointServiceClient {
             task.addCallback(callback);
         }
 
-        BackgroundService.with(taskExecutor)
-            .forEach(task.getParams().getChargePointSelectList())
+        backgroundService
+            .forEach(task)
             .execute(c -> invoker.getLog(c, task));
 
         return taskStore.add(task);
@@ -649,8 +653,8 @@ public class ChargePointServiceClient {
             task.addCallback(callback);
         }
 
-        BackgroundService.with(taskExecutor)
-            .forEach(task.getParams().getChargePointSelectList())
+        backgroundService
+            .forEach(task)
             .execute(c -> invoker.signedUpdateFirmware(c, task));
 
         return taskStore.add(task);
@@ -666,8 +670,8 @@ public class ChargePointServiceClient {
             task.addCallback(callback);
         }
 
-        BackgroundService.with(taskExecutor)
-            .forEach(task.getParams().getChargePointSelectList())
+        backgroundService
+            .forEach(task)
             .execute(c -> invoker.installCertificate(c, task));
 
         return taskStore.add(task);
@@ -683,8 +687,8 @@ public class ChargePointServiceClient {
             task.addCallback(callback);
         }
 
-        BackgroundService.with(taskExecutor)
-            .forFirst(task.getParams().getChargePointSelectList())
+        backgroundService
+            .forFirst(task)
             .execute(c -> invoker.deleteCertificate(c, task));
 
         return taskStore.add(task);
@@ -700,8 +704,8 @@ public class ChargePointServiceClient {
             task.addCallback(callback);
         }
 
-        BackgroundService.with(taskExecutor)
-            .forEach(task.getParams().getChargePointSelectList())
+        backgroundService
+            .forEach(task)
             .execute(c -> invoker.certificateSigned(c, task));
 
         return taskStore.add(task);
@@ -717,8 +721,8 @@ public class ChargePointServiceClient {
             task.addCallback(callback);
         }
 
-        BackgroundService.with(taskExecutor)
-            .forEach(task.getParams().getChargePointSelectList())
+        backgroundService
+            .forEach(task)
             .execute(c -> invoker.getInstalledCertificateIds(c, task));
 
         return taskStore.add(task);
@@ -0,0 +1,215 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.service;
+
+import de.rwth.idsg.steve.config.SteveProperties;
+import de.rwth.idsg.steve.ocpp.ws.SessionContextStoreHolder;
+import de.rwth.idsg.steve.repository.dto.ChargePointSelect;
+import de.rwth.idsg.steve.service.notification.OcppStationConfigurationChanged;
+import de.rwth.idsg.steve.web.dto.ocpp.GetConfigurationParams;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the configuration snapshots of the stations (CHARGE_BOX.OCPP_CONFIGURATION) up to date by sending
+ * GetConfiguration, without asking the same station over and over again.
+ *
+ * Refresh requests for a station are collected for steve.ocpp.configuration-sync.debounce, and a station is asked at
+ * most once per min-interval. A bulk ChangeConfiguration to many stations therefore results in one GetConfiguration
+ * per station. Refreshes after a reconnect are skipped, if the snapshot is younger than max-age.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConfigurationSnapshotSync {
+
+    private final ChargePointServiceClient chargePointServiceClient;
+    private final ChargePointService chargePointService;
+    private final SessionContextStoreHolder sessionContextStoreHolder;
+    private final TaskScheduler taskScheduler;
+    private final SteveProperties steveProperties;
+
+    /**
+     * Key   (String)  = chargeBoxId
+     * Value (Pending) = the refresh that is scheduled, but not sent yet
+     */
+    private final ConcurrentHashMap<String, Pending> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Key   (String)  = chargeBoxId
+     * Value (Instant) = when we sent the last GetConfiguration to the station
+     */
+    private final ConcurrentHashMap<String, Instant> lastSent = new ConcurrentHashMap<>();
+
+    private final LongAdder sentCount = new LongAdder();
+    private final LongAdder savedCount = new LongAdder();
+
+    @EventListener
+    public void configurationChanged(OcppStationConfigurationChanged event) {
+        var select = event.chargePointSelect();
+        chargePointService.markOcppConfigurationOutdated(select.getChargeBoxId());
+        request(select, true, getConfig().getDebounce());
+    }
+
+    /**
+     * For (re)connects: the station is only asked, if we do not have a fresh snapshot of it.
+     */
+    public void refreshIfStale(ChargePointSelect select, Duration delay) {
+        request(select, false, delay);
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public long getSentCount() {
+        return sentCount.sum();
+    }
+
+    /**
+     * How many refresh requests did not result in a GetConfiguration, because they were coalesced with another one or
+     * the snapshot was fresh
+     */
+    public long getSavedCount() {
+        return savedCount.sum();
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private void request(ChargePointSelect select, boolean force, Duration delay) {
+        String chargeBoxId = select.getChargeBoxId();
+
+        while (true) {
+            Pending existing = pending.putIfAbsent(chargeBoxId, new Pending(select, force));
+            if (existing == null) {
+                schedule(chargeBoxId, delay);
+                return;
+            }
+
+            // a forced request must not be downgraded by being merged into a non-forced one
+            if (!force || existing.force()
+                || pending.replace(chargeBoxId, existing, new Pending(existing.select(), true))) {
+                savedCount.increment();
+                return;
+            }
+            // the pending one was sent or replaced in the meantime. try again.
+        }
+    }
+
+    private void schedule(String chargeBoxId, Duration delay) {
+        Instant at = Instant.now().plus(toPositive(delay));
+
+        Instant sent = lastSent.get(chargeBoxId);
+        if (sent != null) {
+            Instant earliest = sent.plus(toPositive(getConfig().getMinInterval()));
+            if (earliest.isAfter(at)) {
+                at = earliest;
+            }
+        }
+
+        taskScheduler.schedule(() -> send(chargeBoxId), at);
+    }
+
+    private void send(String chargeBoxId) {
+        // before taking the pending one: a request that comes in right after must see this send, and be scheduled
+        // after the min interval
+        Instant now = Instant.now();
+        Instant previousSent = lastSent.put(chargeBoxId, now);
+
+        Pending p = pending.remove(chargeBoxId);
+        if (p == null) {
+            restoreLastSent(chargeBoxId, now, previousSent);
+            return;
+        }
+
+        try {
+            if (!p.force() && isFresh(chargeBoxId)) {
+                restoreLastSent(chargeBoxId, now, previousSent);
+                savedCount.increment();
+                log.debug("Skipping GetConfiguration, since the snapshot of '{}' is fresh", chargeBoxId);
+                return;
+            }
+
+            var select = p.select();
+            if (select.isJson() && !isConnected(select)) {
+                restoreLastSent(chargeBoxId, now, previousSent);
+                log.debug("Skipping GetConfiguration, since station '{}' is not connected anymore", chargeBoxId);
+                return;
+            }
+
+            var params = new GetConfigurationParams();
+            params.setChargePointSelectList(List.of(select));
+
+            sentCount.increment();
+            chargePointServiceClient.getConfiguration(params);
+        } catch (Exception e) {
+            log.error("Failed to send GetConfiguration to '{}'", chargeBoxId, e);
+        }
+    }
+
+    /**
+     * Nothing was sent after all. Unless someone else sent in the meantime.
+     */
+    private void restoreLastSent(String chargeBoxId, Instant now, @Nullable Instant previousSent) {
+        if (previousSent == null) {
+            lastSent.remove(chargeBoxId, now);
+        } else {
+            lastSent.replace(chargeBoxId, now, previousSent);
+        }
+    }
+
+    private boolean isFresh(String chargeBoxId) {
+        Duration maxAge = toPositive(getConfig().getMaxAge());
+        Instant receivedAt = chargePointService.getOcppConfigurationReceivedAt(chargeBoxId);
+        return receivedAt != null && receivedAt.plus(maxAge).isAfter(Instant.now());
+    }
+
+    private boolean isConnected(ChargePointSelect select) {
+        var version = select.getOcppProtocol().getVersion();
+        return sessionContextStoreHolder.getOrCreate(version).getSize(select.getChargeBoxId()) > 0;
+    }
+
+    private SteveProperties.Ocpp.ConfigurationSync getConfig() {
+        return steveProperties.getOcpp().getConfigurationSync();
+    }
+
+    private static Duration toPositive(Duration duration) {
+        return (duration == null || duration.isNegative()) ? Duration.ZERO : duration;
+    }
+
+    /**
+     * @param force true, if the snapshot is known to be outdated and must be fetched regardless of its age
+     */
+    private record Pending(ChargePointSelect select, boolean force) { }
+}
@@ -20,6 +20,9 @@ package de.rwth.idsg.steve.service;
 
 import de.rwth.idsg.steve.SteveException;
 import de.rwth.idsg.steve.repository.DataImportExportRepository;
+import de.rwth.idsg.steve.repository.SettingsRepository;
+import de.rwth.idsg.steve.repository.impl.Ocpp1ConnectorEvseBridge;
+import de.rwth.idsg.steve.repository.impl.StationDirectory;
 import de.rwth.idsg.steve.web.dto.DataExportForm.ExportType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -117,6 +120,10 @@ public class DataImportExportService {
         .toList();
 
     private final DataImportExportRepository dataImportExportRepository;
+    private final AuthTagCache authTagCache;
+    private final StationDirectory stationDirectory;
+    private final SettingsRepository settingsRepository;
+    private final WebUserService webUserService;
 
     public List<String> getMasterDataTableNames() {
         return MASTER_DATA_TABLES.stream().map(Named::getName).toList();
@@ -214,6 +221,11 @@ public class DataImportExportService {
             }
         } finally {
             dataImportExportRepository.afterImport();
+            authTagCache.invalidateAll();
+            Ocpp1ConnectorEvseBridge.invalidateAll();
+            stationDirectory.reloadAll();
+            settingsRepository.clearCache();
+            webUserService.invalidateCaches();
 
             long stop = System.currentTimeMillis();
             long durationSeconds = TimeUnit.MILLISECONDS.toSeconds(stop - start);
@@ -20,11 +20,13 @@ package de.rwth.idsg.steve.service;
 
 import com.google.common.base.Strings;
 import de.rwth.idsg.steve.SteveException;
+import de.rwth.idsg.steve.ocpp.CommunicationTask;
 import de.rwth.idsg.steve.ocpp.task.GetConfigurationTask;
 import de.rwth.idsg.steve.ocpp.task.SetChargingProfileTaskAdhoc;
 import de.rwth.idsg.steve.repository.CertificateRepository;
 import de.rwth.idsg.steve.repository.ChargingProfileRepository;
 import de.rwth.idsg.steve.repository.ReservationRepository;
+import de.rwth.idsg.steve.repository.TaskStore;
 import de.rwth.idsg.steve.service.dto.AuthTagContext;
 import de.rwth.idsg.steve.web.dto.RestCallback;
 import de.rwth.idsg.steve.web.dto.ocpp.CancelReservationParams;
@@ -81,11 +83,14 @@ import org.springframework.util.CollectionUtils;
 
 import java.time.Duration;
 import java.util.List;
-import java.util.concurrent.CountDownLatch;
 import java.util.function.BiFunction;
 
 import static de.rwth.idsg.steve.ocpp.task.UpdateFirmwareTask.UpdateFirmwareResponseStatus;
 
+/**
+ * The operations return as soon as the requests are dispatched to the stations. Use
+ * {@link RestCallback#waitForResponses()} or {@link RestCallback#whenFinished()} to get to the responses.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -99,6 +104,25 @@ public class OcppOperationsService {
     private final ReservationRepository reservationRepository;
     private final ChargingProfileRepository chargingProfileRepository;
     private final CertificateRepository certificateRepository;
+    private final TaskStore taskStore;
+
+    /**
+     * Returns the callback of a task that was started with one of the operations of this class, to look up its
+     * (possibly partial) results later.
+     */
+    public RestCallback<?> getCallback(int taskId) {
+        CommunicationTask<?, ?> task = taskStore.find(taskId);
+        if (task == null) {
+            throw new SteveException.NotFound("There is no task with taskId '%s'", taskId);
+        }
+
+        return task.getCallbackList()
+                   .stream()
+                   .filter(RestCallback.class::isInstance)
+                   .map(RestCallback.class::cast)
+                   .findFirst()
+                   .orElseThrow(() -> new SteveException.NotFound("Task '%s' was not started via API", taskId));
+    }
 
     // -------------------------------------------------------------------------
     // Since Ocpp 1.2
@@ -209,7 +233,6 @@ public class OcppOperationsService {
         int taskId = chargePointServiceClient.setChargingProfile(task, callback);
 
         callback.setTaskId(taskId);
-        callback.waitForResponses();
         return callback;
     }
 
@@ -328,7 +351,7 @@ public class OcppOperationsService {
     }
 
     private <T> RestCallback<T> createCallback(ChargePointSelection chargePointSelection) {
-        return new RestCallback<>(STATION_RESPONSE_TIMEOUT, new CountDownLatch(chargePointSelection.getChargePointSelectList().size()));
+        return new RestCallback<>(STATION_RESPONSE_TIMEOUT, chargePointSelection.getChargePointSelectList().size());
     }
 
     private <P extends ChargePointSelection, T> RestCallback<T> execute(
@@ -341,7 +364,6 @@ public class OcppOperationsService {
         int taskId = function.apply(params, callback);
 
         callback.setTaskId(taskId);
-        callback.waitForResponses();
         return callback;
     }
 }
@@ -56,6 +56,7 @@ public class OcppTagService {
 
     private final OcppTagRepository ocppTagRepository;
     private final AuthTagService authTagService;
+    private final AuthTagCache authTagCache;
 
     public List<OcppTag.OcppTagOverview> getOverview(OcppTagQueryForm form) {
         return ocppTagRepository.getOverview(form);
@@ -161,21 +162,29 @@ public class OcppTagService {
 
     public int addOcppTag(OcppTagForm form) {
         var id = ocppTagRepository.addOcppTag(form);
+        authTagCache.invalidate(form.getIdTag());
         removeUnknown(Collections.singletonList(form.getIdTag()));
         return id;
     }
     public void addOcppTagList(List<String> idTagList) {
         ocppTagRepository.addOcppTagList(idTagList);
+        authTagCache.invalidate(idTagList);
         removeUnknown(idTagList);
     }
 
     public void updateOcppTag(OcppTagForm form) {
+        // the update is by pk. idTag of the form is not reliable (e.g. not set in REST requests).
+        var details = getRecord(form.getOcppTagPk());
         ocppTagRepository.updateOcppTag(form);
+        if (details != null) {
+            authTagCache.invalidate(details.getIdTag());
+        }
     }
 
     public void deleteOcppTag(int ocppTagPk) {
         var details = getRecord(ocppTagPk);
         ocppTagRepository.deleteOcppTag(ocppTagPk);
+        authTagCache.invalidate(details.getIdTag());
         log.info("Deleted Ocpp Tag with ocppTagPk={} and ocppTagId={}", ocppTagPk, details.getIdTag());
     }
 
@@ -43,6 +43,6 @@ public class TransactionReportService {
         DateTime dateTimeFrom = toDateTime(from);
         DateTime dateTimeTo = toDateTime(to);
 
-        transactionRepository.getStoppedTransactions(dateTimeFrom, dateTimeTo).formatCSV(writer);
+        transactionRepository.writeStoppedTransactionsCSV(dateTimeFrom, dateTimeTo, writer);
     }
 }
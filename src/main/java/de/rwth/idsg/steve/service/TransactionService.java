@@ -24,6 +24,7 @@ import de.rwth.idsg.steve.repository.TransactionRepository;
 import de.rwth.idsg.steve.repository.dto.Transaction;
 import de.rwth.idsg.steve.repository.dto.TransactionDetails;
 import de.rwth.idsg.steve.repository.dto.UpdateTransactionParams;
+import de.rwth.idsg.steve.repository.impl.MeterValueBatchWriter;
 import de.rwth.idsg.steve.utils.TransactionStopServiceHelper;
 import de.rwth.idsg.steve.web.dto.TransactionQueryForm;
 import jooq.steve.db.enums.TransactionStopEventActor;
@@ -58,6 +59,8 @@ public class TransactionService {
 
     private final TransactionRepository transactionRepository;
     private final OcppServerRepository ocppServerRepository;
+    private final AuthTagCache authTagCache;
+    private final MeterValueBatchWriter meterValueBatchWriter;
 
     private final CsvMapper csvMapper = CsvMapper.builder().findAndAddModules().build();
     private final CsvSchema schema = csvMapper.schemaFor(TransactionDetails.MeterValues.class)
@@ -83,6 +86,7 @@ public class TransactionService {
     }
 
     public TransactionDetails getDetails(int transactionPk, boolean energyValuesOnly) {
+        meterValueBatchWriter.flush();
         return transactionRepository.getDetails(transactionPk, energyValuesOnly);
     }
 
@@ -126,6 +130,7 @@ public class TransactionService {
     }
 
     public void stop(Integer transactionPk) {
+        meterValueBatchWriter.flush();
         TransactionDetails thisTxDetails = transactionRepository.getDetails(transactionPk, true);
         Transaction thisTx = thisTxDetails.getTransaction();
 
@@ -144,6 +149,8 @@ public class TransactionService {
                                                                       .eventActor(TransactionStopEventActor.manual)
                                                                       .eventTimestamp(DateTime.now())
                                                                       .build());
+
+        authTagCache.invalidate(thisTx.getOcppIdTag());
     }
 
     private static TerminationValues findNeededValues(TransactionDetails thisTxDetails) {
@@ -20,6 +20,7 @@ package de.rwth.idsg.steve.service;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import de.rwth.idsg.steve.config.SteveProperties;
 import de.rwth.idsg.steve.repository.WebUserRepository;
 import jooq.steve.db.tables.records.WebUserRecord;
@@ -71,11 +72,13 @@ public class WebUserService implements UserDetailsManager {
     private final WebUserRepository webUserRepository;
     private final SteveProperties steveProperties;
     private final PasswordEncoder passwordEncoder;
+    private final ApiCredentialCache apiCredentialCache;
     private final SecurityContextHolderStrategy securityContextHolderStrategy = getContextHolderStrategy();
 
     private final Cache<String, UserDetails> userCache = CacheBuilder.newBuilder()
         .expireAfterWrite(10, TimeUnit.MINUTES) // TTL
         .maximumSize(100)
+        .recordStats()
         .build();
 
     @EventListener
@@ -105,6 +108,7 @@ public class WebUserService implements UserDetailsManager {
         validateUserDetails(user);
         var record = toWebUserRecord(user);
         webUserRepository.createUser(record);
+        invalidateCaches();
     }
 
     @Override
@@ -112,11 +116,13 @@ public class WebUserService implements UserDetailsManager {
         validateUserDetails(user);
         var record = toWebUserRecord(user);
         webUserRepository.updateUser(record);
+        invalidateCaches();
     }
 
     @Override
     public void deleteUser(String username) {
         webUserRepository.deleteUser(username);
+        invalidateCaches();
     }
 
     /**
@@ -135,6 +141,7 @@ public class WebUserService implements UserDetailsManager {
 
         String username = currentUser.getName();
         webUserRepository.changePassword(username, newPassword);
+        invalidateCaches();
 
         Authentication authentication = createNewAuthentication(currentUser, newPassword);
         SecurityContext context = this.securityContextHolderStrategy.createEmptyContext();
@@ -179,10 +186,12 @@ public class WebUserService implements UserDetailsManager {
 
     public void deleteUser(int webUserPk) {
         webUserRepository.deleteUser(webUserPk);
+        invalidateCaches();
     }
 
     public void changeStatusOfUser(String username, boolean enabled) {
         webUserRepository.changeStatusOfUser(username, enabled);
+        invalidateCaches();
     }
 
     public boolean hasUserWithAuthority(String authority) {
@@ -190,6 +199,25 @@ public class WebUserService implements UserDetailsManager {
         return count != null && count > 0;
     }
 
+    /**
+     * Users are changed rarely. Therefore, we do not bother to find out which entries are affected (e.g. deleteUser
+     * by pk, or usernames with a different case).
+     *
+     * Must also be called after the users were changed in the database by other means (e.g. data import).
+     */
+    public void invalidateCaches() {
+        userCache.invalidateAll();
+        apiCredentialCache.invalidateAll();
+    }
+
+    public long getUserCacheSize() {
+        return userCache.size();
+    }
+
+    public CacheStats getUserCacheStats() {
+        return userCache.stats();
+    }
+
     private UserDetails loadUserByUsernameForApiInternal(String username) {
         WebUserRecord record = webUserRepository.loadUserByUsername(username);
         if (record == null) {
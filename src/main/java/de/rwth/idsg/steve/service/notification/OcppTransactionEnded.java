@@ -20,9 +20,15 @@ package de.rwth.idsg.steve.service.notification;
 
 import de.rwth.idsg.steve.repository.dto.UpdateTransactionParams;
 import lombok.Data;
+import org.jetbrains.annotations.Nullable;
 
 @Data
 public class OcppTransactionEnded {
 
   private final UpdateTransactionParams params;
+
+  /**
+   * The idTag that started the transaction. Null, if the transaction is not known.
+   */
+  private final @Nullable String idTag;
 }
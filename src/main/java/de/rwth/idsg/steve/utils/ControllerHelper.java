@@ -19,8 +19,15 @@
 package de.rwth.idsg.steve.utils;
 
 import com.neovisionaries.i18n.CountryCode;
+import de.rwth.idsg.steve.web.dto.KeysetPageable;
+import de.rwth.idsg.steve.web.dto.Limitable;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.ui.Model;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import jakarta.servlet.http.HttpServletResponse;
 
 import java.time.ZoneId;
 import java.util.Arrays;
@@ -30,6 +37,7 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.ToIntFunction;
 
 /**
  * @author Sevket Goekay <sevketgokay@gmail.com>
@@ -40,6 +48,11 @@ public final class ControllerHelper {
 
     public static final String EMPTY_OPTION = "-- Empty --";
 
+    /**
+     * Default page size of the lists in web pages
+     */
+    public static final int PAGE_SIZE = 500;
+
     public static final Map<String, String> COUNTRY_DROPDOWN = createCountryDropdown();
     public static final Map<String, String> TIME_ZONE_DROPDOWN = createTimeZoneDropdown();
 
@@ -53,6 +66,45 @@ public final class ControllerHelper {
         return map;
     }
 
+    // -------------------------------------------------------------------------
+    // Keyset pagination
+    // -------------------------------------------------------------------------
+
+    public static void setDefaultLimit(Limitable params) {
+        if (params.getLimit() == null) {
+            params.setLimit(PAGE_SIZE);
+        }
+    }
+
+    /**
+     * For web pages: the link to the next page is the current URL with a new continuation token
+     */
+    public static <T> void addNextPageLink(Model model, List<T> page, KeysetPageable params,
+                                           ToIntFunction<T> pkGetter) {
+        String token = KeysetToken.next(page, params.getLimit(), pkGetter);
+        if (token != null) {
+            String query = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after", token)
+                .build()
+                .getQuery();
+            model.addAttribute("nextPageLink", "?" + query);
+        }
+    }
+
+    /**
+     * For the API: the next page is announced in a Link header (RFC 8288), so that the response body stays a list
+     */
+    public static <T> void addNextPageHeader(HttpServletResponse response, List<T> page, KeysetPageable params,
+                                             ToIntFunction<T> pkGetter) {
+        String token = KeysetToken.next(page, params.getLimit(), pkGetter);
+        if (token != null) {
+            String url = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after", token)
+                .toUriString();
+            response.setHeader(HttpHeaders.LINK, "<" + url + ">; rel=\"next\"");
+        }
+    }
+
     /**
      * There are some invalid codes like {@link CountryCode#UNDEFINED} and {@link CountryCode#EU},
      * or some countries are listed twice {@link CountryCode#FI} - {@link CountryCode#SF} and
@@ -0,0 +1,75 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.utils;
+
+import de.rwth.idsg.steve.SteveException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Continuation tokens of {@link de.rwth.idsg.steve.web.dto.KeysetPageable}. Clients must treat them as opaque, so
+ * that we can change what is inside later.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class KeysetToken {
+
+    private static final String PREFIX = "pk:";
+
+    public static String encode(int pk) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((PREFIX + pk).getBytes(UTF_8));
+    }
+
+    @Nullable
+    public static Integer decode(@Nullable String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), UTF_8);
+            if (value.startsWith(PREFIX)) {
+                return Integer.parseInt(value.substring(PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException is an IllegalArgumentException as well. fall through
+        }
+        throw new SteveException.BadRequest("Invalid continuation token '%s'".formatted(token));
+    }
+
+    /**
+     * @return the token for the page after the given one, or null if it was the last page
+     */
+    @Nullable
+    public static <T> String next(List<T> page, @Nullable Integer limit, ToIntFunction<T> pkGetter) {
+        if (limit == null || page.isEmpty() || page.size() < limit) {
+            return null;
+        }
+        return encode(pkGetter.applyAsInt(page.getLast()));
+    }
+}
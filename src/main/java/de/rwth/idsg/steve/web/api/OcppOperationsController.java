@@ -21,6 +21,7 @@ package de.rwth.idsg.steve.web.api;
 import de.rwth.idsg.steve.ocpp.task.GetConfigurationTask;
 import de.rwth.idsg.steve.service.OcppOperationsService;
 import de.rwth.idsg.steve.web.dto.OcppOperationResponse;
+import de.rwth.idsg.steve.web.dto.RestCallback;
 import de.rwth.idsg.steve.web.dto.ocpp.CancelReservationParams;
 import de.rwth.idsg.steve.web.dto.ocpp.ChangeAvailabilityParams;
 import de.rwth.idsg.steve.web.dto.ocpp.ChangeConfigurationParams;
@@ -71,12 +72,19 @@ import ocpp.cp._2015._10.TriggerMessageStatus;
 import ocpp.cp._2015._10.UnlockStatus;
 import ocpp.cp._2015._10.UpdateStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import jakarta.validation.Valid;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
 
 import static de.rwth.idsg.steve.ocpp.task.UpdateFirmwareTask.UpdateFirmwareResponseStatus;
 
@@ -89,6 +97,9 @@ import static de.rwth.idsg.steve.ocpp.task.UpdateFirmwareTask.UpdateFirmwareResp
         Operations that can be initiated by the Central System at the Charge Points.
         Some of these operations allows multiple Charge Points to be selected, whereas others are specific to a single Charge Point.
         For the detailed information on the parameters, please refer to the OCPP specification.
+        By default, the response is sent when all selected Charge Points responded (or after a timeout).
+        With <code>async=true</code>, the response is sent right away with status 202 and the task id, and the results
+        can be polled via <code>GET /api/v1/operations/tasks/{taskId}</code>.
         """
 )
 @Slf4j
@@ -97,73 +108,93 @@ import static de.rwth.idsg.steve.ocpp.task.UpdateFirmwareTask.UpdateFirmwareResp
 @RequestMapping(value = "/api/v1/operations", produces = MediaType.APPLICATION_JSON_VALUE)
 public class OcppOperationsController {
 
+    private static final String ASYNC_PARAM = "async";
+
     private final OcppOperationsService operationsService;
 
+    @Operation(description = """
+        Returns the results of an operation that was started via this API, e.g. with <code>async=true</code>.
+        <code>taskFinished</code> is false as long as some stations did not respond yet.
+        """)
+    @GetMapping(value = "/tasks/{taskId}")
+    public OcppOperationResponse<?> getTaskResult(@PathVariable("taskId") int taskId) {
+        return OcppOperationResponse.from(operationsService.getCallback(taskId));
+    }
+
     // -------------------------------------------------------------------------
     // Since Ocpp 1.2
     // -------------------------------------------------------------------------
 
     @PostMapping(value = "/ChangeAvailability")
-    public OcppOperationResponse<AvailabilityStatus> changeAvailability(@RequestBody @Valid ChangeAvailabilityParams params) throws Exception {
+    public CompletableFuture<ResponseEntity<OcppOperationResponse<AvailabilityStatus>>> changeAvailability(@RequestBody @Valid ChangeAvailabilityParams params,
+                                                                                                           @RequestParam(value = ASYNC_PARAM, defaultValue = "false") boolean async) throws Exception {
         var callback = operationsService.changeAvailability(params);
-        return OcppOperationResponse.from(callback);
+        return respond(callback, async);
     }
 
     @PostMapping(value = "/ChangeConfiguration")
-    public OcppOperationResponse<ConfigurationStatus> changeConfiguration(@RequestBody @Valid ChangeConfigurationParams params) throws Exception {
+    public CompletableFuture<ResponseEntity<OcppOperationResponse<ConfigurationStatus>>> changeConfiguration(@RequestBody @Valid ChangeConfigurationParams params,
+                                                                                                             @RequestParam(value = ASYNC_PARAM, defaultValue = "false") boolean async) throws Exception {
         var callback = operationsService.changeConfiguration(params);
-        return OcppOperationResponse.from(callback);
+        return respond(callback, async);
     }
 
     @PostMapping(value = "/ClearCache")
-    public OcppOperationResponse<ClearCacheStatus> clearCache(@RequestBody @Valid MultipleChargePointSelect params) throws Exception {
+    public CompletableFuture<ResponseEntity<OcppOperationResponse<ClearCacheStatus>>> clearCache(@RequestBody @Valid MultipleChargePointSelect params,
+                                                                                                 @RequestParam(value = ASYNC_PARAM, defaultValue = "false") boolean async) throws Exception {
         var callback = operationsService.clearCache(params);
-        return OcppOperationResponse.from(callback);
+        return respond(callback, async);
     }
 
     @PostMapping(value = "/GetDiagnostics")
-    public OcppOperationResponse<GetDiagnosticsResponse> getDiagnostics(@RequestBody @Valid GetDiagnosticsParams params) throws Exception {
+    public CompletableFuture<ResponseEntity<OcppOperationResponse<GetDiagnosticsResponse>>> getDiagnostics(@RequestBody @Valid GetDiagnosticsParams params,
+                                                                                                           @RequestParam(value = ASYNC_PARAM, defaultValue = "false") boolean async) throws Exception {
         var callback = operationsService.getDiagnostics(params);
-        return OcppOperationResponse.from(callback);
+        return respond(callback, async);
     }
 
     @Operation(description = """
         Only 1 charge point can be selected.
         """)
     @PostMapping(value = "/RemoteStartTransaction")
-    public OcppOperationResponse<RemoteStartStopStatus> remoteStartTransaction(@RequestBody @Valid RemoteStartTransactionParams params) throws Exception {
+    public CompletableFuture<ResponseEntity<OcppOperationResponse<RemoteStartStopStatus>>> remoteStartTransaction(@RequestBody @Valid RemoteStartTransactionParams params,
+                                                                                                                  @RequestParam(value = ASYNC_PARAM, defaultValue = "false") boolean async) throws Exception {
         var callback = operationsService.remoteStartTransaction(params);
-        return OcppOperationResponse.from(callback);
+        return respond(callback, async);
     }
 
     @Operation(description = """
         Only 1 charge point can be selected.
         """)
     @PostMapping(value = "/RemoteStopTransaction")
-    public OcppOperationResponse<RemoteStartStopStatus> remoteStopTransaction(@RequestBody @Valid RemoteStopTransactionParams params) throws Exception {
+    public CompletableFuture<ResponseEntity<OcppOperationResponse<RemoteStartStopStatus>>> remoteStopTransaction(@RequestBody @Valid RemoteStopTransactionParams params,
+                                                                                                                 @RequestParam(value = ASYNC_PARAM, defaultValue = "false") boolean async) throws Exception {
         var callback = operationsService.remoteStopTransaction(params);
-        return OcppOperationResponse.from(callback);
+        return respond(callback, async);
     }
 
     @PostMapping(value = "/Reset")
-    public OcppOperationResponse<ResetStatus> reset(@RequestBody @Valid ResetParams params) throws Exception {
+    public CompletableFuture<ResponseEntity<OcppOperationResponse<ResetStatus>>> reset(@RequestBody @Valid ResetParams params,
+                                                                                       @RequestParam(value = ASYNC_PARAM, defaultValue = "false") boolean async) throws Exception {
         var callback = operationsService.reset(params);
-        return OcppOperationResponse.from(callback);
+        return respond(callback, async);
     }
 
     @Operation(description = """
         Only 1 charge point can be selected.
         """)
     @PostMapping(value = "/UnlockConnector")
-    public OcppOperationResponse<UnlockStatus> unlockConnector(@RequestBody @Valid UnlockConnectorParams params) throws Exception {
+    public CompletableFuture<ResponseEntity<OcppOperationResponse<UnlockStatus>>> unlockConnector(@RequestBody @Valid UnlockConnectorParams params,
+                                                                                                  @RequestParam(value = ASYNC_PARAM, defaultValue = "false") boolean async) throws Exception {
         var callback = operationsService.unlockConnector(params);
-        return OcppOperationResponse.from(callback);
+        return respond(callback, async);
     }
 
     @PostMapping(value = "/UpdateFirmware")
-    public OcppOperationResponse<UpdateFirmwareResponseStatus> updateFirmware(@RequestBody @Valid UpdateFirmwareParams params) throws Exception {
+    public CompletableFuture<ResponseEntity<OcppOperationResponse<UpdateFirmwareResponseStatus>>> updateFirmware(@RequestBody @Valid UpdateFirmwareParams params,
+                                                                                                                 @RequestParam(value = ASYNC_PARAM, defaultValue = "false") boolean async) throws Exception {
         var callback = operationsService.updateFirmware(params);
-        return OcppOperationResponse.from(callback);
+        return respond(callback, async);
     }
 
     // -------------------------------------------------------------------------
@@ -174,30 +205,34 @@ public class OcppOperationsController {
         Only 1 charge point can be selected.
         """)
     @PostMapping(value = "/ReserveNow")
-    public OcppOperationResponse<ReservationStatus> reserveNow(@RequestBody @Valid ReserveNowParams params) throws Exception {
+    public CompletableFuture<ResponseEntity<OcppOperationResponse<ReservationStatus>>> reserveNow(@RequestBody @Valid ReserveNowParams params,
+                                                                                                  @RequestParam(value = ASYNC_PARAM, defaultValue = "false") boolean async) throws Exception {
         var callback = operationsService.reserveNow(params);
-        return OcppOperationResponse.from(callback);
+        return respond(callback, async);
     }
 
     @Operation(description = """
         Only 1 charge point can be selected.
         """)
     @PostMapping(value = "/CancelReservation")
-    public OcppOperationResponse<CancelReservationStatus> cancelReservation(@RequestBody @Valid CancelReservationParams params) throws Exception {
+    public CompletableFuture<ResponseEntity<OcppOperationResponse<CancelReservationStatus>>> cancelReservation(@RequestBody @Valid CancelReservationParams params,
+                                                                                                               @RequestParam(value = ASYNC_PARAM, defaultValue = "false") boolean async) throws Exception {
         var callback = operationsService.cancelReservation(params);
-        return OcppOperationResponse.from(callback);
+        return respond(callback, async);
     }
 
     @PostMapping(value = "/DataTransfer")
-    public OcppOperationResponse<DataTransferResponse> dataTransfer(@RequestBody @Valid DataTransferParams params) throws Exception {
+    public CompletableFuture<ResponseEntity<OcppOperationResponse<DataTransferResponse>>> dataTransfer(@RequestBody @Valid DataTransferParams params,
+                                                                                                       @RequestParam(value = ASYNC_PARAM, defaultValue = "false") boolean async) throws Exception {
         var callback = operationsService.dataTransfer(params);
-        return OcppOperationResponse.from(callback);
+        return respond(callback, async);
     }
 
     @PostMapping(value = "/GetConfiguration")
-    public OcppOperationResponse<GetConfigurationTask.ConfigurationKeyValues> getConfiguration(@RequestBody @Valid GetConfigurationParams params) throws Exception {
+    public CompletableFuture<ResponseEntity<OcppOperationResponse<GetConfigurationTask.ConfigurationKeyValues>>> getConfiguration(@RequestBody @Valid GetConfigurationParams params,
+                                                                                                                                  @RequestParam(value = ASYNC_PARAM, defaultValue = "false") boolean async) throws Exception {
         var callback = operationsService.getConfiguration(params);
-        return OcppOperationResponse.from(callback);
+        return respond(callback, async);
     }
 
     @Operation(description = """
@@ -206,15 +241,17 @@ public class OcppOperationsController {
         Positive values indicate the configured local authorization list version.
         """)
     @PostMapping(value = "/GetLocalListVersion")
-    public OcppOperationResponse<Integer> getLocalListVersion(@RequestBody @Valid MultipleChargePointSelect params) throws Exception {
+    public CompletableFuture<ResponseEntity<OcppOperationResponse<Integer>>> getLocalListVersion(@RequestBody @Valid MultipleChargePointSelect params,
+                                                                                                 @RequestParam(value = ASYNC_PARAM, defaultValue = "false") boolean async) throws Exception {
         var callback = operationsService.getLocalListVersion(params);
-        return OcppOperationResponse.from(callback);
+        return respond(callback, async);
     }
 
     @PostMapping(value = "/SendLocalList")
-    public OcppOperationResponse<UpdateStatus> sendLocalList(@RequestBody @Valid SendLocalListParams params) throws Exception {
+    public CompletableFuture<ResponseEntity<OcppOperationResponse<UpdateStatus>>> sendLocalList(@RequestBody @Valid SendLocalListParams params,
+                                                                                                @RequestParam(value = ASYNC_PARAM, defaultValue = "false") boolean async) throws Exception {
         var callback = operationsService.sendLocalList(params);
-        return OcppOperationResponse.from(callback);
+        return respond(callback, async);
     }
 
     // -------------------------------------------------------------------------
@@ -222,27 +259,31 @@ public class OcppOperationsController {
     // -------------------------------------------------------------------------
 
     @PostMapping(value = "/TriggerMessage")
-    public OcppOperationResponse<TriggerMessageStatus> triggerMessage(@RequestBody @Valid TriggerMessageParams params) throws Exception {
+    public CompletableFuture<ResponseEntity<OcppOperationResponse<TriggerMessageStatus>>> triggerMessage(@RequestBody @Valid TriggerMessageParams params,
+                                                                                                         @RequestParam(value = ASYNC_PARAM, defaultValue = "false") boolean async) throws Exception {
         var callback = operationsService.triggerMessage(params);
-        return OcppOperationResponse.from(callback);
+        return respond(callback, async);
     }
 
     @PostMapping(value = "/GetCompositeSchedule")
-    public OcppOperationResponse<GetCompositeScheduleResponse> getCompositeSchedule(@RequestBody @Valid GetCompositeScheduleParams params) throws Exception {
+    public CompletableFuture<ResponseEntity<OcppOperationResponse<GetCompositeScheduleResponse>>> getCompositeSchedule(@RequestBody @Valid GetCompositeScheduleParams params,
+                                                                                                                       @RequestParam(value = ASYNC_PARAM, defaultValue = "false") boolean async) throws Exception {
         var callback = operationsService.getCompositeSchedule(params);
-        return OcppOperationResponse.from(callback);
+        return respond(callback, async);
     }
 
     @PostMapping(value = "/ClearChargingProfile")
-    public OcppOperationResponse<ClearChargingProfileStatus> clearChargingProfile(@RequestBody @Valid ClearChargingProfileParams params) throws Exception {
+    public CompletableFuture<ResponseEntity<OcppOperationResponse<ClearChargingProfileStatus>>> clearChargingProfile(@RequestBody @Valid ClearChargingProfileParams params,
+                                                                                                                     @RequestParam(value = ASYNC_PARAM, defaultValue = "false") boolean async) throws Exception {
         var callback = operationsService.clearChargingProfile(params);
-        return OcppOperationResponse.from(callback);
+        return respond(callback, async);
     }
 
     @PostMapping(value = "/SetChargingProfile")
-    public OcppOperationResponse<ChargingProfileStatus> setChargingProfile(@RequestBody @Valid SetChargingProfileParams params) throws Exception {
+    public CompletableFuture<ResponseEntity<OcppOperationResponse<ChargingProfileStatus>>> setChargingProfile(@RequestBody @Valid SetChargingProfileParams params,
+                                                                                                              @RequestParam(value = ASYNC_PARAM, defaultValue = "false") boolean async) throws Exception {
         var callback = operationsService.setChargingProfile(params);
-        return OcppOperationResponse.from(callback);
+        return respond(callback, async);
     }
 
     // -------------------------------------------------------------------------
@@ -253,9 +294,10 @@ public class OcppOperationsController {
         As specified in <i>Improved security for OCPP 1.6-J</i> white paper.
         """)
     @PostMapping(value = "/ExtendedTriggerMessage")
-    public OcppOperationResponse<TriggerMessageStatusEnumType> extendedTriggerMessage(@RequestBody @Valid ExtendedTriggerMessageParams params) throws Exception {
+    public CompletableFuture<ResponseEntity<OcppOperationResponse<TriggerMessageStatusEnumType>>> extendedTriggerMessage(@RequestBody @Valid ExtendedTriggerMessageParams params,
+                                                                                                                         @RequestParam(value = ASYNC_PARAM, defaultValue = "false") boolean async) throws Exception {
         var callback = operationsService.extendedTriggerMessage(params);
-        return OcppOperationResponse.from(callback);
+        return respond(callback, async);
     }
 
     @Operation(description = """
@@ -264,9 +306,10 @@ public class OcppOperationsController {
         Once this operation is triggered at a station, it will send status notifications about the progress and result.
         """)
     @PostMapping(value = "/GetLog")
-    public OcppOperationResponse<GetLogResponse> getLog(@RequestBody @Valid GetLogParams params) throws Exception {
+    public CompletableFuture<ResponseEntity<OcppOperationResponse<GetLogResponse>>> getLog(@RequestBody @Valid GetLogParams params,
+                                                                                           @RequestParam(value = ASYNC_PARAM, defaultValue = "false") boolean async) throws Exception {
         var callback = operationsService.getLog(params);
-        return OcppOperationResponse.from(callback);
+        return respond(callback, async);
     }
 
     @Operation(description = """
@@ -275,9 +318,10 @@ public class OcppOperationsController {
         Once this operation is triggered at a station, it will send status notifications about the progress and result.
         """)
     @PostMapping(value = "/SignedUpdateFirmware")
-    public OcppOperationResponse<UpdateFirmwareStatusEnumType> signedUpdateFirmware(@RequestBody @Valid SignedUpdateFirmwareParams params) throws Exception {
+    public CompletableFuture<ResponseEntity<OcppOperationResponse<UpdateFirmwareStatusEnumType>>> signedUpdateFirmware(@RequestBody @Valid SignedUpdateFirmwareParams params,
+                                                                                                                       @RequestParam(value = ASYNC_PARAM, defaultValue = "false") boolean async) throws Exception {
         var callback = operationsService.signedUpdateFirmware(params);
-        return OcppOperationResponse.from(callback);
+        return respond(callback, async);
     }
 
     @Operation(description = """
@@ -285,18 +329,20 @@ public class OcppOperationsController {
         The certificates sent by the station will be stored in database.
         """)
     @PostMapping(value = "/GetInstalledCertificateIds")
-    public OcppOperationResponse<GetInstalledCertificateIdsResponse> getInstalledCertificateIds(@RequestBody @Valid GetInstalledCertificateIdsParams params) throws Exception {
+    public CompletableFuture<ResponseEntity<OcppOperationResponse<GetInstalledCertificateIdsResponse>>> getInstalledCertificateIds(@RequestBody @Valid GetInstalledCertificateIdsParams params,
+                                                                                                                                   @RequestParam(value = ASYNC_PARAM, defaultValue = "false") boolean async) throws Exception {
         var callback = operationsService.getInstalledCertificateIds(params);
-        return OcppOperationResponse.from(callback);
+        return respond(callback, async);
     }
 
     @Operation(description = """
         As specified in <i>Improved security for OCPP 1.6-J</i> white paper.
         """)
     @PostMapping(value = "/InstallCertificate")
-    public OcppOperationResponse<InstallCertificateStatusEnumType> installCertificate(@RequestBody @Valid InstallCertificateParams params) throws Exception {
+    public CompletableFuture<ResponseEntity<OcppOperationResponse<InstallCertificateStatusEnumType>>> installCertificate(@RequestBody @Valid InstallCertificateParams params,
+                                                                                                                         @RequestParam(value = ASYNC_PARAM, defaultValue = "false") boolean async) throws Exception {
         var callback = operationsService.installCertificate(params);
-        return OcppOperationResponse.from(callback);
+        return respond(callback, async);
     }
 
     @Operation(description = """
@@ -305,8 +351,32 @@ public class OcppOperationsController {
         Only 1 charge point can be selected.
         """)
     @PostMapping(value = "/DeleteCertificate")
-    public OcppOperationResponse<DeleteCertificateStatusEnumType> deleteCertificate(@RequestBody @Valid DeleteCertificateParams params) throws Exception {
+    public CompletableFuture<ResponseEntity<OcppOperationResponse<DeleteCertificateStatusEnumType>>> deleteCertificate(@RequestBody @Valid DeleteCertificateParams params,
+                                                                                                                       @RequestParam(value = ASYNC_PARAM, defaultValue = "false") boolean async) throws Exception {
         var callback = operationsService.deleteCertificate(params);
-        return OcppOperationResponse.from(callback);
+        return respond(callback, async);
+    }
+
+    // -------------------------------------------------------------------------
+    // Helpers
+    // -------------------------------------------------------------------------
+
+    /**
+     * Does not block the request thread while waiting for the stations: the request is completed by the callbacks of
+     * the task (or the timeout of RestCallback).
+     */
+    private static <T> CompletableFuture<ResponseEntity<OcppOperationResponse<T>>> respond(RestCallback<T> callback,
+                                                                                         boolean async) {
+        if (async) {
+            URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                                                      .path("/api/v1/operations/tasks/{taskId}")
+                                                      .buildAndExpand(callback.getTaskId())
+                                                      .toUri();
+
+            var response = ResponseEntity.accepted().location(location).body(OcppOperationResponse.from(callback));
+            return CompletableFuture.completedFuture(response);
+        }
+
+        return callback.whenFinished().thenApply(cb -> ResponseEntity.ok(OcppOperationResponse.from(cb)));
     }
 }
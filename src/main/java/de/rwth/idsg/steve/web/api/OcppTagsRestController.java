@@ -21,6 +21,7 @@ package de.rwth.idsg.steve.web.api;
 import de.rwth.idsg.steve.SteveException;
 import de.rwth.idsg.steve.repository.dto.OcppTag.OcppTagOverview;
 import de.rwth.idsg.steve.service.OcppTagService;
+import de.rwth.idsg.steve.utils.ControllerHelper;
 import de.rwth.idsg.steve.utils.mapper.OcppTagFormMapper;
 import de.rwth.idsg.steve.web.api.ApiControllerAdvice.ApiErrorResponse;
 import de.rwth.idsg.steve.web.dto.OcppTagForm;
@@ -48,6 +49,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 import java.util.List;
@@ -75,6 +77,8 @@ public class OcppTagsRestController {
     @Operation(description = """
         Returns a list of Ocpp Tags based on the query parameters.
         The query parameters can be used to filter the Ocpp Tags.
+        If 'limit' is set, at most that many Ocpp Tags are returned. If there are more, the 'Link' header of the
+        response contains the URL of the next page (rel="next").
         """)
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "OK"),
@@ -83,10 +87,12 @@ public class OcppTagsRestController {
         @ApiResponse(responseCode = "500", description = "Internal Server Error", content = {@Content(mediaType = "application/json", schema = @Schema(implementation = ApiErrorResponse.class))})}
     )
     @GetMapping(value = "")
-    public List<OcppTagOverview> get(@ParameterObject OcppTagQueryFormForApi params) {
+    public List<OcppTagOverview> get(@Valid @ParameterObject OcppTagQueryFormForApi params,
+                                     HttpServletResponse httpResponse) {
         log.debug("Read request for query: {}", params);
 
         var response = ocppTagService.getOverview(params);
+        ControllerHelper.addNextPageHeader(httpResponse, response, params, OcppTagOverview::getOcppTagPk);
         log.debug("Read response for query: {}", response);
         return response;
     }
@@ -23,6 +23,7 @@ import de.rwth.idsg.steve.repository.dto.Transaction;
 import de.rwth.idsg.steve.repository.dto.TransactionDetails;
 import de.rwth.idsg.steve.service.TransactionReportService;
 import de.rwth.idsg.steve.service.TransactionService;
+import de.rwth.idsg.steve.utils.ControllerHelper;
 import de.rwth.idsg.steve.web.api.ApiControllerAdvice.ApiErrorResponse;
 import de.rwth.idsg.steve.web.dto.TransactionQueryForm;
 import de.rwth.idsg.steve.web.dto.TransactionReportRequest;
@@ -70,6 +71,8 @@ public class TransactionsRestController {
     @Operation(description = """
         Returns a list of transactions based on the query parameters.
         The query parameters can be used to filter the transactions.
+        If 'limit' is set, at most that many transactions are returned (newest first). If there are more, the 'Link'
+        header of the response contains the URL of the next page (rel="next").
         """)
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "OK"),
@@ -78,7 +81,8 @@ public class TransactionsRestController {
         @ApiResponse(responseCode = "500", description = "Internal Server Error", content = {@Content(mediaType = "application/json", schema = @Schema(implementation = ApiErrorResponse.class))})}
     )
     @GetMapping(value = "")
-    public List<Transaction> get(@Valid @ParameterObject TransactionQueryForm.TransactionQueryFormForApi params) {
+    public List<Transaction> get(@Valid @ParameterObject TransactionQueryForm.TransactionQueryFormForApi params,
+                                 HttpServletResponse httpResponse) {
         log.debug("Read request for query: {}", params);
 
         if (params.isReturnCSV()) {
@@ -86,6 +90,7 @@ public class TransactionsRestController {
         }
 
         var response = transactionService.getTransactions(params);
+        ControllerHelper.addNextPageHeader(httpResponse, response, params, Transaction::getId);
         log.debug("Read response for query: {}", response);
         return response;
     }
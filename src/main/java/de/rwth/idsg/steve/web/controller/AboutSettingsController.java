@@ -21,8 +21,19 @@ package de.rwth.idsg.steve.web.controller;
 import de.rwth.idsg.steve.NotificationFeature;
 import de.rwth.idsg.steve.config.SteveProperties;
 import de.rwth.idsg.steve.ocpp.OcppProtocol;
+import de.rwth.idsg.steve.ocpp.soap.ChargePointServiceSoapInvoker;
+import de.rwth.idsg.steve.ocpp.ws.FutureResponseContextStore;
+import de.rwth.idsg.steve.ocpp.ws.HandshakeAdmission;
+import de.rwth.idsg.steve.ocpp.ws.SessionMailboxes;
 import de.rwth.idsg.steve.repository.GenericRepository;
 import de.rwth.idsg.steve.repository.SettingsRepository;
+import de.rwth.idsg.steve.repository.TaskStore;
+import de.rwth.idsg.steve.repository.impl.MeterValueBatchWriter;
+import de.rwth.idsg.steve.repository.impl.StationDirectory;
+import de.rwth.idsg.steve.service.ApiCredentialCache;
+import de.rwth.idsg.steve.service.AuthTagCache;
+import de.rwth.idsg.steve.service.BasicAuthCache;
+import de.rwth.idsg.steve.service.ConfigurationSnapshotSync;
 import de.rwth.idsg.steve.service.DataImportExportService;
 import de.rwth.idsg.steve.service.MailService;
 import de.rwth.idsg.steve.service.ReleaseCheckService;
@@ -66,6 +77,17 @@ public class AboutSettingsController {
     private final ReleaseCheckService releaseCheckService;
     private final SteveProperties steveProperties;
     private final DataImportExportService dataImportExportService;
+    private final AuthTagCache authTagCache;
+    private final MeterValueBatchWriter meterValueBatchWriter;
+    private final SessionMailboxes sessionMailboxes;
+    private final FutureResponseContextStore futureResponseContextStore;
+    private final TaskStore taskStore;
+    private final StationDirectory stationDirectory;
+    private final HandshakeAdmission handshakeAdmission;
+    private final BasicAuthCache basicAuthCache;
+    private final ApiCredentialCache apiCredentialCache;
+    private final ConfigurationSnapshotSync configurationSnapshotSync;
+    private final ChargePointServiceSoapInvoker soapInvoker;
 
     // -------------------------------------------------------------------------
     // Paths
@@ -95,6 +117,17 @@ public class AboutSettingsController {
         var vals = OcppProtocol.getCompositeValuesOfEnabledOcppProtocols(enabledProtocols);
         model.addAttribute("enabledOcppProtocols", String.join(", ", vals));
 
+        model.addAttribute("authCacheInfo", getAuthCacheInfo());
+        model.addAttribute("meterValueQueueInfo", getMeterValueQueueInfo());
+        model.addAttribute("wsMailboxInfo", getWsMailboxInfo());
+        model.addAttribute("openCallInfo", getOpenCallInfo());
+        model.addAttribute("taskStoreInfo", getTaskStoreInfo());
+        model.addAttribute("stationDirectoryInfo", getStationDirectoryInfo());
+        model.addAttribute("handshakeInfo", getHandshakeInfo());
+        model.addAttribute("apiCredentialCacheInfo", getApiCredentialCacheInfo());
+        model.addAttribute("configurationSyncInfo", getConfigurationSyncInfo());
+        model.addAttribute("soapClientInfo", getSoapClientInfo());
+
         model.addAttribute("exportForm", new DataExportForm());
         model.addAttribute("masterDataTableNames", String.join(", ", dataImportExportService.getMasterDataTableNames()));
         return "about";
@@ -145,4 +178,96 @@ public class AboutSettingsController {
         dataImportExportService.importZip(file);
         return "redirect:/manager/home";
     }
+
+    // -------------------------------------------------------------------------
+    // Helpers
+    // -------------------------------------------------------------------------
+
+    private String getAuthCacheInfo() {
+        if (!authTagCache.isEnabled()) {
+            return "disabled";
+        }
+        var stats = authTagCache.getStats();
+        return String.format("%d entries, %d hits, %d misses (hit rate: %.1f%%)",
+            authTagCache.getSize(), stats.hitCount(), stats.missCount(), stats.hitRate() * 100);
+    }
+
+    private String getMeterValueQueueInfo() {
+        if (!meterValueBatchWriter.isEnabled()) {
+            return "disabled";
+        }
+        return String.format("%d messages, current lag: %d ms, max lag: %d ms, written directly when full: %d",
+            meterValueBatchWriter.getQueueSize(),
+            meterValueBatchWriter.getCurrentLag().toMillis(),
+            meterValueBatchWriter.getMaxLag().toMillis(),
+            meterValueBatchWriter.getDirectWriteCount());
+    }
+
+    private String getWsMailboxInfo() {
+        if (!sessionMailboxes.isEnabled()) {
+            return "disabled (messages are processed inline)";
+        }
+        return String.format("%d mailboxes, %d unprocessed messages, max backlog of a session: %d",
+            sessionMailboxes.getMailboxCount(),
+            sessionMailboxes.getBacklog(),
+            sessionMailboxes.getMaxMailboxBacklog());
+    }
+
+    private String getOpenCallInfo() {
+        return String.format("%d waiting for a response, %d timed out since startup",
+            futureResponseContextStore.getInFlightCount(),
+            futureResponseContextStore.getTimedOutCount());
+    }
+
+    private String getTaskStoreInfo() {
+        var config = steveProperties.getTasks();
+        return String.format("%d tasks (max count: %d, max age: %s, max memory: %s), %d removed since startup",
+            taskStore.getCount(),
+            config.getMaxCount(),
+            config.getMaxAge(),
+            config.getMaxMemory(),
+            taskStore.getEvictedCount());
+    }
+
+    private String getStationDirectoryInfo() {
+        if (!stationDirectory.isEnabled()) {
+            return "disabled";
+        }
+        return String.format("%d stations (reloaded every %s)",
+            stationDirectory.getSize(),
+            steveProperties.getOcpp().getStationDirectoryRefreshInterval());
+    }
+
+    private String getHandshakeInfo() {
+        return String.format("%d in progress, %d rejected since startup, %d verified Basic-Auth credentials cached",
+            handshakeAdmission.getInProgressCount(),
+            handshakeAdmission.getRejectedCount(),
+            basicAuthCache.getSize());
+    }
+
+    private String getApiCredentialCacheInfo() {
+        if (!apiCredentialCache.isEnabled()) {
+            return "disabled";
+        }
+        return String.format("%d entries, %d hits, %d misses (hit rate: %.1f%%)",
+            apiCredentialCache.getSize(),
+            apiCredentialCache.getHitCount(),
+            apiCredentialCache.getMissCount(),
+            apiCredentialCache.getHitRate() * 100);
+    }
+
+    private String getConfigurationSyncInfo() {
+        return String.format("%d pending, %d GetConfiguration sent, %d saved since startup",
+            configurationSnapshotSync.getPendingCount(),
+            configurationSnapshotSync.getSentCount(),
+            configurationSnapshotSync.getSavedCount());
+    }
+
+    private String getSoapClientInfo() {
+        return String.format("%d requests in flight (%s), %d cached proxies, %d created since startup",
+            soapInvoker.getInFlightCount(),
+            steveProperties.getOcpp().getSoapClient().isAsyncConduit() ? "non-blocking" : "blocking",
+            soapInvoker.getProxyCount(),
+            soapInvoker.getProxyCreationCount());
+    }
 }
@@ -19,7 +19,9 @@
 package de.rwth.idsg.steve.web.controller;
 
 import de.rwth.idsg.steve.repository.EventRepository;
+import de.rwth.idsg.steve.repository.dto.SecurityEvent;
 import de.rwth.idsg.steve.service.ChargePointService;
+import de.rwth.idsg.steve.utils.ControllerHelper;
 import de.rwth.idsg.steve.web.dto.SecurityEventsQueryForm;
 import de.rwth.idsg.steve.web.dto.StatusEventType;
 import de.rwth.idsg.steve.web.dto.StatusEventsQueryForm;
@@ -58,7 +60,10 @@ public class EventsController {
         if (result.hasErrors()) {
             model.addAttribute("events", Collections.emptyList());
         } else {
-            model.addAttribute("events", eventRepository.getSecurityEvents(params));
+            ControllerHelper.setDefaultLimit(params);
+            var events = eventRepository.getSecurityEvents(params);
+            model.addAttribute("events", events);
+            ControllerHelper.addNextPageLink(model, events, params, SecurityEvent::getSecurityEventPk);
         }
 
         return "events-certs/securityEvents";
@@ -73,7 +78,10 @@ public class EventsController {
         if (result.hasErrors()) {
             model.addAttribute("events", Collections.emptyList());
         } else {
-            model.addAttribute("events", eventRepository.getStatusEvents(params));
+            ControllerHelper.setDefaultLimit(params);
+            var events = eventRepository.getStatusEvents(params);
+            model.addAttribute("events", events);
+            model.addAttribute("limitReached", events.size() >= params.getLimit());
         }
 
         return "events-certs/statusEvents";
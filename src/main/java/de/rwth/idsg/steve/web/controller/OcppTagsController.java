@@ -18,6 +18,7 @@
  */
 package de.rwth.idsg.steve.web.controller;
 
+import de.rwth.idsg.steve.repository.dto.OcppTag;
 import de.rwth.idsg.steve.service.OcppTagService;
 import de.rwth.idsg.steve.utils.ControllerHelper;
 import de.rwth.idsg.steve.utils.mapper.OcppTagFormMapper;
@@ -34,6 +35,7 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import jakarta.validation.Valid;
 
@@ -74,8 +76,10 @@ public class OcppTagsController {
     // -------------------------------------------------------------------------
 
     @GetMapping
-    public String get(Model model) {
-        initList(model, new OcppTagQueryForm());
+    public String get(@RequestParam(value = "after", required = false) String after, Model model) {
+        var params = new OcppTagQueryForm();
+        params.setAfter(after);
+        initList(model, params);
         return "data-man/ocppTags";
     }
 
@@ -165,10 +169,14 @@ public class OcppTagsController {
     }
 
     private void initList(Model model, OcppTagQueryForm params) {
+        ControllerHelper.setDefaultLimit(params);
+        var ocppTags = ocppTagService.getOverview(params);
+
         model.addAttribute(PARAMS, params);
         model.addAttribute("idTagList", ocppTagService.getIdTags());
         model.addAttribute("parentIdTagList", ocppTagService.getParentIdTags());
-        model.addAttribute("ocppTagList", ocppTagService.getOverview(params));
+        model.addAttribute("ocppTagList", ocppTags);
+        ControllerHelper.addNextPageLink(model, ocppTags, params, OcppTag.OcppTagOverview::getOcppTagPk);
         model.addAttribute("unknownList", ocppTagService.getUnknownOcppTags());
     }
 
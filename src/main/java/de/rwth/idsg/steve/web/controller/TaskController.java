@@ -32,6 +32,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 /**
  * @author Sevket Goekay <sevketgokay@gmail.com>
@@ -51,26 +52,35 @@ public class TaskController {
     private static final String TASK_ID_PATH = "/{taskId}";
     private static final String TASK_DETAILS_PATH = TASK_ID_PATH + "/details/{chargeBoxId}/";
 
+    private static final int PAGE_SIZE = 100;
+
     // -------------------------------------------------------------------------
     // HTTP methods
     // -------------------------------------------------------------------------
 
     @GetMapping
-    public String getOverview(Model model) {
-        model.addAttribute("taskList", taskStore.getOverview());
+    public String getOverview(@RequestParam(value = "page", defaultValue = "1") int page, Model model) {
+        int taskCount = taskStore.getCount();
+        int pageCount = Math.max(1, Math.ceilDiv(taskCount, PAGE_SIZE));
+        int currentPage = Math.clamp(page, 1, pageCount);
+
+        model.addAttribute("taskList", taskStore.getOverview((currentPage - 1) * PAGE_SIZE, PAGE_SIZE));
+        model.addAttribute("taskCount", taskCount);
+        model.addAttribute("page", currentPage);
+        model.addAttribute("pageCount", pageCount);
         return "tasks";
     }
 
     @PostMapping(params = "finished")
     public String clearFinished(Model model) {
         taskStore.clearFinished();
-        return getOverview(model);
+        return getOverview(1, model);
     }
 
     @PostMapping(params = "unfinished")
     public String clearUnfinished(Model model) {
         taskStore.clearUnfinished();
-        return getOverview(model);
+        return getOverview(1, model);
     }
 
     @GetMapping(TASK_ID_PATH)
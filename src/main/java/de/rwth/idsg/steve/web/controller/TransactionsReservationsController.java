@@ -20,6 +20,8 @@ package de.rwth.idsg.steve.web.controller;
 
 import de.rwth.idsg.steve.repository.ReservationRepository;
 import de.rwth.idsg.steve.repository.ReservationStatus;
+import de.rwth.idsg.steve.repository.dto.Reservation;
+import de.rwth.idsg.steve.repository.dto.Transaction;
 import de.rwth.idsg.steve.service.ChargePointService;
 import de.rwth.idsg.steve.service.OcppTagService;
 import de.rwth.idsg.steve.service.TransactionService;
@@ -40,6 +42,9 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import java.io.IOException;
 
+import static de.rwth.idsg.steve.utils.ControllerHelper.addNextPageLink;
+import static de.rwth.idsg.steve.utils.ControllerHelper.setDefaultLimit;
+
 /**
  * One controller for transactions and reservations pages
  *
@@ -75,11 +80,12 @@ public class TransactionsReservationsController {
     // -------------------------------------------------------------------------
 
     @RequestMapping(value = TRANSACTIONS_PATH)
-    public String getTransactions(Model model) {
+    public String getTransactions(@RequestParam(value = "after", required = false) String after, Model model) {
         TransactionQueryForm params = new TransactionQueryForm();
+        params.setAfter(after);
         initList(model);
 
-        model.addAttribute("transList", transactionService.getTransactions(params));
+        addTransactions(model, params);
         model.addAttribute(PARAMS, params);
         return "data-man/transactions";
     }
@@ -131,7 +137,7 @@ public class TransactionsReservationsController {
             return null;
 
         } else {
-            model.addAttribute("transList", transactionService.getTransactions(params));
+            addTransactions(model, params);
             initList(model);
             model.addAttribute(PARAMS, params);
             return "data-man/transactions";
@@ -139,11 +145,12 @@ public class TransactionsReservationsController {
     }
 
     @RequestMapping(value = RESERVATIONS_PATH)
-    public String getReservations(Model model) {
+    public String getReservations(@RequestParam(value = "after", required = false) String after, Model model) {
         ReservationQueryForm params = new ReservationQueryForm();
+        params.setAfter(after);
         initResList(model);
 
-        model.addAttribute("reservList", reservationRepository.getReservations(params));
+        addReservations(model, params);
         model.addAttribute(PARAMS, params);
         return "data-man/reservations";
     }
@@ -152,7 +159,7 @@ public class TransactionsReservationsController {
     public String getReservationsQuery(@Valid @ModelAttribute(PARAMS) ReservationQueryForm params,
                                       BindingResult result, Model model) throws IOException {
         if (!result.hasErrors()) {
-            model.addAttribute("reservList", reservationRepository.getReservations(params));
+            addReservations(model, params);
         }
 
         initResList(model);
@@ -160,6 +167,20 @@ public class TransactionsReservationsController {
         return "data-man/reservations";
     }
 
+    private void addTransactions(Model model, TransactionQueryForm params) {
+        setDefaultLimit(params);
+        var transactions = transactionService.getTransactions(params);
+        model.addAttribute("transList", transactions);
+        addNextPageLink(model, transactions, params, Transaction::getId);
+    }
+
+    private void addReservations(Model model, ReservationQueryForm params) {
+        setDefaultLimit(params);
+        var reservations = reservationRepository.getReservations(params);
+        model.addAttribute("reservList", reservations);
+        addNextPageLink(model, reservations, params, Reservation::getId);
+    }
+
     private void initList(Model model) {
         model.addAttribute("cpList", chargePointService.getChargeBoxIds());
         model.addAttribute("idTagList", ocppTagService.getIdTags());
@@ -0,0 +1,51 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.web.dto;
+
+import de.rwth.idsg.steve.utils.KeysetToken;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Cursor-based (keyset) pagination of list queries. The rows are ordered by their primary key, and a page continues
+ * after the primary key of the last row of the previous page (encoded in an opaque token). In contrast to offsets, the
+ * database does not have to read and skip the previous pages, so every page costs the same.
+ *
+ * If no limit is set, the complete list is returned (the behaviour before pagination).
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+public interface KeysetPageable extends Limitable {
+
+    int MAX_LIMIT = 10_000;
+
+    @Nullable String getAfter();
+
+    void setAfter(String after);
+
+    /**
+     * Not a bean property on purpose, so that it does not show up as a request parameter.
+     *
+     * @return the primary key after which the page starts, or null for the first page
+     */
+    @Nullable
+    default Integer afterPk() {
+        return KeysetToken.decode(getAfter());
+    }
+}
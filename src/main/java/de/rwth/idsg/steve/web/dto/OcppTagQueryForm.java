@@ -25,6 +25,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+
 import java.util.Objects;
 
 /**
@@ -34,7 +37,7 @@ import java.util.Objects;
 @Getter
 @Setter
 @ToString
-public class OcppTagQueryForm {
+public class OcppTagQueryForm implements KeysetPageable {
 
     @Schema(description = "Database primary key of the OCPP tag")
     private Integer ocppTagPk;
@@ -63,6 +66,14 @@ public class OcppTagQueryForm {
     @Schema(description = "Filter by whether the OCPP tag is associated with a user or not. Defaults to All")
     private UserFilter userFilter = UserFilter.All;
 
+    @Schema(description = "Maximum number of results per page. If not set, all results are returned")
+    @Positive(message = "limit has to be a positive number")
+    @Max(value = KeysetPageable.MAX_LIMIT, message = "limit must not be greater than " + KeysetPageable.MAX_LIMIT)
+    private Integer limit;
+
+    @Schema(description = "Opaque continuation token to get the next page. The API returns the complete URL of the next page in the 'Link' header (rel=next)")
+    private String after;
+
     @Schema(hidden = true)
     public boolean isOcppTagPkSet() {
         return ocppTagPk != null;
@@ -27,6 +27,7 @@ import lombok.Setter;
 import lombok.ToString;
 import org.springframework.util.CollectionUtils;
 
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import java.util.List;
@@ -39,7 +40,7 @@ import java.util.List;
 @Setter
 @NoArgsConstructor
 @ToString
-public abstract class QueryForm extends QueryPeriodFromToFilter {
+public abstract class QueryForm extends QueryPeriodFromToFilter implements KeysetPageable {
 
     @Schema(description = "The identifiers of the chargebox (i.e. charging station)")
     private List<@ChargeBoxId String> chargeBoxId;
@@ -51,6 +52,14 @@ public abstract class QueryForm extends QueryPeriodFromToFilter {
     private List<@NotNull(message = "userId must not be null")
                  @Positive(message = "userId has to be a positive number") Integer> userId;
 
+    @Schema(description = "Maximum number of results per page. If not set, all results are returned")
+    @Positive(message = "limit has to be a positive number")
+    @Max(value = KeysetPageable.MAX_LIMIT, message = "limit must not be greater than " + KeysetPageable.MAX_LIMIT)
+    private Integer limit;
+
+    @Schema(description = "Opaque continuation token to get the next page. The API returns the complete URL of the next page in the 'Link' header (rel=next)")
+    private String after;
+
     @Schema(hidden = true)
     public boolean isChargeBoxIdSet() {
         return !CollectionUtils.isEmpty(chargeBoxId);
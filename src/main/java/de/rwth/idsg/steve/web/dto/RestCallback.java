@@ -21,60 +21,108 @@ package de.rwth.idsg.steve.web.dto;
 import de.rwth.idsg.steve.ocpp.CommunicationTask;
 import de.rwth.idsg.steve.ocpp.OcppCallback;
 import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonError;
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
-@RequiredArgsConstructor
+/**
+ * Collects the responses of all stations of a task. Callers can either block with {@link #waitForResponses()} or
+ * continue with {@link #whenFinished()}, which does not hold a thread while the stations are taking their time.
+ */
 @Getter
 @Slf4j
 public class RestCallback<T> implements OcppCallback<T> {
 
     private final Duration timeoutDuration;
-    private final CountDownLatch countDownLatch;
 
     private final Map<String, T> successResponsesByChargeBoxId = new ConcurrentHashMap<>();
     private final Map<String, OcppJsonError> errorResponsesByChargeBoxId = new ConcurrentHashMap<>();
     private final Map<String, Exception> exceptionsByChargeBoxId = new ConcurrentHashMap<>();
 
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger pendingCount;
+
+    @Getter(AccessLevel.NONE)
+    private final CompletableFuture<RestCallback<T>> completion = new CompletableFuture<>();
+
     @Setter
-    private int taskId;
+    private volatile int taskId;
+
+    /**
+     * True, when all stations responded (or failed)
+     */
+    private volatile boolean finished = false;
 
-    private boolean finished = false;
+    public RestCallback(Duration timeoutDuration, int expectedResponseCount) {
+        this.timeoutDuration = timeoutDuration;
+        this.pendingCount = new AtomicInteger(expectedResponseCount);
+        if (expectedResponseCount <= 0) {
+            markFinished();
+        }
+    }
 
     @Override
     public void success(CommunicationTask<?, T> task, String chargeBoxId, T response) {
         successResponsesByChargeBoxId.put(chargeBoxId, response);
-        countDownLatch.countDown();
+        countDown();
     }
 
     @Override
     public void success(CommunicationTask<?, T> task, String chargeBoxId, OcppJsonError error) {
         errorResponsesByChargeBoxId.put(chargeBoxId, error);
-        countDownLatch.countDown();
+        countDown();
     }
 
     @Override
     public void failed(CommunicationTask<?, T> task, String chargeBoxId, Exception e) {
         exceptionsByChargeBoxId.put(chargeBoxId, e);
-        countDownLatch.countDown();
+        countDown();
+    }
+
+    /**
+     * Completes with this callback when all stations responded, or when the timeout is reached. In the latter case,
+     * {@link #isFinished()} is false and only partial results are available. Never completes exceptionally.
+     */
+    public CompletableFuture<RestCallback<T>> whenFinished() {
+        return completion.copy()
+                         .completeOnTimeout(this, timeoutDuration.toMillis(), TimeUnit.MILLISECONDS)
+                         .whenComplete((callback, e) -> logIfUnfinished());
     }
 
     /**
      * Wait for responses to arrive from all stations
      */
     public void waitForResponses() throws Exception {
-        long seconds = timeoutDuration.getSeconds();
-        finished = countDownLatch.await(seconds, TimeUnit.SECONDS);
+        try {
+            completion.get(timeoutDuration.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logIfUnfinished();
+        }
+    }
+
+    private void countDown() {
+        if (pendingCount.decrementAndGet() == 0) {
+            markFinished();
+        }
+    }
+
+    private void markFinished() {
+        finished = true;
+        completion.complete(this);
+    }
+
+    private void logIfUnfinished() {
         if (!finished) {
-            log.warn("Some stations did not respond within {} seconds", seconds);
+            log.warn("Some stations did not respond within {} seconds (taskId: {})", timeoutDuration.getSeconds(), taskId);
         }
     }
 }
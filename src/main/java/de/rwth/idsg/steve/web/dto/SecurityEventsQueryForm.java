@@ -24,15 +24,26 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+
 @Getter
 @Setter
 @NoArgsConstructor
 @ToString
-public class SecurityEventsQueryForm extends QueryPeriodTypeFilter {
+public class SecurityEventsQueryForm extends QueryPeriodTypeFilter implements KeysetPageable {
 
     @Schema(description = "The identifier of the chargebox (i.e. charging station)")
     private String chargeBoxId;
 
+    @Schema(description = "Maximum number of results per page. If not set, all results are returned")
+    @Positive(message = "limit has to be a positive number")
+    @Max(value = KeysetPageable.MAX_LIMIT, message = "limit must not be greater than " + KeysetPageable.MAX_LIMIT)
+    private Integer limit;
+
+    @Schema(description = "Opaque continuation token to get the next page. The API returns the complete URL of the next page in the 'Link' header (rel=next)")
+    private String after;
+
     @Schema(hidden = true)
     public boolean isChargeBoxIdSet() {
         return chargeBoxId != null;
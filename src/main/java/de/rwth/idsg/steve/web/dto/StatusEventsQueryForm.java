@@ -24,11 +24,14 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+
 @Getter
 @Setter
 @NoArgsConstructor
 @ToString
-public class StatusEventsQueryForm extends QueryPeriodTypeFilter {
+public class StatusEventsQueryForm extends QueryPeriodTypeFilter implements Limitable {
 
     @Schema(description = "The identifier of the chargebox (i.e. charging station)")
     private String chargeBoxId;
@@ -39,6 +42,15 @@ public class StatusEventsQueryForm extends QueryPeriodTypeFilter {
     @Schema(description = "The identifier of the job")
     private Integer jobId;
 
+    /**
+     * Status events are a union of multiple tables without a common primary key. Therefore, no continuation token
+     * (see {@link KeysetPageable}), but only the most recent ones.
+     */
+    @Schema(description = "Maximum number of results (the most recent ones). If not set, all results are returned")
+    @Positive(message = "limit has to be a positive number")
+    @Max(value = KeysetPageable.MAX_LIMIT, message = "limit must not be greater than " + KeysetPageable.MAX_LIMIT)
+    private Integer limit;
+
     @Schema(hidden = true)
     public boolean isChargeBoxIdSet() {
         return chargeBoxId != null;
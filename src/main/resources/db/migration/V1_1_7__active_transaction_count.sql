@@ -0,0 +1,32 @@
+-- The number of active transactions per idTag was calculated by the ocpp_tag_activity view by joining the whole
+-- transaction history. From now on, it is stored in ocpp_tag and maintained together with transaction_start and
+-- transaction_stop inserts.
+
+ALTER TABLE ocpp_tag
+    ADD COLUMN active_transaction_count BIGINT UNSIGNED NOT NULL DEFAULT 0
+        AFTER max_active_transaction_count;
+
+-- A transaction is active as long as it has no stop event (stop_timestamp and stop_value are NOT NULL).
+-- The counter is no edit of the tag, so updated_at must keep its value instead of its ON UPDATE CURRENT_TIMESTAMP.
+UPDATE ocpp_tag o
+    JOIN (SELECT tx.id_tag, COUNT(*) AS cnt
+          FROM transaction_start tx
+          WHERE NOT EXISTS (SELECT 1 FROM transaction_stop s WHERE s.transaction_pk = tx.transaction_pk)
+          GROUP BY tx.id_tag) active
+        ON active.id_tag = o.id_tag
+SET o.active_transaction_count = active.cnt,
+    o.updated_at               = o.updated_at;
+
+-- Same columns as before, but without joins and grouping, so that lookups can use the indexes of ocpp_tag
+CREATE OR REPLACE VIEW ocpp_tag_activity AS
+SELECT
+    o.ocpp_tag_pk,
+    o.id_tag,
+    o.parent_id_tag,
+    o.expiry_date,
+    o.max_active_transaction_count,
+    o.note,
+    o.active_transaction_count,
+    CASE WHEN o.active_transaction_count > 0 THEN 1 ELSE 0 END    AS in_transaction,
+    CASE WHEN o.max_active_transaction_count = 0 THEN 1 ELSE 0 END AS blocked
+FROM ocpp_tag o;
@@ -0,0 +1,28 @@
+-- connector_status is an append-only log. Finding the current status of each connector required grouping the whole
+-- log, which gets slow with its size. connector_status_latest holds only the most recent entry per evse and is
+-- maintained together with the inserts into connector_status.
+
+CREATE TABLE connector_status_latest (
+    evse_pk int(11) unsigned NOT NULL,
+    status_timestamp timestamp(6) NULL DEFAULT NULL,
+    status varchar(255) DEFAULT NULL,
+    error_code varchar(255) DEFAULT NULL,
+    error_info varchar(255) DEFAULT NULL,
+    vendor_id varchar(255) DEFAULT NULL,
+    vendor_error_code varchar(255) DEFAULT NULL,
+    PRIMARY KEY (evse_pk),
+    KEY connector_status_latest_status_idx (status),
+    CONSTRAINT FK_connector_status_latest_evse_pk FOREIGN KEY (evse_pk)
+        REFERENCES evse (evse_pk) ON DELETE CASCADE ON UPDATE NO ACTION
+);
+
+-- If there are multiple entries with the latest timestamp, one of them is taken
+INSERT IGNORE INTO connector_status_latest
+    (evse_pk, status_timestamp, status, error_code, error_info, vendor_id, vendor_error_code)
+SELECT cs.evse_pk, cs.status_timestamp, cs.status, cs.error_code, cs.error_info, cs.vendor_id, cs.vendor_error_code
+FROM connector_status cs
+JOIN (SELECT evse_pk, MAX(status_timestamp) AS max_ts
+      FROM connector_status
+      GROUP BY evse_pk) latest
+    ON cs.evse_pk = latest.evse_pk
+    AND cs.status_timestamp = latest.max_ts;
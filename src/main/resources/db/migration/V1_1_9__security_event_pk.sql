@@ -0,0 +1,5 @@
+-- charge_box_security_event had no primary key. Listing the events page by page (keyset pagination) requires one.
+-- Existing rows are numbered in their physical order.
+
+ALTER TABLE charge_box_security_event
+    ADD COLUMN security_event_pk INT NOT NULL AUTO_INCREMENT PRIMARY KEY FIRST;
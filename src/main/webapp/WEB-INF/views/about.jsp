@@ -52,6 +52,50 @@
     </tr>
 </table>
 
+<section><span>Caches and Queues</span></section>
+<table class="userInputFullPage">
+    <tr>
+        <td>Authorization Cache:</td>
+        <td>${authCacheInfo}</td>
+    </tr>
+    <tr>
+        <td>MeterValues Queue (best-effort):</td>
+        <td>${meterValueQueueInfo}</td>
+    </tr>
+    <tr>
+        <td>WebSocket Mailboxes:</td>
+        <td>${wsMailboxInfo}</td>
+    </tr>
+    <tr>
+        <td>Calls to Stations:</td>
+        <td>${openCallInfo}</td>
+    </tr>
+    <tr>
+        <td>Tasks:</td>
+        <td>${taskStoreInfo}</td>
+    </tr>
+    <tr>
+        <td>Station Directory:</td>
+        <td>${stationDirectoryInfo}</td>
+    </tr>
+    <tr>
+        <td>WebSocket Handshakes:</td>
+        <td>${handshakeInfo}</td>
+    </tr>
+    <tr>
+        <td>API Credential Cache:</td>
+        <td>${apiCredentialCacheInfo}</td>
+    </tr>
+    <tr>
+        <td>Configuration Snapshots:</td>
+        <td>${configurationSyncInfo}</td>
+    </tr>
+    <tr>
+        <td>SOAP Requests:</td>
+        <td>${soapClientInfo}</td>
+    </tr>
+</table>
+
 <form:form action="${ctxPath}/manager/about/export" method="get" modelAttribute="exportForm">
 <section><span>Export Data</span></section>
     <table class="userInput">
@@ -175,6 +175,7 @@
             </c:forEach>
             </tbody>
         </table>
+        <%@ include file="../00-next-page.jsp" %>
     </div>
     </div>
 </div>
@@ -135,6 +135,7 @@ Transactions
         </c:forEach>
         </tbody>
     </table>
+    <%@ include file="../00-next-page.jsp" %>
 <br>
 </div>
 <%@ include file="../00-footer.jsp" %>
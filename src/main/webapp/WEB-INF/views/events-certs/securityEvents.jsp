@@ -83,5 +83,6 @@
         </c:forEach>
         </tbody>
     </table>
+    <%@ include file="../00-next-page.jsp" %>
 </div>
 <%@ include file="../00-footer.jsp" %>
\ No newline at end of file
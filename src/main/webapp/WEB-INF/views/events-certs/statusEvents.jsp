@@ -68,6 +68,10 @@
                 <td>To:</td>
                 <td><form:input path="to" id="intervalPeriodTypeTo" cssClass="dateTimePicker"/></td>
             </tr>
+            <tr>
+                <td>Max. Results:</td>
+                <td><form:input path="limit"/></td>
+            </tr>
             <tr>
                 <td></td>
                 <td id="add_space">
@@ -99,4 +103,10 @@
         </c:forEach>
         </tbody>
     </table>
+    <c:if test="${limitReached}">
+        <br>
+        <div>
+            Only the ${params.limit} most recent events are shown. Narrow down the filter or increase the max. results.
+        </div>
+    </c:if>
 <%@ include file="../00-footer.jsp" %>
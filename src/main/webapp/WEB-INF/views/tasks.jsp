@@ -40,6 +40,7 @@
                 <th data-sort="string">Origin</th>
                 <th data-sort="date">Start Timestamp</th>
                 <th data-sort="date">End Timestamp</th>
+                <th>Dispatched / Requests</th>
                 <th>Responses / Requests</th>
             </tr>
         </thead>
@@ -49,10 +50,23 @@
                 <td>${task.origin}</td>
                 <td data-sort-value="${task.start.millis}">${task.start}</td>
                 <td data-sort-value="${task.end.millis}">${task.end}</td>
+                <td>${task.dispatchedCount} / ${task.requestCount}</td>
                 <td>${task.responseCount} / ${task.requestCount}</td>
             </tr>
         </c:forEach>
         </tbody>
     </table>
+    <c:if test="${pageCount > 1}">
+        <br>
+        <div>
+            <c:if test="${page > 1}">
+                <a href="${ctxPath}/manager/operations/tasks?page=${page - 1}">&laquo; Newer</a>
+            </c:if>
+            Page ${page} of ${pageCount} (${taskCount} tasks)
+            <c:if test="${page < pageCount}">
+                <a href="${ctxPath}/manager/operations/tasks?page=${page + 1}">Older &raquo;</a>
+            </c:if>
+        </div>
+    </c:if>
 </div>
 <%@ include file="00-footer.jsp" %>
@@ -0,0 +1,113 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.benchmark;
+
+import de.rwth.idsg.steve.config.SteveProperties;
+import de.rwth.idsg.steve.repository.OcppTagRepository;
+import de.rwth.idsg.steve.repository.SettingsRepository;
+import de.rwth.idsg.steve.service.AuthTagCache;
+import de.rwth.idsg.steve.service.AuthTagService;
+import de.rwth.idsg.steve.service.AuthTagServiceLocal;
+import de.rwth.idsg.steve.service.dto.AuthTagContext;
+import jooq.steve.db.tables.records.OcppTagActivityRecord;
+import ocpp.cs._2015._10.IdTagInfo;
+import org.joda.time.DateTime;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * The authorization decision for an idTag (Authorize, StartTransaction, ...) with a warm {@link AuthTagCache}, i.e.
+ * the path that is taken for every message of a known tag, but without the database.
+ *
+ * The records have an expiry date, so that the decision does not ask the settings for the default one.
+ *
+ * Run with {@link SteveBenchmarks}: mvn test-compile exec:java -Dexec.args=AuthTagDecisionBenchmark
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthTagDecisionBenchmark {
+
+    /**
+     * Each idTag leads to another status
+     */
+    @Param({"accepted", "blocked", "expired", "concurrentTx"})
+    public String idTag;
+
+    private AuthTagService authTagService;
+
+    @Setup
+    public void setup() {
+        BenchmarkLogging.useProductionLevel();
+
+        var ocppTagRepository = Mockito.mock(OcppTagRepository.class);
+        DateTime nextYear = DateTime.now().plusYears(1);
+        when(ocppTagRepository.getRecord("accepted")).thenReturn(record("accepted", nextYear, -1, 0));
+        when(ocppTagRepository.getRecord("blocked")).thenReturn(record("blocked", nextYear, 0, 0));
+        when(ocppTagRepository.getRecord("expired")).thenReturn(record("expired", DateTime.now().minusDays(1), -1, 0));
+        when(ocppTagRepository.getRecord("concurrentTx")).thenReturn(record("concurrentTx", nextYear, 1, 1));
+
+        var authTagCache = new AuthTagCache(ocppTagRepository, new SteveProperties());
+        authTagService = new AuthTagServiceLocal(authTagCache, Mockito.mock(SettingsRepository.class));
+
+        // warm up the cache, so that we do not measure the mock
+        authTagCache.getRecord(idTag);
+    }
+
+    @Benchmark
+    public IdTagInfo authorize() {
+        return authTagService.decideStatus(idTag, AuthTagContext.StationAuth, "cp1", null);
+    }
+
+    @Benchmark
+    public IdTagInfo startTransaction() {
+        return authTagService.decideStatus(idTag, AuthTagContext.StationStartTx, "cp1", 1);
+    }
+
+    private static OcppTagActivityRecord record(String idTag, DateTime expiryDate, int maxActiveTransactionCount,
+                                                long activeTransactionCount) {
+        var record = new OcppTagActivityRecord();
+        record.setIdTag(idTag);
+        record.setExpiryDate(expiryDate);
+        record.setMaxActiveTransactionCount(maxActiveTransactionCount);
+        record.setActiveTransactionCount(activeTransactionCount);
+        record.setInTransaction(activeTransactionCount > 0);
+        return record;
+    }
+}
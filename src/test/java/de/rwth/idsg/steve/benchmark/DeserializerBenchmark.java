@@ -0,0 +1,104 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.benchmark;
+
+import de.rwth.idsg.ocpp.jaxb.RequestType;
+import de.rwth.idsg.steve.ocpp.ws.JsonObjectMapper;
+import ocpp.cs._2015._10.MeterValuesRequest;
+import ocpp.cs._2015._10.StatusNotificationRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares how the payload of an incoming CALL is bound in {@link de.rwth.idsg.steve.ocpp.ws.pipeline.Deserializer}:
+ * the former way over a JsonNode tree vs. directly from the parser.
+ *
+ * Run with {@link SteveBenchmarks}: mvn test-compile exec:java -Dexec.args=DeserializerBenchmark
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeserializerBenchmark {
+
+    private final ObjectMapper mapper = JsonObjectMapper.INSTANCE.getMapper();
+
+    @Benchmark
+    public RequestType meterValues_tree() {
+        return viaTree(OcppFrames.METER_VALUES, MeterValuesRequest.class);
+    }
+
+    @Benchmark
+    public RequestType meterValues_streaming() {
+        return streaming(OcppFrames.METER_VALUES, MeterValuesRequest.class);
+    }
+
+    @Benchmark
+    public RequestType statusNotification_tree() {
+        return viaTree(OcppFrames.STATUS_NOTIFICATION, StatusNotificationRequest.class);
+    }
+
+    @Benchmark
+    public RequestType statusNotification_streaming() {
+        return streaming(OcppFrames.STATUS_NOTIFICATION, StatusNotificationRequest.class);
+    }
+
+    private <T extends RequestType> T viaTree(String frame, Class<T> clazz) {
+        try (JsonParser parser = toPayload(frame)) {
+            JsonNode payload = parser.readValueAsTree();
+            return mapper.treeToValue(payload, clazz);
+        }
+    }
+
+    private <T extends RequestType> T streaming(String frame, Class<T> clazz) {
+        try (JsonParser parser = toPayload(frame)) {
+            return mapper.readValue(parser, clazz);
+        }
+    }
+
+    /**
+     * Same steps as the Deserializer: '[', message type, message id, action and then the payload
+     */
+    private JsonParser toPayload(String frame) {
+        JsonParser parser = mapper.createParser(frame);
+        parser.nextToken();
+        parser.nextToken();
+        parser.nextToken();
+        parser.nextToken();
+        parser.nextToken();
+        return parser;
+    }
+}
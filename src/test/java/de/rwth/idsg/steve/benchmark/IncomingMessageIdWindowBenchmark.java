@@ -0,0 +1,93 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.benchmark;
+
+import de.rwth.idsg.steve.ocpp.ws.IncomingMessageIdWindow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The duplicate check of the messageId of every incoming CALL, with a full window (i.e. every new messageId pushes
+ * the oldest one out). Stations use UUIDs as messageIds.
+ *
+ * Run with {@link SteveBenchmarks}: mvn test-compile exec:java -Dexec.args=IncomingMessageIdWindowBenchmark
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IncomingMessageIdWindowBenchmark {
+
+    private static final int WINDOW_SIZE = 128;
+
+    /**
+     * More than the window, so that a messageId is forgotten before it is used again
+     */
+    private static final int ID_COUNT = 1 << 16;
+
+    private final IncomingMessageIdWindow window = new IncomingMessageIdWindow(WINDOW_SIZE);
+    private final String[] messageIds = new String[ID_COUNT];
+
+    private int next;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < ID_COUNT; i++) {
+            messageIds[i] = UUID.randomUUID().toString();
+        }
+        for (int i = 0; i < WINDOW_SIZE; i++) {
+            window.register(nextMessageId());
+        }
+    }
+
+    @Benchmark
+    public boolean newCallId() {
+        return window.register(nextMessageId());
+    }
+
+    /**
+     * A station that retries a CALL for which it did not get a response in time
+     */
+    @Benchmark
+    public boolean duplicateCallId() {
+        return window.register(messageIds[next - 1]);
+    }
+
+    private String nextMessageId() {
+        String messageId = messageIds[next];
+        next = (next + 1) & (ID_COUNT - 1);
+        return messageId;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.benchmark;
+
+/**
+ * OCPP 1.6-J frames as they are sent by stations in the field, used as input by the benchmarks.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+public final class OcppFrames {
+
+    private OcppFrames() { }
+
+    /**
+     * A three-phase AC station reporting its periodic, transaction-related sampled values
+     */
+    public static final String METER_VALUES = """
+        [2,"8f3e0c5a-1b2d-4c6e-9f10-2a3b4c5d6e7f","MeterValues",{"connectorId":1,"transactionId":184467,"meterValue":[\
+        {"timestamp":"2026-10-18T09:15:00.000Z","sampledValue":[\
+        {"value":"18432.117","context":"Sample.Periodic","format":"Raw","measurand":"Energy.Active.Import.Register","location":"Outlet","unit":"kWh"},\
+        {"value":"10.985","context":"Sample.Periodic","format":"Raw","measurand":"Power.Active.Import","location":"Outlet","unit":"kW"},\
+        {"value":"15.93","context":"Sample.Periodic","format":"Raw","measurand":"Current.Import","phase":"L1","location":"Outlet","unit":"A"},\
+        {"value":"15.87","context":"Sample.Periodic","format":"Raw","measurand":"Current.Import","phase":"L2","location":"Outlet","unit":"A"},\
+        {"value":"15.91","context":"Sample.Periodic","format":"Raw","measurand":"Current.Import","phase":"L3","location":"Outlet","unit":"A"},\
+        {"value":"230.4","context":"Sample.Periodic","format":"Raw","measurand":"Voltage","phase":"L1-N","location":"Outlet","unit":"V"},\
+        {"value":"231.1","context":"Sample.Periodic","format":"Raw","measurand":"Voltage","phase":"L2-N","location":"Outlet","unit":"V"},\
+        {"value":"229.8","context":"Sample.Periodic","format":"Raw","measurand":"Voltage","phase":"L3-N","location":"Outlet","unit":"V"},\
+        {"value":"16","context":"Sample.Periodic","format":"Raw","measurand":"Current.Offered","location":"Outlet","unit":"A"},\
+        {"value":"38","context":"Sample.Periodic","format":"Raw","measurand":"Temperature","location":"Body","unit":"Celsius"}\
+        ]}]}]""";
+
+    public static final String STATUS_NOTIFICATION = """
+        [2,"4b1c9d2e-7a6f-4e3d-8c2b-1a0f9e8d7c6b","StatusNotification",{"connectorId":2,"errorCode":"NoError",\
+        "status":"Charging","timestamp":"2026-10-18T09:14:58.312Z","info":"","vendorId":"","vendorErrorCode":""}]""";
+
+    public static final String HEARTBEAT = """
+        [2,"c0ffee00-0000-4000-8000-000000000001","Heartbeat",{}]""";
+
+    public static final String START_TRANSACTION = """
+        [2,"2d4f6a8c-0e1b-4d3f-a5c7-e9b1d3f5a7c9","StartTransaction",{"connectorId":1,"idTag":"04A2B3C4D5E680",\
+        "meterStart":18421044,"timestamp":"2026-10-18T08:41:12.004Z"}]""";
+
+    /**
+     * Response of a station to RemoteStartTransaction
+     */
+    public static final String REMOTE_START_RESULT = """
+        [3,"9e8d7c6b-5a4f-4e3d-2c1b-0a9f8e7d6c5b",{"status":"Accepted"}]""";
+
+    /**
+     * Payload of an OCPP 1.5-J MeterValues (the request is converted to 1.6 before it is processed)
+     */
+    public static final String METER_VALUES_15_PAYLOAD = """
+        {"connectorId":1,"transactionId":184467,"values":[{"timestamp":"2026-10-18T09:15:00.000Z","value":[\
+        {"value":"18432117","context":"Sample.Periodic","format":"Raw","measurand":"Energy.Active.Import.Register",\
+        "location":"Outlet","unit":"Wh"},\
+        {"value":"10985","context":"Sample.Periodic","format":"Raw","measurand":"Power.Active.Import",\
+        "location":"Outlet","unit":"W"},\
+        {"value":"15.9","context":"Sample.Periodic","format":"Raw","measurand":"Current.Import",\
+        "location":"Outlet","unit":"Amp"},\
+        {"value":"230.4","context":"Sample.Periodic","format":"Raw","measurand":"Voltage",\
+        "location":"Outlet","unit":"Volt"},\
+        {"value":"38","context":"Sample.Periodic","format":"Raw","measurand":"Temperature",\
+        "location":"Body","unit":"Celsius"}\
+        ]}]}""";
+
+    public static final String START_TRANSACTION_15_PAYLOAD = """
+        {"connectorId":1,"idTag":"04A2B3C4D5E680","meterStart":18421044,"timestamp":"2026-10-18T08:41:12.004Z"}""";
+}
@@ -0,0 +1,142 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.benchmark;
+
+import de.rwth.idsg.ocpp.jaxb.ResponseType;
+import de.rwth.idsg.steve.ocpp.ws.JsonObjectMapper;
+import de.rwth.idsg.steve.ocpp.ws.data.CommunicationContext;
+import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonResult;
+import de.rwth.idsg.steve.ocpp.ws.pipeline.Serializer;
+import ocpp.cs._2015._10.AuthorizationStatus;
+import ocpp.cs._2015._10.BootNotificationResponse;
+import ocpp.cs._2015._10.IdTagInfo;
+import ocpp.cs._2015._10.MeterValuesResponse;
+import ocpp.cs._2015._10.RegistrationStatus;
+import ocpp.cs._2015._10.StartTransactionResponse;
+import org.joda.time.DateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares how outgoing CALL_RESULTs are written by {@link Serializer}: the former way over an ArrayNode (with
+ * valueToTree of the payload) vs. directly with a JsonGenerator.
+ *
+ * Run with {@link SteveBenchmarks}: mvn test-compile exec:java -Dexec.args=SerializerBenchmark
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializerBenchmark {
+
+    private final ObjectMapper mapper = JsonObjectMapper.INSTANCE.getMapper();
+
+    private final OcppJsonResult bootNotification = result(
+        new BootNotificationResponse()
+            .withStatus(RegistrationStatus.ACCEPTED)
+            .withCurrentTime(DateTime.now())
+            .withInterval(300)
+    );
+
+    private final OcppJsonResult startTransaction = result(
+        new StartTransactionResponse()
+            .withTransactionId(184467)
+            .withIdTagInfo(new IdTagInfo()
+                .withStatus(AuthorizationStatus.ACCEPTED)
+                .withExpiryDate(DateTime.now().plusDays(30))
+                .withParentIdTag("FLEET-0042"))
+    );
+
+    private final OcppJsonResult meterValues = result(new MeterValuesResponse());
+
+    @Benchmark
+    public String bootNotification_tree() {
+        return viaTree(bootNotification);
+    }
+
+    @Benchmark
+    public String bootNotification_generator() {
+        return viaGenerator(bootNotification);
+    }
+
+    @Benchmark
+    public String startTransaction_tree() {
+        return viaTree(startTransaction);
+    }
+
+    @Benchmark
+    public String startTransaction_generator() {
+        return viaGenerator(startTransaction);
+    }
+
+    @Benchmark
+    public String meterValues_tree() {
+        return viaTree(meterValues);
+    }
+
+    @Benchmark
+    public String meterValues_generator() {
+        return viaGenerator(meterValues);
+    }
+
+    /**
+     * The way Serializer used to work
+     */
+    private String viaTree(OcppJsonResult result) {
+        var context = new CommunicationContext(null, "benchmark");
+        context.setOutgoingMessage(result);
+
+        var frame = mapper.createArrayNode()
+                          .add(result.getMessageType().getTypeNr())
+                          .add(result.getMessageId())
+                          .add(mapper.valueToTree(result.getPayload()));
+
+        context.setOutgoingString(mapper.writeValueAsString(frame));
+        return context.getOutgoingString();
+    }
+
+    private static String viaGenerator(OcppJsonResult result) {
+        var context = new CommunicationContext(null, "benchmark");
+        context.setOutgoingMessage(result);
+        Serializer.INSTANCE.accept(context);
+        return context.getOutgoingString();
+    }
+
+    private static OcppJsonResult result(ResponseType payload) {
+        var result = new OcppJsonResult();
+        result.setMessageId("8f3e0c5a-1b2d-4c6e-9f10-2a3b4c5d6e7f");
+        result.setPayload(payload);
+        return result;
+    }
+}
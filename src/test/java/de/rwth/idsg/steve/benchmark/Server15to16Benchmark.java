@@ -0,0 +1,95 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.benchmark;
+
+import de.rwth.idsg.steve.ocpp.converter.Server15to16;
+import de.rwth.idsg.steve.ocpp.converter.Server15to16Impl;
+import de.rwth.idsg.steve.ocpp.ws.JsonObjectMapper;
+import ocpp.cs._2015._10.AuthorizationStatus;
+import ocpp.cs._2015._10.IdTagInfo;
+import ocpp.cs._2015._10.MeterValuesRequest;
+import ocpp.cs._2015._10.StartTransactionRequest;
+import ocpp.cs._2015._10.StartTransactionResponse;
+import org.joda.time.DateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The conversion of OCPP 1.5 messages to 1.6 and back, which every message of a 1.5 station goes through.
+ *
+ * Run with {@link SteveBenchmarks}: mvn test-compile exec:java -Dexec.args=Server15to16Benchmark
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Server15to16Benchmark {
+
+    private final Server15to16 converter = Server15to16Impl.SINGLETON;
+
+    private ocpp.cs._2012._06.MeterValuesRequest meterValues;
+    private ocpp.cs._2012._06.StartTransactionRequest startTransaction;
+    private StartTransactionResponse startTransactionResponse;
+
+    @Setup
+    public void setup() {
+        ObjectMapper mapper = JsonObjectMapper.INSTANCE.getMapper();
+        meterValues = mapper.readValue(OcppFrames.METER_VALUES_15_PAYLOAD,
+            ocpp.cs._2012._06.MeterValuesRequest.class);
+        startTransaction = mapper.readValue(OcppFrames.START_TRANSACTION_15_PAYLOAD,
+            ocpp.cs._2012._06.StartTransactionRequest.class);
+
+        startTransactionResponse = new StartTransactionResponse()
+            .withTransactionId(184467)
+            .withIdTagInfo(new IdTagInfo()
+                .withStatus(AuthorizationStatus.ACCEPTED)
+                .withExpiryDate(DateTime.now().plusHours(1)));
+    }
+
+    @Benchmark
+    public MeterValuesRequest meterValues_request() {
+        return converter.convertRequest(meterValues);
+    }
+
+    @Benchmark
+    public StartTransactionRequest startTransaction_request() {
+        return converter.convertRequest(startTransaction);
+    }
+
+    @Benchmark
+    public ocpp.cs._2012._06.StartTransactionResponse startTransaction_response() {
+        return converter.convertResponse(startTransactionResponse);
+    }
+}
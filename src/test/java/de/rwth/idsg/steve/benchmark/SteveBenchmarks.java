@@ -0,0 +1,90 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs all benchmarks of the OCPP hot paths (or the ones matching the first argument as regex) with the GC profiler,
+ * and writes the results as JSON to target/jmh. Run it once on each commit, and compare the files (e.g. with
+ * https://jmh.morethan.io) to see whether a change made a difference.
+ *
+ * Run with: mvn test-compile exec:java
+ *
+ * Optional: -Dexec.args="Deserializer|TypeStore" to select benchmarks, -Dbenchmark.label=my-change to name the
+ * result file (default: the current time).
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+public final class SteveBenchmarks {
+
+    private static final String ALL = "de\\.rwth\\.idsg\\.steve\\..*Benchmark";
+
+    private SteveBenchmarks() { }
+
+    public static void main(String[] args) throws Exception {
+        String include = (args.length > 0) ? args[0] : ALL;
+
+        String label = System.getProperty("benchmark.label",
+            LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        Path result = Path.of("target", "jmh", label + ".json");
+        Files.createDirectories(result.getParent());
+
+        exposeClassPath();
+
+        var options = new OptionsBuilder()
+            .include(include)
+            .addProfiler("gc")
+            .resultFormat(ResultFormatType.JSON)
+            .result(result.toString())
+            .build();
+
+        new Runner(options).run();
+    }
+
+    /**
+     * The benchmarks run in forked JVMs with the class path of this one. Under exec:java, the classes of the project
+     * are only known to the class loader of the plugin, and not in java.class.path.
+     */
+    private static void exposeClassPath() throws Exception {
+        if (!(Thread.currentThread().getContextClassLoader() instanceof URLClassLoader loader)) {
+            return;
+        }
+
+        List<String> entries = new ArrayList<>();
+        for (URL url : loader.getURLs()) {
+            entries.add(Path.of(url.toURI()).toString());
+        }
+        entries.add(System.getProperty("java.class.path"));
+        System.setProperty("java.class.path", String.join(File.pathSeparator, entries));
+    }
+}
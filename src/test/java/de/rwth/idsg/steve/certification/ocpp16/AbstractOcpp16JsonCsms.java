@@ -266,6 +266,7 @@ public abstract class AbstractOcpp16JsonCsms {
 
     static <T> T successResponse(RestCallback<T> callback) {
         assertNotNull(callback);
+        callback.whenFinished().join();
         assertTrue(callback.getExceptionsByChargeBoxId().isEmpty());
         assertTrue(callback.getErrorResponsesByChargeBoxId().isEmpty());
         assertTrue(callback.getSuccessResponsesByChargeBoxId().containsKey(REGISTERED_CHARGE_BOX_ID));
@@ -0,0 +1,150 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.fleet;
+
+import com.google.common.base.Splitter;
+import lombok.Getter;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Settings of the {@link FleetSimulator}, read from system properties (e.g. -Dfleet.stations=30000). Durations can be
+ * written like in application.yml (e.g. 30s, 5m).
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+@Getter
+public class FleetConfig {
+
+    /**
+     * WebSocket endpoint of SteVe. The chargeBoxId of the station is appended.
+     */
+    private final String url = get("fleet.url", "ws://127.0.0.1:8080/steve/websocket/CentralSystemService/");
+
+    /**
+     * The chargeBoxIds are this prefix and a running number
+     */
+    private final String chargeBoxIdPrefix = get("fleet.charge-box-id-prefix", "FLEET-");
+
+    private final int stations = getInt("fleet.stations", 1_000);
+    private final int connectorsPerStation = getInt("fleet.connectors-per-station", 2);
+
+    /**
+     * Size of the pool from which transactions pick their idTag. Unknown idTags are inserted by SteVe.
+     */
+    private final int idTagCount = getInt("fleet.id-tags", 200);
+
+    /**
+     * The stations connect evenly spread over this time, instead of all at once
+     */
+    private final Duration rampUp = getDuration("fleet.ramp-up", "1m");
+
+    /**
+     * How long to run after the ramp-up
+     */
+    private final Duration duration = getDuration("fleet.duration", "10m");
+
+    private final Duration heartbeatInterval = getDuration("fleet.heartbeat-interval", "1m");
+    private final Duration meterValueInterval = getDuration("fleet.meter-value-interval", "30s");
+    private final Duration transactionDuration = getDuration("fleet.transaction-duration", "5m");
+    private final Duration pauseBetweenTransactions = getDuration("fleet.pause-between-transactions", "2m");
+    private final Duration statusBurstInterval = getDuration("fleet.status-burst-interval", "30s");
+    private final int statusBurstSize = getInt("fleet.status-burst-size", 10);
+
+    /**
+     * A CALL without response within this time counts as error
+     */
+    private final Duration callTimeout = getDuration("fleet.call-timeout", "30s");
+
+    /**
+     * Wait time before a station reconnects after its connection was lost or rejected
+     */
+    private final Duration reconnectDelay = getDuration("fleet.reconnect-delay", "10s");
+
+    /**
+     * Share of each {@link StationProfile} in the fleet, as weights (e.g. IDLE:60,CHARGING:30,FLAPPING:10)
+     */
+    private final Map<StationProfile, Integer> profileMix =
+        getProfileMix("fleet.profiles", "IDLE:60,CHARGING:30,FLAPPING:10");
+
+    private final int profileWeightSum = profileMix.values().stream().mapToInt(Integer::intValue).sum();
+
+    /**
+     * Deterministic, so that the same station always gets the same profile in every run
+     */
+    public StationProfile getProfile(int stationIndex) {
+        int position = stationIndex % profileWeightSum;
+        for (var entry : profileMix.entrySet()) {
+            position -= entry.getValue();
+            if (position < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%d stations (%s) at %s, ramp-up %s, duration %s",
+            stations, profileMix, url, rampUp, duration
+        );
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private static String get(String key, String defaultValue) {
+        return System.getProperty(key, defaultValue);
+    }
+
+    private static int getInt(String key, int defaultValue) {
+        return Integer.parseInt(get(key, Integer.toString(defaultValue)));
+    }
+
+    private static Duration getDuration(String key, String defaultValue) {
+        return DurationStyle.detectAndParse(get(key, defaultValue));
+    }
+
+    private static Map<StationProfile, Integer> getProfileMix(String key, String defaultValue) {
+        Map<StationProfile, Integer> mix = new EnumMap<>(StationProfile.class);
+
+        Map<String, String> entries = Splitter.on(',').trimResults().omitEmptyStrings()
+                                              .withKeyValueSeparator(':')
+                                              .split(get(key, defaultValue));
+
+        entries.forEach((profile, weight) -> {
+            int value = Integer.parseInt(weight.trim());
+            if (value > 0) {
+                mix.put(StationProfile.valueOf(profile.trim().toUpperCase(Locale.ROOT)), value);
+            }
+        });
+
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("No station profile in " + key);
+        }
+        return mix;
+    }
+}
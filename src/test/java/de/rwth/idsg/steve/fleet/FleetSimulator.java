@@ -0,0 +1,123 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.fleet;
+
+import de.rwth.idsg.steve.benchmark.BenchmarkLogging;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static de.rwth.idsg.steve.utils.Helpers.getRandomStrings;
+
+/**
+ * Capacity test against a running SteVe (and its database): opens one OCPP 1.6-J connection per simulated station,
+ * each driven by a virtual thread, so that tens of thousands of stations fit into one JVM. At the end, it prints the
+ * latency percentiles and error rates per action.
+ *
+ * See {@link FleetConfig} for the settings, and {@link StationProfile} for what the stations do. SteVe should run with
+ * steve.ocpp.auto-register-unknown-stations=true, unless the stations (FLEET-0, FLEET-1, ...) exist already.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.mainClass=de.rwth.idsg.steve.fleet.FleetSimulator
+ * -Dfleet.stations=30000 -Dfleet.ramp-up=5m
+ *
+ * For more than ~25k stations against localhost, the local port range (net.ipv4.ip_local_port_range) and the limit
+ * of open files (ulimit -n) of both sides have to be raised.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+@Slf4j
+public final class FleetSimulator {
+
+    private static final Duration REPORT_INTERVAL = Duration.ofSeconds(10);
+
+    private FleetSimulator() { }
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkLogging.useProductionLevel();
+
+        var config = new FleetConfig();
+        var stats = new FleetStats();
+        List<String> idTags = getRandomStrings(config.getIdTagCount());
+
+        var httpClient = new HttpClient();
+        httpClient.setMaxConnectionsPerDestination(config.getStations());
+
+        // one client for all. the callbacks only hand the messages over to the virtual threads of the stations.
+        var client = new WebSocketClient(httpClient);
+        client.setIdleTimeout(config.getHeartbeatInterval().multipliedBy(3));
+        client.start();
+
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + config.getRampUp().plus(config.getDuration()).toNanos();
+        long rampUpStepNanos = config.getRampUp().toNanos() / Math.max(1, config.getStations());
+
+        log.info("Starting {}", config);
+        Thread reporter = Thread.ofPlatform().daemon().name("FleetSimulator-Reporter").start(() -> report(stats));
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.getStations(); i++) {
+                String chargeBoxId = config.getChargeBoxIdPrefix() + i;
+                var station = new SimulatedStation(
+                    config, stats, client, chargeBoxId, config.getProfile(i), idTags, deadlineNanos
+                );
+                long startAtNanos = startNanos + i * rampUpStepNanos;
+                executor.execute(() -> {
+                    sleepUntil(startAtNanos);
+                    station.run();
+                });
+            }
+        } finally {
+            reporter.interrupt();
+            client.stop();
+        }
+
+        System.out.println();
+        System.out.println("Fleet: " + config);
+        stats.print(System.out);
+    }
+
+    private static void report(FleetStats stats) {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(REPORT_INTERVAL);
+            } catch (InterruptedException e) {
+                return;
+            }
+            log.info("{} stations connected, {} calls, {} errors",
+                stats.getConnectedStations(), stats.getTotalCount(), stats.getTotalErrors());
+        }
+    }
+
+    private static void sleepUntil(long wakeUpNanos) {
+        long sleepNanos = wakeUpNanos - System.nanoTime();
+        if (sleepNanos <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(Duration.ofNanos(sleepNanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.fleet;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies (from sending a CALL until its response arrived) and errors per action, collected by all stations.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+public class FleetStats {
+
+    private static final String ROW_FORMAT = "%-28s %10s %8s %8s %10s %10s %10s %10s%n";
+
+    private final Map<String, ActionStats> byAction = new ConcurrentHashMap<>();
+
+    /**
+     * CALLs of the server (e.g. ChangeConfiguration, RemoteStartTransaction) that the stations answered
+     */
+    private final Map<String, LongAdder> serverCalls = new ConcurrentHashMap<>();
+
+    private final AtomicInteger connectedStations = new AtomicInteger();
+
+    public void success(String action, long startNanos) {
+        get(action).histogram.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+    }
+
+    public void error(String action) {
+        get(action).errors.increment();
+    }
+
+    public void serverCall(String action) {
+        serverCalls.computeIfAbsent(action, k -> new LongAdder()).increment();
+    }
+
+    public void connected() {
+        connectedStations.incrementAndGet();
+    }
+
+    public void disconnected() {
+        connectedStations.decrementAndGet();
+    }
+
+    public int getConnectedStations() {
+        return connectedStations.get();
+    }
+
+    public long getTotalCount() {
+        return byAction.values().stream().mapToLong(ActionStats::getCount).sum();
+    }
+
+    public long getTotalErrors() {
+        return byAction.values().stream().mapToLong(s -> s.errors.sum()).sum();
+    }
+
+    public void print(PrintStream out) {
+        out.printf(ROW_FORMAT, "Action", "Count", "Errors", "Error %", "p50 ms", "p99 ms", "p999 ms", "max ms");
+
+        new TreeMap<>(byAction).forEach((action, stats) -> {
+            Histogram histogram = stats.histogram.copy();
+            long errors = stats.errors.sum();
+            long count = histogram.getTotalCount() + errors;
+
+            out.printf(ROW_FORMAT,
+                action,
+                count,
+                errors,
+                String.format("%.3f", count == 0 ? 0.0 : 100.0 * errors / count),
+                toMillis(histogram.getValueAtPercentile(50)),
+                toMillis(histogram.getValueAtPercentile(99)),
+                toMillis(histogram.getValueAtPercentile(99.9)),
+                toMillis(histogram.getMaxValue())
+            );
+        });
+
+        if (!serverCalls.isEmpty()) {
+            out.println();
+            out.println("Answered CALLs of the server:");
+            new TreeMap<>(serverCalls).forEach((action, count) -> out.printf("  %-26s %10d%n", action, count.sum()));
+        }
+    }
+
+    private ActionStats get(String action) {
+        return byAction.computeIfAbsent(action, k -> new ActionStats());
+    }
+
+    private static String toMillis(long micros) {
+        return String.format("%.2f", micros / 1000.0);
+    }
+
+    private static class ActionStats {
+
+        /**
+         * In microseconds, with 3 significant digits
+         */
+        private final ConcurrentHistogram histogram = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+
+        private long getCount() {
+            return histogram.getTotalCount() + errors.sum();
+        }
+    }
+}
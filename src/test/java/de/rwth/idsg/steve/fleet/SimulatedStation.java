@@ -0,0 +1,555 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.fleet;
+
+import de.rwth.idsg.ocpp.jaxb.RequestType;
+import de.rwth.idsg.ocpp.jaxb.ResponseType;
+import de.rwth.idsg.steve.ocpp.OcppVersion;
+import de.rwth.idsg.steve.ocpp.ws.JsonObjectMapper;
+import de.rwth.idsg.steve.ocpp.ws.data.ErrorCode;
+import de.rwth.idsg.steve.ocpp.ws.data.MessageType;
+import lombok.extern.slf4j.Slf4j;
+import ocpp.cs._2015._10.AuthorizeRequest;
+import ocpp.cs._2015._10.AuthorizeResponse;
+import ocpp.cs._2015._10.BootNotificationRequest;
+import ocpp.cs._2015._10.BootNotificationResponse;
+import ocpp.cs._2015._10.ChargePointErrorCode;
+import ocpp.cs._2015._10.ChargePointStatus;
+import ocpp.cs._2015._10.HeartbeatRequest;
+import ocpp.cs._2015._10.HeartbeatResponse;
+import ocpp.cs._2015._10.Measurand;
+import ocpp.cs._2015._10.MeterValue;
+import ocpp.cs._2015._10.MeterValuesRequest;
+import ocpp.cs._2015._10.MeterValuesResponse;
+import ocpp.cs._2015._10.ReadingContext;
+import ocpp.cs._2015._10.Reason;
+import ocpp.cs._2015._10.RegistrationStatus;
+import ocpp.cs._2015._10.SampledValue;
+import ocpp.cs._2015._10.StartTransactionRequest;
+import ocpp.cs._2015._10.StartTransactionResponse;
+import ocpp.cs._2015._10.StatusNotificationRequest;
+import ocpp.cs._2015._10.StatusNotificationResponse;
+import ocpp.cs._2015._10.StopTransactionRequest;
+import ocpp.cs._2015._10.StopTransactionResponse;
+import ocpp.cs._2015._10.UnitOfMeasure;
+import org.eclipse.jetty.websocket.api.Callback;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.StatusCode;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketClose;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketMessage;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketOpen;
+import org.eclipse.jetty.websocket.api.annotations.WebSocket;
+import org.eclipse.jetty.websocket.client.ClientUpgradeRequest;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
+import org.jetbrains.annotations.Nullable;
+import org.joda.time.DateTime;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Map.entry;
+
+/**
+ * One OCPP 1.6-J station of the {@link FleetSimulator}, driven by its own virtual thread with blocking calls.
+ *
+ * Unlike {@link de.rwth.idsg.steve.utils.OcppJsonChargePoint}, which verifies a planned sequence of exchanges, this
+ * one shares the WebSocketClient with the other stations, matches responses by messageId, answers every CALL of the
+ * server and reconnects when its connection is lost. Failures are only counted, not thrown.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+@Slf4j
+@WebSocket
+public class SimulatedStation {
+
+    private static final ObjectMapper MAPPER = JsonObjectMapper.INSTANCE.getMapper();
+
+    private static final String CONNECT = "(Connect)";
+    private static final String CONNECTION_LOST = "(ConnectionLost)";
+
+    /**
+     * An 11 kW AC charger
+     */
+    private static final int CHARGING_POWER_W = 11_000;
+
+    /**
+     * Responses to the CALLs of the server, by action
+     */
+    private static final Map<String, JsonNode> REPLIES = Map.ofEntries(
+        entry("CancelReservation", json("{\"status\":\"Accepted\"}")),
+        entry("ChangeAvailability", json("{\"status\":\"Accepted\"}")),
+        entry("ChangeConfiguration", json("{\"status\":\"Accepted\"}")),
+        entry("ClearCache", json("{\"status\":\"Accepted\"}")),
+        entry("ClearChargingProfile", json("{\"status\":\"Accepted\"}")),
+        entry("DataTransfer", json("{\"status\":\"Accepted\"}")),
+        entry("GetCompositeSchedule", json("{\"status\":\"Rejected\"}")),
+        entry("GetConfiguration", json("""
+            {"configurationKey":[{"key":"HeartbeatInterval","readonly":false,"value":"60"},\
+            {"key":"MeterValueSampleInterval","readonly":false,"value":"30"},\
+            {"key":"NumberOfConnectors","readonly":true,"value":"2"}],"unknownKey":[]}""")),
+        entry("GetDiagnostics", json("{}")),
+        entry("GetLocalListVersion", json("{\"listVersion\":0}")),
+        entry("RemoteStartTransaction", json("{\"status\":\"Accepted\"}")),
+        entry("RemoteStopTransaction", json("{\"status\":\"Accepted\"}")),
+        entry("ReserveNow", json("{\"status\":\"Accepted\"}")),
+        entry("Reset", json("{\"status\":\"Accepted\"}")),
+        entry("SendLocalList", json("{\"status\":\"Accepted\"}")),
+        entry("SetChargingProfile", json("{\"status\":\"Accepted\"}")),
+        entry("TriggerMessage", json("{\"status\":\"Accepted\"}")),
+        entry("UnlockConnector", json("{\"status\":\"Unlocked\"}")),
+        entry("UpdateFirmware", json("{}"))
+    );
+
+    private final FleetConfig config;
+    private final FleetStats stats;
+    private final WebSocketClient client;
+    private final String chargeBoxId;
+    private final StationProfile profile;
+    private final List<String> idTags;
+    private final long deadlineNanos;
+
+    /**
+     * Key   (String)                        = messageId of our CALL
+     * Value (CompletableFuture<JsonNode>)   = completed with the payload of the CALL_RESULT
+     */
+    private final Map<String, CompletableFuture<JsonNode>> pendingCalls = new ConcurrentHashMap<>();
+
+    private volatile Session session;
+
+    private long energyWh = ThreadLocalRandom.current().nextLong(10_000_000);
+    private long lastMeterReadingNanos;
+
+    @Nullable private Integer transactionId;
+    private int transactionConnectorId;
+    private String transactionIdTag;
+
+    /**
+     * Timers of the open transaction. Fields (and not locals of behave()), so that the transaction goes on after a
+     * reconnect.
+     */
+    private long nextMeterValuesNanos = Long.MAX_VALUE;
+    private long transactionEndNanos = Long.MAX_VALUE;
+
+    public SimulatedStation(FleetConfig config, FleetStats stats, WebSocketClient client, String chargeBoxId,
+                            StationProfile profile, List<String> idTags, long deadlineNanos) {
+        this.config = config;
+        this.stats = stats;
+        this.client = client;
+        this.chargeBoxId = chargeBoxId;
+        this.profile = profile;
+        this.idTags = idTags;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public void run() {
+        while (!isTimeUp()) {
+            if (connect() && boot()) {
+                for (int connectorId = 0; connectorId <= config.getConnectorsPerStation(); connectorId++) {
+                    boolean charging = transactionId != null && connectorId == transactionConnectorId;
+                    var status = charging ? ChargePointStatus.CHARGING : ChargePointStatus.AVAILABLE;
+                    statusNotification(connectorId, status);
+                }
+                behave();
+                if (!isTimeUp()) {
+                    stats.error(CONNECTION_LOST);
+                }
+            }
+
+            if (isTimeUp()) {
+                break;
+            }
+            disconnect();
+            sleepUntil(System.nanoTime() + config.getReconnectDelay().toNanos());
+        }
+
+        if (transactionId != null && isConnected()) {
+            stopTransaction();
+        }
+        disconnect();
+    }
+
+    // -------------------------------------------------------------------------
+    // Behaviour
+    // -------------------------------------------------------------------------
+
+    private void behave() {
+        long now = System.nanoTime();
+        long nextHeartbeat = now + jitter(config.getHeartbeatInterval());
+        long nextStatusBurst = now + jitter(config.getStatusBurstInterval());
+        long nextTransactionStart = now + jitter(config.getPauseBetweenTransactions());
+
+        while (isConnected() && !isTimeUp()) {
+            now = System.nanoTime();
+
+            if (now >= nextHeartbeat) {
+                call(new HeartbeatRequest(), HeartbeatResponse.class);
+                nextHeartbeat = now + config.getHeartbeatInterval().toNanos();
+            }
+
+            long nextWakeUp = nextHeartbeat;
+
+            switch (profile) {
+                case IDLE -> { }
+                case FLAPPING -> {
+                    if (now >= nextStatusBurst) {
+                        statusBurst();
+                        nextStatusBurst = now + config.getStatusBurstInterval().toNanos();
+                    }
+                    nextWakeUp = Math.min(nextWakeUp, nextStatusBurst);
+                }
+                case CHARGING -> {
+                    if (transactionId == null && now >= nextTransactionStart) {
+                        startTransaction();
+                        nextMeterValuesNanos = now + config.getMeterValueInterval().toNanos();
+                        transactionEndNanos = now + config.getTransactionDuration().toNanos();
+                        // if the start failed, try again after the pause
+                        nextTransactionStart = now + config.getPauseBetweenTransactions().toNanos();
+                    }
+                    if (transactionId != null && now >= transactionEndNanos) {
+                        stopTransaction();
+                        nextTransactionStart = now + config.getPauseBetweenTransactions().toNanos();
+                    } else if (transactionId != null && now >= nextMeterValuesNanos) {
+                        meterValues();
+                        nextMeterValuesNanos = now + config.getMeterValueInterval().toNanos();
+                    }
+
+                    nextWakeUp = (transactionId == null)
+                        ? Math.min(nextWakeUp, nextTransactionStart)
+                        : Math.min(nextWakeUp, Math.min(nextMeterValuesNanos, transactionEndNanos));
+                }
+            }
+
+            sleepUntil(nextWakeUp);
+        }
+    }
+
+    private boolean connect() {
+        long start = System.nanoTime();
+        try {
+            var request = new ClientUpgradeRequest(URI.create(config.getUrl() + chargeBoxId));
+            request.setSubProtocols(List.of(OcppVersion.V_16.getValue()));
+
+            session = client.connect(this, request).get(config.getCallTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            stats.success(CONNECT, start);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            stats.error(CONNECT);
+            log.debug("Connection of '{}' failed", chargeBoxId, e);
+            return false;
+        }
+    }
+
+    private boolean boot() {
+        var response = call(
+            new BootNotificationRequest()
+                .withChargePointVendor("SteVe")
+                .withChargePointModel("FleetSimulator-" + profile)
+                .withChargePointSerialNumber(chargeBoxId)
+                .withFirmwareVersion("1.0.0"),
+            BootNotificationResponse.class
+        );
+
+        if (response == null) {
+            return false;
+        }
+        if (response.getStatus() != RegistrationStatus.ACCEPTED) {
+            // e.g. unknown station and auto-register-unknown-stations is disabled
+            stats.error("BootNotification." + response.getStatus().value());
+            return false;
+        }
+        return true;
+    }
+
+    private void statusBurst() {
+        for (int i = 0; i < config.getStatusBurstSize(); i++) {
+            int connectorId = 1 + i % config.getConnectorsPerStation();
+            var status = (i % 2 == 0) ? ChargePointStatus.PREPARING : ChargePointStatus.AVAILABLE;
+            statusNotification(connectorId, status);
+        }
+    }
+
+    private void startTransaction() {
+        var random = ThreadLocalRandom.current();
+        String idTag = idTags.get(random.nextInt(idTags.size()));
+        int connectorId = random.nextInt(1, config.getConnectorsPerStation() + 1);
+
+        // like a station with a local list, we go on even if the idTag is not accepted. SteVe records the
+        // transaction anyway.
+        if (call(new AuthorizeRequest().withIdTag(idTag), AuthorizeResponse.class) == null) {
+            return;
+        }
+
+        statusNotification(connectorId, ChargePointStatus.PREPARING);
+
+        var response = call(
+            new StartTransactionRequest()
+                .withConnectorId(connectorId)
+                .withIdTag(idTag)
+                .withMeterStart((int) energyWh)
+                .withTimestamp(DateTime.now()),
+            StartTransactionResponse.class
+        );
+
+        if (response == null) {
+            statusNotification(connectorId, ChargePointStatus.AVAILABLE);
+            return;
+        }
+
+        transactionId = response.getTransactionId();
+        transactionConnectorId = connectorId;
+        transactionIdTag = idTag;
+        lastMeterReadingNanos = System.nanoTime();
+
+        statusNotification(connectorId, ChargePointStatus.CHARGING);
+    }
+
+    private void meterValues() {
+        readMeter();
+
+        var meterValue = new MeterValue()
+            .withTimestamp(DateTime.now())
+            .withSampledValue(
+                sampledValue(Measurand.ENERGY_ACTIVE_IMPORT_REGISTER, UnitOfMeasure.WH, Long.toString(energyWh)),
+                sampledValue(Measurand.POWER_ACTIVE_IMPORT, UnitOfMeasure.W, Integer.toString(CHARGING_POWER_W)),
+                sampledValue(Measurand.CURRENT_IMPORT, UnitOfMeasure.A, "15.9")
+            );
+
+        call(
+            new MeterValuesRequest()
+                .withConnectorId(transactionConnectorId)
+                .withTransactionId(transactionId)
+                .withMeterValue(meterValue),
+            MeterValuesResponse.class
+        );
+    }
+
+    private void stopTransaction() {
+        readMeter();
+
+        call(
+            new StopTransactionRequest()
+                .withTransactionId(transactionId)
+                .withIdTag(transactionIdTag)
+                .withMeterStop((int) energyWh)
+                .withTimestamp(DateTime.now())
+                .withReason(Reason.LOCAL),
+            StopTransactionResponse.class
+        );
+
+        // the station is done with it, whether the server got it or not
+        int connectorId = transactionConnectorId;
+        transactionId = null;
+        statusNotification(connectorId, ChargePointStatus.AVAILABLE);
+    }
+
+    private void statusNotification(int connectorId, ChargePointStatus status) {
+        call(
+            new StatusNotificationRequest()
+                .withConnectorId(connectorId)
+                .withErrorCode(ChargePointErrorCode.NO_ERROR)
+                .withStatus(status)
+                .withTimestamp(DateTime.now()),
+            StatusNotificationResponse.class
+        );
+    }
+
+    // -------------------------------------------------------------------------
+    // OCPP-J
+    // -------------------------------------------------------------------------
+
+    /**
+     * @return null, if the call failed (no connection, CALL_ERROR, timeout). It is counted as error.
+     */
+    @Nullable
+    private <RES extends ResponseType> RES call(RequestType request, Class<RES> responseClass) {
+        String action = getAction(request);
+        String messageId = UUID.randomUUID().toString();
+
+        var future = new CompletableFuture<JsonNode>();
+        pendingCalls.put(messageId, future);
+
+        long start = System.nanoTime();
+        try {
+            Session current = session;
+            if (current == null) {
+                throw new IllegalStateException("Not connected");
+            }
+
+            String frame = MAPPER.writeValueAsString(List.of(MessageType.CALL.getTypeNr(), messageId, action, request));
+            current.sendText(frame, Callback.from(() -> { }, future::completeExceptionally));
+
+            JsonNode payload = future.get(config.getCallTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            RES response = MAPPER.treeToValue(payload, responseClass);
+            stats.success(action, start);
+            return response;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stats.error(action);
+            return null;
+        } catch (Exception e) {
+            stats.error(action);
+            log.debug("{} of '{}' failed", action, chargeBoxId, e);
+            return null;
+        } finally {
+            pendingCalls.remove(messageId);
+        }
+    }
+
+    @OnWebSocketOpen
+    public void onOpen(Session session) {
+        stats.connected();
+    }
+
+    @OnWebSocketClose
+    public void onClose(Session closedSession, int statusCode, String reason) {
+        stats.disconnected();
+
+        // we might have reconnected already
+        if (session == closedSession) {
+            session = null;
+        }
+
+        var exception = new IllegalStateException("Connection closed with " + statusCode + ": " + reason);
+        pendingCalls.values().forEach(future -> future.completeExceptionally(exception));
+    }
+
+    @OnWebSocketMessage
+    public void onMessage(Session session, String message) {
+        try (JsonParser parser = MAPPER.createParser(message)) {
+            parser.nextToken(); // set cursor to '['
+
+            parser.nextToken();
+            int messageTypeNr = parser.getIntValue();
+
+            parser.nextToken();
+            String messageId = parser.getString();
+
+            parser.nextToken();
+            switch (MessageType.fromTypeNr(messageTypeNr)) {
+                case CALL_RESULT -> complete(messageId, parser.readValueAsTree());
+                case CALL_ERROR -> fail(messageId, new IllegalStateException("CALL_ERROR " + parser.getString()));
+                case CALL -> answer(session, messageId, parser.getString());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to handle message of '{}': {}", chargeBoxId, message, e);
+        }
+    }
+
+    private void complete(String messageId, JsonNode payload) {
+        var future = pendingCalls.get(messageId);
+        if (future != null) {
+            future.complete(payload);
+        }
+    }
+
+    private void fail(String messageId, Exception exception) {
+        var future = pendingCalls.get(messageId);
+        if (future != null) {
+            future.completeExceptionally(exception);
+        }
+    }
+
+    private void answer(Session session, String messageId, String action) {
+        stats.serverCall(action);
+
+        JsonNode reply = REPLIES.get(action);
+        List<Object> frame = (reply == null)
+            ? List.of(MessageType.CALL_ERROR.getTypeNr(), messageId, ErrorCode.NotImplemented.name(), "", Map.of())
+            : List.of(MessageType.CALL_RESULT.getTypeNr(), messageId, reply);
+
+        session.sendText(MAPPER.writeValueAsString(frame), Callback.NOOP);
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private boolean isConnected() {
+        Session current = session;
+        return current != null && current.isOpen();
+    }
+
+    private void disconnect() {
+        Session current = session;
+        session = null;
+        if (current != null && current.isOpen()) {
+            current.close(StatusCode.NORMAL, "Finished", Callback.NOOP);
+        }
+    }
+
+    private boolean isTimeUp() {
+        return System.nanoTime() >= deadlineNanos || Thread.currentThread().isInterrupted();
+    }
+
+    private void sleepUntil(long wakeUpNanos) {
+        long sleepNanos = Math.min(wakeUpNanos, deadlineNanos) - System.nanoTime();
+        if (sleepNanos <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(Duration.ofNanos(sleepNanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void readMeter() {
+        long now = System.nanoTime();
+        energyWh += CHARGING_POWER_W * (now - lastMeterReadingNanos) / TimeUnit.HOURS.toNanos(1);
+        lastMeterReadingNanos = now;
+    }
+
+    /**
+     * The first occurrence is random within the interval, so that the stations do not act in lockstep
+     */
+    private static long jitter(Duration interval) {
+        return ThreadLocalRandom.current().nextLong(Math.max(1, interval.toNanos()));
+    }
+
+    private static SampledValue sampledValue(Measurand measurand, UnitOfMeasure unit, String value) {
+        return new SampledValue()
+            .withContext(ReadingContext.SAMPLE_PERIODIC)
+            .withMeasurand(measurand)
+            .withUnit(unit)
+            .withValue(value);
+    }
+
+    private static String getAction(RequestType request) {
+        String name = request.getClass().getSimpleName();
+        return name.substring(0, name.length() - "Request".length());
+    }
+
+    private static JsonNode json(String value) {
+        return MAPPER.readTree(value);
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.fleet;
+
+/**
+ * What a simulated station does after it booted and reported the status of its connectors. All of them send
+ * heartbeats and answer the CALLs of the server.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+public enum StationProfile {
+
+    /**
+     * Nothing else. Most stations of a fleet are idle most of the time.
+     */
+    IDLE,
+
+    /**
+     * Authorize, StartTransaction, periodic MeterValues, StopTransaction, then a pause, and again
+     */
+    CHARGING,
+
+    /**
+     * Bursts of StatusNotifications, like a station with a flaky connector or after a firmware update
+     */
+    FLAPPING
+}
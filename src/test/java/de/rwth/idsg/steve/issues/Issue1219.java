@@ -19,15 +19,18 @@
 package de.rwth.idsg.steve.issues;
 
 import de.rwth.idsg.steve.SteveException;
+import de.rwth.idsg.steve.config.SteveProperties;
 import de.rwth.idsg.steve.repository.dto.InsertTransactionParams;
 import de.rwth.idsg.steve.repository.dto.OcppTag;
 import de.rwth.idsg.steve.repository.dto.Transaction;
 import de.rwth.idsg.steve.repository.dto.UpdateTransactionParams;
 import de.rwth.idsg.steve.repository.impl.AddressRepositoryImpl;
+import de.rwth.idsg.steve.repository.impl.ChargeBoxHeartbeatCoalescer;
 import de.rwth.idsg.steve.repository.impl.ChargePointRepositoryImpl;
 import de.rwth.idsg.steve.repository.impl.OcppServerRepositoryImpl;
 import de.rwth.idsg.steve.repository.impl.OcppTagRepositoryImpl;
 import de.rwth.idsg.steve.repository.impl.ReservationRepositoryImpl;
+import de.rwth.idsg.steve.repository.impl.StationDirectory;
 import de.rwth.idsg.steve.repository.impl.TransactionRepositoryImpl;
 import de.rwth.idsg.steve.web.dto.OcppTagForm;
 import de.rwth.idsg.steve.web.dto.OcppTagQueryForm;
@@ -100,7 +103,7 @@ public class Issue1219 {
     }
 
     private List<Integer> insertStopTransactions(List<Integer> insertedTransactionIds) {
-        var ocppServerRepository = new OcppServerRepositoryImpl(ctx, new ReservationRepositoryImpl(ctx));
+        var ocppServerRepository = new OcppServerRepositoryImpl(ctx, new ReservationRepositoryImpl(ctx), stationDirectory());
         var transactionRepository = new TransactionRepositoryImpl(ctx);
 
         List<Integer> stopped = new ArrayList<>();
@@ -131,7 +134,7 @@ public class Issue1219 {
     }
 
     private List<Integer> insertStartTransactions(int count, List<String> ocppTags, List<String> chargeBoxIds) {
-        var repository = new OcppServerRepositoryImpl(ctx, new ReservationRepositoryImpl(ctx));
+        var repository = new OcppServerRepositoryImpl(ctx, new ReservationRepositoryImpl(ctx), stationDirectory());
 
         List<Integer> transactionIds = new ArrayList<>();
         for (int i = 0; i < count; i++) {
@@ -152,7 +155,10 @@ public class Issue1219 {
     }
 
     private List<String> insertChargeBoxes(int count) {
-        var repository = new ChargePointRepositoryImpl(ctx, new AddressRepositoryImpl());
+        var heartbeatCoalescer = new ChargeBoxHeartbeatCoalescer(
+            new OcppServerRepositoryImpl(ctx, new ReservationRepositoryImpl(ctx), stationDirectory()), null, new SteveProperties()
+        );
+        var repository = new ChargePointRepositoryImpl(ctx, new AddressRepositoryImpl(), heartbeatCoalescer);
 
         List<String> ids = IntStream.range(0, count).mapToObj(val -> UUID.randomUUID().toString()).collect(Collectors.toList());
         repository.addChargePointList(ids);
@@ -205,4 +211,8 @@ public class Issue1219 {
         }
         return null;
     }
+
+    private StationDirectory stationDirectory() {
+        return new StationDirectory(ctx, null, new SteveProperties());
+    }
 }
@@ -0,0 +1,107 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.soap;
+
+import de.rwth.idsg.steve.repository.impl.StationDirectory;
+import ocpp.cp._2015._10.ChargePointService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ClientProviderWithCacheTest {
+
+    private static final String ADDRESS = "http://127.0.0.1:8080/ocpp";
+
+    private ClientProvider clientProvider;
+
+    @BeforeEach
+    public void init() {
+        clientProvider = mock(ClientProvider.class);
+        when(clientProvider.createClient(any(), anyString())).thenAnswer(invocation -> mock(ChargePointService.class));
+    }
+
+    @Test
+    public void createClient_createsOnlyOnce() {
+        var cache = new ClientProviderWithCache<ChargePointService>(clientProvider, () -> 10, Duration.ofHours(1));
+
+        var first = cache.createClient(ChargePointService.class, ADDRESS);
+        var second = cache.createClient(ChargePointService.class, ADDRESS);
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, cache.getCreationCount());
+        verify(clientProvider, times(1)).createClient(ChargePointService.class, ADDRESS);
+    }
+
+    @Test
+    public void createClient_growsWithRequiredSize() {
+        var requiredSize = new AtomicLong(2);
+        var cache = new ClientProviderWithCache<ChargePointService>(clientProvider, requiredSize::get,
+            Duration.ofHours(1));
+
+        var first = cache.createClient(ChargePointService.class, ADDRESS);
+        requiredSize.set(100);
+        for (int i = 0; i < 50; i++) {
+            cache.createClient(ChargePointService.class, ADDRESS + i);
+        }
+
+        Assertions.assertEquals(100, cache.getMaxSize());
+        Assertions.assertEquals(51, cache.getSize());
+        // the proxies of the smaller cache are taken over
+        Assertions.assertSame(first, cache.createClient(ChargePointService.class, ADDRESS));
+        Assertions.assertEquals(51, cache.getCreationCount());
+    }
+
+    @Test
+    public void createClient_followsSoapStationCount() {
+        var stationDirectory = mock(StationDirectory.class);
+        when(stationDirectory.getSoapStationCount()).thenReturn(0);
+
+        var requiredSize = ChargePointServiceSoapInvoker.requiredProxyCacheSize(stationDirectory, 10);
+        var cache = new ClientProviderWithCache<ChargePointService>(clientProvider, requiredSize, Duration.ofHours(1));
+        Assertions.assertEquals(10, cache.getMaxSize());
+
+        // e.g. counted by the directory, while it is disabled
+        when(stationDirectory.getSoapStationCount()).thenReturn(800);
+        cache.createClient(ChargePointService.class, ADDRESS);
+
+        Assertions.assertEquals(1000, cache.getMaxSize());
+    }
+
+    @Test
+    public void createClient_neverShrinks() {
+        var requiredSize = new AtomicLong(100);
+        var cache = new ClientProviderWithCache<ChargePointService>(clientProvider, requiredSize::get,
+            Duration.ofHours(1));
+
+        requiredSize.set(10);
+        cache.createClient(ChargePointService.class, ADDRESS);
+
+        Assertions.assertEquals(100, cache.getMaxSize());
+    }
+}
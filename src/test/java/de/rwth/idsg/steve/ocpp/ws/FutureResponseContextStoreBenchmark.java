@@ -0,0 +1,125 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.ws;
+
+import de.rwth.idsg.steve.benchmark.BenchmarkLogging;
+import de.rwth.idsg.steve.ocpp.ws.data.FutureResponseContext;
+import ocpp.cp._2015._10.ResetResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.standard.StandardWebSocketSession;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adding an outgoing CALL and polling it when the response arrives, from several threads at the same time: once for
+ * calls to different stations and once for calls to the same station.
+ *
+ * Every add leaves an entry in the timer wheel until the call would time out. With the production timeout of 30
+ * seconds, all calls of an iteration would pile up there. Therefore, we use a short timeout.
+ *
+ * Lives in this package (and not with the other benchmarks in de.rwth.idsg.steve.benchmark), since it needs the
+ * package-private constructor of {@link FutureResponseContextStoreImpl} for the short timeout.
+ *
+ * Run with {@link de.rwth.idsg.steve.benchmark.SteveBenchmarks}:
+ * mvn test-compile exec:java -Dexec.args=FutureResponseContextStoreBenchmark
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class FutureResponseContextStoreBenchmark {
+
+    private static final int ID_COUNT = 1024;
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+
+        private final FutureResponseContextStoreImpl store =
+            new FutureResponseContextStoreImpl(Duration.ofMillis(50), Duration.ofMillis(5));
+
+        private final WebSocketSession session = new StandardWebSocketSession(null, null, null, null);
+
+        @Setup
+        public void setup() {
+            BenchmarkLogging.useProductionLevel();
+            store.addSession(session);
+        }
+
+        @TearDown
+        public void tearDown() {
+            store.beforeShutdown(null);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PerThread {
+
+        private final WebSocketSession session = new StandardWebSocketSession(null, null, null, null);
+        private final String[] messageIds = new String[ID_COUNT];
+        private int next;
+
+        @Setup
+        public void setup(Shared shared) {
+            for (int i = 0; i < ID_COUNT; i++) {
+                messageIds[i] = UUID.randomUUID().toString();
+            }
+            shared.store.addSession(session);
+        }
+
+        private String nextMessageId() {
+            next = (next + 1) & (ID_COUNT - 1);
+            return messageIds[next];
+        }
+    }
+
+    @Benchmark
+    public FutureResponseContext differentStations(Shared shared, PerThread perThread) {
+        return addAndPoll(shared.store, perThread.session, perThread.nextMessageId());
+    }
+
+    @Benchmark
+    public FutureResponseContext sameStation(Shared shared, PerThread perThread) {
+        return addAndPoll(shared.store, shared.session, perThread.nextMessageId());
+    }
+
+    private static FutureResponseContext addAndPoll(FutureResponseContextStoreImpl store, WebSocketSession session,
+                                                    String messageId) {
+        store.add(session, messageId, new FutureResponseContext(null, ResetResponse.class, "cp1"));
+        return store.poll(session, messageId);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.ws;
+
+import de.rwth.idsg.steve.ocpp.CommunicationTask;
+import de.rwth.idsg.steve.ocpp.ws.data.FutureResponseContext;
+import ocpp.cp._2015._10.ResetResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class FutureResponseContextStoreTest {
+
+    private static final String CHARGE_BOX_ID = "cb1";
+
+    @Test
+    public void poll_returnsContextOnlyOnce() {
+        var store = new FutureResponseContextStoreImpl();
+        var session = session("s1");
+        var context = context(Mockito.mock(CommunicationTask.class));
+
+        store.add(session, "m1", context);
+        Assertions.assertEquals(1, store.getInFlightCount());
+
+        Assertions.assertSame(context, store.poll(session, "m1"));
+        Assertions.assertNull(store.poll(session, "m1"));
+        Assertions.assertEquals(0, store.getInFlightCount());
+    }
+
+    @Test
+    public void poll_unknownSession() {
+        var store = new FutureResponseContextStoreImpl();
+
+        Assertions.assertNull(store.poll(session("s1"), "m1"));
+    }
+
+    @Test
+    public void timeout_failsTask() {
+        var store = new FutureResponseContextStoreImpl(Duration.ofMillis(100), Duration.ofMillis(20));
+        var session = session("s1");
+        var task = Mockito.mock(CommunicationTask.class);
+
+        store.add(session, "m1", context(task));
+
+        verify(task, timeout(2_000)).failed(eq(CHARGE_BOX_ID), any(TimeoutException.class));
+        Assertions.assertNull(store.poll(session, "m1"));
+        Assertions.assertEquals(0, store.getInFlightCount());
+        Assertions.assertEquals(1, store.getTimedOutCount());
+    }
+
+    @Test
+    public void timeout_afterSessionRemoval_failsTask() {
+        var store = new FutureResponseContextStoreImpl(Duration.ofMillis(100), Duration.ofMillis(20));
+        var session = session("s1");
+        var task = Mockito.mock(CommunicationTask.class);
+
+        store.add(session, "m1", context(task));
+        store.removeSession(session);
+
+        verify(task, timeout(2_000)).failed(eq(CHARGE_BOX_ID), any(TimeoutException.class));
+    }
+
+    @Test
+    public void response_preventsTimeout() {
+        var store = new FutureResponseContextStoreImpl(Duration.ofMillis(100), Duration.ofMillis(20));
+        var session = session("s1");
+        var task = Mockito.mock(CommunicationTask.class);
+
+        store.add(session, "m1", context(task));
+        Assertions.assertNotNull(store.poll(session, "m1"));
+
+        verify(task, after(500).never()).failed(any(), any());
+        Assertions.assertEquals(0, store.getTimedOutCount());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static FutureResponseContext context(CommunicationTask task) {
+        return new FutureResponseContext(task, ResetResponse.class, CHARGE_BOX_ID);
+    }
+
+    private static WebSocketSession session(String id) {
+        WebSocketSession session = Mockito.mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        return session;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.ws;
+
+import de.rwth.idsg.steve.config.SteveProperties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+public class HandshakeAdmissionTest {
+
+    @Test
+    public void tryAdmit_rejectsAboveConcurrencyLimit() {
+        var admission = new HandshakeAdmission(properties(2, 0));
+
+        var first = admission.tryAdmit();
+        var second = admission.tryAdmit();
+
+        Assertions.assertNotNull(first);
+        Assertions.assertNotNull(second);
+        Assertions.assertNull(admission.tryAdmit());
+        Assertions.assertEquals(2, admission.getInProgressCount());
+        Assertions.assertEquals(1, admission.getRejectedCount());
+
+        first.close();
+        first.close(); // must not release twice
+
+        Assertions.assertEquals(1, admission.getInProgressCount());
+        Assertions.assertNotNull(admission.tryAdmit());
+        Assertions.assertNull(admission.tryAdmit());
+    }
+
+    @Test
+    public void tryAdmit_rejectsAboveRate() {
+        var admission = new HandshakeAdmission(properties(0, 1));
+
+        var first = admission.tryAdmit();
+        Assertions.assertNotNull(first);
+        first.close();
+
+        Assertions.assertNull(admission.tryAdmit());
+        Assertions.assertEquals(1, admission.getRejectedCount());
+    }
+
+    @Test
+    public void getRetryAfterSeconds_hasJitter() {
+        var admission = new HandshakeAdmission(properties(1, 0));
+
+        for (int i = 0; i < 100; i++) {
+            long seconds = admission.getRetryAfterSeconds();
+            Assertions.assertTrue(seconds >= 10 && seconds <= 20, () -> "Unexpected value " + seconds);
+        }
+    }
+
+    private static SteveProperties properties(int maxConcurrency, double ratePerSecond) {
+        var properties = new SteveProperties();
+        var config = properties.getOcpp().getHandshakeAdmission();
+        config.setMaxConcurrency(maxConcurrency);
+        config.setRatePerSecond(ratePerSecond);
+        config.setRetryAfter(Duration.ofSeconds(10));
+        return properties;
+    }
+}
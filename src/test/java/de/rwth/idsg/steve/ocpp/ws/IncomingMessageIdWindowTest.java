@@ -0,0 +1,96 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.ws;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class IncomingMessageIdWindowTest {
+
+    @Test
+    public void register_detectsDuplicate() {
+        var window = new IncomingMessageIdWindow(4);
+
+        Assertions.assertTrue(window.register("m1"));
+        Assertions.assertFalse(window.register("m1"));
+        Assertions.assertTrue(window.register("m2"));
+        Assertions.assertEquals(2, window.size());
+    }
+
+    @Test
+    public void register_forgetsOldestWhenFull() {
+        var window = new IncomingMessageIdWindow(3);
+
+        window.register("m1");
+        window.register("m2");
+        window.register("m3");
+        window.register("m4");
+
+        Assertions.assertEquals(3, window.size());
+        Assertions.assertFalse(window.register("m2"));
+        Assertions.assertFalse(window.register("m4"));
+        Assertions.assertTrue(window.register("m1"));
+    }
+
+    @Test
+    public void register_longLivedSessionDoesNotGrow() {
+        var window = new IncomingMessageIdWindow(128);
+
+        for (int i = 0; i < 2_000_000; i++) {
+            Assertions.assertTrue(window.register("m" + i));
+        }
+        Assertions.assertEquals(128, window.size());
+        Assertions.assertFalse(window.register("m1999999"));
+    }
+
+    /**
+     * Compares with a simple reference implementation, so that deletions from the hash set are exercised with
+     * collisions and wrap-arounds
+     */
+    @Test
+    public void register_sameAsReference() {
+        int windowSize = 50;
+        var window = new IncomingMessageIdWindow(windowSize);
+
+        Deque<String> referenceOrder = new ArrayDeque<>();
+        Set<String> reference = new HashSet<>();
+
+        var random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            // small key space, so that there are many duplicates
+            String messageId = "m" + random.nextInt(200);
+
+            boolean expected = reference.add(messageId);
+            if (expected) {
+                referenceOrder.addLast(messageId);
+                if (referenceOrder.size() > windowSize) {
+                    reference.remove(referenceOrder.removeFirst());
+                }
+            }
+
+            Assertions.assertEquals(expected, window.register(messageId), "at step " + i);
+        }
+    }
+}
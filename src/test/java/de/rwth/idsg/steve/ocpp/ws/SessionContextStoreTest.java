@@ -38,7 +38,8 @@ public class SessionContextStoreTest {
         var store = new SessionContextStoreImpl(
             WsSessionSelectStrategyEnum.ALWAYS_LAST,
             new NoOpTaskScheduler(),
-            new FutureResponseContextStoreImpl()
+            new FutureResponseContextStoreImpl(),
+            128
         );
 
         int sizeBeforeAdd = store.getSize("foo");
@@ -64,7 +65,8 @@ public class SessionContextStoreTest {
         var store = new SessionContextStoreImpl(
             WsSessionSelectStrategyEnum.ALWAYS_LAST,
             new NoOpTaskScheduler(),
-            new FutureResponseContextStoreImpl()
+            new FutureResponseContextStoreImpl(),
+            128
         );
 
         int sizeBeforeAdd = store.getSize("foo");
@@ -111,7 +113,8 @@ public class SessionContextStoreTest {
         var store = new SessionContextStoreImpl(
             WsSessionSelectStrategyEnum.ALWAYS_LAST,
             new NoOpTaskScheduler(),
-            new FutureResponseContextStoreImpl()
+            new FutureResponseContextStoreImpl(),
+            128
         );
 
         var session1 = getMockSession();
@@ -132,7 +135,8 @@ public class SessionContextStoreTest {
         var store = new SessionContextStoreImpl(
             WsSessionSelectStrategyEnum.ALWAYS_LAST,
             new NoOpTaskScheduler(),
-            new FutureResponseContextStoreImpl()
+            new FutureResponseContextStoreImpl(),
+            128
         );
 
         var session = getMockSession();
@@ -150,7 +154,8 @@ public class SessionContextStoreTest {
         var store = new SessionContextStoreImpl(
             WsSessionSelectStrategyEnum.ALWAYS_LAST,
             new NoOpTaskScheduler(),
-            new FutureResponseContextStoreImpl()
+            new FutureResponseContextStoreImpl(),
+            128
         );
 
         boolean closed = store.closeSession("foo", "unknown-session");
@@ -158,6 +163,32 @@ public class SessionContextStoreTest {
         Assertions.assertFalse(closed);
     }
 
+    @Test
+    public void testRegisterIncomingCallId() {
+        var store = new SessionContextStoreImpl(
+            WsSessionSelectStrategyEnum.ALWAYS_LAST,
+            new NoOpTaskScheduler(),
+            new FutureResponseContextStoreImpl(),
+            128
+        );
+
+        var session1 = getMockSession();
+        var session2 = getMockSession();
+
+        store.add("foo", session1);
+        store.add("foo", session2);
+
+        Assertions.assertEquals(Boolean.TRUE, store.registerIncomingCallId("foo", session1, "m1"));
+        Assertions.assertEquals(Boolean.FALSE, store.registerIncomingCallId("foo", session1, "m1"));
+
+        // the messageIds of each session are independent
+        Assertions.assertEquals(Boolean.TRUE, store.registerIncomingCallId("foo", session2, "m1"));
+
+        // unknown after removal
+        store.remove("foo", session1);
+        Assertions.assertNull(store.registerIncomingCallId("foo", session1, "m2"));
+    }
+
     private static JettyWebSocketSession getMockSession() {
         JettyWebSocketSession session = Mockito.mock(JettyWebSocketSession.class);
         when(session.isOpen()).thenReturn(true);
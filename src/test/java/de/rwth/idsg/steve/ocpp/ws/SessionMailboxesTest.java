@@ -0,0 +1,142 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.ws;
+
+import de.rwth.idsg.steve.config.SteveProperties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SessionMailboxesTest {
+
+    @Test
+    public void inline_runsOnCallerThread() throws Exception {
+        var mailboxes = new SessionMailboxes(new SteveProperties());
+        var caller = Thread.currentThread();
+        List<Thread> threads = new ArrayList<>();
+
+        mailboxes.execute(session("s1"), () -> threads.add(Thread.currentThread()));
+
+        Assertions.assertFalse(mailboxes.isEnabled());
+        Assertions.assertEquals(List.of(caller), threads);
+    }
+
+    @Test
+    public void inline_propagatesException() {
+        var mailboxes = new SessionMailboxes(new SteveProperties());
+
+        Assertions.assertThrows(IllegalStateException.class, () -> mailboxes.execute(session("s1"), () -> {
+            throw new IllegalStateException();
+        }));
+    }
+
+    @Test
+    public void mailbox_keepsOrderPerSession() throws Exception {
+        var mailboxes = new SessionMailboxes(properties(10_000));
+        var session = session("s1");
+        mailboxes.add(session);
+
+        int count = 5_000;
+        List<Integer> processed = Collections.synchronizedList(new ArrayList<>());
+        var done = new CountDownLatch(count);
+
+        for (int i = 0; i < count; i++) {
+            int nr = i;
+            mailboxes.execute(session, () -> {
+                processed.add(nr);
+                Assertions.assertTrue(Thread.currentThread().isVirtual());
+                done.countDown();
+            });
+        }
+
+        Assertions.assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < count; i++) {
+            Assertions.assertEquals(i, processed.get(i));
+        }
+        Assertions.assertEquals(0, mailboxes.getBacklog());
+        verify(session, never()).close(any());
+    }
+
+    @Test
+    public void mailbox_closesSessionWhenFull() throws Exception {
+        var mailboxes = new SessionMailboxes(properties(2));
+        var session = session("s1");
+        mailboxes.add(session);
+        var blocker = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+
+        // the first one is taken out of the mailbox and blocks the worker
+        mailboxes.execute(session, () -> {
+            started.countDown();
+            blocker.await();
+        });
+        Assertions.assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        mailboxes.execute(session, () -> { });
+        mailboxes.execute(session, () -> { });
+        verify(session, never()).close(any());
+
+        mailboxes.execute(session, () -> { });
+        verify(session).close(CloseStatus.SERVICE_OVERLOAD.withReason("Too many unprocessed messages"));
+        Assertions.assertEquals(2, mailboxes.getMaxMailboxBacklog());
+
+        blocker.countDown();
+    }
+
+    @Test
+    public void mailbox_isNotCreatedAfterRemove() throws Exception {
+        var mailboxes = new SessionMailboxes(properties(10));
+        var session = session("s1");
+        mailboxes.add(session);
+        mailboxes.remove(session);
+
+        // e.g. a message that was read right before the session was closed
+        var processed = new CountDownLatch(1);
+        mailboxes.execute(session, processed::countDown);
+
+        Assertions.assertEquals(0, mailboxes.getMailboxCount());
+        Assertions.assertFalse(processed.await(100, TimeUnit.MILLISECONDS));
+    }
+
+    private static SteveProperties properties(int capacity) {
+        var properties = new SteveProperties();
+        properties.getOcpp().getWsIngress().setMode(SessionMailboxes.Mode.MAILBOX);
+        properties.getOcpp().getWsIngress().setMailboxCapacity(capacity);
+        return properties;
+    }
+
+    private static WebSocketSession session(String id) {
+        WebSocketSession session = Mockito.mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        return session;
+    }
+}
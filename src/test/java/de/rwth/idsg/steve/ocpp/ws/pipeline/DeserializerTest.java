@@ -25,6 +25,7 @@ import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonCall;
 import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonError;
 import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonMessage;
 import de.rwth.idsg.steve.ocpp.ws.ocpp16.Ocpp16TypeStore;
+import ocpp.cs._2015._10.MeterValuesRequest;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -125,6 +126,60 @@ public class DeserializerTest {
         Assertions.assertNull(error.getErrorDetails());
     }
 
+    @Test
+    public void testValidation_BrokenNestedPayload() {
+        Deserializer des = createDeserializer();
+
+        CommunicationContext context = new CommunicationContext(getMockSession(), "foo");
+        context.setIncomingString("""
+            [2,"abc5","MeterValues",{"connectorId":1,"meterValue":[{"timestamp":"2026-02-13T15:17:02.501+01:00","sampledValue":[{"value":"12.5"
+            """);
+
+        des.accept(context);
+
+        OcppJsonMessage outgoingMessage = context.getOutgoingMessage();
+        Assertions.assertNotNull(outgoingMessage);
+        Assertions.assertInstanceOf(OcppJsonError.class, outgoingMessage);
+
+        OcppJsonError error = (OcppJsonError) outgoingMessage;
+        Assertions.assertEquals(FormationViolation, error.getErrorCode());
+        Assertions.assertNull(error.getErrorDetails());
+    }
+
+    @Test
+    public void testValidation_NullPayloadAccepted() {
+        Deserializer des = createDeserializer();
+
+        CommunicationContext context = new CommunicationContext(getMockSession(), "foo");
+        context.setIncomingString("""
+            [2,"null1","Heartbeat",null]
+            """);
+
+        des.accept(context);
+
+        Assertions.assertNull(context.getOutgoingMessage());
+        Assertions.assertInstanceOf(OcppJsonCall.class, context.getIncomingMessage());
+        Assertions.assertNotNull(((OcppJsonCall) context.getIncomingMessage()).getPayload());
+    }
+
+    @Test
+    public void testValidation_MeterValuesParsed() {
+        Deserializer des = createDeserializer();
+
+        CommunicationContext context = new CommunicationContext(getMockSession(), "foo");
+        context.setIncomingString("""
+            [2,"mv1","MeterValues",{"connectorId":1,"transactionId":5,"meterValue":[{"timestamp":"2026-02-13T15:17:02.501+01:00","sampledValue":[{"value":"12.5","measurand":"Energy.Active.Import.Register","unit":"kWh"}]}]}]
+            """);
+
+        des.accept(context);
+
+        Assertions.assertNull(context.getOutgoingMessage());
+        var call = (OcppJsonCall) context.getIncomingMessage();
+        var request = (MeterValuesRequest) call.getPayload();
+        Assertions.assertEquals(5, request.getTransactionId());
+        Assertions.assertEquals("12.5", request.getMeterValue().getFirst().getSampledValue().getFirst().getValue());
+    }
+
     @Test
     public void testValidation_DuplicateMessageId() {
         Deserializer des = createDeserializer(false);
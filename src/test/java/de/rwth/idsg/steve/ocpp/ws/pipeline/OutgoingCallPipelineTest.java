@@ -0,0 +1,88 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.ws.pipeline;
+
+import de.rwth.idsg.steve.SteveException;
+import de.rwth.idsg.steve.ocpp.ws.FutureResponseContextStoreImpl;
+import de.rwth.idsg.steve.ocpp.ws.data.CommunicationContext;
+import de.rwth.idsg.steve.ocpp.ws.data.FutureResponseContext;
+import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonCall;
+import ocpp.cp._2015._10.ClearCacheRequest;
+import ocpp.cp._2015._10.ClearCacheResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+public class OutgoingCallPipelineTest {
+
+    private final FutureResponseContextStoreImpl store = new FutureResponseContextStoreImpl();
+    private final OutgoingCallPipeline pipeline = new OutgoingCallPipeline(store);
+
+    @AfterEach
+    public void shutdown() {
+        store.beforeShutdown(null);
+    }
+
+    @Test
+    public void closedSession_throwsAndRollsBack() {
+        var session = Mockito.mock(WebSocketSession.class);
+        Mockito.when(session.isOpen()).thenReturn(false);
+        Mockito.when(session.getId()).thenReturn("session1");
+        store.addSession(session);
+
+        var context = context(session);
+
+        // the caller (ChargePointServiceJsonInvoker) fails the task with it. otherwise, nothing would ever complete it.
+        Assertions.assertThrows(SteveException.class, () -> pipeline.accept(context));
+        Assertions.assertEquals(0, store.getInFlightCount());
+        Assertions.assertNull(store.poll(session, "call1"));
+    }
+
+    @Test
+    public void openSession_keepsContext() throws Exception {
+        var session = Mockito.mock(WebSocketSession.class);
+        Mockito.when(session.isOpen()).thenReturn(true);
+        Mockito.when(session.getId()).thenReturn("session1");
+        store.addSession(session);
+
+        var context = context(session);
+        pipeline.accept(context);
+
+        Mockito.verify(session).sendMessage(Mockito.any());
+        Assertions.assertSame(context.getFutureResponseContext(), store.poll(session, "call1"));
+    }
+
+    private static CommunicationContext context(WebSocketSession session) {
+        var call = new OcppJsonCall();
+        call.setMessageId("call1");
+        call.setAction("ClearCache");
+        call.setPayload(new ClearCacheRequest());
+
+        var context = new CommunicationContext(session, "cp1");
+        context.setOutgoingMessage(call);
+        context.setFutureResponseContext(new FutureResponseContext(null, ClearCacheResponse.class, "cp1"));
+        return context;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.ws.pipeline;
+
+import de.rwth.idsg.steve.ocpp.OcppVersion;
+import de.rwth.idsg.steve.ocpp.ws.data.CommunicationContext;
+import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonCall;
+import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonError;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.TimeUnit;
+
+import static de.rwth.idsg.steve.ocpp.ws.pipeline.PipelineMetrics.Stage.HANDLE;
+
+/**
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+public class PipelineMetricsTest {
+
+    @Test
+    public void record_perVersionStageAndAction() {
+        var registry = new SimpleMeterRegistry();
+        var metrics = new PipelineMetrics(registry);
+
+        long start = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(5);
+        metrics.record(OcppVersion.V_16, HANDLE, "Heartbeat", start);
+        metrics.record(OcppVersion.V_16, HANDLE, "Heartbeat", start);
+        metrics.record(OcppVersion.V_15, HANDLE, "Heartbeat", start);
+
+        var timer = registry.get(PipelineMetrics.METRIC_NAME)
+                            .tag("version", OcppVersion.V_16.getValue())
+                            .tag("stage", "handle")
+                            .tag("action", "Heartbeat")
+                            .timer();
+
+        Assertions.assertEquals(2, timer.count());
+        Assertions.assertTrue(timer.totalTime(TimeUnit.MILLISECONDS) >= 10);
+        Assertions.assertEquals(2, registry.get(PipelineMetrics.METRIC_NAME).timers().size());
+    }
+
+    @Test
+    public void getAction() {
+        var call = new OcppJsonCall();
+        call.setAction("BootNotification");
+
+        var context = context();
+        context.setIncomingMessage(call);
+        Assertions.assertEquals("BootNotification", PipelineMetrics.getAction(context));
+
+        // the action of calls that failed to deserialize is not trusted
+        context.setOutgoingMessage(new OcppJsonError());
+        Assertions.assertEquals(PipelineMetrics.UNKNOWN_ACTION, PipelineMetrics.getAction(context));
+
+        Assertions.assertEquals(PipelineMetrics.UNKNOWN_ACTION, PipelineMetrics.getAction(context()));
+    }
+
+    private static CommunicationContext context() {
+        return new CommunicationContext(Mockito.mock(WebSocketSession.class), "cp1");
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.ws.pipeline;
+
+import de.rwth.idsg.steve.ocpp.ws.JsonObjectMapper;
+import de.rwth.idsg.steve.ocpp.ws.data.CommunicationContext;
+import de.rwth.idsg.steve.ocpp.ws.data.ErrorCode;
+import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonCall;
+import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonError;
+import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonMessage;
+import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonResult;
+import ocpp.cp._2015._10.ChangeConfigurationRequest;
+import ocpp.cs._2015._10.AuthorizationStatus;
+import ocpp.cs._2015._10.IdTagInfo;
+import ocpp.cs._2015._10.StartTransactionResponse;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.web.socket.adapter.jetty.JettyWebSocketSession;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+public class SerializerTest {
+
+    private final ObjectMapper mapper = JsonObjectMapper.INSTANCE.getMapper();
+
+    @Test
+    public void testCall() {
+        var payload = new ChangeConfigurationRequest().withKey("HeartbeatInterval").withValue("300");
+
+        var call = new OcppJsonCall();
+        call.setMessageId("call1");
+        call.setAction("ChangeConfiguration");
+        call.setPayload(payload);
+
+        Assertions.assertEquals(
+            "[2,\"call1\",\"ChangeConfiguration\"," + viaTree(payload) + "]",
+            serialize(call)
+        );
+    }
+
+    @Test
+    public void testResult() {
+        var payload = new StartTransactionResponse()
+            .withTransactionId(184467)
+            .withIdTagInfo(new IdTagInfo()
+                .withStatus(AuthorizationStatus.ACCEPTED)
+                .withExpiryDate(new DateTime(2026, 10, 18, 10, 0, DateTimeZone.UTC))
+                .withParentIdTag("PARENT01"));
+
+        var result = new OcppJsonResult();
+        result.setMessageId("res1");
+        result.setPayload(payload);
+
+        Assertions.assertEquals("[3,\"res1\"," + viaTree(payload) + "]", serialize(result));
+    }
+
+    @Test
+    public void testError() {
+        var error = new OcppJsonError();
+        error.setMessageId("err1");
+        error.setErrorCode(ErrorCode.FormationViolation);
+        error.setErrorDescription("Payload is \"broken\"");
+        error.setErrorDetails("x".repeat(150));
+
+        Assertions.assertEquals(
+            "[4,\"err1\",\"FormationViolation\",\"Payload is \\\"broken\\\"\",{\"errorMsg\":\"" + "x".repeat(100) + "...\"}]",
+            serialize(error)
+        );
+    }
+
+    @Test
+    public void testErrorWithoutDescriptionAndDetails() {
+        var error = new OcppJsonError();
+        error.setMessageId(null);
+        error.setErrorCode(ErrorCode.InternalError);
+
+        Assertions.assertEquals("[4,null,\"InternalError\",\"\",{}]", serialize(error));
+    }
+
+    private String viaTree(Object payload) {
+        return mapper.writeValueAsString(mapper.valueToTree(payload));
+    }
+
+    private static String serialize(OcppJsonMessage message) {
+        var context = new CommunicationContext(Mockito.mock(JettyWebSocketSession.class), "foo");
+        context.setOutgoingMessage(message);
+        Serializer.INSTANCE.accept(context);
+        return context.getOutgoingString();
+    }
+}
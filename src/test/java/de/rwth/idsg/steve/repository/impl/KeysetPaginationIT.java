@@ -0,0 +1,172 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.repository.impl;
+
+import de.rwth.idsg.steve.repository.EventRepository;
+import de.rwth.idsg.steve.repository.OcppTagRepository;
+import de.rwth.idsg.steve.repository.ReservationRepository;
+import de.rwth.idsg.steve.repository.TransactionRepository;
+import de.rwth.idsg.steve.repository.dto.InsertReservationParams;
+import de.rwth.idsg.steve.repository.dto.OcppTag.OcppTagOverview;
+import de.rwth.idsg.steve.repository.dto.Reservation;
+import de.rwth.idsg.steve.repository.dto.SecurityEvent;
+import de.rwth.idsg.steve.repository.dto.Transaction;
+import de.rwth.idsg.steve.utils.KeysetToken;
+import de.rwth.idsg.steve.web.dto.KeysetPageable;
+import de.rwth.idsg.steve.web.dto.OcppTagQueryForm;
+import de.rwth.idsg.steve.web.dto.ReservationQueryForm;
+import de.rwth.idsg.steve.web.dto.SecurityEventsQueryForm;
+import de.rwth.idsg.steve.web.dto.TransactionQueryForm;
+import jooq.steve.db.enums.EvseTopologySource;
+import org.joda.time.DateTime;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+import static jooq.steve.db.tables.Evse.EVSE;
+import static jooq.steve.db.tables.OcppTag.OCPP_TAG;
+import static jooq.steve.db.tables.TransactionStart.TRANSACTION_START;
+
+/**
+ * Walks through all pages of the lists with keyset pagination and compares them with the unpaged list: no gaps, no
+ * duplicates, same order.
+ */
+public class KeysetPaginationIT extends AbstractRepositoryITBase {
+
+    private static final int PAGE_SIZE = 3;
+    private static final int ROW_COUNT = 3 * PAGE_SIZE + 1;
+
+    @Autowired
+    private DSLContext dslContext;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private OcppTagRepository ocppTagRepository;
+    @Autowired
+    private EventRepository eventRepository;
+
+    @BeforeEach
+    public void setup() {
+        resetDatabase(dslContext);
+    }
+
+    @Test
+    public void transactions() {
+        Integer evsePk = dslContext.select(EVSE.EVSE_PK)
+            .from(EVSE)
+            .where(EVSE.CHARGE_BOX_ID.eq(KNOWN_CHARGE_BOX_ID))
+            .and(EVSE.TOPOLOGY_SOURCE.eq(EvseTopologySource.ocpp1))
+            .and(EVSE.EVSE_ID.eq(1))
+            .fetchOne(EVSE.EVSE_PK);
+
+        for (int i = 0; i < ROW_COUNT; i++) {
+            dslContext.insertInto(TRANSACTION_START)
+                .set(TRANSACTION_START.EVENT_TIMESTAMP, DateTime.now())
+                .set(TRANSACTION_START.EVSE_PK, evsePk)
+                .set(TRANSACTION_START.ID_TAG, KNOWN_OCPP_TAG)
+                .set(TRANSACTION_START.START_TIMESTAMP, DateTime.now())
+                .set(TRANSACTION_START.START_VALUE, String.valueOf(i))
+                .execute();
+        }
+
+        assertPages(TransactionQueryForm::new, transactionRepository::getTransactions, Transaction::getId, true);
+    }
+
+    @Test
+    public void reservations() {
+        for (int i = 0; i < ROW_COUNT; i++) {
+            reservationRepository.insert(InsertReservationParams.builder()
+                .chargeBoxId(KNOWN_CHARGE_BOX_ID)
+                .connectorId(1)
+                .idTag(KNOWN_OCPP_TAG)
+                .startTimestamp(DateTime.now())
+                .expiryTimestamp(DateTime.now().plusHours(1))
+                .build());
+        }
+
+        assertPages(ReservationQueryForm::new, reservationRepository::getReservations, Reservation::getId, true);
+    }
+
+    @Test
+    public void ocppTags() {
+        for (int i = 0; i < ROW_COUNT; i++) {
+            dslContext.insertInto(OCPP_TAG)
+                .set(OCPP_TAG.ID_TAG, uniqueId("paging"))
+                .execute();
+        }
+
+        assertPages(OcppTagQueryForm::new, ocppTagRepository::getOverview, OcppTagOverview::getOcppTagPk, false);
+    }
+
+    @Test
+    public void securityEvents() {
+        for (int i = 0; i < ROW_COUNT; i++) {
+            eventRepository.insertSecurityEvent(KNOWN_CHARGE_BOX_ID, "event" + i, DateTime.now(), "info");
+        }
+
+        assertPages(SecurityEventsQueryForm::new, eventRepository::getSecurityEvents,
+            SecurityEvent::getSecurityEventPk, true);
+    }
+
+    private static <F extends KeysetPageable, T> void assertPages(Supplier<F> formFactory,
+                                                                 Function<F, List<T>> query,
+                                                                 ToIntFunction<T> pkGetter,
+                                                                 boolean descending) {
+        List<Integer> unpaged = query.apply(formFactory.get()).stream().map(pkGetter::applyAsInt).toList();
+        Assertions.assertTrue(unpaged.size() > PAGE_SIZE, () -> "Expected more than one page, got " + unpaged);
+
+        Comparator<Integer> order = descending ? Comparator.reverseOrder() : Comparator.naturalOrder();
+        Assertions.assertEquals(unpaged.stream().sorted(order).toList(), unpaged, "Not ordered by primary key");
+
+        F form = formFactory.get();
+        form.setLimit(PAGE_SIZE);
+
+        List<Integer> paged = new ArrayList<>();
+        int pageCount = 0;
+        while (true) {
+            List<T> page = query.apply(form);
+            Assertions.assertTrue(page.size() <= PAGE_SIZE);
+            page.forEach(row -> paged.add(pkGetter.applyAsInt(row)));
+            pageCount++;
+
+            String token = KeysetToken.next(page, PAGE_SIZE, pkGetter);
+            if (token == null) {
+                break;
+            }
+            Assertions.assertTrue(pageCount <= unpaged.size(), "Paging does not terminate");
+            form.setAfter(token);
+        }
+
+        Assertions.assertTrue(pageCount > 1, "Expected more than one page");
+        Assertions.assertEquals(paged.size(), new HashSet<>(paged).size(), () -> "Duplicates in " + paged);
+        Assertions.assertEquals(unpaged, paged);
+    }
+}
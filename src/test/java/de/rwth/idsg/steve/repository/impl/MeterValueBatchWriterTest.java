@@ -0,0 +1,210 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.repository.impl;
+
+import de.rwth.idsg.steve.config.SteveProperties;
+import de.rwth.idsg.steve.repository.OcppServerRepository;
+import de.rwth.idsg.steve.repository.dto.InsertMeterValuesParams;
+import ocpp.cs._2015._10.MeterValue;
+import ocpp.cs._2015._10.SampledValue;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class MeterValueBatchWriterTest {
+
+    private static final String CHARGE_BOX_ID = "station-1";
+
+    private OcppServerRepository repository;
+    private MeterValueBatchWriter writer;
+
+    @BeforeEach
+    public void init() {
+        repository = mock(OcppServerRepository.class);
+    }
+
+    @AfterEach
+    public void shutdown() {
+        if (writer != null) {
+            writer.beforeShutdown(null);
+        }
+    }
+
+    @Test
+    public void disabled_writesDirectly() {
+        writer = new MeterValueBatchWriter(repository, new SteveProperties());
+
+        writer.insertMeterValues(CHARGE_BOX_ID, meterValues(1), 1, 10);
+
+        Assertions.assertFalse(writer.isEnabled());
+        verify(repository).insertMeterValues(eq(CHARGE_BOX_ID), any(), eq(1), eq(10));
+        verify(repository, never()).insertMeterValues(anyList());
+    }
+
+    @Test
+    public void async_queuesUntilFlush() {
+        writer = start(properties(100, 1_000, Duration.ofHours(1), Duration.ofSeconds(1)));
+
+        writer.insertMeterValues(CHARGE_BOX_ID, meterValues(2), 1, 10);
+        writer.insertMeterValues(CHARGE_BOX_ID, meterValues(3), 2, null);
+
+        Assertions.assertEquals(2, writer.getQueueSize());
+        verify(repository, never()).insertMeterValues(anyList());
+
+        writer.flush();
+
+        List<InsertMeterValuesParams> batch = captureBatches(1).getFirst();
+        Assertions.assertEquals(2, batch.size());
+        Assertions.assertEquals(1, batch.get(0).getConnectorId());
+        Assertions.assertEquals(2, batch.get(1).getConnectorId());
+        Assertions.assertEquals(0, writer.getQueueSize());
+    }
+
+    @Test
+    public void async_writesWhenBatchSizeIsReached() {
+        writer = start(properties(100, 4, Duration.ofHours(1), Duration.ofSeconds(1)));
+
+        writer.insertMeterValues(CHARGE_BOX_ID, meterValues(2), 1, 10);
+        writer.insertMeterValues(CHARGE_BOX_ID, meterValues(2), 1, 10);
+
+        verify(repository, timeout(5_000)).insertMeterValues(anyList());
+        Assertions.assertEquals(0, writer.getQueueSize());
+    }
+
+    @Test
+    public void async_writesAfterMaxDelay() {
+        writer = start(properties(100, 1_000, Duration.ofMillis(50), Duration.ofSeconds(1)));
+
+        writer.insertMeterValues(CHARGE_BOX_ID, meterValues(1), 1, 10);
+
+        verify(repository, timeout(5_000)).insertMeterValues(anyList());
+    }
+
+    @Test
+    public void async_fullQueueWritesDirectly() throws Exception {
+        writer = start(properties(1, 1, Duration.ofHours(1), Duration.ofMillis(50)));
+
+        // the worker gets stuck with the first message
+        var workerBlocked = new CountDownLatch(1);
+        var unblockWorker = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            workerBlocked.countDown();
+            unblockWorker.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(repository).insertMeterValues(anyList());
+
+        writer.insertMeterValues(CHARGE_BOX_ID, meterValues(1), 1, 1);
+        Assertions.assertTrue(workerBlocked.await(5, TimeUnit.SECONDS));
+
+        writer.insertMeterValues(CHARGE_BOX_ID, meterValues(1), 1, 2); // fills the queue
+        writer.insertMeterValues(CHARGE_BOX_ID, meterValues(1), 1, 3); // waits for enqueue-timeout
+
+        verify(repository).insertMeterValues(eq(CHARGE_BOX_ID), any(), eq(1), eq(3));
+        Assertions.assertEquals(1, writer.getDirectWriteCount());
+        Assertions.assertEquals(1, writer.getQueueSize());
+
+        unblockWorker.countDown();
+        writer.flush();
+        Assertions.assertEquals(0, writer.getQueueSize());
+    }
+
+    @Test
+    public void async_failedBatchIsWrittenOneByOne() {
+        writer = start(properties(100, 1_000, Duration.ofHours(1), Duration.ofSeconds(1)));
+        doThrow(new RuntimeException("unknown transaction")).when(repository).insertMeterValues(anyList());
+
+        writer.insertMeterValues(CHARGE_BOX_ID, meterValues(1), 1, 10);
+        writer.insertMeterValues(CHARGE_BOX_ID, meterValues(1), 2, 11);
+        writer.flush();
+
+        verify(repository).insertMeterValues(eq(CHARGE_BOX_ID), any(), eq(1), eq(10));
+        verify(repository).insertMeterValues(eq(CHARGE_BOX_ID), any(), eq(2), eq(11));
+    }
+
+    @Test
+    public void shutdown_writesQueue() {
+        writer = start(properties(100, 1_000, Duration.ofHours(1), Duration.ofSeconds(1)));
+
+        writer.insertMeterValues(CHARGE_BOX_ID, meterValues(1), 1, 10);
+        writer.beforeShutdown(null);
+
+        verify(repository, times(1)).insertMeterValues(anyList());
+        Assertions.assertEquals(0, writer.getQueueSize());
+
+        // after shutdown, messages are not lost either
+        writer.insertMeterValues(CHARGE_BOX_ID, meterValues(1), 1, 11);
+        verify(repository).insertMeterValues(anyString(), any(), anyInt(), eq(11));
+        writer = null;
+    }
+
+    private MeterValueBatchWriter start(SteveProperties properties) {
+        var batchWriter = new MeterValueBatchWriter(repository, properties);
+        batchWriter.afterStart(null);
+        return batchWriter;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<InsertMeterValuesParams>> captureBatches(int count) {
+        ArgumentCaptor<List<InsertMeterValuesParams>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(count)).insertMeterValues(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private static SteveProperties properties(int queueCapacity, int batchSize, Duration maxDelay,
+                                              Duration enqueueTimeout) {
+        var properties = new SteveProperties();
+        var config = properties.getOcpp().getMeterValueIngestion();
+        config.setBestEffortAsync(true);
+        config.setQueueCapacity(queueCapacity);
+        config.setBatchSize(batchSize);
+        config.setMaxDelay(maxDelay);
+        config.setEnqueueTimeout(enqueueTimeout);
+        return properties;
+    }
+
+    private static List<MeterValue> meterValues(int sampledValueCount) {
+        List<SampledValue> sampledValues = new ArrayList<>();
+        for (int i = 0; i < sampledValueCount; i++) {
+            sampledValues.add(new SampledValue().withValue(Integer.toString(i)));
+        }
+        return List.of(new MeterValue().withTimestamp(DateTime.now()).withSampledValue(sampledValues));
+    }
+}
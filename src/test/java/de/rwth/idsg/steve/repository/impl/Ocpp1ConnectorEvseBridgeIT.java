@@ -18,6 +18,7 @@
  */
 package de.rwth.idsg.steve.repository.impl;
 
+import de.rwth.idsg.steve.repository.ChargePointRepository;
 import jooq.steve.db.enums.EvseTopologySource;
 import org.jooq.DSLContext;
 import org.junit.jupiter.api.Assertions;
@@ -44,6 +45,8 @@ public class Ocpp1ConnectorEvseBridgeIT extends AbstractRepositoryITBase {
 
     @Autowired
     private DSLContext dslContext;
+    @Autowired
+    private ChargePointRepository chargePointRepository;
 
     @BeforeEach
     public void setup() {
@@ -120,6 +123,37 @@ public class Ocpp1ConnectorEvseBridgeIT extends AbstractRepositoryITBase {
         Assertions.assertEquals(1, physicalConnectorCount);
     }
 
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void insertIgnoreConnectorResolvesNewTopologyAfterChargePointDeletion() {
+        String chargeBoxId = uniqueId("recreated_topology");
+
+        int chargeBoxPk = insertChargeBox(chargeBoxId);
+        int firstEvsePk = Ocpp1ConnectorEvseBridge.insertIgnoreConnector(dslContext, chargeBoxId, 1, false);
+        Assertions.assertEquals(firstEvsePk, Ocpp1ConnectorEvseBridge.insertIgnoreConnector(dslContext, chargeBoxId, 1, false));
+
+        chargePointRepository.deleteChargePoint(chargeBoxPk);
+        insertChargeBox(chargeBoxId);
+        int secondEvsePk = Ocpp1ConnectorEvseBridge.insertIgnoreConnector(dslContext, chargeBoxId, 1, false);
+
+        Integer evsePkInDb = dslContext.select(EVSE.EVSE_PK)
+            .from(EVSE)
+            .where(EVSE.CHARGE_BOX_ID.eq(chargeBoxId))
+            .and(EVSE.TOPOLOGY_SOURCE.eq(EvseTopologySource.ocpp1))
+            .and(EVSE.EVSE_ID.eq(1))
+            .fetchOne(EVSE.EVSE_PK);
+
+        Assertions.assertNotEquals(firstEvsePk, secondEvsePk);
+        Assertions.assertEquals(evsePkInDb, secondEvsePk);
+    }
+
+    private int insertChargeBox(String chargeBoxId) {
+        return dslContext.insertInto(CHARGE_BOX)
+            .set(CHARGE_BOX.CHARGE_BOX_ID, chargeBoxId)
+            .returning(CHARGE_BOX.CHARGE_BOX_PK)
+            .fetchOne(CHARGE_BOX.CHARGE_BOX_PK);
+    }
+
     private static <T> List<T> runConcurrently(List<Supplier<T>> operations) throws Exception {
         var ready = new CountDownLatch(operations.size());
         var start = new CountDownLatch(1);
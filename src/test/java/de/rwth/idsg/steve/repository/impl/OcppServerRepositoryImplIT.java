@@ -21,6 +21,7 @@ package de.rwth.idsg.steve.repository.impl;
 import de.rwth.idsg.steve.ocpp.OcppProtocol;
 import de.rwth.idsg.steve.repository.OcppServerRepository;
 import de.rwth.idsg.steve.repository.dto.InsertConnectorStatusParams;
+import de.rwth.idsg.steve.repository.dto.InsertMeterValuesParams;
 import de.rwth.idsg.steve.repository.dto.InsertTransactionParams;
 import de.rwth.idsg.steve.repository.dto.UpdateChargeboxParams;
 import de.rwth.idsg.steve.repository.dto.UpdateTransactionParams;
@@ -29,6 +30,7 @@ import jooq.steve.db.enums.TransactionStopEventActor;
 import jooq.steve.db.tables.records.ReservationRecord;
 import jooq.steve.db.tables.records.TransactionRecord;
 import ocpp.cs._2015._10.MeterValue;
+import ocpp.cs._2015._10.SampledValue;
 import org.joda.time.DateTime;
 import org.jooq.DSLContext;
 import org.junit.jupiter.api.Assertions;
@@ -37,11 +39,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.List;
+import java.util.Map;
 
 import static jooq.steve.db.tables.ChargeBox.CHARGE_BOX;
+import static jooq.steve.db.tables.ConnectorMeterValue.CONNECTOR_METER_VALUE;
 import static jooq.steve.db.tables.ConnectorStatus.CONNECTOR_STATUS;
+import static jooq.steve.db.tables.ConnectorStatusLatest.CONNECTOR_STATUS_LATEST;
 import static jooq.steve.db.tables.Evse.EVSE;
 import static jooq.steve.db.tables.EvseConnector.EVSE_CONNECTOR;
+import static jooq.steve.db.tables.OcppTag.OCPP_TAG;
 import static jooq.steve.db.tables.Reservation.RESERVATION;
 import static jooq.steve.db.tables.TransactionStart.TRANSACTION_START;
 import static jooq.steve.db.tables.TransactionStop.TRANSACTION_STOP;
@@ -123,6 +129,31 @@ public class OcppServerRepositoryImplIT extends AbstractRepositoryITBase {
         Assertions.assertNotNull(stored);
     }
 
+    @Test
+    public void updateChargeboxHeartbeats() {
+        DateTime ts = DateTime.now().withMillisOfSecond(0);
+        assertNoDatabaseException(() -> repository.updateChargeboxHeartbeats(Map.of(KNOWN_CHARGE_BOX_ID, ts, "unknown-box", ts)));
+        DateTime stored = dslContext.select(CHARGE_BOX.LAST_HEARTBEAT_TIMESTAMP)
+            .from(CHARGE_BOX)
+            .where(CHARGE_BOX.CHARGE_BOX_ID.eq(KNOWN_CHARGE_BOX_ID))
+            .fetchOne(CHARGE_BOX.LAST_HEARTBEAT_TIMESTAMP);
+        Assertions.assertNotNull(stored);
+        Assertions.assertEquals(ts.getMillis(), stored.getMillis());
+    }
+
+    @Test
+    public void updateChargeboxHeartbeatsKeepsNewer() {
+        DateTime newer = DateTime.now().withMillisOfSecond(0);
+        repository.updateChargeboxHeartbeat(KNOWN_CHARGE_BOX_ID, newer);
+        repository.updateChargeboxHeartbeats(Map.of(KNOWN_CHARGE_BOX_ID, newer.minusMinutes(1)));
+
+        DateTime stored = dslContext.select(CHARGE_BOX.LAST_HEARTBEAT_TIMESTAMP)
+            .from(CHARGE_BOX)
+            .where(CHARGE_BOX.CHARGE_BOX_ID.eq(KNOWN_CHARGE_BOX_ID))
+            .fetchOne(CHARGE_BOX.LAST_HEARTBEAT_TIMESTAMP);
+        Assertions.assertEquals(newer.getMillis(), stored.getMillis());
+    }
+
     @Test
     public void insertConnectorStatus() {
         assertNoDatabaseException(() -> repository.insertConnectorStatus(connectorStatusParams()));
@@ -132,6 +163,33 @@ public class OcppServerRepositoryImplIT extends AbstractRepositoryITBase {
         Assertions.assertEquals(1, count);
     }
 
+    @Test
+    public void insertConnectorStatusKeepsLatest() {
+        DateTime now = DateTime.now().withMillisOfSecond(0);
+        var newer = InsertConnectorStatusParams.builder()
+            .chargeBoxId(KNOWN_CHARGE_BOX_ID)
+            .connectorId(1)
+            .timestamp(now)
+            .status("Charging")
+            .errorCode("NoError")
+            .build();
+        var older = InsertConnectorStatusParams.builder()
+            .chargeBoxId(KNOWN_CHARGE_BOX_ID)
+            .connectorId(1)
+            .timestamp(now.minusMinutes(1))
+            .status("Available")
+            .errorCode("NoError")
+            .build();
+
+        repository.insertConnectorStatus(newer);
+        repository.insertConnectorStatus(older);
+
+        Assertions.assertEquals(2, dslContext.fetchCount(CONNECTOR_STATUS));
+        var latest = dslContext.selectFrom(CONNECTOR_STATUS_LATEST).fetch();
+        Assertions.assertEquals(1, latest.size());
+        Assertions.assertEquals("Charging", latest.get(0).getStatus());
+    }
+
     @Test
     public void insertConnectorStatusCreatesOcpp1PhysicalConnector() {
         int ocpp1ConnectorId = 2;
@@ -163,6 +221,24 @@ public class OcppServerRepositoryImplIT extends AbstractRepositoryITBase {
         assertNoDatabaseException(() -> repository.insertMeterValues(KNOWN_CHARGE_BOX_ID, List.of(new MeterValue()), transaction));
     }
 
+    @Test
+    public void insertMeterValuesBatch() {
+        var params = InsertMeterValuesParams.builder()
+            .chargeBoxId(KNOWN_CHARGE_BOX_ID)
+            .connectorId(1)
+            .meterValues(List.of(new MeterValue()
+                .withTimestamp(DateTime.now())
+                .withSampledValue(new SampledValue().withValue("1"), new SampledValue().withValue("2"))))
+            .build();
+
+        assertNoDatabaseException(() -> repository.insertMeterValues(List.of(params, params)));
+
+        Integer count = dslContext.selectCount()
+            .from(CONNECTOR_METER_VALUE)
+            .fetchOne(0, int.class);
+        Assertions.assertEquals(4, count);
+    }
+
     @Test
     public void getTransaction() {
         var params = insertTransactionParams();
@@ -239,6 +315,32 @@ public class OcppServerRepositoryImplIT extends AbstractRepositoryITBase {
         Assertions.assertEquals(1, count);
     }
 
+    @Test
+    public void activeTransactionCount() {
+        int txId = repository.insertTransaction(insertTransactionParams());
+        Assertions.assertEquals(1L, activeTransactionCount());
+
+        repository.updateTransaction(updateTransactionParams(txId));
+        Assertions.assertEquals(0L, activeTransactionCount());
+
+        // a second stop event of the same transaction must not decrement again
+        repository.insertTransaction(insertTransactionParams());
+        repository.updateTransaction(updateTransactionParams(txId));
+        Assertions.assertEquals(1L, activeTransactionCount());
+    }
+
+    @Test
+    public void activeTransactionCountKeepsUpdatedAt() {
+        var before = tagUpdatedAt();
+        waitForTimestampTick();
+
+        int txId = repository.insertTransaction(insertTransactionParams());
+        repository.updateTransaction(updateTransactionParams(txId));
+
+        // the counter changed twice, but the tag itself was not edited
+        Assertions.assertEquals(before, tagUpdatedAt());
+    }
+
     @Test
     public void updateTransactionAsFailed() {
         int txId = repository.insertTransaction(insertTransactionParams());
@@ -296,6 +398,20 @@ public class OcppServerRepositoryImplIT extends AbstractRepositoryITBase {
             .build();
     }
 
+    private Long activeTransactionCount() {
+        return dslContext.select(OCPP_TAG.ACTIVE_TRANSACTION_COUNT)
+            .from(OCPP_TAG)
+            .where(OCPP_TAG.ID_TAG.eq(KNOWN_OCPP_TAG))
+            .fetchOne(OCPP_TAG.ACTIVE_TRANSACTION_COUNT);
+    }
+
+    private DateTime tagUpdatedAt() {
+        return dslContext.select(OCPP_TAG.UPDATED_AT)
+            .from(OCPP_TAG)
+            .where(OCPP_TAG.ID_TAG.eq(KNOWN_OCPP_TAG))
+            .fetchOne(OCPP_TAG.UPDATED_AT);
+    }
+
     private static InsertTransactionParams insertTransactionParams() {
         return InsertTransactionParams.builder()
             .chargeBoxId(KNOWN_CHARGE_BOX_ID)
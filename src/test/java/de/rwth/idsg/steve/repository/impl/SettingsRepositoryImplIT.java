@@ -28,6 +28,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.List;
 
+import static jooq.steve.db.tables.Settings.SETTINGS;
+
 /**
  * Created with assistance from GPT-5.3-Codex
  */
@@ -103,6 +105,27 @@ public class SettingsRepositoryImplIT extends AbstractRepositoryITBase {
         Assertions.assertEquals(form.getMailSettings().getRecipients(), after.getRecipients());
     }
 
+    @Test
+    public void update_isVisibleInCachedValues() {
+        repository.getHeartbeatIntervalInSeconds(); // make sure it is cached
+
+        SettingsForm form = settingsForm();
+        repository.update(form.getOcppSettings());
+
+        Assertions.assertEquals(5 * 60, repository.getHeartbeatIntervalInSeconds());
+        Assertions.assertEquals(24, repository.getHoursToExpire());
+    }
+
+    @Test
+    public void clearCache_readsExternalChanges() {
+        repository.getHoursToExpire(); // make sure it is cached
+
+        dslContext.update(SETTINGS).set(SETTINGS.HOURS_TO_EXPIRE, 77).execute();
+        repository.clearCache();
+
+        Assertions.assertEquals(77, repository.getHoursToExpire());
+    }
+
     private static SettingsForm settingsForm() {
         var form = new SettingsForm();
         form.setOcppSettings(SettingsForm.OcppSettings.builder().heartbeat(5).expiration(24).build());
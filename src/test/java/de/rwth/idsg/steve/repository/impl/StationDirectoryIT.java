@@ -0,0 +1,237 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.repository.impl;
+
+import de.rwth.idsg.steve.config.SteveProperties;
+import de.rwth.idsg.steve.ocpp.OcppProtocol;
+import de.rwth.idsg.steve.repository.dto.UpdateChargeboxParams;
+import ocpp.cs._2015._10.RegistrationStatus;
+import org.joda.time.DateTime;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static jooq.steve.db.tables.ChargeBox.CHARGE_BOX;
+
+public class StationDirectoryIT extends AbstractRepositoryITBase {
+
+    @Autowired
+    private DSLContext dslContext;
+
+    private StationDirectory directory;
+
+    @BeforeEach
+    public void setup() {
+        resetDatabase(dslContext);
+
+        // the test profile disables the directory
+        var properties = new SteveProperties();
+        properties.getOcpp().setStationDirectoryRefreshInterval(Duration.ofMinutes(5));
+        directory = new StationDirectory(dslContext, null, properties);
+        directory.reloadAll();
+    }
+
+    @Test
+    public void getRegistration_isCaseInsensitive() {
+        var registration = directory.getRegistration(KNOWN_CHARGE_BOX_ID.toUpperCase(Locale.ROOT));
+
+        Assertions.assertTrue(registration.isPresent());
+        Assertions.assertEquals(KNOWN_CHARGE_BOX_ID, registration.get().chargeBoxId());
+    }
+
+    @Test
+    public void getRegistration_findsStationAddedByOthers() {
+        String chargeBoxId = "added_later_" + UUID.randomUUID();
+        dslContext.insertInto(CHARGE_BOX).set(CHARGE_BOX.CHARGE_BOX_ID, chargeBoxId).execute();
+
+        Assertions.assertTrue(directory.getRegistration(chargeBoxId).isPresent());
+        Assertions.assertTrue(directory.getRegistration("unknown").isEmpty());
+    }
+
+    @Test
+    public void refresh_appliesChanges() {
+        dslContext.update(CHARGE_BOX)
+            .set(CHARGE_BOX.REGISTRATION_STATUS, RegistrationStatus.REJECTED.value())
+            .set(CHARGE_BOX.INSERT_CONNECTOR_STATUS_AFTER_TRANSACTION_MSG, true)
+            .where(CHARGE_BOX.CHARGE_BOX_ID.eq(KNOWN_CHARGE_BOX_ID))
+            .execute();
+
+        Assertions.assertEquals(RegistrationStatus.ACCEPTED.value(), registrationStatus());
+        Assertions.assertFalse(directory.isInsertConnectorStatusAfterTransactionMsg(KNOWN_CHARGE_BOX_ID));
+
+        directory.refresh(KNOWN_CHARGE_BOX_ID);
+
+        Assertions.assertEquals(RegistrationStatus.REJECTED.value(), registrationStatus());
+        Assertions.assertTrue(directory.isInsertConnectorStatusAfterTransactionMsg(KNOWN_CHARGE_BOX_ID));
+    }
+
+    @Test
+    public void remove_afterDeletion() {
+        dslContext.deleteFrom(CHARGE_BOX).where(CHARGE_BOX.CHARGE_BOX_ID.eq(KNOWN_CHARGE_BOX_ID)).execute();
+        directory.remove(KNOWN_CHARGE_BOX_ID);
+
+        Assertions.assertTrue(directory.getRegistration(KNOWN_CHARGE_BOX_ID).isEmpty());
+    }
+
+    @Test
+    public void getChargePointSelect() {
+        var protocol = OcppProtocol.V_16_SOAP;
+        dslContext.update(CHARGE_BOX)
+            .set(CHARGE_BOX.OCPP_PROTOCOL, protocol.getCompositeValue())
+            .set(CHARGE_BOX.ENDPOINT_ADDRESS, "http://localhost:1234")
+            .where(CHARGE_BOX.CHARGE_BOX_ID.eq(KNOWN_CHARGE_BOX_ID))
+            .execute();
+        directory.refresh(KNOWN_CHARGE_BOX_ID);
+
+        var accepted = List.of(RegistrationStatus.ACCEPTED.value());
+
+        var all = directory.getChargePointSelect(protocol, accepted, List.of());
+        Assertions.assertEquals(1, all.size());
+        Assertions.assertEquals("http://localhost:1234", all.getFirst().getEndpointAddress());
+
+        Assertions.assertTrue(directory.getChargePointSelect(OcppProtocol.V_15_SOAP, accepted, List.of()).isEmpty());
+        Assertions.assertTrue(directory.getChargePointSelect(protocol, accepted, List.of("other")).isEmpty());
+        Assertions.assertTrue(directory.hasEndpointAddress(KNOWN_CHARGE_BOX_ID, "http://localhost:1234"));
+        Assertions.assertTrue(directory.hasOcppProtocol(KNOWN_CHARGE_BOX_ID, protocol));
+    }
+
+    @Test
+    public void countSoapStations_whenDisabled() {
+        var properties = new SteveProperties();
+        properties.getOcpp().setStationDirectoryRefreshInterval(Duration.ZERO);
+        var disabled = new StationDirectory(dslContext, null, properties);
+
+        disabled.countSoapStations();
+        Assertions.assertEquals(0, disabled.getSoapStationCount());
+
+        dslContext.update(CHARGE_BOX)
+            .set(CHARGE_BOX.OCPP_PROTOCOL, OcppProtocol.V_16_SOAP.getCompositeValue())
+            .set(CHARGE_BOX.ENDPOINT_ADDRESS, "http://localhost:1234")
+            .where(CHARGE_BOX.CHARGE_BOX_ID.eq(KNOWN_CHARGE_BOX_ID))
+            .execute();
+        disabled.countSoapStations();
+        Assertions.assertEquals(1, disabled.getSoapStationCount());
+
+        // a JSON station with a leftover endpoint address is not counted
+        dslContext.update(CHARGE_BOX)
+            .set(CHARGE_BOX.OCPP_PROTOCOL, OcppProtocol.V_16_JSON.getCompositeValue())
+            .where(CHARGE_BOX.CHARGE_BOX_ID.eq(KNOWN_CHARGE_BOX_ID))
+            .execute();
+        disabled.countSoapStations();
+        Assertions.assertEquals(0, disabled.getSoapStationCount());
+    }
+
+    @Test
+    public void ocppServerRepository_refreshesDirectory() {
+        var repository = new OcppServerRepositoryImpl(dslContext, new ReservationRepositoryImpl(dslContext), directory);
+
+        repository.updateOcppProtocol(KNOWN_CHARGE_BOX_ID, OcppProtocol.V_16_SOAP);
+        repository.updateEndpointAddress(KNOWN_CHARGE_BOX_ID, "http://localhost:1234");
+
+        Assertions.assertTrue(directory.hasOcppProtocol(KNOWN_CHARGE_BOX_ID, OcppProtocol.V_16_SOAP));
+        Assertions.assertTrue(directory.hasEndpointAddress(KNOWN_CHARGE_BOX_ID, "http://localhost:1234"));
+
+        repository.updateChargebox(UpdateChargeboxParams.builder()
+            .chargeBoxId(KNOWN_CHARGE_BOX_ID)
+            .ocppProtocol(OcppProtocol.V_16_JSON)
+            .heartbeatTimestamp(DateTime.now())
+            .build());
+
+        Assertions.assertTrue(directory.hasOcppProtocol(KNOWN_CHARGE_BOX_ID, OcppProtocol.V_16_JSON));
+        Assertions.assertFalse(directory.hasOcppProtocol(KNOWN_CHARGE_BOX_ID, OcppProtocol.V_16_SOAP));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void concurrentWrites_endWithLatestState() throws Exception {
+        List<String> chargeBoxIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            String chargeBoxId = uniqueId("concurrent_directory");
+            dslContext.insertInto(CHARGE_BOX).set(CHARGE_BOX.CHARGE_BOX_ID, chargeBoxId).execute();
+            chargeBoxIds.add(chargeBoxId);
+        }
+
+        List<Callable<Void>> operations = new ArrayList<>();
+        for (String chargeBoxId : chargeBoxIds) {
+            // the writer changes the station, while another thread keeps refreshing the same station
+            operations.add(() -> {
+                for (int i = 0; i < 20; i++) {
+                    var status = (i % 2 == 0) ? RegistrationStatus.REJECTED : RegistrationStatus.PENDING;
+                    dslContext.update(CHARGE_BOX)
+                        .set(CHARGE_BOX.REGISTRATION_STATUS, status.value())
+                        .where(CHARGE_BOX.CHARGE_BOX_ID.eq(chargeBoxId))
+                        .execute();
+                    directory.refresh(chargeBoxId);
+                }
+                return null;
+            });
+            operations.add(() -> {
+                for (int i = 0; i < 20; i++) {
+                    directory.refresh(chargeBoxId);
+                }
+                return null;
+            });
+        }
+        operations.add(() -> {
+            for (int i = 0; i < 5; i++) {
+                directory.reloadAll();
+            }
+            return null;
+        });
+
+        var executor = Executors.newFixedThreadPool(operations.size());
+        try {
+            List<Future<Void>> futures = executor.invokeAll(operations, 30, TimeUnit.SECONDS);
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (String chargeBoxId : chargeBoxIds) {
+            String inDatabase = dslContext.select(CHARGE_BOX.REGISTRATION_STATUS)
+                .from(CHARGE_BOX)
+                .where(CHARGE_BOX.CHARGE_BOX_ID.eq(chargeBoxId))
+                .fetchOne(CHARGE_BOX.REGISTRATION_STATUS);
+
+            Assertions.assertEquals(RegistrationStatus.PENDING.value(), inDatabase);
+            var registration = directory.getRegistration(chargeBoxId).orElseThrow();
+            Assertions.assertEquals(inDatabase, registration.registrationStatus());
+        }
+    }
+
+    private String registrationStatus() {
+        return directory.getRegistration(KNOWN_CHARGE_BOX_ID).orElseThrow().registrationStatus();
+    }
+}
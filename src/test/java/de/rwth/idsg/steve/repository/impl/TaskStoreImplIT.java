@@ -21,6 +21,7 @@ package de.rwth.idsg.steve.repository.impl;
 import de.rwth.idsg.steve.ocpp.TaskOrigin;
 import de.rwth.idsg.steve.repository.TaskStore;
 import de.rwth.idsg.steve.SteveException;
+import org.joda.time.DateTime;
 import org.jooq.DSLContext;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -95,7 +96,9 @@ public class TaskStoreImplIT extends AbstractRepositoryITBase {
         var task = mock(de.rwth.idsg.steve.ocpp.CommunicationTask.class);
         when(task.isFinished()).thenReturn(finished);
         when(task.getOrigin()).thenReturn(TaskOrigin.INTERNAL);
+        when(task.getStartTimestamp()).thenReturn(DateTime.now());
         when(task.getResponseCount()).thenReturn(new AtomicInteger(0));
+        when(task.getDispatchedCount()).thenReturn(new AtomicInteger(0));
         when(task.getResultMap()).thenReturn(new HashMap<>());
         return task;
     }
@@ -0,0 +1,144 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.repository.impl;
+
+import de.rwth.idsg.steve.config.SteveProperties;
+import de.rwth.idsg.steve.ocpp.CommunicationTask;
+import de.rwth.idsg.steve.ocpp.TaskOrigin;
+import de.rwth.idsg.steve.repository.dto.TaskOverview;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TaskStoreImplTest {
+
+    @Test
+    public void getOverview_newestFirstAndPaged() {
+        var store = new TaskStoreImpl(new SteveProperties());
+        for (int i = 0; i < 5; i++) {
+            store.add(mockTask(false, DateTime.now()));
+        }
+
+        Assertions.assertEquals(List.of(5, 4, 3, 2, 1), taskIds(store.getOverview()));
+        Assertions.assertEquals(List.of(3, 2), taskIds(store.getOverview(2, 2)));
+        Assertions.assertEquals(5, store.getCount());
+    }
+
+    @Test
+    public void maxCount_evictsFinishedFirst() {
+        var properties = new SteveProperties();
+        properties.getTasks().setMaxCount(2);
+        var store = new TaskStoreImpl(properties);
+
+        Integer unfinished = store.add(mockTask(false, DateTime.now()));
+        Integer finished = store.add(mockTask(true, DateTime.now()));
+        Integer newest = store.add(mockTask(false, DateTime.now()));
+
+        Assertions.assertNotNull(store.find(unfinished));
+        Assertions.assertNull(store.find(finished));
+        Assertions.assertNotNull(store.find(newest));
+        Assertions.assertEquals(1, store.getEvictedCount());
+    }
+
+    @Test
+    public void maxCount_evictsUnfinishedIfNecessary() {
+        var properties = new SteveProperties();
+        properties.getTasks().setMaxCount(1);
+        var store = new TaskStoreImpl(properties);
+
+        Integer oldest = store.add(mockTask(false, DateTime.now()));
+        Integer newest = store.add(mockTask(false, DateTime.now()));
+
+        Assertions.assertNull(store.find(oldest));
+        Assertions.assertNotNull(store.find(newest));
+        Assertions.assertEquals(1, store.getCount());
+    }
+
+    @Test
+    public void maxAge_evictsOldTasks() {
+        var properties = new SteveProperties();
+        properties.getTasks().setMaxAge(Duration.ofHours(1));
+        var store = new TaskStoreImpl(properties);
+
+        Integer old = store.add(mockTask(false, DateTime.now().minusHours(2)));
+        Integer young = store.add(mockTask(false, DateTime.now()));
+
+        Assertions.assertNull(store.find(old));
+        Assertions.assertNotNull(store.find(young));
+    }
+
+    @Test
+    public void maxMemory_evictsOldestFinished() {
+        var properties = new SteveProperties();
+        properties.getTasks().setMaxMemory(DataSize.ofKilobytes(10));
+        var store = new TaskStoreImpl(properties);
+
+        Integer big = store.add(mockTask(true, DateTime.now(), 20));
+        Integer small = store.add(mockTask(true, DateTime.now(), 1));
+
+        Assertions.assertNull(store.find(big));
+        Assertions.assertNotNull(store.find(small));
+    }
+
+    @Test
+    public void maxMemory_keepsNewestTaskEvenIfTooBig() {
+        var properties = new SteveProperties();
+        properties.getTasks().setMaxMemory(DataSize.ofKilobytes(10));
+        var store = new TaskStoreImpl(properties);
+
+        Integer small = store.add(mockTask(false, DateTime.now(), 1));
+        Integer tooBig = store.add(mockTask(false, DateTime.now(), 100));
+
+        // the older one makes room, but the new one must be there for the caller that just got its id
+        Assertions.assertNull(store.find(small));
+        Assertions.assertNotNull(store.find(tooBig));
+
+        // also not removed by the eviction of the overview
+        Assertions.assertEquals(List.of(tooBig), taskIds(store.getOverview()));
+    }
+
+    private static List<Integer> taskIds(List<TaskOverview> overview) {
+        return overview.stream().map(TaskOverview::getTaskId).toList();
+    }
+
+    private static CommunicationTask mockTask(boolean finished, DateTime start) {
+        return mockTask(finished, start, 1);
+    }
+
+    private static CommunicationTask mockTask(boolean finished, DateTime start, int stationCount) {
+        var task = mock(CommunicationTask.class);
+        when(task.isFinished()).thenReturn(finished);
+        when(task.getOrigin()).thenReturn(TaskOrigin.INTERNAL);
+        when(task.getStartTimestamp()).thenReturn(start);
+        when(task.getResultSize()).thenReturn(stationCount);
+        when(task.getResponseCount()).thenReturn(new AtomicInteger(0));
+        when(task.getDispatchedCount()).thenReturn(new AtomicInteger(0));
+        when(task.getResultMap()).thenReturn(new HashMap<>());
+        return task;
+    }
+}
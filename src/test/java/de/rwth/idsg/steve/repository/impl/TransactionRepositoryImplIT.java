@@ -21,6 +21,7 @@ package de.rwth.idsg.steve.repository.impl;
 import de.rwth.idsg.steve.repository.TransactionRepository;
 import de.rwth.idsg.steve.web.dto.TransactionQueryForm;
 import jooq.steve.db.enums.EvseTopologySource;
+import jooq.steve.db.enums.TransactionStopEventActor;
 import org.joda.time.DateTime;
 import org.jooq.DSLContext;
 import org.junit.jupiter.api.Assertions;
@@ -32,7 +33,9 @@ import java.io.StringWriter;
 
 import static jooq.steve.db.tables.ConnectorMeterValue.CONNECTOR_METER_VALUE;
 import static jooq.steve.db.tables.Evse.EVSE;
+import static jooq.steve.db.tables.Transaction.TRANSACTION;
 import static jooq.steve.db.tables.TransactionStart.TRANSACTION_START;
+import static jooq.steve.db.tables.TransactionStop.TRANSACTION_STOP;
 
 /**
  * Created with assistance from GPT-5.3-Codex
@@ -129,9 +132,60 @@ public class TransactionRepositoryImplIT extends AbstractRepositoryITBase {
     }
 
     @Test
-    public void getStoppedTransactions() {
-        var result = assertNoDatabaseException(() -> repository.getStoppedTransactions(DateTime.now().minusDays(1), DateTime.now()));
-        Assertions.assertNotNull(result);
+    public void writeStoppedTransactionsCSV() {
+        var writer = new StringWriter();
+        assertNoDatabaseException(() -> repository.writeStoppedTransactionsCSV(DateTime.now().minusDays(1), DateTime.now(), writer));
+        Assertions.assertTrue(writer.toString().startsWith("transaction_pk,"), writer::toString);
+    }
+
+    @Test
+    public void writeStoppedTransactionsCSV_sameAsFormatCSV() {
+        Integer connectorPk = dslContext.select(EVSE.EVSE_PK)
+            .from(EVSE)
+            .where(EVSE.CHARGE_BOX_ID.eq(KNOWN_CHARGE_BOX_ID))
+            .and(EVSE.TOPOLOGY_SOURCE.eq(EvseTopologySource.ocpp1))
+            .and(EVSE.EVSE_ID.eq(1))
+            .fetchOne(EVSE.EVSE_PK);
+
+        DateTime start = DateTime.now().minusHours(2).withMillisOfSecond(123);
+
+        // values that need escaping: delimiter, quotes, line break. stop reason null vs. empty.
+        Integer first = insertTransactionStart(connectorPk, start, "1,5");
+        insertTransactionStop(first, start.plusMinutes(30), "say \"hi\"\nagain", null);
+        Integer second = insertTransactionStart(connectorPk, start.plusMinutes(1), "200");
+        insertTransactionStop(second, start.plusMinutes(31), "300", "");
+
+        DateTime from = DateTime.now().minusDays(1);
+        DateTime to = DateTime.now();
+
+        var streamed = new StringWriter();
+        assertNoDatabaseException(() -> repository.writeStoppedTransactionsCSV(from, to, streamed));
+
+        // what we did before streaming
+        var expected = new StringWriter();
+        dslContext.selectFrom(TRANSACTION)
+            .where(TRANSACTION.STOP_TIMESTAMP.ge(from)
+            .and(TRANSACTION.STOP_TIMESTAMP.lt(to)))
+            .orderBy(TRANSACTION.START_TIMESTAMP)
+            .fetch()
+            .formatCSV(expected);
+
+        // make sure that the escaping was actually exercised
+        Assertions.assertTrue(expected.toString().contains("\"1,5\""), expected::toString);
+        Assertions.assertTrue(expected.toString().contains("\"say \"\"hi\"\"\nagain\""), expected::toString);
+        Assertions.assertEquals(expected.toString(), streamed.toString());
+    }
+
+    private void insertTransactionStop(Integer transactionPk, DateTime stopTimestamp, String stopValue,
+                                       String stopReason) {
+        dslContext.insertInto(TRANSACTION_STOP)
+            .set(TRANSACTION_STOP.TRANSACTION_PK, transactionPk)
+            .set(TRANSACTION_STOP.EVENT_TIMESTAMP, stopTimestamp)
+            .set(TRANSACTION_STOP.EVENT_ACTOR, TransactionStopEventActor.station)
+            .set(TRANSACTION_STOP.STOP_TIMESTAMP, stopTimestamp)
+            .set(TRANSACTION_STOP.STOP_VALUE, stopValue)
+            .set(TRANSACTION_STOP.STOP_REASON, stopReason)
+            .execute();
     }
 
     private Integer insertTransactionStart(Integer connectorPk, DateTime startTimestamp, String startValue) {
@@ -0,0 +1,68 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.service;
+
+import de.rwth.idsg.steve.config.SteveProperties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+public class ApiCredentialCacheTest {
+
+    @Test
+    public void isVerified() {
+        var cache = new ApiCredentialCache(new SteveProperties());
+
+        Assertions.assertFalse(cache.isVerified("admin", "secret", "hash1"));
+
+        cache.putVerified("admin", "secret", "hash1");
+
+        Assertions.assertTrue(cache.isVerified("admin", "secret", "hash1"));
+        Assertions.assertTrue(cache.isVerified("ADMIN", "secret", "hash1"));
+        Assertions.assertFalse(cache.isVerified("admin", "wrong", "hash1"));
+        // API password was changed in database
+        Assertions.assertFalse(cache.isVerified("admin", "secret", "hash2"));
+
+        Assertions.assertEquals(2, cache.getHitCount());
+        Assertions.assertEquals(3, cache.getMissCount());
+    }
+
+    @Test
+    public void invalidateAll() {
+        var cache = new ApiCredentialCache(new SteveProperties());
+
+        cache.putVerified("admin", "secret", "hash1");
+        cache.invalidateAll();
+
+        Assertions.assertFalse(cache.isVerified("admin", "secret", "hash1"));
+    }
+
+    @Test
+    public void disabled() {
+        var properties = new SteveProperties();
+        properties.getAuth().setApiCredentialCacheTtl(Duration.ZERO);
+        var cache = new ApiCredentialCache(properties);
+
+        cache.putVerified("admin", "secret", "hash1");
+
+        Assertions.assertFalse(cache.isEnabled());
+        Assertions.assertFalse(cache.isVerified("admin", "secret", "hash1"));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.service;
+
+import de.rwth.idsg.steve.config.SteveProperties;
+import de.rwth.idsg.steve.repository.OcppTagRepository;
+import de.rwth.idsg.steve.repository.dto.InsertTransactionParams;
+import de.rwth.idsg.steve.service.notification.OcppTransactionEnded;
+import de.rwth.idsg.steve.service.notification.OcppTransactionStarted;
+import jooq.steve.db.tables.records.OcppTagActivityRecord;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AuthTagCacheTest {
+
+    private static final String ID_TAG = "abc1234";
+
+    private OcppTagRepository ocppTagRepository;
+
+    @BeforeEach
+    public void init() {
+        ocppTagRepository = mock(OcppTagRepository.class);
+        when(ocppTagRepository.getRecord(ID_TAG)).thenAnswer(invocation -> record(0L));
+    }
+
+    @Test
+    public void getRecord_loadsOnlyOnce() {
+        var cache = new AuthTagCache(ocppTagRepository, new SteveProperties());
+
+        cache.getRecord(ID_TAG);
+        cache.getRecord(ID_TAG);
+
+        verify(ocppTagRepository, times(1)).getRecord(ID_TAG);
+        Assertions.assertEquals(1, cache.getStats().hitCount());
+    }
+
+    @Test
+    public void getRecord_unknownTagIsCached() {
+        var cache = new AuthTagCache(ocppTagRepository, new SteveProperties());
+
+        Assertions.assertNull(cache.getRecord("unknown"));
+        Assertions.assertNull(cache.getRecord("unknown"));
+
+        verify(ocppTagRepository, times(1)).getRecord("unknown");
+    }
+
+    @Test
+    public void getRecord_returnsCopies() {
+        var cache = new AuthTagCache(ocppTagRepository, new SteveProperties());
+
+        cache.getRecord(ID_TAG).setActiveTransactionCount(5L);
+
+        Assertions.assertEquals(0L, cache.getRecord(ID_TAG).getActiveTransactionCount());
+    }
+
+    @Test
+    public void transactionEvents_invalidate() {
+        var cache = new AuthTagCache(ocppTagRepository, new SteveProperties());
+        var params = InsertTransactionParams.builder().idTag(ID_TAG).build();
+
+        cache.getRecord(ID_TAG);
+        cache.transactionStarted(new OcppTransactionStarted(1, params));
+        cache.getRecord(ID_TAG);
+        cache.transactionEnded(new OcppTransactionEnded(null, ID_TAG));
+        cache.getRecord(ID_TAG);
+
+        verify(ocppTagRepository, times(3)).getRecord(ID_TAG);
+    }
+
+    @Test
+    public void getRecord_loadRacingWithInvalidationIsNotCached() {
+        var cache = new AuthTagCache(ocppTagRepository, new SteveProperties());
+
+        // a transaction starts while the record is being loaded
+        when(ocppTagRepository.getRecord(ID_TAG)).thenAnswer(invocation -> {
+            cache.invalidate(ID_TAG);
+            return record(0L);
+        }).thenAnswer(invocation -> record(1L));
+
+        Assertions.assertEquals(0L, cache.getRecord(ID_TAG).getActiveTransactionCount());
+        Assertions.assertEquals(1L, cache.getRecord(ID_TAG).getActiveTransactionCount());
+        Assertions.assertEquals(1L, cache.getRecord(ID_TAG).getActiveTransactionCount());
+
+        verify(ocppTagRepository, times(2)).getRecord(ID_TAG);
+    }
+
+    @Test
+    public void disabled_alwaysLoads() {
+        var properties = new SteveProperties();
+        properties.getOcpp().getAuthCache().setTtl(Duration.ZERO);
+        var cache = new AuthTagCache(ocppTagRepository, properties);
+
+        cache.getRecord(ID_TAG);
+        cache.getRecord(ID_TAG);
+
+        Assertions.assertFalse(cache.isEnabled());
+        verify(ocppTagRepository, times(2)).getRecord(ID_TAG);
+    }
+
+    private static OcppTagActivityRecord record(long activeTransactionCount) {
+        var record = new OcppTagActivityRecord();
+        record.setIdTag(ID_TAG);
+        record.setActiveTransactionCount(activeTransactionCount);
+        record.setInTransaction(activeTransactionCount > 0);
+        return record;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.service;
+
+import de.rwth.idsg.steve.config.SteveProperties;
+import de.rwth.idsg.steve.ocpp.OcppProtocol;
+import de.rwth.idsg.steve.ocpp.task.ClearCacheTask;
+import de.rwth.idsg.steve.repository.dto.ChargePointSelect;
+import de.rwth.idsg.steve.web.dto.ocpp.MultipleChargePointSelect;
+import ocpp.cp._2015._10.ClearCacheStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+public class BackgroundServiceTest {
+
+    @Test
+    public void permitIsHeldUntilResponse() throws Exception {
+        var service = new BackgroundService(properties(2, 0));
+        var task = task(5);
+        var dispatched = new CopyOnWriteArrayList<String>();
+
+        service.forEach(task).execute(cps -> dispatched.add(cps.getChargeBoxId()));
+
+        waitUntil(() -> dispatched.size() == 2);
+        Thread.sleep(100);
+        Assertions.assertEquals(2, dispatched.size());
+        Assertions.assertEquals(2, service.getInFlightCount());
+
+        task.success(dispatched.getFirst(), ClearCacheStatus.ACCEPTED);
+        waitUntil(() -> dispatched.size() == 3);
+
+        // a late response of the same station must not release a second permit
+        task.failed(dispatched.getFirst(), new RuntimeException("timeout"));
+        Thread.sleep(100);
+        Assertions.assertEquals(3, dispatched.size());
+
+        task.success(dispatched.get(1), ClearCacheStatus.ACCEPTED);
+        task.success(dispatched.get(2), ClearCacheStatus.ACCEPTED);
+        waitUntil(() -> dispatched.size() == 5);
+        task.success(dispatched.get(3), ClearCacheStatus.ACCEPTED);
+        task.success(dispatched.get(4), ClearCacheStatus.ACCEPTED);
+
+        waitUntil(() -> service.getInFlightCount() == 0);
+        waitUntil(() -> task.getDispatchedCount().get() == 5);
+        Assertions.assertTrue(task.isFinished());
+    }
+
+    @Test
+    public void failedDispatchReleasesPermit() throws Exception {
+        var service = new BackgroundService(properties(1, 0));
+        var task = task(3);
+
+        service.forEach(task).execute(cps -> {
+            throw new IllegalStateException("not connected");
+        });
+
+        waitUntil(() -> task.getErrorCount().get() == 3);
+        Assertions.assertEquals(0, task.getDispatchedCount().get());
+        Assertions.assertEquals(0, service.getInFlightCount());
+    }
+
+    @Test
+    public void duplicateStationIsDispatchedOnce() throws Exception {
+        var service = new BackgroundService(properties(2, 0));
+        var station = new ChargePointSelect(OcppProtocol.V_16_JSON, "station-0");
+        var params = new MultipleChargePointSelect();
+        params.setChargePointSelectList(List.of(station, station));
+        var task = new ClearCacheTask(params);
+        var dispatched = new CopyOnWriteArrayList<String>();
+
+        service.forEach(task).execute(cps -> dispatched.add(cps.getChargeBoxId()));
+
+        waitUntil(() -> dispatched.size() == 1);
+        Thread.sleep(100);
+        Assertions.assertEquals(1, dispatched.size());
+
+        task.success("station-0", ClearCacheStatus.ACCEPTED);
+
+        waitUntil(() -> service.getInFlightCount() == 0);
+        Assertions.assertTrue(task.isFinished());
+    }
+
+    @Test
+    public void rateLimit() throws Exception {
+        var service = new BackgroundService(properties(100, 20));
+        var task = task(5);
+        var dispatched = new CopyOnWriteArrayList<String>();
+
+        long start = System.nanoTime();
+        service.forEach(task).execute(cps -> dispatched.add(cps.getChargeBoxId()));
+        waitUntil(() -> dispatched.size() == 5);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // the first permit is immediate, the other 4 come every 50 ms
+        Assertions.assertTrue(elapsedMillis >= 150, "took only " + elapsedMillis + " ms");
+    }
+
+    private static SteveProperties properties(int maxConcurrency, double ratePerSecond) {
+        var properties = new SteveProperties();
+        properties.getOcpp().getFanOut().setMaxConcurrency(maxConcurrency);
+        properties.getOcpp().getFanOut().setRatePerSecond(ratePerSecond);
+        return properties;
+    }
+
+    private static ClearCacheTask task(int stationCount) {
+        List<ChargePointSelect> list = IntStream.range(0, stationCount)
+            .mapToObj(i -> new ChargePointSelect(OcppProtocol.V_16_JSON, "station-" + i))
+            .toList();
+
+        var params = new MultipleChargePointSelect();
+        params.setChargePointSelectList(list);
+        return new ClearCacheTask(params);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            Assertions.assertTrue(System.nanoTime() < deadline, "condition not met within 5 s");
+            Thread.sleep(10);
+        }
+    }
+}
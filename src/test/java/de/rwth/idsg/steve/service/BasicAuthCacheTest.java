@@ -0,0 +1,55 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.service;
+
+import de.rwth.idsg.steve.config.SteveProperties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+public class BasicAuthCacheTest {
+
+    @Test
+    public void isVerified_onlyForSameCredentialsAndHash() {
+        var cache = new BasicAuthCache(new SteveProperties());
+
+        Assertions.assertFalse(cache.isVerified("cp1", "secret", "hash1"));
+
+        cache.putVerified("cp1", "secret", "hash1");
+
+        Assertions.assertTrue(cache.isVerified("cp1", "secret", "hash1"));
+        Assertions.assertTrue(cache.isVerified("CP1", "secret", "hash1"));
+        Assertions.assertFalse(cache.isVerified("cp1", "other", "hash1"));
+        Assertions.assertFalse(cache.isVerified("cp2", "secret", "hash1"));
+        // password was changed in database
+        Assertions.assertFalse(cache.isVerified("cp1", "secret", "hash2"));
+    }
+
+    @Test
+    public void disabled() {
+        var properties = new SteveProperties();
+        properties.getOcpp().getHandshakeAdmission().setBasicAuthCacheTtl(Duration.ZERO);
+        var cache = new BasicAuthCache(properties);
+
+        cache.putVerified("cp1", "secret", "hash1");
+
+        Assertions.assertFalse(cache.isVerified("cp1", "secret", "hash1"));
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.service;
+
+import de.rwth.idsg.steve.config.SteveProperties;
+import de.rwth.idsg.steve.ocpp.OcppProtocol;
+import de.rwth.idsg.steve.ocpp.ws.SessionContextStoreHolder;
+import de.rwth.idsg.steve.repository.dto.ChargePointSelect;
+import de.rwth.idsg.steve.service.notification.OcppStationConfigurationChanged;
+import de.rwth.idsg.steve.web.dto.ocpp.GetConfigurationParams;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ConfigurationSnapshotSyncTest {
+
+    private static final ChargePointSelect STATION = new ChargePointSelect(OcppProtocol.V_16_SOAP, "cp1", "http://cp1");
+
+    private ChargePointServiceClient client;
+    private ChargePointService chargePointService;
+    private List<Runnable> scheduled;
+    private List<Instant> scheduledAt;
+    private ConfigurationSnapshotSync sync;
+
+    @BeforeEach
+    public void init() {
+        client = mock(ChargePointServiceClient.class);
+        chargePointService = mock(ChargePointService.class);
+        scheduled = new ArrayList<>();
+        scheduledAt = new ArrayList<>();
+
+        var taskScheduler = mock(TaskScheduler.class);
+        when(taskScheduler.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(invocation -> {
+            scheduled.add(invocation.getArgument(0));
+            scheduledAt.add(invocation.getArgument(1));
+            return null;
+        });
+
+        sync = new ConfigurationSnapshotSync(
+            client, chargePointService, mock(SessionContextStoreHolder.class), taskScheduler, new SteveProperties()
+        );
+    }
+
+    @Test
+    public void changes_areCoalesced() {
+        for (int i = 0; i < 10; i++) {
+            sync.configurationChanged(new OcppStationConfigurationChanged(STATION));
+        }
+        runScheduled();
+
+        verify(client, times(1)).getConfiguration(any(GetConfigurationParams.class));
+        verify(chargePointService, times(10)).markOcppConfigurationOutdated("cp1");
+        Assertions.assertEquals(1, sync.getSentCount());
+        Assertions.assertEquals(9, sync.getSavedCount());
+        Assertions.assertEquals(0, sync.getPendingCount());
+    }
+
+    @Test
+    public void reconnect_skippedIfFresh() {
+        when(chargePointService.getOcppConfigurationReceivedAt(anyString())).thenReturn(Instant.now());
+
+        sync.refreshIfStale(STATION, Duration.ZERO);
+        runScheduled();
+
+        verify(client, never()).getConfiguration(any(GetConfigurationParams.class));
+        Assertions.assertEquals(1, sync.getSavedCount());
+    }
+
+    @Test
+    public void reconnect_sentIfStale() {
+        var yesterday = Instant.now().minus(Duration.ofDays(1));
+        when(chargePointService.getOcppConfigurationReceivedAt(anyString())).thenReturn(yesterday);
+
+        sync.refreshIfStale(STATION, Duration.ZERO);
+        runScheduled();
+
+        verify(client, times(1)).getConfiguration(any(GetConfigurationParams.class));
+    }
+
+    @Test
+    public void change_isNotDowngradedByReconnect() {
+        when(chargePointService.getOcppConfigurationReceivedAt(anyString())).thenReturn(Instant.now());
+
+        sync.refreshIfStale(STATION, Duration.ZERO);
+        sync.configurationChanged(new OcppStationConfigurationChanged(STATION));
+        runScheduled();
+
+        verify(client, times(1)).getConfiguration(any(GetConfigurationParams.class));
+    }
+
+    @Test
+    public void changeDuringSend_isScheduledAfterMinInterval() {
+        // a change that comes in while the (stale) reconnect refresh is being sent
+        var yesterday = Instant.now().minus(Duration.ofDays(1));
+        when(chargePointService.getOcppConfigurationReceivedAt(anyString())).thenAnswer(invocation -> {
+            sync.configurationChanged(new OcppStationConfigurationChanged(STATION));
+            return yesterday;
+        });
+
+        Instant start = Instant.now();
+        sync.refreshIfStale(STATION, Duration.ZERO);
+        runScheduled();
+
+        verify(client, times(1)).getConfiguration(any(GetConfigurationParams.class));
+        Assertions.assertEquals(2, scheduledAt.size());
+        Assertions.assertEquals(1, sync.getPendingCount());
+
+        var minInterval = new SteveProperties().getOcpp().getConfigurationSync().getMinInterval();
+        Assertions.assertFalse(scheduledAt.get(1).isBefore(start.plus(minInterval)));
+    }
+
+    private void runScheduled() {
+        var tasks = new ArrayList<>(scheduled);
+        scheduled.clear();
+        tasks.forEach(Runnable::run);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.utils;
+
+import de.rwth.idsg.steve.SteveException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 18.10.2026
+ */
+public class KeysetTokenTest {
+
+    @Test
+    public void roundTrip() {
+        Assertions.assertEquals(4711, KeysetToken.decode(KeysetToken.encode(4711)));
+    }
+
+    @Test
+    public void decode_blankIsFirstPage() {
+        Assertions.assertNull(KeysetToken.decode(null));
+        Assertions.assertNull(KeysetToken.decode(""));
+    }
+
+    @Test
+    public void decode_invalid() {
+        Assertions.assertThrows(SteveException.BadRequest.class, () -> KeysetToken.decode("not-a-token"));
+        Assertions.assertThrows(SteveException.BadRequest.class, () -> KeysetToken.decode("42"));
+    }
+
+    @Test
+    public void next_onlyIfPageIsFull() {
+        var page = List.of(30, 20, 10);
+
+        Assertions.assertNull(KeysetToken.next(page, null, Integer::intValue));
+        Assertions.assertNull(KeysetToken.next(page, 4, Integer::intValue));
+        Assertions.assertNull(KeysetToken.next(List.<Integer>of(), 3, Integer::intValue));
+        Assertions.assertEquals(10, KeysetToken.decode(KeysetToken.next(page, 3, Integer::intValue)));
+    }
+}
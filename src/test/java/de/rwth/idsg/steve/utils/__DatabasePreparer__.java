@@ -19,6 +19,7 @@
 package de.rwth.idsg.steve.utils;
 
 import com.google.common.collect.Sets;
+import de.rwth.idsg.steve.config.SteveProperties;
 import de.rwth.idsg.steve.repository.dto.ChargePoint;
 import de.rwth.idsg.steve.repository.dto.ConnectorStatus;
 import de.rwth.idsg.steve.repository.dto.InsertReservationParams;
@@ -26,9 +27,13 @@ import de.rwth.idsg.steve.repository.dto.Reservation;
 import de.rwth.idsg.steve.repository.dto.Transaction;
 import de.rwth.idsg.steve.repository.dto.TransactionDetails;
 import de.rwth.idsg.steve.repository.impl.AddressRepositoryImpl;
+import de.rwth.idsg.steve.repository.impl.ChargeBoxHeartbeatCoalescer;
 import de.rwth.idsg.steve.repository.impl.ChargePointRepositoryImpl;
+import de.rwth.idsg.steve.repository.impl.Ocpp1ConnectorEvseBridge;
+import de.rwth.idsg.steve.repository.impl.OcppServerRepositoryImpl;
 import de.rwth.idsg.steve.repository.impl.OcppTagRepositoryImpl;
 import de.rwth.idsg.steve.repository.impl.ReservationRepositoryImpl;
+import de.rwth.idsg.steve.repository.impl.StationDirectory;
 import de.rwth.idsg.steve.repository.impl.TransactionRepositoryImpl;
 import de.rwth.idsg.steve.web.dto.ReservationQueryForm;
 import de.rwth.idsg.steve.web.dto.TransactionQueryForm;
@@ -79,6 +84,7 @@ public class __DatabasePreparer__ {
     public void prepare() {
         runOperation(ctx -> {
             truncateTables(ctx);
+            Ocpp1ConnectorEvseBridge.invalidateAll();
             insertChargeBox(ctx);
             insertOcppIdTag(ctx);
         });
@@ -99,6 +105,7 @@ public class __DatabasePreparer__ {
 
     public void cleanUp() {
         runOperation(this::truncateTables);
+        Ocpp1ConnectorEvseBridge.invalidateAll();
     }
 
     public static String getRegisteredChargeBoxId() {
@@ -127,8 +134,7 @@ public class __DatabasePreparer__ {
     }
 
     public List<ConnectorStatus> getChargePointConnectorStatus() {
-        ChargePointRepositoryImpl impl = new ChargePointRepositoryImpl(dslContext, new AddressRepositoryImpl());
-        return impl.getChargePointConnectorStatus(null);
+        return chargePointRepository().getChargePointConnectorStatus(null);
     }
 
     public TransactionDetails getDetails(int transactionPk) {
@@ -142,12 +148,20 @@ public class __DatabasePreparer__ {
     }
 
     public ChargePoint.Details getCBDetails(String chargeboxID) {
-        ChargePointRepositoryImpl impl = new ChargePointRepositoryImpl(dslContext, new AddressRepositoryImpl());
+        ChargePointRepositoryImpl impl = chargePointRepository();
         Map<String, Integer> pkMap = impl.getChargeBoxIdPkPair(Arrays.asList(chargeboxID));
         int pk = pkMap.get(chargeboxID);
         return impl.getDetails(pk);
     }
 
+    private ChargePointRepositoryImpl chargePointRepository() {
+        var ocppServerRepository = new OcppServerRepositoryImpl(
+            dslContext, new ReservationRepositoryImpl(dslContext), new StationDirectory(dslContext, null, new SteveProperties())
+        );
+        var heartbeatCoalescer = new ChargeBoxHeartbeatCoalescer(ocppServerRepository, null, new SteveProperties());
+        return new ChargePointRepositoryImpl(dslContext, new AddressRepositoryImpl(), heartbeatCoalescer);
+    }
+
     private void runOperation(Consumer<DSLContext> consumer) {
         consumer.accept(dslContext);
     }
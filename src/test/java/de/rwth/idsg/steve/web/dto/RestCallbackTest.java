@@ -0,0 +1,62 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2026 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.web.dto;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+public class RestCallbackTest {
+
+    @Test
+    public void whenFinished_completesWithLastResponse() {
+        var callback = new RestCallback<String>(Duration.ofSeconds(30), 2);
+        var future = callback.whenFinished();
+
+        callback.success(null, "cb1", "Accepted");
+        Assertions.assertFalse(future.isDone());
+
+        callback.failed(null, "cb2", new RuntimeException("offline"));
+        Assertions.assertTrue(future.isDone());
+        Assertions.assertTrue(future.join().isFinished());
+        Assertions.assertEquals("Accepted", callback.getSuccessResponsesByChargeBoxId().get("cb1"));
+        Assertions.assertEquals(1, callback.getExceptionsByChargeBoxId().size());
+    }
+
+    @Test
+    public void whenFinished_completesOnTimeoutWithPartialResults() {
+        var callback = new RestCallback<String>(Duration.ofMillis(50), 2);
+        callback.success(null, "cb1", "Accepted");
+
+        var result = callback.whenFinished().join();
+
+        Assertions.assertFalse(result.isFinished());
+        Assertions.assertEquals(1, result.getSuccessResponsesByChargeBoxId().size());
+    }
+
+    @Test
+    public void waitForResponses_returnsAfterTimeout() throws Exception {
+        var callback = new RestCallback<String>(Duration.ofMillis(50), 1);
+
+        callback.waitForResponses();
+
+        Assertions.assertFalse(callback.isFinished());
+    }
+}
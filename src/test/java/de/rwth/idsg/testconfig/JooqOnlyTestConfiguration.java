@@ -21,8 +21,10 @@ package de.rwth.idsg.testconfig;
 import com.zaxxer.hikari.HikariDataSource;
 import de.rwth.idsg.steve.config.BeanConfiguration;
 import de.rwth.idsg.steve.config.SteveProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.jooq.DSLContext;
 import org.jooq.SQLDialect;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
 import org.springframework.context.annotation.Bean;
@@ -51,8 +53,8 @@ public class JooqOnlyTestConfiguration {
     private final BeanConfiguration beanConfiguration = new BeanConfiguration();
 
     @Bean
-    HikariDataSource dataSource(DataSourceProperties properties) {
-        return beanConfiguration.dataSource(properties);
+    HikariDataSource dataSource(DataSourceProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        return beanConfiguration.dataSource(properties, meterRegistry);
     }
 
     @Bean